@@ -0,0 +1,85 @@
+package validation.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationListener;
+import validation.ValidationPlan;
+import validation.Validator;
+import validation.Validator.FailFastScope;
+import validation.Validator.Status;
+
+/**
+ * Validates a thousand records, stopping at the first failure of each, with
+ * a plan describing a costly pattern check before the blank check of the
+ * key, which is missing in one out of three records, in the described order
+ * or in the adaptive one. The listener reports failures only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdaptiveOrderBenchmark {
+
+	private final Validator validator = new Validator();
+
+	private ValidationPlan<String[]> fixedPlan;
+	private ValidationPlan<String[]> adaptivePlan;
+
+	private final List<String[]> records = new ArrayList<>();
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(ValidationListener.reporting(
+				blackhole::consume, Status.Failed));
+		validator.setFailFast(FailFastScope.Record);
+
+		fixedPlan = plan(false);
+		adaptivePlan = plan(true);
+
+		for (int index = 0; index < 1000; index++) {
+			records.add(new String[] {
+					index % 3 == 0 ? "" : "K" + index,
+					"Lorem ipsum dolor sit amet, consectetur adipiscing elit, "
+							+ "sed do eiusmod tempor incididunt " + index,
+					Integer.toString(index % 90) });
+		}
+	}
+
+	@Benchmark
+	public long fixedOrder() {
+		fixedPlan.validate(validator, records);
+		return validator.getSkippedCount();
+	}
+
+	@Benchmark
+	public long adaptiveOrder() {
+		adaptivePlan.validate(validator, records);
+		return validator.getSkippedCount();
+	}
+
+	private static ValidationPlan<String[]> plan(boolean adaptiveOrder) {
+		return ValidationPlan.builder(String[].class)
+				.setAdaptiveOrder(adaptiveOrder)
+				.field("text", (String[] record) -> record[1])
+				.shouldMatch("(\\w+[ ,]*)+\\d+", "words then a number")
+				.field("age", record -> record[2]).shouldBeInteger()
+				.field("key", record -> record[0]).shouldNotBeBlank().build();
+	}
+
+}
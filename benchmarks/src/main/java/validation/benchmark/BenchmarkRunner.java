@@ -0,0 +1,43 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that every result reports the
+ * allocation rate next to the throughput. Regular JMH command line options can
+ * be passed to narrow down or tune the run; the throughput in operations per
+ * microsecond is only the default mode and time unit.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(commandLineOptions);
+
+		if (commandLineOptions.getIncludes().isEmpty()) {
+			builder.include("validation\\.benchmark\\..*Benchmark");
+		}
+
+		if (commandLineOptions.getBenchModes().isEmpty()) {
+			builder.mode(Mode.Throughput);
+		}
+		if (!commandLineOptions.getTimeUnit().hasValue()) {
+			builder.timeUnit(TimeUnit.MICROSECONDS);
+		}
+
+		Options options = builder.addProfiler(GCProfiler.class).build();
+
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,67 @@
+package validation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Status;
+
+/**
+ * Checks a range over a column of ints, with one failure in a hundred, value
+ * by value and with a column condition; the listener takes failures only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnConditionBenchmark {
+
+	@Param({ "100000" })
+	private int size;
+
+	private Validator validator = new Validator();
+
+	private int[] ages;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(ValidationListener.reporting(
+				blackhole::consume, Status.Failed));
+
+		Random random = new Random(42);
+		ages = new int[size];
+		for (int index = 0; index < size; index++) {
+			ages[index] = random.nextInt(100) == 0 ? -1 : random.nextInt(100);
+		}
+	}
+
+	@Benchmark
+	public void valueByValue() {
+		for (int age : ages) {
+			validator.valueOfField("age", age).shouldBeInInclusiveRange(0, 150);
+		}
+	}
+
+	@Benchmark
+	public int[] column() {
+		return validator.valuesOfColumn("age", ages)
+				.shouldBeInInclusiveRange(0, 150).getFailingIndices();
+	}
+
+}
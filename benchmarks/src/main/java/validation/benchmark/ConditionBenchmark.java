@@ -0,0 +1,268 @@
+package validation.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Condition;
+import validation.Validator.Status;
+
+/**
+ * Measures every {@link Condition} check on its passing, failing, null value
+ * and pre-condition-not-met path, with a listener taking all results and with
+ * one taking failures only.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConditionBenchmark {
+
+	public static enum Path {
+		Passing, Failing, NullValue, PreConditionNotMet
+	}
+
+	private static final List<String> COUNTRIES = Arrays.asList(Locale
+			.getISOCountries());
+
+	private static final List<String> SEXES = Arrays.asList("Male", "Female");
+
+	private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+	public static enum Reporting {
+		AllStatuses, FailuresOnly
+	}
+
+	@Param
+	private Path path;
+
+	@Param
+	private Reporting reporting;
+
+	private Validator validator = new Validator();
+
+	private File existingFile;
+
+	private String nonBlank;
+	private String blank;
+	private String numeric;
+	private String bool;
+	private String decimal;
+	private String longNumber;
+	private String sex;
+	private String country;
+	private String countryInAnyCase;
+	private String dayOfWeek;
+	private String dayOfWeekInAnyCase;
+	private String phone;
+	private String filePath;
+	private Integer age;
+	private Long salary;
+
+	@Setup
+	public void setUp(Blackhole blackhole) throws IOException {
+
+		ValidationListener listener = blackhole::consume;
+		validator
+				.setValidationListener(reporting == Reporting.FailuresOnly ? ValidationListener
+						.reporting(listener, Status.Failed) : listener);
+
+		existingFile = File.createTempFile("fluval", ".bench");
+
+		nonBlank = value("pater", " ");
+		blank = value(" ", "pater");
+		numeric = value("12345", "12a45");
+		bool = value("TRUE", "yes");
+		decimal = value("-6.02e23", "6.02e");
+		longNumber = value("9223372036854775807", "9223372036854775808");
+		sex = value("Male", "Other");
+		country = value("IN", "XX");
+		countryInAnyCase = value("in", "xx");
+		dayOfWeek = value("MONDAY", "FUNDAY");
+		dayOfWeekInAnyCase = value("monday", "funday");
+		phone = value("9876543210", "98765-43210");
+		filePath = value(existingFile.getPath(), existingFile.getPath()
+				+ ".missing");
+		age = value(45, 75);
+		salary = value(30000L, 10000L);
+	}
+
+	@TearDown
+	public void tearDown() {
+		existingFile.delete();
+	}
+
+	private <V> V value(V passing, V failing) {
+		switch (path) {
+		case Failing:
+			return failing;
+		case NullValue:
+			return null;
+		default:
+			return passing;
+		}
+	}
+
+	private <V> Condition<V> condition(String fieldName, V value) {
+		if (path == Path.PreConditionNotMet) {
+			return validator.ifValueOfField("Country", "IN").is("US")
+					.thenValueOfField(fieldName, value);
+		}
+		return validator.valueOfField(fieldName, value);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeNull() {
+		return condition("Address", blank).shouldBeNull();
+	}
+
+	@Benchmark
+	public Condition<String> shouldNotBeNull() {
+		return condition("Name", nonBlank).shouldNotBeNull();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeBlank() {
+		return condition("Address", blank).shouldBeBlank();
+	}
+
+	@Benchmark
+	public Condition<String> shouldNotBeBlank() {
+		return condition("Name", nonBlank).shouldNotBeBlank();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBe() {
+		return condition("Sex", sex).shouldBe("Male");
+	}
+
+	@Benchmark
+	public Condition<String> shouldNotBe() {
+		return condition("Sex", sex).shouldNotBe("Other");
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeNumeric() {
+		return condition("Pin", numeric).shouldBeNumeric();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeBoolean() {
+		return condition("Active", bool).shouldBeBoolean();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeInteger() {
+		return condition("Pin", numeric).shouldBeInteger();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeDecimal() {
+		return condition("Amount", decimal).shouldBeDecimal();
+	}
+
+	@Benchmark
+	public Condition<String> shouldFitInLong() {
+		return condition("Account", longNumber).shouldFitInLong();
+	}
+
+	@Benchmark
+	public Condition<Long> shouldBeGreaterThan() {
+		return condition("Salary", salary).shouldBeGreaterThan(20000L);
+	}
+
+	@Benchmark
+	public Condition<Long> shouldBeLessThan() {
+		return condition("Salary", salary).shouldBeLessThan(50000L);
+	}
+
+	@Benchmark
+	public Condition<Long> shouldBeGreaterThanField() {
+		return condition("Salary", salary).shouldBeGreaterThanField(
+				"MinimumSalary", 20000L);
+	}
+
+	@Benchmark
+	public Condition<Long> shouldBeLessThanField() {
+		return condition("Salary", salary).shouldBeLessThanField(
+				"MaximumSalary", 50000L);
+	}
+
+	@Benchmark
+	public Condition<Integer> shouldBeInInclusiveRange() {
+		return condition("Age", age).shouldBeInInclusiveRange(18, 60);
+	}
+
+	@Benchmark
+	public Condition<Integer> shouldBeInExclusiveRange() {
+		return condition("Age", age).shouldBeInExclusiveRange(18, 60);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOf() {
+		return condition("Sex", sex).shouldBeOneOf(SEXES);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfLargeDomain() {
+		return condition("Country", country).shouldBeOneOf(COUNTRIES);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfInAnyCase() {
+		return condition("Country", countryInAnyCase).shouldBeOneOfInAnyCase(
+				COUNTRIES);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfEnumNames() {
+		return condition("Day", dayOfWeek).shouldBeOneOfEnumNames(
+				DayOfWeek.class);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfEnumNamesInAnyCase() {
+		return condition("Day", dayOfWeekInAnyCase)
+				.shouldBeOneOfEnumNamesInAnyCase(DayOfWeek.class);
+	}
+
+	@Benchmark
+	public Condition<String> shouldMatch() {
+		return condition("Phone", phone).shouldMatch(DIGITS,
+				"syntax: only digits.");
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeAnExistingFile() {
+		return condition("Report", filePath).shouldBeAnExistingFile();
+	}
+
+	@Benchmark
+	public Validator mandateField() {
+		return validator.mandateField("Name", nonBlank);
+	}
+
+}
@@ -0,0 +1,109 @@
+package validation.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.CsvFileValidator;
+import validation.DomainSet;
+import validation.ParallelFileValidator;
+import validation.Validator;
+
+/**
+ * Compares validating a CSV file with {@link CsvFileValidator}, on one thread
+ * and split by a {@link ParallelFileValidator}, with reading it line by line
+ * and splitting the lines into strings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvFileValidatorBenchmark {
+
+	@Param({ "1000000" })
+	private int rows;
+
+	private Validator validator = new Validator();
+
+	private DomainSet<String> sexes = DomainSet.of("Male", "Female");
+
+	private CsvFileValidator csv = CsvFileValidator.builder().setHeader(true)
+			.column("Name", name -> name.shouldNotBeBlank())
+			.column("Age", age -> age.shouldBeInteger())
+			.column("Sex", sex -> sex.shouldBeOneOfInAnyCase(sexes)).build();
+
+	private ParallelFileValidator parallel = ParallelFileValidator
+			.builder(csv).setChunkSize(256 << 10).build();
+
+	private Path file;
+
+	@Setup
+	public void setUp(Blackhole blackhole) throws IOException {
+		validator.setValidationListener(blackhole::consume);
+
+		file = Files.createTempFile("benchmark", ".csv");
+		try (BufferedWriter writer = Files.newBufferedWriter(file,
+				StandardCharsets.UTF_8)) {
+			writer.write("Id,Name,Age,Sex\n");
+			for (int row = 0; row < rows; row++) {
+				writer.write(row + ",name" + row + "," + (row % 90) + ","
+						+ (row % 2 == 0 ? "male" : "FEMALE") + "\n");
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public long csvFileValidator() throws IOException {
+		return csv.validate(validator, file);
+	}
+
+	@Benchmark
+	public long parallelFileValidator() throws IOException {
+		return parallel.validate(validator, file);
+	}
+
+	@Benchmark
+	public long readAndSplit() throws IOException {
+		long count = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file,
+				StandardCharsets.UTF_8)) {
+			reader.readLine();
+			for (String line = reader.readLine(); line != null; line = reader
+					.readLine()) {
+				String[] fields = line.split(",", -1);
+				validator.valueOfField("Name", fields[1]).shouldNotBeBlank();
+				validator.valueOfField("Age", fields[2]).shouldBeInteger();
+				validator.valueOfField("Sex", fields[3])
+						.shouldBeOneOfInAnyCase(sexes);
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
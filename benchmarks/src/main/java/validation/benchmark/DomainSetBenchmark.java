@@ -0,0 +1,84 @@
+package validation.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.DomainSet;
+import validation.Validator;
+import validation.Validator.Condition;
+
+/**
+ * Compares checking a value against a domain passed as a collection on every
+ * call with checking it against a prepared {@link DomainSet}, for a two value
+ * domain and for the ISO country codes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainSetBenchmark {
+
+	public enum Domain {
+		Sex, Country
+	}
+
+	@Param
+	private Domain domain;
+
+	private Validator validator = new Validator();
+
+	private List<String> values;
+
+	private DomainSet<String> domainSet;
+
+	private String value;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(blackhole::consume);
+
+		if (domain == Domain.Sex) {
+			values = Arrays.asList("Male", "Female");
+			value = "female";
+		} else {
+			values = Arrays.asList(Locale.getISOCountries());
+			value = "in";
+		}
+		domainSet = DomainSet.of(values);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfInAnyCaseCollection() {
+		return validator.valueOfField("Value", value).shouldBeOneOfInAnyCase(
+				values);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfInAnyCaseDomainSet() {
+		return validator.valueOfField("Value", value).shouldBeOneOfInAnyCase(
+				domainSet);
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeOneOfDomainSet() {
+		return validator.valueOfField("Value", value).shouldBeOneOf(domainSet);
+	}
+
+}
@@ -0,0 +1,95 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.DomainSet;
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.FailFastScope;
+import validation.Validator.Status;
+
+/**
+ * Validates a thousand records whose key is missing in one out of the given
+ * number, running every check or stopping at the first failure of each
+ * record. The listener reports failures only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FailFastBenchmark {
+
+	private static final Pattern EMAIL = Pattern
+			.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+
+	private static final DomainSet<String> CITIES = DomainSet.of("Pune",
+			"Mumbai", "Goa", "Delhi", "Chennai", "Kolkata");
+
+	@Param({ "2", "10" })
+	private int missingKeyEvery;
+
+	private final Validator allChecks = new Validator();
+	private final Validator failFast = new Validator();
+
+	private String[][] records;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		ValidationListener failures = ValidationListener.reporting(
+				blackhole::consume, Status.Failed,
+				Status.NullValueOperation);
+		allChecks.setValidationListener(failures);
+		failFast.setValidationListener(failures);
+		failFast.setFailFast(FailFastScope.Record);
+
+		records = new String[1000][];
+		for (int index = 0; index < records.length; index++) {
+			records[index] = new String[] {
+					index % missingKeyEvery == 0 ? null : "K" + index,
+					"user" + index + "@example.com",
+					Integer.toString(index % 90),
+					index % 7 == 0 ? "Paris" : "Pune" };
+		}
+	}
+
+	@Benchmark
+	public long allChecks() {
+		return validate(allChecks);
+	}
+
+	@Benchmark
+	public long failFast() {
+		return validate(failFast);
+	}
+
+	private long validate(Validator validator) {
+		for (String[] record : records) {
+			validator.startRecord();
+			validator.valueOfField("key", record[0]).shouldNotBeBlank();
+			validator.valueOfField("email", record[1]).shouldMatch(EMAIL,
+					"an email address");
+			validator.valueOfField("age", record[2]).shouldBeInteger()
+					.shouldBeInInclusiveRange("18", "99");
+			validator.valueOfField("city", record[3])
+					.shouldBeOneOfInAnyCase(CITIES);
+		}
+		return validator.getSkippedCount();
+	}
+
+}
@@ -0,0 +1,142 @@
+package validation.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import validation.FailureLog;
+import validation.FailureLogReader;
+import validation.ValidationListener;
+import validation.Validator;
+
+/**
+ * Logs the failures of three checks on each of a hundred thousand records
+ * into a {@link FailureLog} and, as listeners commonly do, as lines of text
+ * through a buffered writer, against counting them only; reads the failure
+ * log back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FailureLogBenchmark {
+
+	@Param({ "100000" })
+	private int records;
+
+	private Path directory;
+	private Path written;
+
+	@Setup(Level.Trial)
+	public void writeLog() throws IOException {
+		written = Files.createTempDirectory("written");
+		try (FailureLog log = FailureLog.builder(written).build()) {
+			validate(log);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("failures");
+	}
+
+	@TearDown(Level.Invocation)
+	public void deleteDirectory() throws IOException {
+		delete(directory);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteLog() throws IOException {
+		delete(written);
+	}
+
+	@Benchmark
+	public long failureLog() throws IOException {
+		try (FailureLog log = FailureLog.builder(directory).build()) {
+			validate(log);
+			return log.getResultCount();
+		}
+	}
+
+	@Benchmark
+	public long textLog() throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(
+				directory.resolve("failures.txt"), StandardCharsets.UTF_8)) {
+			validate(ValidationListener.reporting(result -> {
+				try {
+					writer.write(result.getFieldName() + "," + result.getType()
+							+ "," + result.getStatus() + ","
+							+ result.getRowNumber() + ","
+							+ result.getColumnNumber() + ","
+							+ result.getFieldValue() + ","
+							+ result.getFromRange() + ","
+							+ result.getToRange());
+					writer.newLine();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}, Validator.Status.Failed, Validator.Status.NullValueOperation));
+		}
+		return Files.size(directory.resolve("failures.txt"));
+	}
+
+	@Benchmark
+	public long noLog() {
+		long[] count = { 0 };
+		validate(ValidationListener.reporting(result -> count[0]++,
+				Validator.Status.Failed, Validator.Status.NullValueOperation));
+		return count[0];
+	}
+
+	@Benchmark
+	public long readLog() throws IOException {
+		long[] rowNumbers = { 0 };
+		new FailureLogReader(written).forEach(result -> rowNumbers[0] += result
+				.getRowNumber());
+		return rowNumbers[0];
+	}
+
+	private void validate(ValidationListener listener) {
+		Validator validator = new Validator();
+		validator.setValidationListener(listener);
+		for (int record = 1; record <= records; record++) {
+			validator.valueOfField("age", record % 200 - 10)
+					.setPosition(record, 2).shouldBeInInclusiveRange(0, 150);
+			validator.valueOfField("name", record % 30 == 0 ? "" : "x")
+					.setPosition(record, 1).shouldNotBeBlank();
+			validator.valueOfField("sex", record % 3 == 0 ? "F" : "M")
+					.setPosition(record, 3).shouldBe("M");
+		}
+	}
+
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+}
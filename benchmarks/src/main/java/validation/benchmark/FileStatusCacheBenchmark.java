@@ -0,0 +1,66 @@
+package validation.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.FileStatusCache;
+import validation.Validator;
+import validation.Validator.Condition;
+
+/**
+ * Compares stating a file on every shouldBeAnExistingFile check with looking
+ * it up in a {@link FileStatusCache}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileStatusCacheBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean cached;
+
+	private Validator validator = new Validator();
+
+	private File file;
+
+	private String path;
+
+	@Setup
+	public void setUp(Blackhole blackhole) throws IOException {
+		validator.setValidationListener(blackhole::consume);
+		validator.setFileStatusCache(cached ? FileStatusCache.builder()
+				.build() : null);
+
+		file = File.createTempFile("benchmark", ".csv");
+		path = file.getPath();
+	}
+
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Benchmark
+	public Condition<String> shouldBeAnExistingFile() {
+		return validator.valueOfField("Path", path).shouldBeAnExistingFile();
+	}
+
+}
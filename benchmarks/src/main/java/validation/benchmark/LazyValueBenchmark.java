@@ -0,0 +1,84 @@
+package validation.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Condition;
+import validation.Validator.Status;
+
+/**
+ * Checks depending on a pre condition on a value read by a costly getter,
+ * here decoding it, passed eagerly or as a supplier. The listener reports
+ * failures only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LazyValueBenchmark {
+
+	@Param({ "US", "IN" })
+	private String country;
+
+	private final Validator validator = new Validator();
+
+	private String encodedSsn;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(ValidationListener.reporting(
+				blackhole::consume, Status.Failed));
+		encodedSsn = Base64.getEncoder().encodeToString(
+				"078-05-1120".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public Condition<String> eagerValue() {
+		return validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("ssn", decodeSsn()).shouldNotBeBlank()
+				.shouldBeOneOf("078-05-1120");
+	}
+
+	@Benchmark
+	public Condition<String> suppliedValue() {
+		return validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("ssn", this::decodeSsn).shouldNotBeBlank()
+				.shouldBeOneOf("078-05-1120");
+	}
+
+	@Benchmark
+	public Condition<Integer> transformedValue() {
+		return validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("area", encodedSsn, this::decodeArea)
+				.shouldBeGreaterThan(0).shouldBeLessThan(900);
+	}
+
+	private String decodeSsn() {
+		return new String(Base64.getDecoder().decode(encodedSsn),
+				StandardCharsets.UTF_8);
+	}
+
+	private Integer decodeArea(String encoded) {
+		return Integer.valueOf(new String(Base64.getDecoder().decode(encoded),
+				StandardCharsets.UTF_8).substring(0, 3));
+	}
+
+}
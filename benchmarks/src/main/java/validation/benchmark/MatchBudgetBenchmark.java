@@ -0,0 +1,72 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import validation.MatchBudget;
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Condition;
+import validation.Validator.Status;
+
+/**
+ * Matches a pattern left to the regular expression engine with and without
+ * a match budget, to measure what reading the value through the guard
+ * costs, and a hostile value whose match the budget stops.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchBudgetBenchmark {
+
+	private static final Pattern EMAIL = Pattern
+			.compile("([\\w.-]+)@([\\w-]+\\.)+[a-z]{2,}");
+
+	private static final Pattern BACKTRACKING = Pattern.compile("(.*a){12}");
+
+	private final Validator unguarded = new Validator();
+
+	private final Validator guarded = new Validator();
+
+	{
+		for (Validator validator : new Validator[] { unguarded, guarded }) {
+			validator.setValidationListener(ValidationListener.reporting(
+					result -> {
+					}, Status.Failed));
+		}
+		guarded.setMatchBudget(MatchBudget.builder().setMaximumSteps(100_000)
+				.setMaximumTime(10, TimeUnit.MILLISECONDS).build());
+	}
+
+	@Benchmark
+	public Condition<String> unguardedMatch() {
+		return unguarded.valueOfField("Email", "first.last@mail.example.com")
+				.shouldMatch(EMAIL, "email");
+	}
+
+	@Benchmark
+	public Condition<String> guardedMatch() {
+		return guarded.valueOfField("Email", "first.last@mail.example.com")
+				.shouldMatch(EMAIL, "email");
+	}
+
+	@Benchmark
+	public Condition<String> guardedHostileMatch() {
+		return guarded.valueOfField("Code", "aaaaaaaaaaaaaaaaaaaaaaaaa!")
+				.shouldMatch(BACKTRACKING, "twelve a");
+	}
+
+}
@@ -0,0 +1,59 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationMetrics;
+import validation.Validator;
+import validation.Validator.Condition;
+
+/**
+ * Measures the cost of the metrics, turned off and on, on cheap checks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean metrics;
+
+	private Validator validator = new Validator();
+
+	private String name = "pater";
+
+	private Integer age = 45;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(blackhole::consume);
+		validator.setMetrics(metrics ? new ValidationMetrics() : null);
+	}
+
+	@Benchmark
+	public Condition<String> shouldNotBeBlank() {
+		return validator.valueOfField("Name", name).shouldNotBeBlank();
+	}
+
+	@Benchmark
+	public Condition<Integer> shouldBeInInclusiveRange() {
+		return validator.valueOfField("Age", age).shouldBeInInclusiveRange(18,
+				60);
+	}
+
+}
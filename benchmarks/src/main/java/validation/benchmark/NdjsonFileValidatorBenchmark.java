@@ -0,0 +1,97 @@
+package validation.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.DomainSet;
+import validation.NdjsonFileValidator;
+import validation.Validator;
+
+/**
+ * Validates three fields of NDJSON records carrying a nested object and an
+ * array no rule refers to, against only reading the lines of the file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NdjsonFileValidatorBenchmark {
+
+	@Param({ "1000000" })
+	private int rows;
+
+	private Validator validator = new Validator();
+
+	private DomainSet<String> cities = DomainSet.of("Pune", "Goa", "Delhi");
+
+	private NdjsonFileValidator ndjson = NdjsonFileValidator.builder()
+			.field("name", name -> name.shouldNotBeBlank())
+			.longField("age", age -> age.shouldBeInInclusiveRange(0L, 150L))
+			.field("address.city",
+					city -> city.shouldBeOneOfInAnyCase(cities)).build();
+
+	private Path file;
+
+	@Setup
+	public void setUp(Blackhole blackhole) throws IOException {
+		validator.setValidationListener(blackhole::consume);
+
+		file = Files.createTempFile("benchmark", ".ndjson");
+		try (BufferedWriter writer = Files.newBufferedWriter(file,
+				StandardCharsets.UTF_8)) {
+			for (int row = 0; row < rows; row++) {
+				writer.write("{\"id\":" + row + ",\"name\":\"name" + row
+						+ "\",\"history\":{\"visits\":[" + row % 7 + ","
+						+ row % 11 + "],\"note\":\"none\"},\"age\":"
+						+ (row % 90) + ",\"address\":{\"zip\":" + row % 1000
+						+ ",\"city\":\"" + (row % 2 == 0 ? "pune" : "GOA")
+						+ "\"}}\n");
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public long ndjsonFileValidator() throws IOException {
+		return ndjson.validate(validator, file);
+	}
+
+	@Benchmark
+	public long readLines() throws IOException {
+		long count = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file,
+				StandardCharsets.UTF_8)) {
+			for (String line = reader.readLine(); line != null; line = reader
+					.readLine()) {
+				count += line.length();
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,68 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Condition;
+import validation.Validator.Status;
+
+/**
+ * Matches an email address held in a StringBuilder, as read from a file,
+ * compiling the pattern for every record as many callers do, with a pattern
+ * kept by the caller and with the regular expression looked up in the
+ * pattern cache. The listener reports failures only, none here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternCacheBenchmark {
+
+	private static final String EMAIL = "[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+";
+
+	private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL);
+
+	private final Validator validator = new Validator();
+
+	private final CharSequence email = new StringBuilder(
+			"pater.familias@example.com");
+
+	{
+		validator.setValidationListener(ValidationListener.reporting(
+				result -> {
+				}, Status.Failed));
+	}
+
+	@Benchmark
+	public Condition<CharSequence> compiledPerRecord() {
+		return validator.valueOfField("email", email).shouldMatch(
+				Pattern.compile(EMAIL), "an email address");
+	}
+
+	@Benchmark
+	public Condition<CharSequence> keptPattern() {
+		return validator.valueOfField("email", email).shouldMatch(
+				EMAIL_PATTERN, "an email address");
+	}
+
+	@Benchmark
+	public Condition<CharSequence> cachedRegex() {
+		return validator.valueOfField("email", email).shouldMatch(EMAIL,
+				"an email address");
+	}
+
+}
@@ -0,0 +1,182 @@
+package validation.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.Validator;
+import validation.Validator.Condition;
+import validation.Validator.PreCondition;
+
+/**
+ * Measures every {@link PreCondition} check followed by a dependent
+ * {@link Condition}, for a met, an unmet and a null valued pre condition.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PreConditionBenchmark {
+
+	public static enum Outcome {
+		Met, NotMet, NullValue
+	}
+
+	@Param
+	private Outcome outcome;
+
+	private Validator validator = new Validator();
+
+	private File existingFile;
+
+	private String name = "pater";
+
+	private String country;
+	private String countryInAnyCase;
+	private String otherCountry;
+	private String absent;
+	private String present;
+	private String blank;
+	private String nonBlank;
+	private String numeric;
+	private String bool;
+	private String filePath;
+	private Integer age;
+	private Integer retiringAge;
+
+	@Setup
+	public void setUp(Blackhole blackhole) throws IOException {
+
+		validator.setValidationListener(blackhole::consume);
+
+		existingFile = File.createTempFile("fluval", ".bench");
+
+		country = value("US", "IN");
+		countryInAnyCase = value("us", "in");
+		otherCountry = value("IN", "US");
+		absent = outcome == Outcome.Met ? null : "present";
+		present = value("present", null);
+		blank = outcome == Outcome.NotMet ? "pater" : " ";
+		nonBlank = value("pater", " ");
+		numeric = value("12345", "12a45");
+		bool = value("false", "no");
+		filePath = value(existingFile.getPath(), existingFile.getPath()
+				+ ".missing");
+		age = value(45, 15);
+		retiringAge = value(45, 75);
+	}
+
+	@TearDown
+	public void tearDown() {
+		existingFile.delete();
+	}
+
+	private <V> V value(V met, V notMet) {
+		switch (outcome) {
+		case NotMet:
+			return notMet;
+		case NullValue:
+			return null;
+		default:
+			return met;
+		}
+	}
+
+	private Condition<String> then(PreCondition<?> preCondition) {
+		return preCondition.thenValueOfField("Name", name).shouldNotBeBlank();
+	}
+
+	@Benchmark
+	public Condition<String> is() {
+		return then(validator.ifValueOfField("Country", country).is("US"));
+	}
+
+	@Benchmark
+	public Condition<String> isInAnyCase() {
+		return then(validator.ifValueOfField("Country", countryInAnyCase)
+				.isInAnyCase("US"));
+	}
+
+	@Benchmark
+	public Condition<String> isNot() {
+		return then(validator.ifValueOfField("Country", otherCountry).isNot(
+				"US"));
+	}
+
+	@Benchmark
+	public Condition<String> isNotInAnyCase() {
+		return then(validator.ifValueOfField("Country", otherCountry)
+				.isNotInAnyCase("us"));
+	}
+
+	@Benchmark
+	public Condition<String> isNull() {
+		return then(validator.ifValueOfField("Spouse", absent).isNull());
+	}
+
+	@Benchmark
+	public Condition<String> isNotNull() {
+		return then(validator.ifValueOfField("Spouse", present).isNotNull());
+	}
+
+	@Benchmark
+	public Condition<String> isBlank() {
+		return then(validator.ifValueOfField("Address", blank).isBlank());
+	}
+
+	@Benchmark
+	public Condition<String> isNotBlank() {
+		return then(validator.ifValueOfField("Address", nonBlank).isNotBlank());
+	}
+
+	@Benchmark
+	public Condition<String> isNumeric() {
+		return then(validator.ifValueOfField("Pin", numeric).isNumeric());
+	}
+
+	@Benchmark
+	public Condition<String> isBoolean() {
+		return then(validator.ifValueOfField("Active", bool).isBoolean());
+	}
+
+	@Benchmark
+	public Condition<String> isGreaterThan() {
+		return then(validator.ifValueOfField("Age", age).isGreaterThan(21));
+	}
+
+	@Benchmark
+	public Condition<String> isLesserThan() {
+		return then(validator.ifValueOfField("Age", retiringAge).isLesserThan(
+				60));
+	}
+
+	@Benchmark
+	public Condition<String> isAnExistingFile() {
+		return then(validator.ifValueOfField("Report", filePath)
+				.isAnExistingFile());
+	}
+
+	@Benchmark
+	public Condition<Integer> thenValueOfFieldTransformed() {
+		return validator.ifValueOfField("Country", country).is("US")
+				.thenValueOfField("Age", numeric, Integer::valueOf)
+				.shouldBeInInclusiveRange(18, 60);
+	}
+
+}
@@ -0,0 +1,83 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.DomainSet;
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.PreCondition;
+import validation.Validator.Status;
+
+/**
+ * Five rules depending on the same pre condition, checking the pre condition
+ * again for every rule against checking it once for a branch of them; the
+ * listener reports failures only.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PreConditionBranchBenchmark {
+
+	@Param({ "US", "IN" })
+	private String country;
+
+	private final Validator validator = new Validator();
+
+	private final DomainSet<String> states = DomainSet.of("CA", "NY", "TX");
+
+	private String zip = "94105";
+	private String state = "CA";
+	private String ssn = "078-05-1120";
+	private String phone = "4155550100";
+	private int age = 34;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(ValidationListener.reporting(
+				blackhole::consume, Status.Failed));
+	}
+
+	@Benchmark
+	public void repeatedPreConditions() {
+		validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("zip", zip).shouldBeNumeric();
+		validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("state", state).shouldBeOneOf(states);
+		validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("ssn", ssn).shouldNotBeBlank();
+		validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("phone", phone).shouldBeNumeric();
+		validator.ifValueOfField("country", country).is("US")
+				.thenValueOfField("age", age).shouldBeInInclusiveRange(18, 120);
+	}
+
+	@Benchmark
+	public PreCondition<String> sharedPreCondition() {
+		return validator.ifValueOfField("country", country).is("US")
+				.then(us -> {
+					us.thenValueOfField("zip", zip).shouldBeNumeric();
+					us.thenValueOfField("state", state).shouldBeOneOf(states);
+					us.thenValueOfField("ssn", ssn).shouldNotBeBlank();
+					us.thenValueOfField("phone", phone).shouldBeNumeric();
+					us.thenValueOfField("age", age).shouldBeInInclusiveRange(
+							18, 120);
+				});
+	}
+
+}
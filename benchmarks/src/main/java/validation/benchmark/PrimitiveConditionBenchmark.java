@@ -0,0 +1,88 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.Validator;
+import validation.Validator.Condition;
+
+/**
+ * Compares the primitive conditions with the same checks on boxed values.
+ * The values are kept out of the Integer and Long caches so that boxing shows
+ * up in the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveConditionBenchmark {
+
+	@Param({ "true", "false" })
+	private boolean passing;
+
+	private Validator validator = new Validator();
+
+	private int age;
+	private long salary;
+	private double ratio;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+
+		validator.setValidationListener(blackhole::consume);
+
+		age = passing ? 450 : 750;
+		salary = passing ? 30000L : 10000L;
+		ratio = passing ? 0.5d : 1.5d;
+	}
+
+	@Benchmark
+	public Condition<Integer> intInInclusiveRange() {
+		return validator.valueOfField("Age", age).shouldBeInInclusiveRange(180,
+				600);
+	}
+
+	@Benchmark
+	public Condition<Integer> boxedIntInInclusiveRange() {
+		return validator.valueOfField("Age", Integer.valueOf(age))
+				.shouldBeInInclusiveRange(180, 600);
+	}
+
+	@Benchmark
+	public Condition<Long> longGreaterThan() {
+		return validator.valueOfField("Salary", salary).shouldBeGreaterThan(
+				20000L);
+	}
+
+	@Benchmark
+	public Condition<Long> boxedLongGreaterThan() {
+		return validator.valueOfField("Salary", Long.valueOf(salary))
+				.shouldBeGreaterThan(20000L);
+	}
+
+	@Benchmark
+	public Condition<Double> doubleLessThan() {
+		return validator.valueOfField("Ratio", ratio).shouldBeLessThan(1.0d);
+	}
+
+	@Benchmark
+	public Condition<Double> boxedDoubleLessThan() {
+		return validator.valueOfField("Ratio", Double.valueOf(ratio))
+				.shouldBeLessThan(1.0d);
+	}
+
+}
@@ -0,0 +1,91 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.RuleSwitch;
+import validation.ValidationListener;
+import validation.Validator;
+import validation.Validator.Status;
+
+/**
+ * One rule per type of record, for records of random types, chosen by a
+ * chain of pre conditions checking every type against a {@link RuleSwitch}.
+ * The listener reports failures only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleSwitchBenchmark {
+
+	private static final int RECORDS = 1024;
+
+	@Param({ "5", "40" })
+	private int types;
+
+	private final Validator validator = new Validator();
+
+	private String[] typeNames;
+	private String[][] records;
+	private RuleSwitch<String[]> rules;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(ValidationListener.reporting(
+				blackhole::consume, Status.Failed));
+
+		typeNames = new String[types];
+		RuleSwitch.Builder<String[]> builder = RuleSwitch.builder("type",
+				(String[] record) -> record[0]);
+		for (int type = 0; type < types; type++) {
+			typeNames[type] = "TYPE-" + type;
+			int minimumLength = type;
+			builder.on(typeNames[type], (validator, record) -> validator
+					.valueOfField("code", record[1].length())
+					.shouldBeGreaterThan(minimumLength - 1));
+		}
+		rules = builder.build();
+
+		records = new String[RECORDS][];
+		for (int record = 0; record < RECORDS; record++) {
+			int type = (record * 7919) % types;
+			// a copy, as read from a file
+			records[record] = new String[] { new String(typeNames[type]),
+					"code-" + record };
+		}
+	}
+
+	@Benchmark
+	public void preConditionChain() {
+		for (String[] record : records) {
+			for (int type = 0; type < types; type++) {
+				validator.ifValueOfField("type", record[0]).is(typeNames[type])
+						.thenValueOfField("code", record[1].length())
+						.shouldBeGreaterThan(type - 1);
+			}
+		}
+	}
+
+	@Benchmark
+	public void ruleSwitch() {
+		for (String[] record : records) {
+			validator.switchOnValueOfField(rules, record);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import validation.CharClass;
+import validation.PatternCache;
+
+/**
+ * Matches values against simple patterns with a matcher of the regular
+ * expression engine, and by scanning them against character class bitmaps
+ * as {@link PatternCache#matches(Pattern, CharSequence)} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimplePatternBenchmark {
+
+	@Param({ "\\d+;9876543210", "[A-Z]{2};IN",
+			"[A-Za-z0-9_-]{1,64};customer_account-identifier_0042" })
+	private String patternAndValue;
+
+	private Pattern pattern;
+	private String value;
+
+	private final CharClass word = CharClass.WORD.union(CharClass.of("-"));
+
+	@Setup
+	public void setUp() {
+		String[] parts = patternAndValue.split(";");
+		pattern = Pattern.compile(parts[0]);
+		value = parts[1];
+	}
+
+	@Benchmark
+	public boolean regexEngine() {
+		return pattern.matcher(value).matches();
+	}
+
+	@Benchmark
+	public boolean scanned() {
+		return PatternCache.matches(pattern, value);
+	}
+
+	@Benchmark
+	public boolean containsOnly() {
+		return word.containsAll(value);
+	}
+
+}
@@ -0,0 +1,106 @@
+package validation.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import validation.ValidationPlan;
+import validation.Validator;
+
+/**
+ * Compares a record validated through the fluent chain with the same rules
+ * compiled into a {@link ValidationPlan}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationPlanBenchmark {
+
+	private static final List<String> COUNTRIES = Arrays.asList(Locale
+			.getISOCountries());
+
+	public static class Customer {
+
+		private final String name;
+		private final String country;
+		private final String phone;
+		private final Integer age;
+
+		public Customer(String name, String country, String phone, Integer age) {
+			this.name = name;
+			this.country = country;
+			this.phone = phone;
+			this.age = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getCountry() {
+			return country;
+		}
+
+		public String getPhone() {
+			return phone;
+		}
+
+		public Integer getAge() {
+			return age;
+		}
+
+	}
+
+	private Validator validator = new Validator();
+
+	private Customer customer = new Customer("pater", "in", "9876543210", 45);
+
+	private ValidationPlan<Customer> plan = ValidationPlan
+			.builder(Customer.class).field("Name", Customer::getName)
+			.shouldNotBeBlank().field("Country", Customer::getCountry)
+			.shouldBeOneOfInAnyCase(COUNTRIES).field("Phone", Customer::getPhone)
+			.shouldMatch("\\d+", "syntax: only digits.")
+			.field("Age", Customer::getAge).shouldBeInInclusiveRange(18, 60)
+			.build();
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		validator.setValidationListener(blackhole::consume);
+	}
+
+	@Benchmark
+	public Validator fluent() {
+		validator.valueOfField("Name", customer.getName()).shouldNotBeBlank();
+		validator.valueOfField("Country", customer.getCountry())
+				.shouldBeOneOfInAnyCase(COUNTRIES);
+		validator.valueOfField("Phone", customer.getPhone()).shouldMatch(
+				Pattern.compile("\\d+"), "syntax: only digits.");
+		validator.valueOfField("Age", customer.getAge())
+				.shouldBeInInclusiveRange(18, 60);
+		return validator;
+	}
+
+	@Benchmark
+	public Validator plan() {
+		plan.validate(validator, customer);
+		return validator;
+	}
+
+}
@@ -0,0 +1,67 @@
+package validation.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import validation.ValidationListener;
+import validation.ValidationReport;
+import validation.Validator;
+import validation.Validator.Result;
+
+/**
+ * Records three checks on each of a million records, one in a hundred
+ * failing, into a {@link ValidationReport} and, as listeners commonly do,
+ * into a list of results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ValidationReportBenchmark {
+
+	@Param({ "1000000" })
+	private int records;
+
+	@Benchmark
+	public ValidationReport report() {
+		ValidationReport report = ValidationReport.builder().build();
+		validate(report);
+		report.optimize();
+		return report;
+	}
+
+	@Benchmark
+	public List<Result<?>> resultList() {
+		List<Result<?>> results = new ArrayList<>();
+		validate(results::add);
+		return results;
+	}
+
+	private void validate(ValidationListener listener) {
+		Validator validator = new Validator();
+		validator.setValidationListener(listener);
+		for (int record = 1; record <= records; record++) {
+			validator.valueOfField("age", record % 100 - 1)
+					.setPosition(record, 2).shouldBeInInclusiveRange(0, 150);
+			validator.valueOfField("name", record % 300 == 0 ? "" : "x")
+					.setPosition(record, 1).shouldNotBeBlank();
+			validator.valueOfField("sex", record % 3 == 0 ? "F" : "M")
+					.setPosition(record, 3).shouldBe("M");
+		}
+	}
+
+}
@@ -0,0 +1,424 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+/**
+ * A {@link ValidationListener} which takes the results off the validating
+ * thread: {@link #validated(Result)} only publishes the result into a
+ * preallocated ring buffer, consumer threads drain it and hand the results
+ * over to a {@link BatchValidationListener}, e.g.
+ *
+ * <pre>
+ * AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+ * 		.builder(reportSink).setCapacity(8192).setBatchSize(256)
+ * 		.setWaitStrategy(WaitStrategy.Sleeping)
+ * 		.setOverflowPolicy(OverflowPolicy.Drop).build();
+ *
+ * validator.setValidationListener(dispatcher);
+ * ...
+ * dispatcher.close();
+ * </pre>
+ *
+ * Any number of threads may publish. With more than one consumer, batches are
+ * delivered concurrently and not necessarily in the order of publication.
+ */
+public class AsyncValidationDispatcher implements ValidationListener,
+		AutoCloseable {
+
+	/**
+	 * How a consumer waits for results and a blocked producer waits for room.
+	 */
+	public static enum WaitStrategy {
+		BusySpin, Yielding, Sleeping, Blocking
+	}
+
+	/**
+	 * What a producer does when the ring buffer is full.
+	 */
+	public static enum OverflowPolicy {
+		Drop, Block
+	}
+
+	private static final long SLEEP_NANOS = 100_000L;
+
+	private final BatchValidationListener listener;
+
+	private final int batchSize;
+	private final WaitStrategy waitStrategy;
+	private final OverflowPolicy overflowPolicy;
+
+	private final int mask;
+	private final Result<?>[] slots;
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong producerCursor = new AtomicLong();
+	private final AtomicLong consumerCursor = new AtomicLong();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition published = lock.newCondition();
+	private final Condition consumed = lock.newCondition();
+
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder failedBatchCount = new LongAdder();
+	private final AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+
+	private final Thread[] consumers;
+
+	private volatile boolean running = true;
+
+	/**
+	 * The threads blocked, or about to block, with the Blocking strategy
+	 */
+	private final AtomicInteger consumerWaiters = new AtomicInteger();
+	private final AtomicInteger producerWaiters = new AtomicInteger();
+
+	private AsyncValidationDispatcher(Builder builder) {
+
+		this.listener = builder.listener;
+		this.batchSize = builder.batchSize;
+		this.waitStrategy = builder.waitStrategy;
+		this.overflowPolicy = builder.overflowPolicy;
+
+		int capacity = Integer.highestOneBit(builder.capacity - 1) << 1;
+		this.mask = capacity - 1;
+		this.slots = new Result<?>[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int index = 0; index < capacity; index++) {
+			sequences.set(index, index);
+		}
+
+		this.consumers = new Thread[builder.consumers];
+		for (int index = 0; index < consumers.length; index++) {
+			consumers[index] = new Thread(this::consume,
+					"validation-dispatcher-" + index);
+			consumers[index].setDaemon(true);
+			consumers[index].start();
+		}
+	}
+
+	public static Builder builder(BatchValidationListener listener) {
+		return new Builder(listener);
+	}
+
+	@Override
+	public void validated(Result<?> result) {
+
+		if (!running) {
+			throw new IllegalStateException("The dispatcher is closed");
+		}
+
+		for (int attempt = 0; !offer(result); attempt++) {
+			if (overflowPolicy == OverflowPolicy.Drop || !running) {
+				droppedCount.increment();
+				return;
+			}
+			awaitConsumed(attempt);
+		}
+
+		if (consumerWaiters.get() > 0) {
+			signal(published);
+		}
+	}
+
+	@Override
+	public boolean isInterestedIn(Status status) {
+		return listener.isInterestedIn(status);
+	}
+
+	/**
+	 * Stops accepting results, delivers the ones already published and waits
+	 * for the consumer threads to finish. Validation using this dispatcher
+	 * should be over before closing it.
+	 *
+	 * @throws IllegalStateException
+	 *             when interrupted while waiting, the interrupt flag of the
+	 *             thread being set again
+	 */
+	@Override
+	public void close() {
+
+		running = false;
+
+		signalAll(published);
+		signalAll(consumed);
+
+		try {
+			for (Thread consumer : consumers) {
+				consumer.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted", e);
+		}
+	}
+
+	/**
+	 * @return the number of results dropped because the ring buffer was full
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * @return the number of batches for which the listener threw an exception
+	 */
+	public long getFailedBatchCount() {
+		return failedBatchCount.sum();
+	}
+
+	/**
+	 * @return the first exception the listener threw, null when it never
+	 *         did, the later ones being only counted
+	 */
+	public RuntimeException getFirstFailure() {
+		return firstFailure.get();
+	}
+
+	public int getCapacity() {
+		return slots.length;
+	}
+
+	private boolean offer(Result<?> result) {
+
+		while (true) {
+
+			long position = producerCursor.get();
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+
+			if (difference == 0) {
+				if (producerCursor.compareAndSet(position, position + 1)) {
+					slots[index] = result;
+					sequences.lazySet(index, position + 1);
+					return true;
+				}
+			} else if (difference < 0) {
+				return false;
+			}
+		}
+	}
+
+	private Result<?> poll() {
+
+		while (true) {
+
+			long position = consumerCursor.get();
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - (position + 1);
+
+			if (difference == 0) {
+				if (consumerCursor.compareAndSet(position, position + 1)) {
+					Result<?> result = slots[index];
+					slots[index] = null;
+					sequences.lazySet(index, position + slots.length);
+					return result;
+				}
+			} else if (difference < 0) {
+				return null;
+			}
+		}
+	}
+
+	private void consume() {
+
+		List<Result<?>> batch = new ArrayList<>(batchSize);
+
+		for (int attempt = 0;;) {
+
+			Result<?> result;
+			while (batch.size() < batchSize && (result = poll()) != null) {
+				batch.add(result);
+			}
+
+			if (!batch.isEmpty()) {
+				deliver(batch);
+				attempt = 0;
+			} else if (!running && producerCursor.get() == consumerCursor
+					.get()) {
+				return;
+			} else {
+				awaitPublished(attempt++);
+			}
+		}
+	}
+
+	private void deliver(List<Result<?>> batch) {
+
+		try {
+			listener.validated(batch);
+		} catch (RuntimeException e) {
+			failedBatchCount.increment();
+			firstFailure.compareAndSet(null, e);
+		} finally {
+			batch.clear();
+		}
+
+		if (producerWaiters.get() > 0) {
+			signalAll(consumed);
+		}
+	}
+
+	/**
+	 * With the Blocking strategy, the waiting thread is counted before it
+	 * checks the cursors again under the lock: a producer moving its cursor
+	 * after that check then sees the count and signals, one moving it
+	 * before is seen by the check, so no signal is missed and no timeout is
+	 * needed.
+	 */
+	private void awaitPublished(int attempt) {
+		if (waitStrategy != WaitStrategy.Blocking) {
+			await(attempt);
+			return;
+		}
+		consumerWaiters.incrementAndGet();
+		lock.lock();
+		try {
+			while (running && producerCursor.get() == consumerCursor.get()) {
+				published.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+			consumerWaiters.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @see #awaitPublished(int)
+	 */
+	private void awaitConsumed(int attempt) {
+		if (waitStrategy != WaitStrategy.Blocking) {
+			await(attempt);
+			return;
+		}
+		producerWaiters.incrementAndGet();
+		lock.lock();
+		try {
+			while (running
+					&& producerCursor.get() - consumerCursor.get() >= slots.length) {
+				consumed.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+			producerWaiters.decrementAndGet();
+		}
+	}
+
+	private void await(int attempt) {
+
+		switch (waitStrategy) {
+		case BusySpin:
+			break;
+		case Yielding:
+			Thread.yield();
+			break;
+		case Sleeping:
+			if (attempt < 100) {
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(SLEEP_NANOS);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void signal(Condition condition) {
+		lock.lock();
+		try {
+			condition.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void signalAll(Condition condition) {
+		lock.lock();
+		try {
+			condition.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public static class Builder {
+
+		private final BatchValidationListener listener;
+
+		private int capacity = 4096;
+		private int batchSize = 256;
+		private int consumers = 1;
+		private WaitStrategy waitStrategy = WaitStrategy.Sleeping;
+		private OverflowPolicy overflowPolicy = OverflowPolicy.Block;
+
+		private Builder(BatchValidationListener listener) {
+			this.listener = listener;
+		}
+
+		/**
+		 * @param capacity
+		 *            rounded up to a power of two
+		 */
+		public Builder setCapacity(int capacity) {
+			if (capacity < 2 || capacity > 1 << 30) {
+				throw new IllegalArgumentException("Invalid capacity: "
+						+ capacity);
+			}
+			this.capacity = capacity;
+			return this;
+		}
+
+		public Builder setBatchSize(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("Invalid batch size: "
+						+ batchSize);
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		public Builder setConsumers(int consumers) {
+			if (consumers < 1) {
+				throw new IllegalArgumentException("Invalid consumer count: "
+						+ consumers);
+			}
+			this.consumers = consumers;
+			return this;
+		}
+
+		public Builder setWaitStrategy(WaitStrategy waitStrategy) {
+			this.waitStrategy = waitStrategy;
+			return this;
+		}
+
+		public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		/**
+		 * @return a dispatcher with its consumer threads started
+		 */
+		public AsyncValidationDispatcher build() {
+			return new AsyncValidationDispatcher(this);
+		}
+
+	}
+
+}
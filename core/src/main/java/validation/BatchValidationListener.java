@@ -0,0 +1,26 @@
+package validation;
+
+import java.util.List;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+/**
+ * Receives results in batches, see {@link AsyncValidationDispatcher}.
+ */
+public interface BatchValidationListener {
+
+	/**
+	 * @param results
+	 *            the batch, only valid during the call: the list is reused for
+	 *            the next batch once the call returns
+	 */
+	public void validated(List<Result<?>> results);
+
+	/**
+	 * @see ValidationListener#isInterestedIn(Status)
+	 */
+	public default boolean isInterestedIn(Status status) {
+		return true;
+	}
+}
@@ -0,0 +1,88 @@
+package validation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The characters of an ASCII run of bytes, read straight from the buffer
+ * holding them, e.g. a field of a memory mapped file. Only created for runs
+ * without bytes above 0x7F, so that each byte is one character whatever the
+ * (ASCII compatible) charset of the file.
+ */
+final class ByteSlice implements CharSequence, Comparable<CharSequence> {
+
+	private final ByteBuffer buffer;
+	private final int offset;
+	private final int length;
+
+	ByteSlice(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index: " + index
+					+ ", length: " + length);
+		}
+		return (char) buffer.get(offset + index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("Start: " + start + ", end: "
+					+ end + ", length: " + length);
+		}
+		return new ByteSlice(buffer, offset + start, end - start);
+	}
+
+	@Override
+	public int compareTo(CharSequence other) {
+		int commonLength = Math.min(length, other.length());
+		for (int index = 0; index < commonLength; index++) {
+			int difference = charAt(index) - other.charAt(index);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return length - other.length();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof ByteSlice)) {
+			return false;
+		}
+		ByteSlice slice = (ByteSlice) other;
+		return slice.length == length && compareTo(slice) == 0;
+	}
+
+	/**
+	 * @return the hash code of the equal String
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (int index = 0; index < length; index++) {
+			hash = 31 * hash + buffer.get(offset + index);
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		char[] characters = new char[length];
+		for (int index = 0; index < length; index++) {
+			characters[index] = (char) buffer.get(offset + index);
+		}
+		return new String(characters);
+	}
+
+}
@@ -0,0 +1,225 @@
+package validation;
+
+/**
+ * A set of characters tested with a bitmap of the ASCII characters, e.g.
+ *
+ * <pre>
+ * CharClass code = CharClass.UPPER_CASE.union(CharClass.DIGITS).union(CharClass.of(&quot;-_&quot;));
+ *
+ * validator.valueOfField(&quot;Code&quot;, code).shouldContainOnly(code);
+ * </pre>
+ *
+ * The characters beyond ASCII are either all in the class, as for the
+ * negation of an ASCII class, or none of them. The patterns given to
+ * {@link Validator.Condition#shouldMatch(java.util.regex.Pattern, String)}
+ * which are only repetitions of literals and classes are scanned with the
+ * same bitmaps rather than matched. A class is immutable.
+ */
+public final class CharClass {
+
+	public static final CharClass DIGITS = range('0', '9');
+
+	public static final CharClass UPPER_CASE = range('A', 'Z');
+
+	public static final CharClass LOWER_CASE = range('a', 'z');
+
+	public static final CharClass LETTERS = UPPER_CASE.union(LOWER_CASE);
+
+	public static final CharClass ALPHANUMERIC = LETTERS.union(DIGITS);
+
+	/**
+	 * The word characters of regular expressions, {@code [a-zA-Z_0-9]}
+	 */
+	public static final CharClass WORD = ALPHANUMERIC.union(of("_"));
+
+	/**
+	 * The space characters of regular expressions, {@code [ \t\n\x0B\f\r]}
+	 */
+	public static final CharClass SPACE = of(" \t\n\u000B\f\r");
+
+	public static final CharClass ASCII = new CharClass(-1L, -1L, false);
+
+	/**
+	 * The characters from 0 to 63, then from 64 to 127
+	 */
+	private final long low;
+	private final long high;
+
+	private final boolean nonAscii;
+
+	private CharClass(long low, long high, boolean nonAscii) {
+		this.low = low;
+		this.high = high;
+		this.nonAscii = nonAscii;
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             for characters beyond ASCII
+	 */
+	public static CharClass of(String characters) {
+		long low = 0;
+		long high = 0;
+		for (int index = 0; index < characters.length(); index++) {
+			char c = characters.charAt(index);
+			checkAscii(c);
+			if (c < 64) {
+				low |= 1L << c;
+			} else {
+				high |= 1L << c;
+			}
+		}
+		return new CharClass(low, high, false);
+	}
+
+	/**
+	 * @return the characters from the first to the last, both included
+	 * @throws IllegalArgumentException
+	 *             for characters beyond ASCII
+	 */
+	public static CharClass range(char first, char last) {
+		checkAscii(first);
+		checkAscii(last);
+		if (first > last) {
+			throw new IllegalArgumentException("Invalid range: " + first
+					+ "-" + last);
+		}
+		long low = 0;
+		long high = 0;
+		for (int c = first; c <= last; c++) {
+			if (c < 64) {
+				low |= 1L << c;
+			} else {
+				high |= 1L << c;
+			}
+		}
+		return new CharClass(low, high, false);
+	}
+
+	public CharClass union(CharClass other) {
+		return new CharClass(low | other.low, high | other.high, nonAscii
+				|| other.nonAscii);
+	}
+
+	/**
+	 * @return the characters which are not in this class, those beyond ASCII
+	 *         included when they are not in this class
+	 */
+	public CharClass negate() {
+		return new CharClass(~low, ~high, !nonAscii);
+	}
+
+	public boolean contains(char c) {
+		if (c < 64) {
+			return (low & 1L << c) != 0;
+		}
+		if (c < 128) {
+			return (high & 1L << c) != 0;
+		}
+		return nonAscii;
+	}
+
+	/**
+	 * @return whether every character of the value is in this class
+	 */
+	public boolean containsAll(CharSequence value) {
+		return scan(value, 0, value.length()) == value.length();
+	}
+
+	/**
+	 * @return whether no character is in both classes
+	 */
+	public boolean isDisjoint(CharClass other) {
+		return (low & other.low) == 0 && (high & other.high) == 0
+				&& !(nonAscii && other.nonAscii);
+	}
+
+	/**
+	 * @return the index of the first character from the start which is not
+	 *         in this class, or the end when all of them are
+	 */
+	int scan(CharSequence value, int start, int end) {
+		int index = start;
+		for (; index < end; index++) {
+			char c = value.charAt(index);
+			boolean contained;
+			if (c < 64) {
+				contained = (low & 1L << c) != 0;
+			} else if (c < 128) {
+				contained = (high & 1L << c) != 0;
+			} else {
+				contained = nonAscii;
+			}
+			if (!contained) {
+				break;
+			}
+		}
+		return index;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (!(object instanceof CharClass)) {
+			return false;
+		}
+		CharClass other = (CharClass) object;
+		return low == other.low && high == other.high
+				&& nonAscii == other.nonAscii;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(low) * 31 + Long.hashCode(high)
+				+ (nonAscii ? 1 : 0);
+	}
+
+	/**
+	 * @return the class in the syntax of regular expressions, e.g.
+	 *         {@code [0-9A-Z_]}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		boolean negated = nonAscii;
+		CharClass shown = negated ? negate() : this;
+		if (negated) {
+			builder.append('^');
+		}
+		for (int c = 0; c < 128; c++) {
+			if (!shown.contains((char) c)) {
+				continue;
+			}
+			int last = c;
+			while (last + 1 < 128 && shown.contains((char) (last + 1))) {
+				last++;
+			}
+			append(builder, c);
+			if (last > c + 1) {
+				builder.append('-');
+			}
+			if (last > c) {
+				append(builder, last);
+			}
+			c = last;
+		}
+		return builder.append(']').toString();
+	}
+
+	private static void append(StringBuilder builder, int c) {
+		if (c < 32 || c == 127) {
+			builder.append(String.format("\\x%02X", c));
+		} else {
+			if ("\\[]^-".indexOf(c) >= 0) {
+				builder.append('\\');
+			}
+			builder.append((char) c);
+		}
+	}
+
+	private static void checkAscii(char c) {
+		if (c >= 128) {
+			throw new IllegalArgumentException("Invalid character: " + c);
+		}
+	}
+
+}
@@ -0,0 +1,276 @@
+package validation;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+import validation.Validator.Condition;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+/**
+ * Condition on a whole column of values, see
+ * {@link Validator#valuesOfColumn(String, Object[])}. Each check runs over
+ * the column in one tight loop, setting a bit for every value which does not
+ * pass; the bits of all the checks made are kept in a failure bitmap, read
+ * with {@link #getFailures()} or {@link #getFailingIndices()}.
+ *
+ * Only the values which do not pass create a {@link Condition} and a
+ * {@link Validator.Result}: they are checked again one at a time, named after
+ * the column and positioned at row index + 1, so that the listener gets the
+ * same results and statuses as from checking them with
+ * {@link Validator#valueOfField(String, Object)}. The values which pass are
+ * counted in bulk, in the metrics and in the unreported counts of the
+ * validator, whatever the listener is interested in: a listener interested in
+ * {@link Status#Passed} never receives the passed results of a column.
+ *
+ * Like a {@link Condition}, a column condition belongs to the thread which
+ * created it.
+ */
+public class ColumnCondition<T> {
+
+	final Validator validator;
+	private final ValidationMetrics metrics;
+
+	private final String fieldName;
+	private final T[] values;
+	private final int size;
+
+	private final long[] failures;
+
+	ColumnCondition(Validator validator, String fieldName, T[] values) {
+		this(validator, fieldName, values, values.length);
+	}
+
+	ColumnCondition(Validator validator, String fieldName, T[] values,
+			int size) {
+		this.validator = validator;
+		this.metrics = validator.getMetrics();
+		this.fieldName = fieldName;
+		this.values = values;
+		this.size = size;
+		this.failures = new long[words(size)];
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the indexes of the values which did not pass at least one of
+	 *         the checks made so far
+	 */
+	public BitSet getFailures() {
+		return BitSet.valueOf(failures);
+	}
+
+	public boolean isFailed(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index
+					+ ", size: " + size);
+		}
+		return (failures[index >>> 6] & 1L << index) != 0;
+	}
+
+	public int getFailureCount() {
+		int count = 0;
+		for (long word : failures) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the indexes of the values which did not pass at least one of
+	 *         the checks made so far, in increasing order
+	 */
+	public int[] getFailingIndices() {
+		int[] indices = new int[getFailureCount()];
+		int count = 0;
+		for (int word = 0; word < failures.length; word++) {
+			for (long bits = failures[word]; bits != 0; bits &= bits - 1) {
+				indices[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+		return indices;
+	}
+
+	public ColumnCondition<T> shouldBeNull() {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			if (get(index) != null) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBeNull, failed, start,
+				index -> valueAt(index).shouldBeNull());
+	}
+
+	public ColumnCondition<T> shouldNotBeNull() {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			if (get(index) == null) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldNotBeNull, failed, start,
+				index -> valueAt(index).shouldNotBeNull());
+	}
+
+	public ColumnCondition<T> shouldBe(T value) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (isNullValue(fieldValue)
+					|| !Validator.equalValues(fieldValue, value)) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldBe(value));
+	}
+
+	public ColumnCondition<T> shouldNotBe(T value) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (isNullValue(fieldValue)
+					|| Validator.equalValues(fieldValue, value)) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldNotBe(value));
+	}
+
+	@SuppressWarnings("unchecked")
+	public ColumnCondition<T> shouldBeInInclusiveRange(T from, T to) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (!(fieldValue instanceof Comparable)
+					|| isNullValue(fieldValue)
+					|| ((Comparable<T>) fieldValue).compareTo(from) < 0
+					|| ((Comparable<T>) fieldValue).compareTo(to) > 0) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBeInInclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInInclusiveRange(from, to));
+	}
+
+	@SuppressWarnings("unchecked")
+	public ColumnCondition<T> shouldBeInExclusiveRange(T from, T to) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (!(fieldValue instanceof Comparable)
+					|| isNullValue(fieldValue)
+					|| ((Comparable<T>) fieldValue).compareTo(from) <= 0
+					|| ((Comparable<T>) fieldValue).compareTo(to) >= 0) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBeInExclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInExclusiveRange(from, to));
+	}
+
+	public ColumnCondition<T> shouldBeOneOf(DomainSet<? extends T> domain) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (isNullValue(fieldValue) || !domain.contains(fieldValue)) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBeOneOf, failed, start,
+				index -> valueAt(index).shouldBeOneOf(domain));
+	}
+
+	public ColumnCondition<T> shouldBeOneOfInAnyCase(
+			DomainSet<? extends T> domain) {
+		long start = startTiming();
+		long[] failed = new long[failures.length];
+		for (int index = 0; index < size; index++) {
+			T fieldValue = get(index);
+			if (isNullValue(fieldValue)
+					|| !domain.containsIgnoreCase(fieldValue)) {
+				failed[index >>> 6] |= 1L << index;
+			}
+		}
+		return checked(ValidationType.ShouldBeOneOf, failed, start,
+				index -> valueAt(index).shouldBeOneOfInAnyCase(domain));
+	}
+
+	T get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @return a condition on the value at the given index, positioned at row
+	 *         index + 1
+	 */
+	Condition<T> valueAt(int index) {
+		return validator.valueOfField(fieldName, values[index]).setPosition(
+				index + 1L, 0);
+	}
+
+	/**
+	 * @return the start of the check for the metrics, 0 when they are off
+	 */
+	final long startTiming() {
+		return metrics == null ? 0L : System.nanoTime();
+	}
+
+	/**
+	 * Counts the values which passed the check, merges the failed ones into
+	 * the failure bitmap and checks them again one at a time to report them.
+	 */
+	final ColumnCondition<T> checked(ValidationType type, long[] failed,
+			long start, IntConsumer failedCheck) {
+		int failureCount = 0;
+		for (int word = 0; word < failed.length; word++) {
+			failures[word] |= failed[word];
+			failureCount += Long.bitCount(failed[word]);
+		}
+
+		long passedCount = size - failureCount;
+		if (metrics != null) {
+			metrics.record(type, fieldName, Status.Passed, passedCount,
+					System.nanoTime() - start);
+		}
+		validator.addUnreportedCount(Status.Passed, passedCount);
+
+		for (int word = 0; word < failed.length; word++) {
+			for (long bits = failed[word]; bits != 0; bits &= bits - 1) {
+				failedCheck.accept((word << 6)
+						+ Long.numberOfTrailingZeros(bits));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * @return whether a check on the value ends in
+	 *         {@link Status#NullValueOperation}
+	 */
+	private static boolean isNullValue(Object value) {
+		return value == null || value instanceof CharSequence
+				&& ((CharSequence) value).length() == 0;
+	}
+
+	static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+
+}
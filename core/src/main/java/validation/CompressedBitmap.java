@@ -0,0 +1,462 @@
+package validation;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of record numbers compressed the way Roaring bitmaps are: the numbers
+ * are split into chunks of 65536 by their high bits, and each chunk is held by
+ * whichever of a sorted array, a bitmap or a list of runs is the smallest for
+ * it. A chunk is compacted once a number of a later chunk is added, so that
+ * numbers added in increasing order, as records are validated, end up using
+ * about 2 bytes per number for sparse chunks and 4 bytes per run for dense
+ * ones.
+ *
+ * Record numbers range from 0 to 2^47 - 1. Not thread safe.
+ */
+public final class CompressedBitmap {
+
+	static final long MAXIMUM_VALUE = (1L << 47) - 1;
+
+	private int[] keys = new int[4];
+	private Container[] containers = new Container[4];
+	private int size;
+
+	public CompressedBitmap() {
+	}
+
+	private CompressedBitmap(CompressedBitmap bitmap) {
+		this.keys = Arrays.copyOf(bitmap.keys, Math.max(bitmap.size, 1));
+		this.containers = new Container[keys.length];
+		for (int index = 0; index < bitmap.size; index++) {
+			containers[index] = bitmap.containers[index].copy();
+		}
+		this.size = bitmap.size;
+	}
+
+	/**
+	 * @return whether the value was not already in the set
+	 */
+	public boolean add(long value) {
+		if (value < 0 || value > MAXIMUM_VALUE) {
+			throw new IllegalArgumentException("Invalid value: " + value);
+		}
+		int key = (int) (value >>> 16);
+		char low = (char) value;
+
+		int index;
+		if (size > 0 && keys[size - 1] == key) {
+			index = size - 1;
+		} else if (size == 0 || keys[size - 1] < key) {
+			if (size > 0) {
+				containers[size - 1] = containers[size - 1].optimize();
+			}
+			index = insert(size, key);
+		} else {
+			index = Arrays.binarySearch(keys, 0, size, key);
+			if (index < 0) {
+				index = insert(-index - 1, key);
+			}
+		}
+
+		Container container = containers[index];
+		int cardinality = container.cardinality();
+		containers[index] = container.add(low);
+		return containers[index].cardinality() != cardinality;
+	}
+
+	public boolean contains(long value) {
+		if (value < 0 || value > MAXIMUM_VALUE) {
+			return false;
+		}
+		int index = Arrays.binarySearch(keys, 0, size, (int) (value >>> 16));
+		return index >= 0 && containers[index].contains((char) value);
+	}
+
+	public long getCardinality() {
+		long cardinality = 0;
+		for (int index = 0; index < size; index++) {
+			cardinality += containers[index].cardinality();
+		}
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Hands the values to the consumer in increasing order
+	 */
+	public void forEach(LongConsumer consumer) {
+		for (int index = 0; index < size; index++) {
+			containers[index].forEach((long) keys[index] << 16, consumer);
+		}
+	}
+
+	/**
+	 * @return the values in increasing order
+	 */
+	public long[] toArray() {
+		long cardinality = getCardinality();
+		if (cardinality > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Too many values: " + cardinality);
+		}
+		long[] values = new long[(int) cardinality];
+		int[] count = new int[1];
+		forEach(value -> values[count[0]++] = value);
+		return values;
+	}
+
+	/**
+	 * @return about the number of bytes the values take
+	 */
+	public long getSizeInBytes() {
+		long sizeInBytes = 16L + 12L * keys.length;
+		for (int index = 0; index < size; index++) {
+			sizeInBytes += containers[index].sizeInBytes();
+		}
+		return sizeInBytes;
+	}
+
+	public CompressedBitmap copy() {
+		return new CompressedBitmap(this);
+	}
+
+	/**
+	 * Compacts every chunk into its smallest form, see the class
+	 * documentation for when this happens by itself
+	 */
+	public void optimize() {
+		for (int index = 0; index < size; index++) {
+			containers[index] = containers[index].optimize();
+		}
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof CompressedBitmap)) {
+			return false;
+		}
+		CompressedBitmap bitmap = (CompressedBitmap) other;
+		return bitmap.getCardinality() == getCardinality()
+				&& Arrays.equals(bitmap.toArray(), toArray());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(toArray());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		forEach(value -> builder.append(builder.length() > 1 ? ", " : "")
+				.append(value));
+		return builder.append(']').toString();
+	}
+
+	private int insert(int index, int key) {
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			containers = Arrays.copyOf(containers, size * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size
+				- index);
+		keys[index] = key;
+		containers[index] = new ArrayContainer();
+		size++;
+		return index;
+	}
+
+	/**
+	 * The low 16 bits of the values of one chunk
+	 */
+	private abstract static class Container {
+
+		/**
+		 * @return this container, or the one replacing it
+		 */
+		abstract Container add(char value);
+
+		abstract boolean contains(char value);
+
+		abstract int cardinality();
+
+		abstract void forEach(long base, LongConsumer consumer);
+
+		abstract int sizeInBytes();
+
+		abstract Container copy();
+
+		/**
+		 * @return the number of runs of consecutive values
+		 */
+		abstract int runCount();
+
+		/**
+		 * @return the smallest container holding the same values
+		 */
+		Container optimize() {
+			int cardinality = cardinality();
+			int arraySize = 2 * cardinality;
+			int runSize = 4 * runCount();
+			if (runSize < arraySize && runSize < BitmapContainer.SIZE) {
+				return this instanceof RunContainer ? this : new RunContainer(
+						this);
+			}
+			if (cardinality <= ArrayContainer.MAXIMUM_SIZE) {
+				return this instanceof ArrayContainer ? this
+						: new ArrayContainer(this);
+			}
+			return this instanceof BitmapContainer ? this
+					: new BitmapContainer(this);
+		}
+
+	}
+
+	private static final class ArrayContainer extends Container {
+
+		static final int MAXIMUM_SIZE = 4096;
+
+		private char[] values;
+		private int cardinality;
+
+		private ArrayContainer() {
+			this.values = new char[4];
+		}
+
+		private ArrayContainer(Container container) {
+			this.values = new char[Math.max(container.cardinality(), 4)];
+			container.forEach(0, value -> values[cardinality++] = (char) value);
+		}
+
+		@Override
+		Container add(char value) {
+			int index;
+			if (cardinality == 0 || values[cardinality - 1] < value) {
+				index = cardinality;
+			} else {
+				index = Arrays.binarySearch(values, 0, cardinality, value);
+				if (index >= 0) {
+					return this;
+				}
+				index = -index - 1;
+			}
+			if (cardinality == MAXIMUM_SIZE) {
+				return new BitmapContainer(this).add(value);
+			}
+			if (cardinality == values.length) {
+				values = Arrays.copyOf(values, Math.min(cardinality * 2,
+						MAXIMUM_SIZE));
+			}
+			System.arraycopy(values, index, values, index + 1, cardinality
+					- index);
+			values[index] = value;
+			cardinality++;
+			return this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		void forEach(long base, LongConsumer consumer) {
+			for (int index = 0; index < cardinality; index++) {
+				consumer.accept(base + values[index]);
+			}
+		}
+
+		@Override
+		int sizeInBytes() {
+			return 24 + 2 * values.length;
+		}
+
+		@Override
+		Container copy() {
+			ArrayContainer copy = new ArrayContainer();
+			copy.values = Arrays.copyOf(values, Math.max(cardinality, 4));
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		@Override
+		int runCount() {
+			int runCount = 0;
+			for (int index = 0; index < cardinality; index++) {
+				if (index == 0 || values[index - 1] + 1 != values[index]) {
+					runCount++;
+				}
+			}
+			return runCount;
+		}
+
+	}
+
+	private static final class BitmapContainer extends Container {
+
+		static final int SIZE = 8192;
+
+		private final long[] words;
+		private int cardinality;
+
+		private BitmapContainer(Container container) {
+			this.words = new long[SIZE / 8];
+			container.forEach(0, value -> words[(int) value >>> 6] |= 1L << value);
+			this.cardinality = container.cardinality();
+		}
+
+		private BitmapContainer(long[] words, int cardinality) {
+			this.words = words;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		Container add(char value) {
+			long word = words[value >>> 6];
+			long bit = 1L << value;
+			if ((word & bit) == 0) {
+				words[value >>> 6] = word | bit;
+				cardinality++;
+			}
+			return this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return (words[value >>> 6] & 1L << value) != 0;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		void forEach(long base, LongConsumer consumer) {
+			for (int index = 0; index < words.length; index++) {
+				for (long bits = words[index]; bits != 0; bits &= bits - 1) {
+					consumer.accept(base + (index << 6)
+							+ Long.numberOfTrailingZeros(bits));
+				}
+			}
+		}
+
+		@Override
+		int sizeInBytes() {
+			return 24 + SIZE;
+		}
+
+		@Override
+		Container copy() {
+			return new BitmapContainer(words.clone(), cardinality);
+		}
+
+		@Override
+		int runCount() {
+			int runCount = 0;
+			long previous = 0;
+			for (long word : words) {
+				// the bits set whose lower neighbour is not
+				runCount += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+				previous = word;
+			}
+			return runCount;
+		}
+
+	}
+
+	/**
+	 * Runs of consecutive values, as their first values and their lengths
+	 * minus one
+	 */
+	private static final class RunContainer extends Container {
+
+		private final char[] starts;
+		private final char[] lengths;
+		private final int runCount;
+		private final int cardinality;
+
+		private RunContainer(Container container) {
+			int runs = container.runCount();
+			this.starts = new char[runs];
+			this.lengths = new char[runs];
+			int[] run = { -1 };
+			long[] previous = { -2 };
+			container.forEach(0, value -> {
+				if (value != previous[0] + 1) {
+					starts[++run[0]] = (char) value;
+				} else {
+					lengths[run[0]]++;
+				}
+				previous[0] = value;
+			});
+			this.runCount = runs;
+			this.cardinality = container.cardinality();
+		}
+
+		/**
+		 * Values out of order are rare, the runs are turned back into a
+		 * bitmap or an array to add them
+		 */
+		@Override
+		Container add(char value) {
+			if (contains(value)) {
+				return this;
+			}
+			Container container = cardinality < ArrayContainer.MAXIMUM_SIZE ? new ArrayContainer(
+					this) : new BitmapContainer(this);
+			return container.add(value);
+		}
+
+		@Override
+		boolean contains(char value) {
+			int index = Arrays.binarySearch(starts, 0, runCount, value);
+			if (index >= 0) {
+				return true;
+			}
+			index = -index - 2;
+			return index >= 0 && value - starts[index] <= lengths[index];
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		void forEach(long base, LongConsumer consumer) {
+			for (int run = 0; run < runCount; run++) {
+				long start = base + starts[run];
+				for (long value = start; value <= start + lengths[run]; value++) {
+					consumer.accept(value);
+				}
+			}
+		}
+
+		@Override
+		int sizeInBytes() {
+			return 32 + 4 * runCount;
+		}
+
+		@Override
+		Container copy() {
+			return this;
+		}
+
+		@Override
+		int runCount() {
+			return runCount;
+		}
+
+	}
+
+}
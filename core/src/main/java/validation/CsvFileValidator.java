@@ -0,0 +1,376 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import validation.Validator.Condition;
+
+/**
+ * Validates the records of a CSV file, reading it through a memory mapped
+ * window that slides over the file, so that files of any size are validated
+ * in constant memory, e.g.
+ *
+ * <pre>
+ * CsvFileValidator csv = CsvFileValidator.builder().setHeader(true)
+ * 		.column(&quot;Name&quot;, name -&gt; name.shouldNotBeBlank())
+ * 		.column(&quot;Age&quot;, age -&gt; age.shouldBeInteger())
+ * 		.record(record -&gt; record.ifValueOfField(&quot;Sex&quot;).isInAnyCase(&quot;Male&quot;)
+ * 				.thenValueOfField(&quot;Age&quot;, record.getField(&quot;Age&quot;))
+ * 				.shouldBeNumeric())
+ * 		.build();
+ *
+ * csv.validate(validator, Paths.get(&quot;export.csv&quot;));
+ * </pre>
+ *
+ * The column rules get a condition on the field, named after the column and
+ * positioned at the row and column of the field, so that the results tell
+ * where the value was read from. Fields are {@link CharSequence}s reading the
+ * mapped bytes, see {@link CsvRecord}.
+ *
+ * Records are separated by LF or CRLF and may span lines inside quotes; empty
+ * lines are skipped. The charset must encode ASCII characters as single
+ * bytes, as UTF-8 and the ISO-8859 charsets do.
+ */
+public class CsvFileValidator extends LineFileValidator {
+
+	private final byte delimiter;
+	private final byte quote;
+	private final boolean header;
+	private final Charset charset;
+	private final int mappingSize;
+
+	private final List<ColumnRule> columnRules;
+	private final List<Consumer<CsvRecord>> recordRules;
+
+	private CsvFileValidator(Builder builder) {
+		this.delimiter = (byte) builder.delimiter;
+		this.quote = (byte) builder.quote;
+		this.header = builder.header;
+		this.charset = builder.charset;
+		this.mappingSize = builder.mappingSize;
+		this.columnRules = Collections.unmodifiableList(new ArrayList<>(
+				builder.columnRules));
+		this.recordRules = Collections.unmodifiableList(new ArrayList<>(
+				builder.recordRules));
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Validates every record of the file, the results go to the listener of
+	 * the given validator.
+	 *
+	 * @return the number of records validated, the header excluded
+	 * @throws IllegalArgumentException
+	 *             if the header misses a column a rule is given for
+	 */
+	@Override
+	public long validate(Validator validator, Path file) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+
+			Pass pass = new Pass(validator, header ? null
+					: resolveColumns(null), 1, false);
+			scan(channel, mappingSize, pass);
+			return pass.recordCount;
+		}
+	}
+
+	@Override
+	Records prepare(FileChannel channel) throws IOException {
+		Pass pass = new Pass(null, header ? null : resolveColumns(null), 1,
+				true);
+		long start = header ? scan(channel, mappingSize, pass)
+				: skipByteOrderMark(channel);
+
+		Columns columns = pass.columns;
+		return new Records(start, pass.parser.rowNumber) {
+
+			@Override
+			Chunk validate(Validator validator, ByteBuffer buffer) {
+				if (columns == null) {
+					// an empty file, without even a header
+					return new Chunk(0, 0);
+				}
+				Pass pass = new Pass(validator, columns, 1, false);
+				pass.validate(buffer, 0, buffer.limit(), true);
+				return new Chunk(pass.recordCount, pass.getRowNumber() - 1);
+			}
+
+		};
+	}
+
+	private Columns resolveColumns(CsvRecord headerRecord) {
+		Map<String, Integer> columnNumbers = new HashMap<>();
+		if (headerRecord != null) {
+			for (int columnNumber = headerRecord.getFieldCount(); columnNumber > 0; columnNumber--) {
+				columnNumbers.put(headerRecord.getField(columnNumber)
+						.toString().trim(), columnNumber);
+			}
+		}
+
+		Columns columns = new Columns(columnRules.size(), columnNumbers);
+		for (int index = 0; index < columnRules.size(); index++) {
+			ColumnRule rule = columnRules.get(index);
+			int columnNumber = rule.columnNumber;
+			if (columnNumber == 0) {
+				Integer headerColumnNumber = columnNumbers.get(rule.name);
+				if (headerColumnNumber == null) {
+					throw new IllegalArgumentException("No column named "
+							+ rule.name + " in the header");
+				}
+				columnNumber = headerColumnNumber;
+			}
+			columns.numbers[index] = columnNumber;
+			columns.names[index] = rule.name;
+			columns.rules.add(rule.rules);
+		}
+		return columns;
+	}
+
+	private void validate(Validator validator, CsvRecord record,
+			Columns columns) {
+		validator.startRecord();
+		for (int index = 0; index < columns.numbers.length; index++) {
+			int columnNumber = columns.numbers[index];
+			Condition<CharSequence> condition = validator.valueOfField(
+					columns.names[index], record.getField(columnNumber))
+					.setPosition(record.getRowNumber(), columnNumber);
+			columns.rules.get(index).accept(condition);
+		}
+		for (Consumer<CsvRecord> recordRule : recordRules) {
+			recordRule.accept(record);
+		}
+	}
+
+	/**
+	 * The state of one validation of a file or of a chunk of it, carried from
+	 * one window to the next.
+	 */
+	private class Pass extends Scan {
+
+		private final Validator validator;
+		private final CsvRecord record;
+		private final CsvParser parser;
+
+		/**
+		 * Whether to stop once the header is read
+		 */
+		private final boolean headerOnly;
+
+		private Columns columns;
+		private long recordCount;
+
+		/**
+		 * @param columns
+		 *            null to read them from the header
+		 */
+		private Pass(Validator validator, Columns columns, long rowNumber,
+				boolean headerOnly) {
+			this.validator = validator;
+			this.record = new CsvRecord(validator, charset, quote);
+			this.parser = new CsvParser(delimiter, quote, rowNumber);
+			this.headerOnly = headerOnly;
+			if (columns != null) {
+				setColumns(columns);
+			}
+			this.stopped = headerOnly && columns != null;
+		}
+
+		private void setColumns(Columns columns) {
+			this.columns = columns;
+			record.setColumnNumbers(columns.headerColumnNumbers);
+		}
+
+		@Override
+		long getRowNumber() {
+			return parser.rowNumber;
+		}
+
+		@Override
+		int validate(ByteBuffer buffer, int offset, int limit,
+				boolean endOfInput) {
+			while (offset < limit && !stopped) {
+				int next = parser.parse(buffer, offset, limit, endOfInput,
+						record);
+				if (next < 0) {
+					break;
+				}
+				offset = next;
+				if (record.getFieldCount() == 0) {
+					continue;
+				}
+				if (columns == null) {
+					setColumns(resolveColumns(record));
+					stopped = headerOnly;
+				} else {
+					CsvFileValidator.this.validate(validator, record, columns);
+					recordCount++;
+				}
+			}
+			return offset;
+		}
+
+	}
+
+	private static final class Columns {
+
+		private final int[] numbers;
+		private final String[] names;
+		private final List<Consumer<Condition<CharSequence>>> rules;
+
+		private final Map<String, Integer> headerColumnNumbers;
+
+		private Columns(int count, Map<String, Integer> headerColumnNumbers) {
+			this.numbers = new int[count];
+			this.names = new String[count];
+			this.rules = new ArrayList<>(count);
+			this.headerColumnNumbers = headerColumnNumbers;
+		}
+
+	}
+
+	private static final class ColumnRule {
+
+		private final int columnNumber;
+		private final String name;
+		private final Consumer<Condition<CharSequence>> rules;
+
+		private ColumnRule(int columnNumber, String name,
+				Consumer<Condition<CharSequence>> rules) {
+			this.columnNumber = columnNumber;
+			this.name = name;
+			this.rules = rules;
+		}
+
+	}
+
+	public static class Builder {
+
+		private char delimiter = ',';
+		private char quote = '"';
+		private boolean header;
+		private Charset charset = StandardCharsets.UTF_8;
+		private int mappingSize = 64 << 20;
+
+		private final List<ColumnRule> columnRules = new ArrayList<>();
+		private final List<Consumer<CsvRecord>> recordRules = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		public Builder setDelimiter(char delimiter) {
+			this.delimiter = checkAscii(delimiter, "delimiter");
+			return this;
+		}
+
+		public Builder setQuote(char quote) {
+			this.quote = checkAscii(quote, "quote");
+			return this;
+		}
+
+		/**
+		 * @param header
+		 *            whether the first record names the columns, which the
+		 *            column rules can then refer to by name
+		 */
+		public Builder setHeader(boolean header) {
+			this.header = header;
+			return this;
+		}
+
+		public Builder setCharset(Charset charset) {
+			byte[] ascii = "\t\r\n ,;\"'azAZ09".getBytes(charset);
+			if (!Arrays.equals(ascii,
+					"\t\r\n ,;\"'azAZ09".getBytes(StandardCharsets.US_ASCII))) {
+				throw new IllegalArgumentException(
+						"Not an ASCII compatible charset: " + charset);
+			}
+			this.charset = charset;
+			return this;
+		}
+
+		/**
+		 * @param mappingSize
+		 *            the size of the window mapped at a time, widened for
+		 *            records that do not fit in it
+		 */
+		public Builder setMappingSize(int mappingSize) {
+			if (mappingSize < 1 || mappingSize > MAXIMUM_MAPPING_SIZE) {
+				throw new IllegalArgumentException("Invalid mapping size: "
+						+ mappingSize);
+			}
+			this.mappingSize = mappingSize;
+			return this;
+		}
+
+		/**
+		 * Checks the field of the header column with the given name
+		 */
+		public Builder column(String columnName,
+				Consumer<Condition<CharSequence>> rules) {
+			columnRules.add(new ColumnRule(0, columnName, rules));
+			return this;
+		}
+
+		/**
+		 * Checks the field in the given column, starting at 1, naming it in
+		 * the results with the given name
+		 */
+		public Builder column(int columnNumber, String fieldName,
+				Consumer<Condition<CharSequence>> rules) {
+			if (columnNumber < 1) {
+				throw new IllegalArgumentException("Invalid column number: "
+						+ columnNumber);
+			}
+			columnRules.add(new ColumnRule(columnNumber, fieldName, rules));
+			return this;
+		}
+
+		/**
+		 * Checks involving several fields of a record, run after the column
+		 * rules
+		 */
+		public Builder record(Consumer<CsvRecord> rules) {
+			recordRules.add(rules);
+			return this;
+		}
+
+		public CsvFileValidator build() {
+			if (!header) {
+				for (ColumnRule rule : columnRules) {
+					if (rule.columnNumber == 0) {
+						throw new IllegalStateException("Column " + rule.name
+								+ " is named but the file has no header");
+					}
+				}
+			}
+			return new CsvFileValidator(this);
+		}
+
+		private static char checkAscii(char character, String name) {
+			if (character >= 0x80 || character == '\r' || character == '\n') {
+				throw new IllegalArgumentException("Invalid " + name + ": "
+						+ character);
+			}
+			return character;
+		}
+
+	}
+
+}
@@ -0,0 +1,148 @@
+package validation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits the bytes of a CSV file into the fields of its records, noting
+ * where each field starts and ends instead of copying it.
+ */
+final class CsvParser {
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final byte delimiter;
+	private final byte quote;
+
+	/**
+	 * The row of the next record, advanced by the lines each record spans
+	 */
+	long rowNumber;
+
+	CsvParser(byte delimiter, byte quote, long rowNumber) {
+		this.delimiter = delimiter;
+		this.quote = quote;
+		this.rowNumber = rowNumber;
+	}
+
+	/**
+	 * Parses the record starting at the given position, after any empty
+	 * lines, into the given record; the record gets no field when only empty
+	 * lines are left before the limit.
+	 *
+	 * @return the position after the record and its line end, or -1 when the
+	 *         record is cut by the limit while more input follows it
+	 */
+	int parse(ByteBuffer buffer, int position, int limit, boolean endOfInput,
+			CsvRecord record) {
+
+		long row = rowNumber;
+		int index = position;
+
+		while (index < limit) {
+			byte character = buffer.get(index);
+			if (character == LF) {
+				index++;
+			} else if (character == CR && index + 1 < limit
+					&& buffer.get(index + 1) == LF) {
+				index += 2;
+			} else {
+				break;
+			}
+			row++;
+		}
+
+		record.start(buffer, row);
+		if (index == limit) {
+			rowNumber = row;
+			return index;
+		}
+
+		long lines = 1;
+
+		while (true) {
+			int start;
+			int end;
+			boolean decoded = false;
+
+			if (index < limit && buffer.get(index) == quote) {
+				start = ++index;
+				while (true) {
+					if (index == limit) {
+						if (!endOfInput) {
+							return -1;
+						}
+						// unterminated quote, the field runs to the end
+						end = index;
+						break;
+					}
+					byte character = buffer.get(index);
+					if (character == quote) {
+						if (index + 1 == limit && !endOfInput) {
+							return -1;
+						}
+						if (index + 1 < limit && buffer.get(index + 1) == quote) {
+							decoded = true;
+							index += 2;
+							continue;
+						}
+						end = index++;
+						break;
+					}
+					if (character == LF) {
+						lines++;
+					} else if (character < 0) {
+						decoded = true;
+					}
+					index++;
+				}
+				// anything between the closing quote and the delimiter is
+				// ignored
+				while (index < limit && !isFieldEnd(buffer.get(index))) {
+					index++;
+				}
+			} else {
+				start = index;
+				while (index < limit) {
+					byte character = buffer.get(index);
+					if (isFieldEnd(character)) {
+						break;
+					}
+					if (character < 0) {
+						decoded = true;
+					}
+					index++;
+				}
+				end = index;
+			}
+
+			record.addField(start, end, decoded);
+
+			if (index == limit) {
+				if (!endOfInput) {
+					return -1;
+				}
+				break;
+			}
+
+			byte character = buffer.get(index++);
+			if (character == delimiter) {
+				continue;
+			}
+			if (character == CR && index < limit && buffer.get(index) == LF) {
+				index++;
+			} else if (character == CR && index == limit && !endOfInput) {
+				return -1;
+			}
+			break;
+		}
+
+		rowNumber = row + lines;
+		return index;
+	}
+
+	private boolean isFieldEnd(byte character) {
+		return character == delimiter || character == LF || character == CR;
+	}
+
+}
@@ -0,0 +1,141 @@
+package validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+
+import validation.Validator.Condition;
+import validation.Validator.PreCondition;
+
+/**
+ * One record of a CSV file, handed to the record rules of a
+ * {@link CsvFileValidator}. The record is reused for the next one once the
+ * rules return; the fields it hands out are not, they stay valid as long as
+ * the results holding them.
+ *
+ * Fields of ASCII characters are read straight from the mapped file, only
+ * the fields with other characters or with escaped quotes are decoded into a
+ * String.
+ */
+public final class CsvRecord {
+
+	private final Validator validator;
+	private final Charset charset;
+	private final byte quote;
+
+	private Map<String, Integer> columnNumbers;
+
+	private ByteBuffer buffer;
+	private long rowNumber;
+
+	private int fieldCount;
+	private int[] starts = new int[16];
+	private int[] ends = new int[16];
+	private boolean[] decoded = new boolean[16];
+
+	CsvRecord(Validator validator, Charset charset, byte quote) {
+		this.validator = validator;
+		this.charset = charset;
+		this.quote = quote;
+	}
+
+	public Validator getValidator() {
+		return validator;
+	}
+
+	/**
+	 * @return the line the record starts on, starting at 1
+	 */
+	public long getRowNumber() {
+		return rowNumber;
+	}
+
+	public int getFieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * @return the column number of the header column with the given name, 0
+	 *         when the file has no header or no such column
+	 */
+	public int getColumnNumber(String columnName) {
+		Integer columnNumber = columnNumbers == null ? null : columnNumbers
+				.get(columnName);
+		return columnNumber == null ? 0 : columnNumber;
+	}
+
+	/**
+	 * @return the field in the given column, starting at 1, or null when the
+	 *         record has fewer fields
+	 */
+	public CharSequence getField(int columnNumber) {
+		if (columnNumber < 1 || columnNumber > fieldCount) {
+			return null;
+		}
+		int index = columnNumber - 1;
+		if (decoded[index]) {
+			return decode(starts[index], ends[index]);
+		}
+		return new ByteSlice(buffer, starts[index], ends[index] - starts[index]);
+	}
+
+	public CharSequence getField(String columnName) {
+		return getField(getColumnNumber(columnName));
+	}
+
+	/**
+	 * @return a condition on the field of the named column, positioned at
+	 *         this record and column
+	 */
+	public Condition<CharSequence> valueOfField(String columnName) {
+		int columnNumber = getColumnNumber(columnName);
+		return validator.valueOfField(columnName, getField(columnNumber))
+				.setPosition(rowNumber, columnNumber);
+	}
+
+	public PreCondition<CharSequence> ifValueOfField(String columnName) {
+		return validator.ifValueOfField(columnName, getField(columnName));
+	}
+
+	void setColumnNumbers(Map<String, Integer> columnNumbers) {
+		this.columnNumbers = columnNumbers;
+	}
+
+	void start(ByteBuffer buffer, long rowNumber) {
+		this.buffer = buffer;
+		this.rowNumber = rowNumber;
+		this.fieldCount = 0;
+	}
+
+	void addField(int start, int end, boolean decoded) {
+		if (fieldCount == starts.length) {
+			starts = Arrays.copyOf(starts, fieldCount * 2);
+			ends = Arrays.copyOf(ends, fieldCount * 2);
+			this.decoded = Arrays.copyOf(this.decoded, fieldCount * 2);
+		}
+		starts[fieldCount] = start;
+		ends[fieldCount] = end;
+		this.decoded[fieldCount] = decoded;
+		fieldCount++;
+	}
+
+	/**
+	 * @return the field as a String, with the doubled quotes of a quoted
+	 *         field collapsed
+	 */
+	private String decode(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		int length = 0;
+		for (int index = start; index < end; index++) {
+			byte character = buffer.get(index);
+			bytes[length++] = character;
+			if (character == quote && index + 1 < end
+					&& buffer.get(index + 1) == quote) {
+				index++;
+			}
+		}
+		return new String(bytes, 0, length, charset);
+	}
+
+}
@@ -0,0 +1,356 @@
+package validation;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable domain of allowed values, built once and then passed to
+ * {@link Validator.Condition#shouldBeOneOf(DomainSet)} and
+ * {@link Validator.Condition#shouldBeOneOfInAnyCase(DomainSet)} for any
+ * number of values, e.g.
+ *
+ * <pre>
+ * DomainSet&lt;String&gt; countries = DomainSet.of(countryCodes);
+ *
+ * validator.valueOfField(&quot;Country&quot;, country).shouldBeOneOfInAnyCase(countries);
+ * </pre>
+ *
+ * The case insensitive lookup folds the characters of the checked value while
+ * comparing them, the same way {@link String#equalsIgnoreCase(String)} does,
+ * so no upper cased copy is created. Small domains are scanned linearly,
+ * comparing lengths first; larger ones are looked up in an open addressing
+ * table keyed by the case folded hash. The exact lookup of a character
+ * sequence other than a String, e.g. a field of a CSV record, goes through a
+ * similar table keyed by the hash of its characters, so it is not copied to a
+ * String either.
+ */
+public final class DomainSet<T> extends AbstractCollection<T> {
+
+	/**
+	 * Up to this size a scan comparing lengths first beats hashing the value
+	 */
+	private static final int SMALL_DOMAIN_SIZE = 8;
+
+	private static final ClassValue<DomainSet<String>> ENUM_NAMES = new ClassValue<DomainSet<String>>() {
+
+		@Override
+		protected DomainSet<String> computeValue(Class<?> enumClass) {
+			Object[] constants = enumClass.getEnumConstants();
+			if (constants == null) {
+				throw new IllegalArgumentException(enumClass.getName()
+						+ " is not an enum");
+			}
+			List<String> names = new ArrayList<>(constants.length);
+			for (Object constant : constants) {
+				names.add(String.valueOf(constant));
+			}
+			return new DomainSet<String>(names);
+		}
+
+	};
+
+	private final List<T> values;
+
+	/**
+	 * Exact lookup of the large domains, null for the small ones
+	 */
+	private final Set<Object> valueSet;
+
+	private final String[] names;
+
+	/**
+	 * Slots of the large domains holding an index into names plus one, zero
+	 * for an empty slot; null for the small ones
+	 */
+	private final int[] slots;
+	private final int[] hashes;
+
+	/**
+	 * The domain values which are character sequences, as strings, and the
+	 * slots of the large domains holding an index into them plus one, keyed
+	 * by the hash of their characters; null for the small ones
+	 */
+	private final String[] texts;
+	private final int[] textSlots;
+	private final int[] textHashes;
+
+	/**
+	 * The values sorted for a binary search over a column of primitives,
+	 * null unless the values are all of the primitive type
+	 */
+	private final int[] sortedInts;
+	private final long[] sortedLongs;
+
+	private DomainSet(Collection<? extends T> values) {
+		this.values = Collections.unmodifiableList(new ArrayList<T>(
+				new LinkedHashSet<T>(values)));
+		this.valueSet = this.values.size() > SMALL_DOMAIN_SIZE ? new HashSet<Object>(
+				this.values) : null;
+
+		Set<String> foldedNames = new HashSet<>();
+		String[] names = new String[this.values.size()];
+		int count = 0;
+		for (Object value : this.values) {
+			if (value != null && foldedNames.add(fold(value.toString()))) {
+				names[count++] = value.toString();
+			}
+		}
+		this.names = Arrays.copyOf(names, count);
+
+		if (count > SMALL_DOMAIN_SIZE) {
+			this.hashes = new int[count];
+			for (int index = 0; index < count; index++) {
+				hashes[index] = foldedHash(this.names[index]);
+			}
+			this.slots = slotsOf(hashes);
+		} else {
+			this.slots = null;
+			this.hashes = null;
+		}
+
+		if (valueSet != null) {
+			List<String> texts = new ArrayList<>();
+			for (Object value : this.values) {
+				if (value instanceof CharSequence) {
+					texts.add(value.toString());
+				}
+			}
+			this.texts = texts.toArray(new String[texts.size()]);
+			this.textHashes = new int[this.texts.length];
+			for (int index = 0; index < this.texts.length; index++) {
+				textHashes[index] = exactHash(this.texts[index]);
+			}
+			this.textSlots = slotsOf(textHashes);
+		} else {
+			this.texts = null;
+			this.textSlots = null;
+			this.textHashes = null;
+		}
+
+		this.sortedInts = sortedInts(this.values);
+		this.sortedLongs = sortedLongs(this.values);
+	}
+
+	@SafeVarargs
+	public static <T> DomainSet<T> of(T... values) {
+		List<T> list = new ArrayList<>(values.length);
+		for (T value : values) {
+			list.add(value);
+		}
+		return new DomainSet<T>(list);
+	}
+
+	public static <T> DomainSet<T> of(Collection<? extends T> values) {
+		return new DomainSet<T>(values);
+	}
+
+	/**
+	 * @return the string forms of the constants of the given enum, computed
+	 *         once per enum class
+	 */
+	public static DomainSet<String> ofEnumNames(Class<?> enumClass) {
+		return ENUM_NAMES.get(enumClass);
+	}
+
+	/**
+	 * @return true if the domain holds a value equal to the given one; a
+	 *         character sequence, e.g. a field of a CSV record, equals the
+	 *         domain values holding the same characters
+	 */
+	@Override
+	public boolean contains(Object value) {
+		if (valueSet != null) {
+			if (value instanceof CharSequence && !(value instanceof String)) {
+				return containsText((CharSequence) value);
+			}
+			return valueSet.contains(value);
+		}
+		for (Object domainValue : values) {
+			if (domainValue == null ? value == null : value != null
+					&& Validator.equalValues(domainValue, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean containsText(CharSequence value) {
+		int hash = exactHash(value);
+		int slot = hash & (textSlots.length - 1);
+		for (int index = textSlots[slot]; index != 0; index = textSlots[slot]) {
+			if (textHashes[index - 1] == hash
+					&& Validator.equalValues(texts[index - 1], value)) {
+				return true;
+			}
+			slot = (slot + 1) & (textSlots.length - 1);
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the string form of a domain value equals the given
+	 *         value ignoring case
+	 */
+	public boolean containsIgnoreCase(CharSequence value) {
+		if (slots == null) {
+			for (String name : names) {
+				if (equalsIgnoreCase(name, value)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int hash = foldedHash(value);
+		int slot = hash & (slots.length - 1);
+		for (int index = slots[slot]; index != 0; index = slots[slot]) {
+			if (hashes[index - 1] == hash
+					&& equalsIgnoreCase(names[index - 1], value)) {
+				return true;
+			}
+			slot = (slot + 1) & (slots.length - 1);
+		}
+		return false;
+	}
+
+	/**
+	 * Same as {@link #containsIgnoreCase(CharSequence)} for the string form of
+	 * the given value, which is only created for values that are not already
+	 * character sequences
+	 */
+	public boolean containsIgnoreCase(Object value) {
+		if (value == null) {
+			return false;
+		}
+		return containsIgnoreCase(value instanceof CharSequence ? (CharSequence) value
+				: value.toString());
+	}
+
+	/**
+	 * @return the values sorted, null unless they are all Integers
+	 */
+	int[] sortedInts() {
+		return sortedInts;
+	}
+
+	/**
+	 * @return the values sorted, null unless they are all Longs
+	 */
+	long[] sortedLongs() {
+		return sortedLongs;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return values.iterator();
+	}
+
+	@Override
+	public int size() {
+		return values.size();
+	}
+
+	private static int[] sortedInts(List<?> values) {
+		int[] sorted = new int[values.size()];
+		for (int index = 0; index < sorted.length; index++) {
+			if (!(values.get(index) instanceof Integer)) {
+				return null;
+			}
+			sorted[index] = (Integer) values.get(index);
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private static long[] sortedLongs(List<?> values) {
+		long[] sorted = new long[values.size()];
+		for (int index = 0; index < sorted.length; index++) {
+			if (!(values.get(index) instanceof Long)) {
+				return null;
+			}
+			sorted[index] = (Long) values.get(index);
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	static boolean equalsIgnoreCase(String name, CharSequence value) {
+		int length = name.length();
+		if (value.length() != length) {
+			return false;
+		}
+		for (int index = 0; index < length; index++) {
+			char nameCharacter = name.charAt(index);
+			char character = value.charAt(index);
+			if (nameCharacter != character
+					&& fold(nameCharacter) != fold(character)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return an open addressing table holding the index plus one of each
+	 *         hash, at least twice as large as their number
+	 */
+	private static int[] slotsOf(int[] hashes) {
+		int size = Math.max(hashes.length, 1);
+		int[] slots = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+		for (int index = 0; index < hashes.length; index++) {
+			int slot = hashes[index] & (slots.length - 1);
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & (slots.length - 1);
+			}
+			slots[slot] = index + 1;
+		}
+		return slots;
+	}
+
+	private static int exactHash(CharSequence value) {
+		int hash = 0;
+		for (int index = 0; index < value.length(); index++) {
+			hash = 31 * hash + value.charAt(index);
+		}
+		// spread the higher bits, the table is indexed by the lower ones
+		return hash ^ (hash >>> 16);
+	}
+
+	static int foldedHash(CharSequence value) {
+		int hash = 0;
+		for (int index = 0; index < value.length(); index++) {
+			hash = 31 * hash + fold(value.charAt(index));
+		}
+		// spread the higher bits, the table is indexed by the lower ones
+		return hash ^ (hash >>> 16);
+	}
+
+	private static String fold(String value) {
+		StringBuilder folded = new StringBuilder(value.length());
+		for (int index = 0; index < value.length(); index++) {
+			folded.append(fold(value.charAt(index)));
+		}
+		return folded.toString();
+	}
+
+	/**
+	 * Maps both cases of a character to the same one, the comparison done by
+	 * {@link String#equalsIgnoreCase(String)}
+	 */
+	private static char fold(char character) {
+		if (character < 0x80) {
+			return character >= 'A' && character <= 'Z' ? (char) (character | 0x20)
+					: character;
+		}
+		return Character.toLowerCase(Character.toUpperCase(character));
+	}
+
+}
@@ -0,0 +1,427 @@
+package validation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+/**
+ * A listener appending the results to a binary log on disk, for keeping every
+ * failure of long runs without formatting text, e.g.
+ *
+ * <pre>
+ * try (FailureLog log = FailureLog.builder(Paths.get(&quot;failures&quot;)).build()) {
+ * 	validator.setValidationListener(log);
+ * 	csv.validate(validator, Paths.get(&quot;export.csv&quot;));
+ * }
+ *
+ * new FailureLogReader(Paths.get(&quot;failures&quot;)).stream()
+ * 		.filter(result -&gt; result.getFieldName().equals(&quot;age&quot;))
+ * 		.forEach(System.out::println);
+ * </pre>
+ *
+ * The log is a directory of segments, each a file mapped in memory and
+ * written to until full, when the next one is created; a log built on a
+ * directory holding segments already goes on after the last of them. A
+ * result is written as the id of its field name, the ordinals of its type and
+ * status, its position, the id of the compared field name and the field
+ * value, the range and the compared value, tagged with their type. Field
+ * names are written once per segment, so that every segment can be read on
+ * its own, see {@link FailureLogReader}.
+ *
+ * Values are written as ints, longs, doubles, booleans or, for any other
+ * type, as the UTF-8 text of their string value. The log can be shared by
+ * validating threads, its methods are synchronized.
+ */
+public class FailureLog implements ValidationListener, Closeable {
+
+	static final int MAGIC = 0x464C4F47;
+	static final byte VERSION = 1;
+	static final int HEADER_SIZE = 8;
+
+	static final byte NAME_ENTRY = 1;
+	static final byte RESULT_ENTRY = 2;
+
+	static final byte NULL_VALUE = 0;
+	static final byte INT_VALUE = 1;
+	static final byte LONG_VALUE = 2;
+	static final byte DOUBLE_VALUE = 3;
+	static final byte BOOLEAN_VALUE = 4;
+	static final byte STRING_VALUE = 5;
+
+	/**
+	 * The id written for a field name that is null
+	 */
+	static final int NO_NAME = -1;
+
+	private static final String SEGMENT_PREFIX = "failures-";
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final Set<Status> statuses;
+
+	/**
+	 * The ids of the field names written in the current segment
+	 */
+	private final Map<String, Integer> nameIds = new HashMap<>();
+
+	private final Encoder names = new Encoder();
+	private final Encoder entry = new Encoder();
+
+	private int segmentNumber;
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+
+	private long resultCount;
+
+	private FailureLog(Builder builder) throws IOException {
+		this.directory = builder.directory;
+		this.segmentSize = builder.segmentSize;
+		this.statuses = EnumSet.copyOf(builder.statuses);
+
+		Files.createDirectories(directory);
+		List<Path> segments = segments(directory);
+		this.segmentNumber = segments.isEmpty() ? 0
+				: segmentNumber(segments.get(segments.size() - 1)) + 1;
+		openSegment(segmentSize);
+	}
+
+	public static Builder builder(Path directory) {
+		return new Builder(directory);
+	}
+
+	@Override
+	public synchronized void validated(Result<?> result) {
+		if (segment == null) {
+			throw new IllegalStateException("Log closed: " + directory);
+		}
+		encode(result);
+		if (names.size() + entry.size() > segment.remaining()) {
+			try {
+				closeSegment();
+				segmentNumber++;
+				openSegment(Math.max(segmentSize, HEADER_SIZE + 8
+						+ names.size() + entry.size()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			// the names are written again in the new segment
+			encode(result);
+		}
+		names.writeTo(segment);
+		entry.writeTo(segment);
+		resultCount++;
+	}
+
+	@Override
+	public boolean isInterestedIn(Status status) {
+		return statuses.contains(status);
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public synchronized long getResultCount() {
+		return resultCount;
+	}
+
+	/**
+	 * Writes the results logged so far to the storage device
+	 */
+	public synchronized void force() {
+		if (segment != null) {
+			segment.force();
+		}
+	}
+
+	/**
+	 * Cuts the last segment to the results written to it. The results are
+	 * kept by the system once written to the mapped segments, see
+	 * {@link #force()} for storing them before the system does.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (segment != null) {
+			closeSegment();
+		}
+	}
+
+	private void encode(Result<?> result) {
+		names.clear();
+		entry.clear();
+		int start = entry.reserve();
+		entry.putByte(RESULT_ENTRY);
+		entry.putInt(nameId(result.getFieldName()));
+		entry.putByte((byte) result.getType().ordinal());
+		entry.putByte((byte) result.getStatus().ordinal());
+		entry.putLong(result.getRowNumber());
+		entry.putInt(result.getColumnNumber());
+		entry.putInt(nameId(result.getComparedFieldName()));
+		entry.putValue(result.getFieldValue());
+		entry.putValue(result.getFromRange());
+		entry.putValue(result.getToRange());
+		entry.putValue(result.getComparedValue());
+		entry.end(start);
+	}
+
+	/**
+	 * @return the id of the name in the current segment, adding an entry
+	 *         defining it when it is not written there yet
+	 */
+	private int nameId(String name) {
+		if (name == null) {
+			return NO_NAME;
+		}
+		Integer id = nameIds.get(name);
+		if (id == null) {
+			id = nameIds.size();
+			nameIds.put(name, id);
+			int start = names.reserve();
+			names.putByte(NAME_ENTRY);
+			names.putInt(id);
+			names.putString(name);
+			names.end(start);
+		}
+		return id;
+	}
+
+	private void openSegment(int size) throws IOException {
+		Path file = directory.resolve(String.format("%s%08d%s",
+				SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+		channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		segment = channel.map(MapMode.READ_WRITE, 0, size);
+		segment.putInt(MAGIC).put(VERSION);
+		segment.position(HEADER_SIZE);
+		nameIds.clear();
+	}
+
+	private void closeSegment() throws IOException {
+		try {
+			channel.truncate(segment.position());
+		} catch (IOException e) {
+			// some systems do not cut mapped files, the zeros left after the
+			// last entry read as the end of the segment
+		} finally {
+			segment = null;
+			channel.close();
+		}
+	}
+
+	/**
+	 * @return the segments of the log in the directory, in the order written
+	 */
+	static List<Path> segments(Path directory) throws IOException {
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				if (segmentNumber(file) >= 0) {
+					segments.add(file);
+				}
+			}
+		}
+		Collections.sort(segments, (first, second) -> Integer.compare(
+				segmentNumber(first), segmentNumber(second)));
+		return segments;
+	}
+
+	/**
+	 * @return the number in the name of the segment, -1 for other files
+	 */
+	private static int segmentNumber(Path file) {
+		String name = file.getFileName().toString();
+		String number = name.substring(SEGMENT_PREFIX.length(), name.length()
+				- SEGMENT_SUFFIX.length());
+		try {
+			return Integer.parseInt(number);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * An entry being encoded, copied to the segment once its size is known.
+	 * Each entry starts with its length, written last, so that readers of a
+	 * log being written see whole entries only.
+	 */
+	private static final class Encoder {
+
+		private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+		void clear() {
+			buffer.clear();
+		}
+
+		int size() {
+			return buffer.position();
+		}
+
+		/**
+		 * @return the start of the entry, where its length goes
+		 */
+		int reserve() {
+			int start = buffer.position();
+			putInt(0);
+			return start;
+		}
+
+		void end(int start) {
+			buffer.putInt(start, buffer.position() - start - 4);
+		}
+
+		void putByte(byte value) {
+			ensure(1).put(value);
+		}
+
+		void putInt(int value) {
+			ensure(4).putInt(value);
+		}
+
+		void putLong(long value) {
+			ensure(8).putLong(value);
+		}
+
+		void putValue(Object value) {
+			if (value == null) {
+				putByte(NULL_VALUE);
+			} else if (value instanceof Integer || value instanceof Short
+					|| value instanceof Byte) {
+				putByte(INT_VALUE);
+				putInt(((Number) value).intValue());
+			} else if (value instanceof Long) {
+				putByte(LONG_VALUE);
+				putLong((Long) value);
+			} else if (value instanceof Double || value instanceof Float) {
+				putByte(DOUBLE_VALUE);
+				ensure(8).putDouble(((Number) value).doubleValue());
+			} else if (value instanceof Boolean) {
+				putByte(BOOLEAN_VALUE);
+				putByte((byte) ((Boolean) value ? 1 : 0));
+			} else {
+				putByte(STRING_VALUE);
+				putString(value instanceof CharSequence ? (CharSequence) value
+						: value.toString());
+			}
+		}
+
+		/**
+		 * Writes the length in bytes and the UTF-8 bytes, copying ASCII text
+		 * without encoding it to a new array
+		 */
+		void putString(CharSequence value) {
+			int start = reserve();
+			int length = value.length();
+			ensure(length);
+			for (int index = 0; index < length; index++) {
+				char c = value.charAt(index);
+				if (c >= 0x80) {
+					buffer.position(start + 4);
+					byte[] bytes = value.toString().getBytes(
+							StandardCharsets.UTF_8);
+					ensure(bytes.length).put(bytes);
+					break;
+				}
+				buffer.put((byte) c);
+			}
+			end(start);
+		}
+
+		/**
+		 * Copies the entries, the length of the first one last, see the
+		 * class documentation
+		 */
+		void writeTo(ByteBuffer segment) {
+			if (buffer.position() == 0) {
+				return;
+			}
+			int position = segment.position();
+			buffer.flip();
+			segment.position(position + 4);
+			buffer.position(4);
+			segment.put(buffer);
+			segment.putInt(position, buffer.getInt(0));
+			buffer.clear();
+		}
+
+		private ByteBuffer ensure(int size) {
+			if (buffer.remaining() < size) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(
+						buffer.capacity() * 2, buffer.position() + size));
+				buffer.flip();
+				buffer = larger.put(buffer);
+			}
+			return buffer;
+		}
+
+	}
+
+	public static class Builder {
+
+		private final Path directory;
+		private int segmentSize = 64 << 20;
+		private Set<Status> statuses = EnumSet.complementOf(EnumSet
+				.of(Status.Passed));
+
+		private Builder(Path directory) {
+			if (directory == null) {
+				throw new IllegalArgumentException("Invalid directory: "
+						+ directory);
+			}
+			this.directory = directory;
+		}
+
+		/**
+		 * @param segmentSize
+		 *            the size of a segment file, larger ones are made for
+		 *            results which do not fit in it
+		 */
+		public Builder setSegmentSize(int segmentSize) {
+			if (segmentSize < 1024
+					|| segmentSize > LineFileValidator.MAXIMUM_MAPPING_SIZE) {
+				throw new IllegalArgumentException("Invalid segment size: "
+						+ segmentSize);
+			}
+			this.segmentSize = segmentSize;
+			return this;
+		}
+
+		/**
+		 * @param status
+		 *            the statuses to log, all but Passed by default
+		 */
+		public Builder setStatuses(Status status, Status... statuses) {
+			this.statuses = EnumSet.of(status, statuses);
+			return this;
+		}
+
+		/**
+		 * Creates the directory when missing and the first segment
+		 */
+		public FailureLog build() throws IOException {
+			return new FailureLog(this);
+		}
+
+	}
+
+}
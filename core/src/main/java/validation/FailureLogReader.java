@@ -0,0 +1,296 @@
+package validation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+/**
+ * Reads back the results written by a {@link FailureLog}, a segment at a
+ * time: each segment is mapped in memory and its results are handed out as
+ * {@link LoggedResult} views reading the mapped bytes, so that logs larger
+ * than the memory can be scanned. The values of a view are decoded only when
+ * asked for.
+ *
+ * A log still being written can be read, up to the last result written when
+ * its segment was mapped.
+ */
+public class FailureLogReader {
+
+	private static final ValidationType[] TYPES = ValidationType.values();
+	private static final Status[] STATUSES = Status.values();
+
+	private final Path directory;
+
+	public FailureLogReader(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @return the segment files of the log, in the order written
+	 */
+	public List<Path> getSegments() throws IOException {
+		return FailureLog.segments(directory);
+	}
+
+	/**
+	 * Hands every result of the log to the consumer, in the order written
+	 *
+	 * @return the number of results read
+	 */
+	public long forEach(Consumer<? super LoggedResult> consumer)
+			throws IOException {
+		long count = 0;
+		for (Path segment : getSegments()) {
+			Segment results = new Segment(segment);
+			while (results.hasNext()) {
+				consumer.accept(results.next());
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the results of the log, in the order written, the segments
+	 *         being read as the stream gets to them
+	 */
+	public Stream<LoggedResult> stream() throws IOException {
+		List<Path> segments = getSegments();
+
+		Iterator<LoggedResult> results = new Iterator<LoggedResult>() {
+
+			private int next;
+			private Segment segment;
+
+			@Override
+			public boolean hasNext() {
+				while (segment == null || !segment.hasNext()) {
+					if (next == segments.size()) {
+						return false;
+					}
+					try {
+						segment = new Segment(segments.get(next++));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public LoggedResult next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return segment.next();
+			}
+
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				results, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * The results of one segment, the field names being read along
+	 */
+	private static final class Segment {
+
+		private final Path file;
+		private final ByteBuffer buffer;
+		private final List<String> names = new ArrayList<>();
+
+		private int position = FailureLog.HEADER_SIZE;
+		private LoggedResult next;
+
+		private Segment(Path file) throws IOException {
+			this.file = file;
+			try (FileChannel channel = FileChannel.open(file,
+					StandardOpenOption.READ)) {
+				this.buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			}
+			if (buffer.limit() < FailureLog.HEADER_SIZE
+					|| buffer.getInt(0) != FailureLog.MAGIC
+					|| buffer.get(4) != FailureLog.VERSION) {
+				throw new IOException("Not a failure log segment: " + file);
+			}
+		}
+
+		boolean hasNext() {
+			while (next == null && position + 4 <= buffer.limit()) {
+				int length = buffer.getInt(position);
+				if (length <= 0) {
+					// the zeros after the last entry
+					position = buffer.limit();
+					break;
+				}
+				int start = position + 4;
+				if (start + length > buffer.limit()) {
+					throw new UncheckedIOException(new IOException(
+							"Entry at offset " + position + " of " + file
+									+ " is cut"));
+				}
+				if (buffer.get(start) == FailureLog.NAME_ENTRY) {
+					names.add(readString(buffer, start + 5));
+				} else {
+					next = new LoggedResult(buffer, start, names);
+				}
+				position = start + length;
+			}
+			return next != null;
+		}
+
+		LoggedResult next() {
+			LoggedResult result = next;
+			next = null;
+			return result;
+		}
+
+	}
+
+	static String readString(ByteBuffer buffer, int offset) {
+		int length = buffer.getInt(offset);
+		byte[] bytes = new byte[length];
+		for (int index = 0; index < length; index++) {
+			bytes[index] = buffer.get(offset + 4 + index);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A result read from the log, with what the log keeps of a
+	 * {@link Validator.Result}. Integral values of less than 32 bits are read
+	 * as Integers, floats as Doubles and values of other types as the Strings
+	 * they were written as.
+	 */
+	public static final class LoggedResult {
+
+		private static final int FIELD_NAME = 1;
+		private static final int TYPE = 5;
+		private static final int STATUS = 6;
+		private static final int ROW_NUMBER = 7;
+		private static final int COLUMN_NUMBER = 15;
+		private static final int COMPARED_FIELD_NAME = 19;
+		private static final int FIELD_VALUE = 23;
+
+		private final ByteBuffer buffer;
+		private final int start;
+		private final List<String> names;
+
+		private LoggedResult(ByteBuffer buffer, int start, List<String> names) {
+			this.buffer = buffer;
+			this.start = start;
+			this.names = names;
+		}
+
+		public String getFieldName() {
+			return name(buffer.getInt(start + FIELD_NAME));
+		}
+
+		public ValidationType getType() {
+			return TYPES[buffer.get(start + TYPE)];
+		}
+
+		public Status getStatus() {
+			return STATUSES[buffer.get(start + STATUS)];
+		}
+
+		public long getRowNumber() {
+			return buffer.getLong(start + ROW_NUMBER);
+		}
+
+		public int getColumnNumber() {
+			return buffer.getInt(start + COLUMN_NUMBER);
+		}
+
+		public Object getFieldValue() {
+			return value(0);
+		}
+
+		public Object getFromRange() {
+			return value(1);
+		}
+
+		public Object getToRange() {
+			return value(2);
+		}
+
+		public String getComparedFieldName() {
+			return name(buffer.getInt(start + COMPARED_FIELD_NAME));
+		}
+
+		public Object getComparedValue() {
+			return value(3);
+		}
+
+		@Override
+		public String toString() {
+			return getFieldName() + " " + getType() + " " + getStatus()
+					+ " at " + getRowNumber() + ":" + getColumnNumber() + " "
+					+ getFieldValue();
+		}
+
+		private String name(int id) {
+			return id == FailureLog.NO_NAME ? null : names.get(id);
+		}
+
+		/**
+		 * @return the value at the given index in the entry, after skipping
+		 *         those before it
+		 */
+		private Object value(int index) {
+			int offset = start + FIELD_VALUE;
+			for (int skipped = 0; skipped < index; skipped++) {
+				offset = skipValue(offset);
+			}
+			switch (buffer.get(offset)) {
+			case FailureLog.INT_VALUE:
+				return buffer.getInt(offset + 1);
+			case FailureLog.LONG_VALUE:
+				return buffer.getLong(offset + 1);
+			case FailureLog.DOUBLE_VALUE:
+				return buffer.getDouble(offset + 1);
+			case FailureLog.BOOLEAN_VALUE:
+				return buffer.get(offset + 1) != 0;
+			case FailureLog.STRING_VALUE:
+				return readString(buffer, offset + 1);
+			default:
+				return null;
+			}
+		}
+
+		private int skipValue(int offset) {
+			switch (buffer.get(offset)) {
+			case FailureLog.INT_VALUE:
+				return offset + 5;
+			case FailureLog.LONG_VALUE:
+			case FailureLog.DOUBLE_VALUE:
+				return offset + 9;
+			case FailureLog.BOOLEAN_VALUE:
+				return offset + 2;
+			case FailureLog.STRING_VALUE:
+				return offset + 5 + buffer.getInt(offset + 1);
+			default:
+				return offset + 1;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,248 @@
+package validation;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers whether paths exist for a limited time, so that records referring
+ * to the same files do not stat them again, e.g.
+ *
+ * <pre>
+ * FileStatusCache cache = FileStatusCache.builder()
+ * 		.setTimeToLive(30, TimeUnit.SECONDS).setMaximumSize(10000).build();
+ *
+ * validator.setFileStatusCache(cache);
+ * </pre>
+ *
+ * Once set on a {@link Validator}, the cache answers
+ * {@link Validator.Condition#shouldBeAnExistingFile()} and
+ * {@link Validator.PreCondition#isAnExistingFile()}. {@link #refresh(Collection)}
+ * stats many paths concurrently on the executor of the cache, ahead of the
+ * validation.
+ *
+ * When full, the cache first drops the expired entries and then arbitrary
+ * ones, so the size bound is kept without tracking the order of use. It
+ * makes room for a batch of {@value #EVICTION_DIVISOR}th of its size at once,
+ * so that it goes over its entries once every so many misses rather than on
+ * each of them.
+ */
+public class FileStatusCache {
+
+	/**
+	 * The share of the maximum size evicted at once
+	 */
+	static final int EVICTION_DIVISOR = 8;
+
+	private final long timeToLiveNanos;
+	private final int maximumSize;
+	private final Executor executor;
+	private final LongSupplier ticker;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	private FileStatusCache(Builder builder) {
+		this.timeToLiveNanos = builder.timeToLiveNanos;
+		this.maximumSize = builder.maximumSize;
+		this.executor = builder.executor != null ? builder.executor
+				: newExecutor(builder.parallelism);
+		this.ticker = builder.ticker;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return whether the path exists, as last seen within the time to live
+	 */
+	public boolean exists(String path) {
+		long now = ticker.getAsLong();
+
+		Entry entry = entries.get(path);
+		if (entry != null && entry.expiresAt - now > 0) {
+			hitCount.increment();
+			return entry.exists;
+		}
+		missCount.increment();
+		return stat(path, now);
+	}
+
+	/**
+	 * Stats the given paths concurrently, skipping the ones already known.
+	 *
+	 * @return completed once every path is in the cache
+	 */
+	public CompletableFuture<Void> refresh(Collection<String> paths) {
+		long now = ticker.getAsLong();
+
+		List<CompletableFuture<Void>> stats = new ArrayList<>();
+		for (String path : new LinkedHashSet<>(paths)) {
+			Entry entry = entries.get(path);
+			if (entry == null || entry.expiresAt - now <= 0) {
+				stats.add(CompletableFuture.runAsync(
+						() -> stat(path, ticker.getAsLong()), executor));
+			}
+		}
+		return CompletableFuture.allOf(stats
+				.toArray(new CompletableFuture<?>[stats.size()]));
+	}
+
+	public void invalidate(String path) {
+		entries.remove(path);
+	}
+
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	private boolean stat(String path, long now) {
+		boolean exists = fileExists(path);
+		if (!entries.containsKey(path) && entries.size() >= maximumSize) {
+			evict(now);
+		}
+		entries.put(path, new Entry(exists, now + timeToLiveNanos));
+		return exists;
+	}
+
+	private static boolean fileExists(String path) {
+		// Paths.get("") is the working directory, new File("") does not exist
+		if (path.isEmpty()) {
+			return false;
+		}
+		try {
+			return Files.exists(Paths.get(path));
+		} catch (InvalidPathException e) {
+			return false;
+		}
+	}
+
+	private void evict(long now) {
+		entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+
+		int retainedSize = maximumSize
+				- Math.max(1, maximumSize / EVICTION_DIVISOR);
+		Iterator<String> paths = entries.keySet().iterator();
+		while (entries.size() > retainedSize && paths.hasNext()) {
+			paths.next();
+			paths.remove();
+		}
+	}
+
+	private static Executor newExecutor(int parallelism) {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism,
+				parallelism, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), runnable -> {
+					Thread thread = new Thread(runnable, "file-status-"
+							+ threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static final class Entry {
+
+		private final boolean exists;
+		private final long expiresAt;
+
+		private Entry(boolean exists, long expiresAt) {
+			this.exists = exists;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+	public static class Builder {
+
+		private long timeToLiveNanos = TimeUnit.SECONDS.toNanos(60);
+		private int maximumSize = 10000;
+		private int parallelism = 16;
+		private Executor executor;
+		private LongSupplier ticker = System::nanoTime;
+
+		private Builder() {
+		}
+
+		public Builder setTimeToLive(long duration, TimeUnit unit) {
+			if (duration < 0) {
+				throw new IllegalArgumentException("Invalid time to live: "
+						+ duration);
+			}
+			this.timeToLiveNanos = unit.toNanos(duration);
+			return this;
+		}
+
+		public Builder setMaximumSize(int maximumSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("Invalid maximum size: "
+						+ maximumSize);
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * @param parallelism
+		 *            the number of daemon threads stating paths for
+		 *            {@link FileStatusCache#refresh(Collection)}, unless an
+		 *            executor is set
+		 */
+		public Builder setParallelism(int parallelism) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("Invalid parallelism: "
+						+ parallelism);
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		public Builder setExecutor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		Builder setTicker(LongSupplier ticker) {
+			this.ticker = ticker;
+			return this;
+		}
+
+		public FileStatusCache build() {
+			return new FileStatusCache(this);
+		}
+
+	}
+
+}
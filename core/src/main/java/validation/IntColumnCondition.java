@@ -0,0 +1,185 @@
+package validation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import validation.Validator.IntCondition;
+import validation.Validator.ValidationType;
+
+/**
+ * Condition on a column of int values, which compares the raw values; a value
+ * is boxed only when it does not pass a check and is reported.
+ */
+public class IntColumnCondition extends ColumnCondition<Integer> {
+
+	private final int[] values;
+
+	IntColumnCondition(Validator validator, String fieldName, int[] values) {
+		super(validator, fieldName, null, values.length);
+		this.values = values;
+	}
+
+	@Override
+	public IntColumnCondition shouldBeNull() {
+		super.shouldBeNull();
+		return this;
+	}
+
+	@Override
+	public IntColumnCondition shouldNotBeNull() {
+		// primitive values are never null
+		checked(ValidationType.ShouldNotBeNull, new long[words(values.length)],
+				startTiming(), index -> {
+				});
+		return this;
+	}
+
+	public IntColumnCondition shouldBe(int value) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				int difference = values[index] ^ value;
+				// the sign of difference | -difference is set unless it is 0
+				bits |= (long) ((difference | -difference) >>> 31) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldBe(value));
+		return this;
+	}
+
+	public IntColumnCondition shouldNotBe(int value) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				int difference = values[index] ^ value;
+				bits |= (long) (~(difference | -difference) >>> 31) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldNotBe(value));
+		return this;
+	}
+
+	public IntColumnCondition shouldBeInInclusiveRange(int from, int to) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long value = values[index];
+				// negative, in long arithmetic, when below from or above to
+				bits |= ((value - from) | (to - value)) >>> 63 << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBeInInclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInInclusiveRange(from, to));
+		return this;
+	}
+
+	public IntColumnCondition shouldBeInExclusiveRange(int from, int to) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long value = values[index];
+				bits |= ((value - from - 1) | (to - 1 - value)) >>> 63 << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBeInExclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInExclusiveRange(from, to));
+		return this;
+	}
+
+	/**
+	 * Checks every value against a set of values, searched with a binary
+	 * search over a sorted copy; the domain is boxed only when a value does
+	 * not pass, to be reported. A domain checked for many columns is better
+	 * prepared once, see {@link #shouldBeOneOf(DomainSet)}.
+	 */
+	public IntColumnCondition shouldBeOneOf(int... domain) {
+		long start = startTiming();
+		int[] sortedDomain = domain.clone();
+		Arrays.sort(sortedDomain);
+
+		checked(ValidationType.ShouldBeOneOf, failedOutside(sortedDomain),
+				start, new IntConsumer() {
+
+					private DomainSet<Integer> domainSet;
+
+					@Override
+					public void accept(int index) {
+						if (domainSet == null) {
+							domainSet = DomainSet.of(Arrays.stream(domain)
+									.boxed().toArray(Integer[]::new));
+						}
+						valueAt(index).shouldBeOneOf(domainSet);
+					}
+
+				});
+		return this;
+	}
+
+	/**
+	 * Checks every value against the domain with a binary search over its
+	 * sorted values, when they are all Integers
+	 */
+	@Override
+	public IntColumnCondition shouldBeOneOf(DomainSet<? extends Integer> domain) {
+		long start = startTiming();
+		int[] sortedDomain = domain.sortedInts();
+		if (sortedDomain == null) {
+			super.shouldBeOneOf(domain);
+			return this;
+		}
+		checked(ValidationType.ShouldBeOneOf, failedOutside(sortedDomain),
+				start, index -> valueAt(index).shouldBeOneOf(domain));
+		return this;
+	}
+
+	/**
+	 * @return the bits of the values which are not in the sorted domain
+	 */
+	private long[] failedOutside(int[] sortedDomain) {
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				bits |= (long) (Arrays.binarySearch(sortedDomain, values[index]) >>> 31) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		return failed;
+	}
+
+	@Override
+	Integer get(int index) {
+		return values[index];
+	}
+
+	@Override
+	IntCondition valueAt(int index) {
+		return validator.valueOfField(getFieldName(), values[index])
+				.setPosition(index + 1L, 0);
+	}
+
+}
@@ -0,0 +1,415 @@
+package validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls the values of a known set of paths out of a JSON object held by a
+ * buffer, noting where each value starts and ends. Everything else is only
+ * scanned over, objects and arrays included, so reading a line creates no
+ * object unless a key has to be unescaped.
+ */
+final class JsonParser {
+
+	static final byte MISSING = 0;
+	static final byte STRING = 1;
+	static final byte NUMBER = 2;
+	static final byte TRUE = 3;
+	static final byte FALSE = 4;
+	static final byte NULL = 5;
+	static final byte OBJECT = 6;
+	static final byte ARRAY = 7;
+
+	private final Node root;
+
+	/**
+	 * Whether the last string scanned holds escapes or non ASCII characters
+	 */
+	private boolean decoded;
+
+	/**
+	 * @param paths
+	 *            dot separated keys, the index of a path in the list is the
+	 *            field index its value is stored at
+	 */
+	JsonParser(List<String> paths) {
+		this.root = new Node();
+		for (int index = 0; index < paths.size(); index++) {
+			Node node = root;
+			for (String key : paths.get(index).split("\\.", -1)) {
+				node = node.addChild(key);
+			}
+			node.fieldIndex = index;
+		}
+	}
+
+	/**
+	 * Parses the object of a line, from the given start to the given end of
+	 * the line, into the record.
+	 *
+	 * @return false when the line is not a well formed JSON object; the
+	 *         values found before the error are kept
+	 */
+	boolean parse(ByteBuffer buffer, int start, int end, JsonValues record) {
+		int index = skipWhitespace(buffer, start, end);
+		if (index == end || buffer.get(index) != '{') {
+			return false;
+		}
+		index = parseObject(buffer, index, end, root, record);
+		return index >= 0 && skipWhitespace(buffer, index, end) == end;
+	}
+
+	static int skipWhitespace(ByteBuffer buffer, int index, int end) {
+		while (index < end) {
+			byte character = buffer.get(index);
+			if (character != ' ' && character != '\t' && character != '\r'
+					&& character != '\n') {
+				break;
+			}
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * @return the index after the object starting at the given index, -1
+	 *         when it is malformed
+	 */
+	private int parseObject(ByteBuffer buffer, int index, int end, Node node,
+			JsonValues record) {
+		index = skipWhitespace(buffer, index + 1, end);
+		if (index < end && buffer.get(index) == '}') {
+			return index + 1;
+		}
+		while (true) {
+			if (index == end || buffer.get(index) != '"') {
+				return -1;
+			}
+			int keyEnd = skipString(buffer, index, end);
+			if (keyEnd < 0) {
+				return -1;
+			}
+			Node child;
+			if (decoded) {
+				String key = decodeString(buffer, index, keyEnd);
+				if (key == null) {
+					return -1;
+				}
+				child = node.child(key);
+			} else {
+				child = node.child(buffer, index + 1, keyEnd - 1);
+			}
+
+			index = skipWhitespace(buffer, keyEnd, end);
+			if (index == end || buffer.get(index) != ':') {
+				return -1;
+			}
+			index = skipWhitespace(buffer, index + 1, end);
+			if (index == end) {
+				return -1;
+			}
+
+			int valueStart = index;
+			boolean valueDecoded = false;
+			if (child != null && child.children != null
+					&& buffer.get(index) == '{') {
+				index = parseObject(buffer, index, end, child, record);
+			} else {
+				index = skipValue(buffer, index, end);
+				valueDecoded = decoded;
+			}
+			if (index < 0) {
+				return -1;
+			}
+			if (child != null && child.fieldIndex >= 0) {
+				record.setValue(child.fieldIndex, valueStart, index,
+						typeOf(buffer.get(valueStart)), valueDecoded);
+			}
+
+			index = skipWhitespace(buffer, index, end);
+			if (index == end) {
+				return -1;
+			}
+			byte character = buffer.get(index);
+			if (character == '}') {
+				return index + 1;
+			}
+			if (character != ',') {
+				return -1;
+			}
+			index = skipWhitespace(buffer, index + 1, end);
+		}
+	}
+
+	/**
+	 * @return the index after the value starting at the given index, -1 when
+	 *         it is malformed; objects and arrays are only checked for
+	 *         balanced brackets
+	 */
+	private int skipValue(ByteBuffer buffer, int index, int end) {
+		decoded = false;
+		byte character = buffer.get(index);
+		switch (character) {
+		case '"':
+			return skipString(buffer, index, end);
+		case '{':
+		case '[':
+			return skipNested(buffer, index, end);
+		case 't':
+			return skipLiteral(buffer, index, end, "true");
+		case 'f':
+			return skipLiteral(buffer, index, end, "false");
+		case 'n':
+			return skipLiteral(buffer, index, end, "null");
+		default:
+			return skipNumber(buffer, index, end);
+		}
+	}
+
+	/**
+	 * @return the index after the closing quote, -1 when there is none or an
+	 *         escape is invalid
+	 */
+	private int skipString(ByteBuffer buffer, int index, int end) {
+		decoded = false;
+		for (index++; index < end; index++) {
+			byte character = buffer.get(index);
+			if (character == '"') {
+				return index + 1;
+			}
+			if (character == '\\') {
+				decoded = true;
+				if (++index == end) {
+					return -1;
+				}
+				byte escaped = buffer.get(index);
+				if (escaped == 'u') {
+					for (int digit = 0; digit < 4; digit++) {
+						if (++index == end
+								|| Character.digit(buffer.get(index), 16) < 0) {
+							return -1;
+						}
+					}
+				} else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+					return -1;
+				}
+			} else if (character < 0) {
+				decoded = true;
+			}
+		}
+		return -1;
+	}
+
+	private int skipNested(ByteBuffer buffer, int index, int end) {
+		boolean nestedDecoded = false;
+		int depth = 0;
+		while (index < end) {
+			byte character = buffer.get(index);
+			if (character == '"') {
+				index = skipString(buffer, index, end);
+				if (index < 0) {
+					return -1;
+				}
+				nestedDecoded |= decoded;
+				continue;
+			}
+			if (character == '{' || character == '[') {
+				depth++;
+			} else if (character == '}' || character == ']') {
+				if (--depth == 0) {
+					decoded = nestedDecoded;
+					return index + 1;
+				}
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	private static int skipLiteral(ByteBuffer buffer, int index, int end,
+			String literal) {
+		if (end - index < literal.length()) {
+			return -1;
+		}
+		for (int offset = 0; offset < literal.length(); offset++) {
+			if (buffer.get(index + offset) != literal.charAt(offset)) {
+				return -1;
+			}
+		}
+		return index + literal.length();
+	}
+
+	private static int skipNumber(ByteBuffer buffer, int index, int end) {
+		int start = index;
+		while (index < end) {
+			byte character = buffer.get(index);
+			if (!(character >= '0' && character <= '9' || character == '-'
+					|| character == '+' || character == '.'
+					|| character == 'e' || character == 'E')) {
+				break;
+			}
+			index++;
+		}
+		return index == start ? -1 : index;
+	}
+
+	private static byte typeOf(byte character) {
+		switch (character) {
+		case '"':
+			return STRING;
+		case '{':
+			return OBJECT;
+		case '[':
+			return ARRAY;
+		case 't':
+			return TRUE;
+		case 'f':
+			return FALSE;
+		case 'n':
+			return NULL;
+		default:
+			return NUMBER;
+		}
+	}
+
+	/**
+	 * @return the unescaped content of the string from the opening quote at
+	 *         start to the index after its closing quote, null when a
+	 *         unicode escape is not followed by four hexadecimal digits
+	 */
+	static String decodeString(ByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start - 2];
+		for (int index = 0; index < bytes.length; index++) {
+			bytes[index] = buffer.get(start + 1 + index);
+		}
+		String raw = new String(bytes, StandardCharsets.UTF_8);
+		if (raw.indexOf('\\') < 0) {
+			return raw;
+		}
+
+		StringBuilder unescaped = new StringBuilder(raw.length());
+		for (int index = 0; index < raw.length(); index++) {
+			char character = raw.charAt(index);
+			if (character != '\\' || index + 1 == raw.length()) {
+				unescaped.append(character);
+				continue;
+			}
+			char escaped = raw.charAt(++index);
+			switch (escaped) {
+			case 'b':
+				unescaped.append('\b');
+				break;
+			case 'f':
+				unescaped.append('\f');
+				break;
+			case 'n':
+				unescaped.append('\n');
+				break;
+			case 'r':
+				unescaped.append('\r');
+				break;
+			case 't':
+				unescaped.append('\t');
+				break;
+			case 'u':
+				int code = 0;
+				for (int digit = 1; digit <= 4; digit++) {
+					int value = index + digit < raw.length() ? Character
+							.digit(raw.charAt(index + digit), 16) : -1;
+					if (value < 0) {
+						return null;
+					}
+					code = code << 4 | value;
+				}
+				unescaped.append((char) code);
+				index += 4;
+				break;
+			default:
+				unescaped.append(escaped);
+			}
+		}
+		return unescaped.toString();
+	}
+
+	/**
+	 * The values of a line, by field index.
+	 */
+	interface JsonValues {
+
+		void setValue(int fieldIndex, int start, int end, byte type,
+				boolean decoded);
+
+	}
+
+	/**
+	 * A key of the referenced paths, with the keys following it.
+	 */
+	private static final class Node {
+
+		private List<String> names;
+		private List<byte[]> encodedNames;
+		private List<Node> children;
+
+		private int fieldIndex = -1;
+
+		/**
+		 * @return the child with the given name, added when there is none
+		 */
+		private Node addChild(String name) {
+			if (children == null) {
+				names = new ArrayList<>();
+				encodedNames = new ArrayList<>();
+				children = new ArrayList<>();
+			}
+			int index = names.indexOf(name);
+			if (index >= 0) {
+				return children.get(index);
+			}
+			Node child = new Node();
+			names.add(name);
+			encodedNames.add(name.getBytes(StandardCharsets.UTF_8));
+			children.add(child);
+			return child;
+		}
+
+		/**
+		 * @return the child with the given decoded name, null if none is
+		 */
+		private Node child(String name) {
+			if (children == null) {
+				return null;
+			}
+			int index = names.indexOf(name);
+			return index < 0 ? null : children.get(index);
+		}
+
+		/**
+		 * @return the child named by the given bytes, null if none is
+		 */
+		private Node child(ByteBuffer buffer, int start, int end) {
+			if (children == null) {
+				return null;
+			}
+			for (int index = 0; index < encodedNames.size(); index++) {
+				byte[] name = encodedNames.get(index);
+				if (name.length == end - start && equals(name, buffer, start)) {
+					return children.get(index);
+				}
+			}
+			return null;
+		}
+
+		private static boolean equals(byte[] name, ByteBuffer buffer, int start) {
+			for (int index = 0; index < name.length; index++) {
+				if (name[index] != buffer.get(start + index)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,164 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+
+/**
+ * A validator of files made of newline delimited records, e.g. CSV or NDJSON
+ * files, which a {@link ParallelFileValidator} can split on line boundaries
+ * and validate a chunk at a time.
+ */
+public abstract class LineFileValidator {
+
+	static final int MAXIMUM_MAPPING_SIZE = Integer.MAX_VALUE - 8;
+
+	LineFileValidator() {
+	}
+
+	/**
+	 * Validates every record of the file, on the calling thread; the results
+	 * go to the listener of the given validator.
+	 *
+	 * @return the number of records validated
+	 */
+	public abstract long validate(Validator validator, Path file)
+			throws IOException;
+
+	/**
+	 * Reads what precedes the records, e.g. a byte order mark or a header.
+	 */
+	abstract Records prepare(FileChannel channel) throws IOException;
+
+	/**
+	 * Runs the scan over the file through a mapped window, moved to the first
+	 * record the scan did not finish and widened when it could not finish
+	 * any.
+	 *
+	 * @return the offset in the file where the scan stopped
+	 */
+	static long scan(FileChannel channel, int mappingSize, Scan scan)
+			throws IOException {
+		long size = channel.size();
+		long position = 0;
+		int windowSize = mappingSize;
+
+		while (position < size && !scan.stopped) {
+			int length = (int) Math.min(windowSize, size - position);
+			boolean endOfInput = position + length == size;
+
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY,
+					position, length);
+			int offset = position == 0 ? skipByteOrderMark(buffer) : 0;
+
+			offset = scan.validate(buffer, offset, length, endOfInput);
+
+			if (offset == 0) {
+				// a record longer than the window, retry with a wider one
+				if (windowSize == MAXIMUM_MAPPING_SIZE) {
+					throw new IOException("Record at row "
+							+ scan.getRowNumber() + " is too long");
+				}
+				windowSize = (int) Math.min(2L * windowSize,
+						MAXIMUM_MAPPING_SIZE);
+			}
+			position += offset;
+		}
+		return position;
+	}
+
+	/**
+	 * @return the length of the UTF-8 byte order mark starting the file, 0
+	 *         when there is none
+	 */
+	static int skipByteOrderMark(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(3);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0) {
+				break;
+			}
+		}
+		buffer.flip();
+		return skipByteOrderMark(buffer);
+	}
+
+	private static int skipByteOrderMark(ByteBuffer buffer) {
+		if (buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF
+				&& buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+			return 3;
+		}
+		return 0;
+	}
+
+	/**
+	 * The state of a validation carried from one window to the next.
+	 */
+	abstract static class Scan {
+
+		/**
+		 * Set once nothing more is to be read
+		 */
+		boolean stopped;
+
+		/**
+		 * @return the row of the next record
+		 */
+		abstract long getRowNumber();
+
+		/**
+		 * Validates the records held by the window, from the given offset.
+		 *
+		 * @return the offset of the first record not validated, the limit
+		 *         once all are
+		 */
+		abstract int validate(ByteBuffer buffer, int offset, int limit,
+				boolean endOfInput);
+
+	}
+
+	/**
+	 * The records of one file, past what precedes them.
+	 */
+	abstract static class Records {
+
+		/**
+		 * The offset of the first record in the file
+		 */
+		final long start;
+
+		/**
+		 * The row of the line at the start offset, starting at 1
+		 */
+		final long firstRowNumber;
+
+		Records(long start, long firstRowNumber) {
+			this.start = start;
+			this.firstRowNumber = firstRowNumber;
+		}
+
+		/**
+		 * Validates the whole lines held by the buffer, numbering rows from 1
+		 * at the start of the buffer.
+		 *
+		 * @return the number of records and the number of lines validated
+		 */
+		abstract Chunk validate(Validator validator, ByteBuffer buffer);
+
+	}
+
+	static final class Chunk {
+
+		final long recordCount;
+		final long lineCount;
+
+		Chunk(long recordCount, long lineCount) {
+			this.recordCount = recordCount;
+			this.lineCount = lineCount;
+		}
+
+	}
+
+}
@@ -0,0 +1,185 @@
+package validation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import validation.Validator.LongCondition;
+import validation.Validator.ValidationType;
+
+/**
+ * Condition on a column of long values, which compares the raw values; a
+ * value is boxed only when it does not pass a check and is reported.
+ */
+public class LongColumnCondition extends ColumnCondition<Long> {
+
+	private final long[] values;
+
+	LongColumnCondition(Validator validator, String fieldName, long[] values) {
+		super(validator, fieldName, null, values.length);
+		this.values = values;
+	}
+
+	@Override
+	public LongColumnCondition shouldBeNull() {
+		super.shouldBeNull();
+		return this;
+	}
+
+	@Override
+	public LongColumnCondition shouldNotBeNull() {
+		// primitive values are never null
+		checked(ValidationType.ShouldNotBeNull, new long[words(values.length)],
+				startTiming(), index -> {
+				});
+		return this;
+	}
+
+	public LongColumnCondition shouldBe(long value) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long difference = values[index] ^ value;
+				// the sign of difference | -difference is set unless it is 0
+				bits |= (difference | -difference) >>> 63 << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldBe(value));
+		return this;
+	}
+
+	public LongColumnCondition shouldNotBe(long value) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long difference = values[index] ^ value;
+				bits |= ~(difference | -difference) >>> 63 << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBe, failed, start,
+				index -> valueAt(index).shouldNotBe(value));
+		return this;
+	}
+
+	public LongColumnCondition shouldBeInInclusiveRange(long from, long to) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long value = values[index];
+				// compared, as the difference could overflow
+				bits |= (value < from | value > to ? 1L : 0L) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBeInInclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInInclusiveRange(from, to));
+		return this;
+	}
+
+	public LongColumnCondition shouldBeInExclusiveRange(long from, long to) {
+		long start = startTiming();
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				long value = values[index];
+				bits |= (value <= from | value >= to ? 1L : 0L) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		checked(ValidationType.ShouldBeInExclusiveRange, failed, start,
+				index -> valueAt(index).shouldBeInExclusiveRange(from, to));
+		return this;
+	}
+
+	/**
+	 * Checks every value against a set of values, searched with a binary
+	 * search over a sorted copy; the domain is boxed only when a value does
+	 * not pass, to be reported. A domain checked for many columns is better
+	 * prepared once, see {@link #shouldBeOneOf(DomainSet)}.
+	 */
+	public LongColumnCondition shouldBeOneOf(long... domain) {
+		long start = startTiming();
+		long[] sortedDomain = domain.clone();
+		Arrays.sort(sortedDomain);
+
+		checked(ValidationType.ShouldBeOneOf, failedOutside(sortedDomain),
+				start, new IntConsumer() {
+
+					private DomainSet<Long> domainSet;
+
+					@Override
+					public void accept(int index) {
+						if (domainSet == null) {
+							domainSet = DomainSet.of(Arrays.stream(domain)
+									.boxed().toArray(Long[]::new));
+						}
+						valueAt(index).shouldBeOneOf(domainSet);
+					}
+
+				});
+		return this;
+	}
+
+	/**
+	 * Checks every value against the domain with a binary search over its
+	 * sorted values, when they are all Longs
+	 */
+	@Override
+	public LongColumnCondition shouldBeOneOf(DomainSet<? extends Long> domain) {
+		long start = startTiming();
+		long[] sortedDomain = domain.sortedLongs();
+		if (sortedDomain == null) {
+			super.shouldBeOneOf(domain);
+			return this;
+		}
+		checked(ValidationType.ShouldBeOneOf, failedOutside(sortedDomain),
+				start, index -> valueAt(index).shouldBeOneOf(domain));
+		return this;
+	}
+
+	/**
+	 * @return the bits of the values which are not in the sorted domain
+	 */
+	private long[] failedOutside(long[] sortedDomain) {
+		long[] failed = new long[words(values.length)];
+		for (int word = 0; word < failed.length; word++) {
+			int first = word << 6;
+			int end = Math.min(first + 64, values.length);
+			long bits = 0;
+			for (int index = first; index < end; index++) {
+				bits |= (long) (Arrays.binarySearch(sortedDomain, values[index]) >>> 31) << (index - first);
+			}
+			failed[word] = bits;
+		}
+		return failed;
+	}
+
+	@Override
+	Long get(int index) {
+		return values[index];
+	}
+
+	@Override
+	LongCondition valueAt(int index) {
+		return validator.valueOfField(getFieldName(), values[index])
+				.setPosition(index + 1L, 0);
+	}
+
+}
@@ -0,0 +1,237 @@
+package validation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the work of matching a value against a pattern, so that a pattern
+ * which backtracks catastrophically on some input, e.g. {@code (a+)+b}
+ * against a long run of {@code a}, ends the check in
+ * {@link Validator.Status#Timeout} instead of holding the thread, e.g.
+ *
+ * <pre>
+ * validator.setMatchBudget(MatchBudget.builder().setMaximumSteps(1_000_000)
+ * 		.setMaximumTime(10, TimeUnit.MILLISECONDS).build());
+ * </pre>
+ *
+ * The matcher reads the value through a wrapper counting a step for each
+ * char it reads, and reading the clock every {@value #CLOCK_INTERVAL} steps
+ * when there is a time limit; the match stops on the first step beyond
+ * either limit. The patterns scanned against character class bitmaps take
+ * one step per char by construction and are never guarded.
+ *
+ * A budget counts the matches it guarded and those it stopped, and can be
+ * shared by validators and threads.
+ */
+public final class MatchBudget {
+
+	/**
+	 * The number of steps between two reads of the clock
+	 */
+	static final int CLOCK_INTERVAL = 1024;
+
+	private static final long UNBOUNDED = Long.MAX_VALUE;
+
+	/**
+	 * Thrown by the wrapper when a limit is hit, without a stack trace as it
+	 * never leaves the matching
+	 */
+	private static final Exhausted EXHAUSTED = new Exhausted();
+
+	private final long maximumSteps;
+	private final long maximumNanos;
+
+	private final LongAdder guardedCount = new LongAdder();
+	private final LongAdder stepLimitCount = new LongAdder();
+	private final LongAdder timeLimitCount = new LongAdder();
+
+	private MatchBudget(Builder builder) {
+		this.maximumSteps = builder.maximumSteps;
+		this.maximumNanos = builder.maximumNanos;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return the number of chars a match may read, {@link Long#MAX_VALUE}
+	 *         when unbounded
+	 */
+	public long getMaximumSteps() {
+		return maximumSteps;
+	}
+
+	/**
+	 * @return the nanoseconds a match may take, {@link Long#MAX_VALUE} when
+	 *         unbounded
+	 */
+	public long getMaximumNanos() {
+		return maximumNanos;
+	}
+
+	/**
+	 * @return the number of matches run under this budget
+	 */
+	public long getGuardedCount() {
+		return guardedCount.sum();
+	}
+
+	/**
+	 * @return the number of matches stopped by either limit
+	 */
+	public long getExhaustedCount() {
+		return stepLimitCount.sum() + timeLimitCount.sum();
+	}
+
+	/**
+	 * @return the number of matches stopped by the maximum steps
+	 */
+	public long getStepLimitCount() {
+		return stepLimitCount.sum();
+	}
+
+	/**
+	 * @return the number of matches stopped by the maximum time
+	 */
+	public long getTimeLimitCount() {
+		return timeLimitCount.sum();
+	}
+
+	/**
+	 * A value read under a budget, kept by a thread and started again for
+	 * each match
+	 */
+	static final class GuardedSequence implements CharSequence {
+
+		private CharSequence input;
+		private long stepsLeft;
+		private boolean timed;
+		private long deadline;
+		private int untilClock;
+		private boolean timedOut;
+
+		/**
+		 * @return this sequence reading the input under the budget
+		 */
+		GuardedSequence start(MatchBudget budget, CharSequence input) {
+			budget.guardedCount.increment();
+			this.input = input;
+			this.stepsLeft = budget.maximumSteps;
+			this.timed = budget.maximumNanos != UNBOUNDED;
+			this.deadline = timed ? System.nanoTime() + budget.maximumNanos : 0;
+			this.untilClock = CLOCK_INTERVAL;
+			this.timedOut = false;
+			return this;
+		}
+
+		/**
+		 * Counts the match as stopped by the limit it hit
+		 */
+		void exhausted(MatchBudget budget) {
+			(timedOut ? budget.timeLimitCount : budget.stepLimitCount)
+					.increment();
+		}
+
+		/**
+		 * Lets go of the input, so that it is not kept alive by the thread
+		 */
+		void finish() {
+			input = null;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (--stepsLeft < 0) {
+				throw EXHAUSTED;
+			}
+			if (timed && --untilClock == 0) {
+				untilClock = CLOCK_INTERVAL;
+				if (System.nanoTime() - deadline > 0) {
+					timedOut = true;
+					throw EXHAUSTED;
+				}
+			}
+			return input.charAt(index);
+		}
+
+		@Override
+		public int length() {
+			return input.length();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return input.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return input.toString();
+		}
+
+	}
+
+	/**
+	 * Stops a match whose budget ran out
+	 */
+	static final class Exhausted extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private Exhausted() {
+			super("Match budget exhausted", null, false, false);
+		}
+
+	}
+
+	public static class Builder {
+
+		private long maximumSteps = UNBOUNDED;
+		private long maximumNanos = UNBOUNDED;
+
+		private Builder() {
+		}
+
+		/**
+		 * Stops the matches reading more than the given number of chars,
+		 * counting again each char read after backtracking
+		 */
+		public Builder setMaximumSteps(long maximumSteps) {
+			if (maximumSteps < 1) {
+				throw new IllegalArgumentException("Invalid maximum steps: "
+						+ maximumSteps);
+			}
+			this.maximumSteps = maximumSteps;
+			return this;
+		}
+
+		/**
+		 * Stops the matches taking longer than the given time, checked every
+		 * {@value MatchBudget#CLOCK_INTERVAL} steps
+		 */
+		public Builder setMaximumTime(long duration, TimeUnit unit) {
+			if (duration < 1) {
+				throw new IllegalArgumentException("Invalid maximum time: "
+						+ duration);
+			}
+			this.maximumNanos = Math.min(unit.toNanos(duration),
+					UNBOUNDED - 1);
+			return this;
+		}
+
+		/**
+		 * @throws IllegalStateException
+		 *             when neither the steps nor the time are bounded
+		 */
+		public MatchBudget build() {
+			if (maximumSteps == UNBOUNDED && maximumNanos == UNBOUNDED) {
+				throw new IllegalStateException(
+						"Invalid match budget: no maximum steps nor time");
+			}
+			return new MatchBudget(this);
+		}
+
+	}
+
+}
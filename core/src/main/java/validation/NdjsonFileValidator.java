@@ -0,0 +1,334 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import validation.Validator.Condition;
+import validation.Validator.DoubleCondition;
+import validation.Validator.LongCondition;
+import validation.Validator.ValidationType;
+
+/**
+ * Validates the records of a newline delimited JSON file, one object per
+ * line, without building the objects: each line is tokenized in the mapped
+ * file and only the values of the fields the rules refer to are read, e.g.
+ *
+ * <pre>
+ * NdjsonFileValidator ndjson = NdjsonFileValidator.builder()
+ * 		.field(&quot;name&quot;, name -&gt; name.shouldNotBeBlank())
+ * 		.longField(&quot;age&quot;, age -&gt; age.shouldBeInInclusiveRange(0L, 150L))
+ * 		.field(&quot;address.city&quot;, city -&gt; city.shouldBeOneOf(cities))
+ * 		.record(record -&gt; record.ifValueOfField(&quot;sex&quot;).is(&quot;Male&quot;)
+ * 				.thenValueOfField(&quot;age&quot;, record.getValue(&quot;age&quot;))
+ * 				.shouldBeNumeric(), &quot;sex&quot;, &quot;age&quot;)
+ * 		.build();
+ *
+ * ndjson.validate(validator, Paths.get(&quot;feed.ndjson&quot;));
+ * </pre>
+ *
+ * Paths name nested fields with dots. Unreferenced fields, nested objects and
+ * arrays included, are skipped over without creating objects; values are
+ * created only when a rule asks for them, see {@link NdjsonRecord}. The
+ * conditions are named after the path and positioned at the line and at the
+ * byte of the line the value starts at.
+ *
+ * A field that is missing gives a null value. A line that is not a well
+ * formed object is not checked by the rules: it is reported by a failed
+ * {@link ValidationType#ShouldBeWellFormed} check of a field named
+ * {@value #LINE_FIELD_NAME}, whose value is the text of the line. Empty lines
+ * are skipped. The file must be encoded in UTF-8.
+ */
+public class NdjsonFileValidator extends LineFileValidator {
+
+	/**
+	 * The name of the field the malformed lines are reported for
+	 */
+	public static final String LINE_FIELD_NAME = "line";
+
+	private final int mappingSize;
+
+	private final List<String> paths;
+	private final Map<String, Integer> fieldIndexes;
+	private final List<FieldRule> fieldRules;
+	private final List<Consumer<NdjsonRecord>> recordRules;
+
+	private NdjsonFileValidator(Builder builder) {
+		this.mappingSize = builder.mappingSize;
+		this.paths = Collections.unmodifiableList(new ArrayList<>(
+				builder.paths));
+		this.fieldIndexes = Collections.unmodifiableMap(new HashMap<>(
+				builder.fieldIndexes));
+		this.fieldRules = Collections.unmodifiableList(new ArrayList<>(
+				builder.fieldRules));
+		this.recordRules = Collections.unmodifiableList(new ArrayList<>(
+				builder.recordRules));
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Validates every line of the file, the results go to the listener of the
+	 * given validator.
+	 *
+	 * @return the number of records validated, empty lines excluded
+	 */
+	@Override
+	public long validate(Validator validator, Path file) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+
+			Pass pass = new Pass(validator, 1);
+			scan(channel, mappingSize, pass);
+			return pass.recordCount;
+		}
+	}
+
+	@Override
+	Records prepare(FileChannel channel) throws IOException {
+		return new Records(skipByteOrderMark(channel), 1) {
+
+			@Override
+			Chunk validate(Validator validator, ByteBuffer buffer) {
+				Pass pass = new Pass(validator, 1);
+				pass.validate(buffer, 0, buffer.limit(), true);
+				return new Chunk(pass.recordCount, pass.rowNumber - 1);
+			}
+
+		};
+	}
+
+	private void validate(NdjsonRecord record) {
+		Validator validator = record.getValidator();
+		validator.startRecord();
+		for (FieldRule rule : fieldRules) {
+			rule.validate(validator, record);
+		}
+		for (Consumer<NdjsonRecord> recordRule : recordRules) {
+			recordRule.accept(record);
+		}
+	}
+
+	/**
+	 * The state of one validation of a file or of a chunk of it, carried from
+	 * one window to the next.
+	 */
+	private class Pass extends Scan {
+
+		private final NdjsonRecord record;
+		private final JsonParser parser;
+
+		private long rowNumber;
+		private long recordCount;
+
+		private Pass(Validator validator, long rowNumber) {
+			this.record = new NdjsonRecord(validator, fieldIndexes);
+			this.parser = new JsonParser(paths);
+			this.rowNumber = rowNumber;
+		}
+
+		@Override
+		long getRowNumber() {
+			return rowNumber;
+		}
+
+		@Override
+		int validate(ByteBuffer buffer, int offset, int limit,
+				boolean endOfInput) {
+			while (offset < limit) {
+				int lineEnd = offset;
+				while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+					lineEnd++;
+				}
+				if (lineEnd == limit && !endOfInput) {
+					break;
+				}
+
+				if (JsonParser.skipWhitespace(buffer, offset, lineEnd) < lineEnd) {
+					record.start(buffer, rowNumber, offset);
+					if (parser.parse(buffer, offset, lineEnd, record)) {
+						NdjsonFileValidator.this.validate(record);
+					} else {
+						reportMalformed(lineEnd);
+					}
+					recordCount++;
+				}
+				rowNumber++;
+				offset = lineEnd == limit ? limit : lineEnd + 1;
+			}
+			return offset;
+		}
+
+		private void reportMalformed(int lineEnd) {
+			Validator validator = record.getValidator();
+			validator.startRecord();
+			validator.valueOfField(LINE_FIELD_NAME, record.lineText(lineEnd))
+					.setPosition(rowNumber, 1)
+					.reportCheck(ValidationType.ShouldBeWellFormed, false,
+							"a JSON object");
+		}
+
+	}
+
+	private abstract static class FieldRule {
+
+		final String path;
+		final int index;
+
+		FieldRule(String path, int index) {
+			this.path = path;
+			this.index = index;
+		}
+
+		abstract void validate(Validator validator, NdjsonRecord record);
+
+		Condition<Object> valueOfField(Validator validator, NdjsonRecord record) {
+			return validator.valueOfField(path, record.getValue(index))
+					.setPosition(record.getRowNumber(),
+							record.getColumnNumber(index));
+		}
+
+	}
+
+	public static class Builder {
+
+		private int mappingSize = 64 << 20;
+
+		private final List<String> paths = new ArrayList<>();
+		private final Map<String, Integer> fieldIndexes = new HashMap<>();
+		private final List<FieldRule> fieldRules = new ArrayList<>();
+		private final List<Consumer<NdjsonRecord>> recordRules = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param mappingSize
+		 *            the size of the window mapped at a time, widened for
+		 *            lines that do not fit in it
+		 */
+		public Builder setMappingSize(int mappingSize) {
+			if (mappingSize < 1 || mappingSize > MAXIMUM_MAPPING_SIZE) {
+				throw new IllegalArgumentException("Invalid mapping size: "
+						+ mappingSize);
+			}
+			this.mappingSize = mappingSize;
+			return this;
+		}
+
+		/**
+		 * Checks the value of the field with the given path, whatever its
+		 * type
+		 */
+		public Builder field(String path, Consumer<Condition<Object>> rules) {
+			fieldRules.add(new FieldRule(path, index(path)) {
+
+				@Override
+				void validate(Validator validator, NdjsonRecord record) {
+					rules.accept(valueOfField(validator, record));
+				}
+
+			});
+			return this;
+		}
+
+		/**
+		 * Checks the value of the field with the given path as a long, read
+		 * without boxing from a number or a string of digits. Values that are
+		 * not such are reported by a {@link Condition#shouldFitInLong()}
+		 * check instead of the rules.
+		 */
+		public Builder longField(String path, Consumer<LongCondition> rules) {
+			fieldRules.add(new FieldRule(path, index(path)) {
+
+				@Override
+				void validate(Validator validator, NdjsonRecord record) {
+					if (record.parseLong(index)) {
+						rules.accept(validator.valueOfField(path,
+								record.getLongValue()).setPosition(
+								record.getRowNumber(),
+								record.getColumnNumber(index)));
+					} else {
+						valueOfField(validator, record).shouldFitInLong();
+					}
+				}
+
+			});
+			return this;
+		}
+
+		/**
+		 * Checks the value of the field with the given path as a double, read
+		 * from a number or a decimal string. Values that are not such are
+		 * reported by a {@link Condition#shouldBeDecimal()} check instead of
+		 * the rules.
+		 */
+		public Builder doubleField(String path, Consumer<DoubleCondition> rules) {
+			fieldRules.add(new FieldRule(path, index(path)) {
+
+				@Override
+				void validate(Validator validator, NdjsonRecord record) {
+					Double value = record.parseLong(index) ? Double
+							.valueOf(record.getLongValue()) : record
+							.parseDouble(index);
+					if (value != null) {
+						rules.accept(validator.valueOfField(path,
+								value.doubleValue()).setPosition(
+								record.getRowNumber(),
+								record.getColumnNumber(index)));
+					} else {
+						valueOfField(validator, record).shouldBeDecimal();
+					}
+				}
+
+			});
+			return this;
+		}
+
+		/**
+		 * Checks involving several fields of a record, run after the field
+		 * rules
+		 *
+		 * @param paths
+		 *            the fields the rules read, besides those of the field
+		 *            rules
+		 */
+		public Builder record(Consumer<NdjsonRecord> rules, String... paths) {
+			for (String path : paths) {
+				index(path);
+			}
+			recordRules.add(rules);
+			return this;
+		}
+
+		public NdjsonFileValidator build() {
+			return new NdjsonFileValidator(this);
+		}
+
+		private int index(String path) {
+			if (path == null || path.isEmpty()) {
+				throw new IllegalArgumentException("Invalid path: " + path);
+			}
+			Integer index = fieldIndexes.get(path);
+			if (index == null) {
+				index = paths.size();
+				paths.add(path);
+				fieldIndexes.put(path, index);
+			}
+			return index;
+		}
+
+	}
+
+}
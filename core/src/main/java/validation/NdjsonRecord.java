@@ -0,0 +1,231 @@
+package validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import validation.JsonParser.JsonValues;
+import validation.Validator.Condition;
+import validation.Validator.PreCondition;
+
+/**
+ * One line of an NDJSON file, handed to the record rules of a
+ * {@link NdjsonFileValidator}. Only the values of the fields the validator
+ * refers to are kept, as offsets in the mapped file; the record is reused for
+ * the next line once the rules return.
+ *
+ * Values are read as follows: strings as {@link CharSequence}s reading the
+ * mapped bytes, decoded into a String only when they hold escapes or non ASCII
+ * characters, integral numbers as Long and other numbers as Double, booleans
+ * as Boolean, objects and arrays as their JSON text, and null or missing
+ * fields as null.
+ */
+public final class NdjsonRecord implements JsonValues {
+
+	private final Validator validator;
+	private final Map<String, Integer> fieldIndexes;
+
+	private ByteBuffer buffer;
+	private long rowNumber;
+	private int lineStart;
+
+	private final int[] starts;
+	private final int[] ends;
+	private final byte[] types;
+	private final boolean[] decoded;
+
+	/**
+	 * Set by {@link #parseLong(int)}
+	 */
+	private long longValue;
+
+	NdjsonRecord(Validator validator, Map<String, Integer> fieldIndexes) {
+		this.validator = validator;
+		this.fieldIndexes = fieldIndexes;
+		this.starts = new int[fieldIndexes.size()];
+		this.ends = new int[fieldIndexes.size()];
+		this.types = new byte[fieldIndexes.size()];
+		this.decoded = new boolean[fieldIndexes.size()];
+	}
+
+	public Validator getValidator() {
+		return validator;
+	}
+
+	/**
+	 * @return the line of the record, starting at 1
+	 */
+	public long getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * @return whether the field with the given dot separated path is in the
+	 *         record, null valued or not
+	 */
+	public boolean hasField(String path) {
+		Integer index = fieldIndexes.get(path);
+		return index != null && types[index] != JsonParser.MISSING;
+	}
+
+	/**
+	 * @return the value of the field with the given dot separated path, null
+	 *         when it is missing or the validator was not told about the path
+	 */
+	public Object getValue(String path) {
+		Integer index = fieldIndexes.get(path);
+		return index == null ? null : getValue(index);
+	}
+
+	/**
+	 * @return a condition on the value of the field with the given path,
+	 *         positioned at this line and at the column the value starts at
+	 */
+	public Condition<Object> valueOfField(String path) {
+		Integer index = fieldIndexes.get(path);
+		return validator.valueOfField(path, getValue(path)).setPosition(
+				rowNumber, index == null ? 0 : getColumnNumber(index));
+	}
+
+	public PreCondition<Object> ifValueOfField(String path) {
+		return validator.ifValueOfField(path, getValue(path));
+	}
+
+	@Override
+	public void setValue(int fieldIndex, int start, int end, byte type,
+			boolean decoded) {
+		starts[fieldIndex] = start;
+		ends[fieldIndex] = end;
+		types[fieldIndex] = type;
+		this.decoded[fieldIndex] = decoded;
+	}
+
+	void start(ByteBuffer buffer, long rowNumber, int lineStart) {
+		this.buffer = buffer;
+		this.rowNumber = rowNumber;
+		this.lineStart = lineStart;
+		Arrays.fill(types, JsonParser.MISSING);
+	}
+
+	/**
+	 * @return the byte of the line the value starts at, starting at 1, 0 when
+	 *         the field is missing
+	 */
+	int getColumnNumber(int index) {
+		return types[index] == JsonParser.MISSING ? 0 : starts[index]
+				- lineStart + 1;
+	}
+
+	Object getValue(int index) {
+		int start = starts[index];
+		int end = ends[index];
+		switch (types[index]) {
+		case JsonParser.STRING:
+			if (decoded[index]) {
+				return JsonParser.decodeString(buffer, start, end);
+			}
+			return new ByteSlice(buffer, start + 1, end - start - 2);
+		case JsonParser.NUMBER:
+			if (parseLong(index)) {
+				return longValue;
+			}
+			return parseDouble(index);
+		case JsonParser.TRUE:
+			return Boolean.TRUE;
+		case JsonParser.FALSE:
+			return Boolean.FALSE;
+		case JsonParser.OBJECT:
+		case JsonParser.ARRAY:
+			return text(start, end);
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Reads a number, or a string of digits, that fits in a long without
+	 * creating any object
+	 *
+	 * @return whether the value is one, then held by {@link #getLongValue()}
+	 */
+	boolean parseLong(int index) {
+		int start = starts[index];
+		int end = ends[index];
+		if (types[index] == JsonParser.STRING && !decoded[index]) {
+			start++;
+			end--;
+		} else if (types[index] != JsonParser.NUMBER) {
+			return false;
+		}
+
+		boolean negative = start < end && buffer.get(start) == '-';
+		if (negative) {
+			start++;
+		}
+		if (start == end) {
+			return false;
+		}
+		// accumulated negatively, as Long.parseLong does, to reach MIN_VALUE
+		long value = 0;
+		for (int position = start; position < end; position++) {
+			int digit = buffer.get(position) - '0';
+			if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+				return false;
+			}
+			value = value * 10 - digit;
+		}
+		if (!negative && value == Long.MIN_VALUE) {
+			return false;
+		}
+		longValue = negative ? value : -value;
+		return true;
+	}
+
+	long getLongValue() {
+		return longValue;
+	}
+
+	/**
+	 * @return the number, or the decimal string, as a double, null when the
+	 *         value is not one
+	 */
+	Double parseDouble(int index) {
+		String text;
+		if (types[index] == JsonParser.NUMBER) {
+			text = text(starts[index], ends[index]);
+		} else if (types[index] == JsonParser.STRING) {
+			text = getValue(index).toString();
+			if (!ValueClassifier.isDecimal(text)) {
+				return null;
+			}
+		} else {
+			return null;
+		}
+		try {
+			return Double.valueOf(text);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the text of the line, from its start to the given end, without
+	 *         a trailing carriage return
+	 */
+	String lineText(int lineEnd) {
+		if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+			lineEnd--;
+		}
+		return text(lineStart, lineEnd);
+	}
+
+	private String text(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int index = 0; index < bytes.length; index++) {
+			bytes[index] = buffer.get(start + index);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,338 @@
+package validation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import validation.LineFileValidator.Chunk;
+import validation.LineFileValidator.Records;
+import validation.Validator.Condition;
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+/**
+ * Validates one newline delimited file on all cores: the file is split into
+ * chunks ending on line boundaries, the chunks are validated in parallel on a
+ * fork/join pool and their results are handed to the listener in the order of
+ * the lines, with the same rows as a sequential validation, e.g.
+ *
+ * <pre>
+ * ParallelFileValidator.builder(csv).setChunkSize(8 &lt;&lt; 20).build()
+ * 		.validate(validator, Paths.get(&quot;export.csv&quot;));
+ * </pre>
+ *
+ * Each chunk is validated with a validator of its own, sharing the metrics
+ * and the file status cache of the given one; the results its listener is
+ * interested in are held, copied out of the mapped file, until the chunks
+ * before it are delivered. At most a few chunks per thread of the pool are
+ * validated ahead of the oldest one not yet delivered, see
+ * {@link Builder#setMaximumPendingChunks(int)}, so the held results stay
+ * bounded whatever the size of the file. The listener is called from the
+ * thread calling {@link #validate(Validator, Path)}.
+ *
+ * Splitting on any line boundary requires records that do not span lines,
+ * i.e. CSV files without line breaks inside quoted fields.
+ */
+public class ParallelFileValidator {
+
+	private static final int MAXIMUM_CHUNK_SIZE = Integer.MAX_VALUE - 8;
+
+	private final LineFileValidator fileValidator;
+	private final int chunkSize;
+	private final ForkJoinPool pool;
+	private final int maximumPendingChunks;
+
+	private ParallelFileValidator(Builder builder) {
+		this.fileValidator = builder.fileValidator;
+		this.chunkSize = builder.chunkSize;
+		this.pool = builder.pool;
+		this.maximumPendingChunks = builder.maximumPendingChunks > 0 ? builder.maximumPendingChunks
+				: 2 * builder.pool.getParallelism();
+	}
+
+	public static Builder builder(LineFileValidator fileValidator) {
+		return new Builder(fileValidator);
+	}
+
+	/**
+	 * @return the number of records validated
+	 */
+	public long validate(Validator validator, Path file) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+
+			Records records = fileValidator.prepare(channel);
+			Merger merger = new Merger(validator, records.firstRowNumber);
+
+			LineChunks chunks = new LineChunks(channel, records.start,
+					channel.size(), chunkSize);
+
+			Deque<ForkJoinTask<ChunkResults>> pending = new ArrayDeque<>();
+			try {
+				for (long[] range; (range = chunks.next()) != null;) {
+					if (pending.size() >= maximumPendingChunks) {
+						merger.accept(pending.poll().get());
+					}
+					long[] chunkRange = range;
+					pending.add(pool.submit(() -> validate(validator, records,
+							channel, chunkRange)));
+				}
+				while (!pending.isEmpty()) {
+					merger.accept(pending.poll().get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof UncheckedIOException) {
+					throw ((UncheckedIOException) e.getCause()).getCause();
+				}
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IOException(e.getCause());
+			} finally {
+				for (ForkJoinTask<ChunkResults> task : pending) {
+					task.cancel(false);
+				}
+			}
+			return merger.recordCount;
+		}
+	}
+
+	private ChunkResults validate(Validator validator, Records records,
+			FileChannel channel, long[] range) {
+
+		ByteBuffer buffer;
+		try {
+			buffer = channel.map(MapMode.READ_ONLY, range[0], range[1]
+					- range[0]);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		ChunkResults results = new ChunkResults(
+				validator.getValidationListener());
+
+		Validator chunkValidator = new Validator();
+		chunkValidator.setMetrics(validator.getMetrics());
+		chunkValidator.setFileStatusCache(validator.getFileStatusCache());
+		chunkValidator.shareFailFast(validator);
+		chunkValidator.setPatternCache(validator.getPatternCache());
+		chunkValidator.setMatchBudget(validator.getMatchBudget());
+		chunkValidator.setValidationListener(results);
+
+		results.chunk = records.validate(chunkValidator, buffer);
+		results.validator = chunkValidator;
+		return results;
+	}
+
+	/**
+	 * The results of a chunk, with rows counted from the start of the chunk;
+	 * the chunk validator only creates results for the statuses the listener
+	 * is interested in
+	 */
+	private static final class ChunkResults implements ValidationListener {
+
+		private final ValidationListener listener;
+
+		private final List<Result<?>> results = new ArrayList<>();
+
+		private Chunk chunk;
+		private Validator validator;
+
+		private ChunkResults(ValidationListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void validated(Result<?> result) {
+			result.copyBufferedValues();
+			results.add(result);
+		}
+
+		@Override
+		public boolean isInterestedIn(Status status) {
+			return listener != null && listener.isInterestedIn(status);
+		}
+
+	}
+
+	/**
+	 * Hands the results of the chunks, taken in order, to the listener with
+	 * the rows they have in the file.
+	 */
+	private static final class Merger implements Consumer<ChunkResults> {
+
+		private final Validator validator;
+
+		private long rowOffset;
+		private long recordCount;
+
+		private Merger(Validator validator, long firstRowNumber) {
+			this.validator = validator;
+			this.rowOffset = firstRowNumber - 1;
+		}
+
+		@Override
+		public void accept(ChunkResults chunkResults) {
+			ValidationListener listener = validator.getValidationListener();
+
+			Set<Condition<?>> moved = Collections
+					.newSetFromMap(new IdentityHashMap<>());
+			for (Result<?> result : chunkResults.results) {
+				Condition<?> condition = result.getCondition();
+				if (condition.getRowNumber() > 0 && moved.add(condition)) {
+					condition.setPosition(condition.getRowNumber() + rowOffset,
+							condition.getColumnNumber());
+				}
+				if (listener != null) {
+					listener.validated(result);
+				}
+			}
+
+			validator.addUnreportedCounts(chunkResults.validator);
+			rowOffset += chunkResults.chunk.lineCount;
+			recordCount += chunkResults.chunk.recordCount;
+		}
+
+	}
+
+	/**
+	 * Splits a range of a file into chunks of about the given size, each
+	 * ending after a line feed or at the end of the range, as start and end
+	 * offset pairs.
+	 */
+	private static final class LineChunks {
+
+		private static final int SCAN_SIZE = 8192;
+
+		private final FileChannel channel;
+		private final int chunkSize;
+		private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+
+		private long start;
+		private final long end;
+
+		private LineChunks(FileChannel channel, long start, long end,
+				int chunkSize) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+			this.chunkSize = chunkSize;
+		}
+
+		/**
+		 * @return the next chunk, null after the last one
+		 */
+		private long[] next() throws IOException {
+			if (start >= end) {
+				return null;
+			}
+			long chunkEnd = lineEndAfter(start + chunkSize - 1);
+			if (chunkEnd - start > MAXIMUM_CHUNK_SIZE) {
+				throw new IOException("Line at offset " + start
+						+ " is too long");
+			}
+			long[] range = new long[] { start, chunkEnd };
+			start = chunkEnd;
+			return range;
+		}
+
+		/**
+		 * @return the offset following the first line feed at or after the
+		 *         given one, the end of the range when there is none
+		 */
+		private long lineEndAfter(long position) throws IOException {
+			if (position >= end) {
+				return end;
+			}
+			while (position < end) {
+				buffer.clear();
+				buffer.limit((int) Math.min(SCAN_SIZE, end - position));
+				int count = channel.read(buffer, position);
+				if (count < 0) {
+					return end;
+				}
+				for (int index = 0; index < count; index++) {
+					if (buffer.get(index) == '\n') {
+						return position + index + 1;
+					}
+				}
+				position += count;
+			}
+			return end;
+		}
+
+	}
+
+	public static class Builder {
+
+		private final LineFileValidator fileValidator;
+
+		private int chunkSize = 4 << 20;
+		private ForkJoinPool pool = ForkJoinPool.commonPool();
+		private int maximumPendingChunks;
+
+		private Builder(LineFileValidator fileValidator) {
+			this.fileValidator = fileValidator;
+		}
+
+		/**
+		 * @param chunkSize
+		 *            the size in bytes a chunk has before being extended to
+		 *            the end of its last line
+		 */
+		public Builder setChunkSize(int chunkSize) {
+			if (chunkSize < 1 || chunkSize > MAXIMUM_CHUNK_SIZE) {
+				throw new IllegalArgumentException("Invalid chunk size: "
+						+ chunkSize);
+			}
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		public Builder setPool(ForkJoinPool pool) {
+			this.pool = pool;
+			return this;
+		}
+
+		/**
+		 * @param maximumPendingChunks
+		 *            the number of chunks validated or held ahead of the
+		 *            results handed to the listener, twice the parallelism
+		 *            of the pool by default
+		 */
+		public Builder setMaximumPendingChunks(int maximumPendingChunks) {
+			if (maximumPendingChunks < 1) {
+				throw new IllegalArgumentException(
+						"Invalid maximum pending chunks: "
+								+ maximumPendingChunks);
+			}
+			this.maximumPendingChunks = maximumPendingChunks;
+			return this;
+		}
+
+		public ParallelFileValidator build() {
+			return new ParallelFileValidator(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,307 @@
+package validation;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import validation.Validator.Status;
+
+/**
+ * Keeps the patterns compiled from the regular expressions given to
+ * {@link Validator.Condition#shouldMatch(String, String)}, so that callers
+ * passing the same expression for every record compile it once, e.g.
+ *
+ * <pre>
+ * validator.setPatternCache(PatternCache.builder().setMaximumSize(1000).build());
+ *
+ * validator.valueOfField(&quot;Phone&quot;, phone).shouldMatch(&quot;\\d+&quot;, &quot;only digits&quot;);
+ * </pre>
+ *
+ * Validators share the {@link #getDefault() default} cache unless given
+ * another one. When full, the cache drops arbitrary patterns, so the size
+ * bound is kept without tracking the order of use.
+ *
+ * Matching reuses a matcher per thread and pattern, or scans the value
+ * against character class bitmaps when the pattern is simple enough, as found
+ * once per pattern when it is compiled, see
+ * {@link #matches(Pattern, CharSequence)}. Otherwise the matches of
+ * {@link Validator.Condition#shouldMatch(Pattern, String)} can be bounded,
+ * see {@link MatchBudget}.
+ */
+public class PatternCache {
+
+	private static final PatternCache DEFAULT = builder().build();
+
+	/**
+	 * The largest number of matchers a thread keeps
+	 */
+	static final int MAXIMUM_MATCHERS = 1024;
+
+	private static final ThreadLocal<Matchers> MATCHERS = ThreadLocal
+			.withInitial(Matchers::new);
+
+	/**
+	 * The scans of the patterns analyzed so far, empty for those which are
+	 * not simple enough, kept as long as their pattern is in use; a
+	 * {@link Pattern} equals only itself, so the weak keys are compared by
+	 * identity
+	 */
+	private static final Map<Pattern, Optional<SimplePattern>> SIMPLE_PATTERNS = Collections
+			.synchronizedMap(new WeakHashMap<Pattern, Optional<SimplePattern>>());
+
+	private final int maximumSize;
+
+	private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	private PatternCache(Builder builder) {
+		this.maximumSize = builder.maximumSize;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return the cache of the validators which were not given one, holding
+	 *         up to 256 patterns
+	 */
+	public static PatternCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @return the pattern compiled from the regular expression, compiling it
+	 *         when not in the cache
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             when the expression is invalid
+	 */
+	public Pattern compile(String regex) {
+		Pattern pattern = patterns.get(regex);
+		if (pattern != null) {
+			hitCount.increment();
+			return pattern;
+		}
+		missCount.increment();
+		pattern = Pattern.compile(regex);
+		simplePatternOf(pattern);
+		if (patterns.size() >= maximumSize) {
+			evict();
+		}
+		Pattern previous = patterns.putIfAbsent(regex, pattern);
+		return previous != null ? previous : pattern;
+	}
+
+	public void invalidateAll() {
+		patterns.clear();
+	}
+
+	public int size() {
+		return patterns.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	private void evict() {
+		Iterator<String> regexes = patterns.keySet().iterator();
+		while (patterns.size() >= maximumSize && regexes.hasNext()) {
+			regexes.next();
+			regexes.remove();
+		}
+	}
+
+	/**
+	 * Matches the whole input against the pattern with a matcher kept by the
+	 * calling thread, created when the thread has none for the pattern. The
+	 * matcher lets go of the input once done, so that it does not keep the
+	 * values alive.
+	 *
+	 * A pattern without flags made only of literals and character classes
+	 * repeated between bounds, e.g. {@code [A-Z]{2}\d+}, is scanned instead,
+	 * see {@link CharClass}.
+	 */
+	public static boolean matches(Pattern pattern, CharSequence input) {
+		return matcherOf(pattern).matches(input, null) == Status.Passed;
+	}
+
+	/**
+	 * Matches like {@link #matches(Pattern, CharSequence)}, under the budget
+	 * when not null and the pattern is not scanned
+	 *
+	 * @return {@link Status#Passed} or {@link Status#Failed}, or
+	 *         {@link Status#Timeout} when the budget ran out
+	 */
+	static Status match(Pattern pattern, CharSequence input, MatchBudget budget) {
+		return matcherOf(pattern).matches(input, budget);
+	}
+
+	/**
+	 * @return the pattern as a scan, see {@link SimplePattern}, null when it
+	 *         is not simple enough; analyzed once per pattern
+	 */
+	static SimplePattern simplePatternOf(Pattern pattern) {
+		return SIMPLE_PATTERNS.computeIfAbsent(pattern,
+				key -> Optional.ofNullable(SimplePattern.analyze(key)))
+				.orElse(null);
+	}
+
+	/**
+	 * @return the matcher of the calling thread for the pattern
+	 */
+	static PatternMatcher matcherOf(Pattern pattern) {
+		return MATCHERS.get().get(pattern);
+	}
+
+	/**
+	 * The matchers of a thread, in an open addressing table keyed by the
+	 * identity of their pattern which grows with the number of patterns the
+	 * thread matches, so that patterns checked alternately never evict each
+	 * other. Beyond {@value PatternCache#MAXIMUM_MATCHERS} patterns, the
+	 * table starts over.
+	 */
+	private static final class Matchers {
+
+		private PatternMatcher[] table = new PatternMatcher[16];
+		private int count;
+
+		private PatternMatcher get(Pattern pattern) {
+			int mask = table.length - 1;
+			int slot = slotOf(pattern, mask);
+			for (PatternMatcher matcher; (matcher = table[slot]) != null; slot = (slot + 1)
+					& mask) {
+				if (matcher.pattern == pattern) {
+					return matcher;
+				}
+			}
+
+			PatternMatcher matcher = new PatternMatcher(pattern);
+			if (++count * 2 > table.length) {
+				grow();
+				put(matcher);
+			} else {
+				table[slot] = matcher;
+			}
+			return matcher;
+		}
+
+		private void grow() {
+			PatternMatcher[] matchers = table;
+			if (count > MAXIMUM_MATCHERS) {
+				table = new PatternMatcher[16];
+				count = 1;
+				return;
+			}
+			table = new PatternMatcher[matchers.length * 2];
+			for (PatternMatcher matcher : matchers) {
+				if (matcher != null) {
+					put(matcher);
+				}
+			}
+		}
+
+		private void put(PatternMatcher matcher) {
+			int mask = table.length - 1;
+			int slot = slotOf(matcher.pattern, mask);
+			while (table[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = matcher;
+		}
+
+		private static int slotOf(Pattern pattern, int mask) {
+			int hash = System.identityHashCode(pattern);
+			// spread the higher bits, the table is indexed by the lower ones
+			return (hash ^ (hash >>> 16)) & mask;
+		}
+
+	}
+
+	/**
+	 * A pattern along with its scan when simple enough, or the matcher of
+	 * the thread for it
+	 */
+	static final class PatternMatcher {
+
+		private final Pattern pattern;
+		private final SimplePattern simplePattern;
+		private Matcher matcher;
+		private MatchBudget.GuardedSequence guarded;
+
+		private PatternMatcher(Pattern pattern) {
+			this.pattern = pattern;
+			this.simplePattern = simplePatternOf(pattern);
+		}
+
+		private Status matches(CharSequence input, MatchBudget budget) {
+			if (simplePattern != null) {
+				return simplePattern.matches(input) ? Status.Passed
+						: Status.Failed;
+			}
+			if (budget == null) {
+				return matches(input) ? Status.Passed : Status.Failed;
+			}
+			if (guarded == null) {
+				guarded = new MatchBudget.GuardedSequence();
+			}
+			try {
+				return matches(guarded.start(budget, input)) ? Status.Passed
+						: Status.Failed;
+			} catch (MatchBudget.Exhausted e) {
+				matcher.reset("");
+				guarded.exhausted(budget);
+				return Status.Timeout;
+			} finally {
+				guarded.finish();
+			}
+		}
+
+		private boolean matches(CharSequence input) {
+			if (matcher == null) {
+				matcher = pattern.matcher(input);
+			} else {
+				matcher.reset(input);
+			}
+			boolean matches = matcher.matches();
+			matcher.reset("");
+			return matches;
+		}
+
+	}
+
+	public static class Builder {
+
+		private int maximumSize = 256;
+
+		private Builder() {
+		}
+
+		public Builder setMaximumSize(int maximumSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("Invalid maximum size: "
+						+ maximumSize);
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		public PatternCache build() {
+			return new PatternCache(this);
+		}
+
+	}
+
+}
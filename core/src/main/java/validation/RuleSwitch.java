@@ -0,0 +1,259 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Rule sets chosen by the value of a discriminator field, e.g. one set of
+ * rules per type of product:
+ *
+ * <pre>
+ * RuleSwitch&lt;Product&gt; rules = RuleSwitch.builder(&quot;type&quot;, Product::getType)
+ * 		.on(&quot;book&quot;, bookPlan::validate)
+ * 		.on(Arrays.asList(&quot;food&quot;, &quot;drink&quot;), (validator, product) -&gt; validator
+ * 				.valueOfField(&quot;expiry&quot;, product.getExpiry()).shouldNotBeNull())
+ * 		.otherwise(otherPlan::validate)
+ * 		.build();
+ *
+ * validator.switchOnValueOfField(rules, product);
+ * </pre>
+ *
+ * The discriminator value is hashed once and looked up in an open addressing
+ * table, so the cost of choosing the rule set does not grow with the number
+ * of branches, unlike a chain of pre conditions checking every value in
+ * turn. Character sequences match by content, e.g. the fields of a
+ * {@link CsvRecord} match String keys without being copied, and ignoring
+ * case when asked for.
+ *
+ * A null discriminator value, or one without a branch, goes to the default
+ * branch; without a default branch, it is reported as failing a
+ * {@link Validator.Condition#shouldBeOneOf(DomainSet)} check of the keys.
+ *
+ * A built switch is immutable and can be shared between threads, the results
+ * go to the listener of the validator it is given.
+ */
+public final class RuleSwitch<T> {
+
+	private final String fieldName;
+	private final Function<? super T, ?> extractor;
+	private final boolean ignoreCase;
+
+	private final Object[] keys;
+	private final List<BiConsumer<Validator, ? super T>> branches;
+	private final BiConsumer<Validator, ? super T> defaultBranch;
+	private final DomainSet<Object> domain;
+
+	/**
+	 * Slots holding an index into keys plus one, zero for an empty slot
+	 */
+	private final int[] slots;
+	private final int[] hashes;
+
+	private RuleSwitch(Builder<T> builder) {
+		this.fieldName = builder.fieldName;
+		this.extractor = builder.extractor;
+		this.ignoreCase = builder.ignoreCase;
+		this.keys = builder.keys.toArray();
+		this.branches = new ArrayList<>(builder.branches);
+		this.defaultBranch = builder.defaultBranch;
+		this.domain = DomainSet.of(builder.keys);
+
+		int size = Math.max(keys.length, 1);
+		this.slots = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+		this.hashes = new int[keys.length];
+		for (int index = 0; index < keys.length; index++) {
+			if (indexOf(keys[index]) >= 0) {
+				throw new IllegalArgumentException("Duplicate key: "
+						+ keys[index]);
+			}
+			int hash = hash(keys[index]);
+			int slot = hash & (slots.length - 1);
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & (slots.length - 1);
+			}
+			slots[slot] = index + 1;
+			hashes[index] = hash;
+		}
+	}
+
+	/**
+	 * @param fieldName
+	 *            the name of the discriminator field
+	 * @param extractor
+	 *            reads the discriminator value of the validated objects
+	 */
+	public static <T> Builder<T> builder(String fieldName,
+			Function<? super T, ?> extractor) {
+		return new Builder<T>(fieldName, extractor);
+	}
+
+	/**
+	 * Runs the rules of the branch matching the discriminator value of the
+	 * object
+	 */
+	public void validate(Validator validator, T object) {
+		Object value = extractor.apply(object);
+		int index = value == null ? -1 : indexOf(value);
+		if (index >= 0) {
+			branches.get(index).accept(validator, object);
+		} else if (defaultBranch != null) {
+			defaultBranch.accept(validator, object);
+		} else if (ignoreCase) {
+			validator.valueOfField(fieldName, value).shouldBeOneOfInAnyCase(
+					domain);
+		} else {
+			validator.valueOfField(fieldName, value).shouldBeOneOf(domain);
+		}
+	}
+
+	/**
+	 * Validates each object as a record of its own, see
+	 * {@link Validator#startRecord()}
+	 */
+	public void validate(Validator validator, Iterable<? extends T> objects) {
+		for (T object : objects) {
+			validator.startRecord();
+			validate(validator, object);
+		}
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * @return the values having a branch, in the order given
+	 */
+	public List<Object> getKeys() {
+		return Collections.unmodifiableList(Arrays.asList(keys));
+	}
+
+	/**
+	 * @return the index of the key matching the value, -1 when there is none
+	 */
+	private int indexOf(Object value) {
+		int hash = hash(value);
+		int slot = hash & (slots.length - 1);
+		for (int index = slots[slot]; index != 0; index = slots[slot]) {
+			if (hashes[index - 1] == hash && matches(keys[index - 1], value)) {
+				return index - 1;
+			}
+			slot = (slot + 1) & (slots.length - 1);
+		}
+		return -1;
+	}
+
+	private boolean matches(Object key, Object value) {
+		if (ignoreCase && key instanceof CharSequence
+				&& value instanceof CharSequence) {
+			return DomainSet.equalsIgnoreCase(key.toString(),
+					(CharSequence) value);
+		}
+		return Validator.equalValues(key, value);
+	}
+
+	/**
+	 * @return the hash of the value, the same for character sequences of the
+	 *         same content whatever their class
+	 */
+	private int hash(Object value) {
+		if (!(value instanceof CharSequence)) {
+			int hash = value.hashCode();
+			return hash ^ (hash >>> 16);
+		}
+		CharSequence sequence = (CharSequence) value;
+		if (ignoreCase) {
+			return DomainSet.foldedHash(sequence);
+		}
+		int hash;
+		if (sequence instanceof String) {
+			// the same polynomial, cached by the string
+			hash = sequence.hashCode();
+		} else {
+			hash = 0;
+			for (int index = 0; index < sequence.length(); index++) {
+				hash = 31 * hash + sequence.charAt(index);
+			}
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	public static class Builder<T> {
+
+		private final String fieldName;
+		private final Function<? super T, ?> extractor;
+		private boolean ignoreCase;
+
+		private final List<Object> keys = new ArrayList<>();
+		private final List<BiConsumer<Validator, ? super T>> branches = new ArrayList<>();
+		private BiConsumer<Validator, ? super T> defaultBranch;
+
+		private Builder(String fieldName, Function<? super T, ?> extractor) {
+			if (extractor == null) {
+				throw new IllegalArgumentException("Invalid extractor: "
+						+ extractor);
+			}
+			this.fieldName = fieldName;
+			this.extractor = extractor;
+		}
+
+		/**
+		 * Runs the rules for the objects whose discriminator value is the
+		 * given key
+		 */
+		public Builder<T> on(Object key, BiConsumer<Validator, ? super T> rules) {
+			if (key == null) {
+				throw new IllegalArgumentException("Invalid key: " + key);
+			}
+			keys.add(key);
+			branches.add(rules);
+			return this;
+		}
+
+		/**
+		 * Runs the rules for the objects whose discriminator value is any of
+		 * the given keys
+		 */
+		public Builder<T> on(Collection<?> keys,
+				BiConsumer<Validator, ? super T> rules) {
+			for (Object key : keys) {
+				on(key, rules);
+			}
+			return this;
+		}
+
+		/**
+		 * Runs the rules for the objects whose discriminator value has no
+		 * branch or is null
+		 */
+		public Builder<T> otherwise(BiConsumer<Validator, ? super T> rules) {
+			this.defaultBranch = rules;
+			return this;
+		}
+
+		/**
+		 * @param ignoreCase
+		 *            whether character sequences match the keys ignoring
+		 *            case, false by default
+		 */
+		public Builder<T> setIgnoreCase(boolean ignoreCase) {
+			this.ignoreCase = ignoreCase;
+			return this;
+		}
+
+		/**
+		 * @throws IllegalArgumentException
+		 *             when two keys match each other
+		 */
+		public RuleSwitch<T> build() {
+			return new RuleSwitch<T>(this);
+		}
+
+	}
+
+}
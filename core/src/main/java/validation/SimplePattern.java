@@ -0,0 +1,378 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A regular expression simple enough to be matched by scanning the value
+ * once, without a matcher: a sequence of literal characters and character
+ * classes, each repeated between bounds, e.g. {@code \d+}, {@code [A-Z]{2}},
+ * {@code ID-[A-Za-z0-9_-]{1,64}\.csv}. The classes are ASCII bitmaps, see
+ * {@link CharClass}.
+ *
+ * Each repetition takes as many characters as it can, which finds a match
+ * whenever there is one provided that a repetition of variable length shares
+ * no character with the ones after it, up to the first which cannot be empty.
+ * As {@link Pattern} counts supplementary characters once and the scan
+ * counts chars, the classes holding characters beyond ASCII can only be
+ * repeated any number of times or at least once. Any other expression, or
+ * one with constructs outside of literals, classes, {@code \d \w \s \D \W \S},
+ * quantifiers and anchors at both ends, is left to {@link Pattern}.
+ */
+final class SimplePattern {
+
+	private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	/**
+	 * The largest bound read from a quantifier
+	 */
+	private static final int MAXIMUM_BOUND = 1 << 20;
+
+	private final CharClass[] classes;
+	private final int[] minimums;
+	private final int[] maximums;
+
+	private SimplePattern(List<CharClass> classes, List<int[]> bounds) {
+		this.classes = classes.toArray(new CharClass[classes.size()]);
+		this.minimums = new int[bounds.size()];
+		this.maximums = new int[bounds.size()];
+		for (int index = 0; index < bounds.size(); index++) {
+			minimums[index] = bounds.get(index)[0];
+			maximums[index] = bounds.get(index)[1];
+		}
+	}
+
+	/**
+	 * @return the pattern as a scan, null when it is not simple enough or
+	 *         has flags
+	 */
+	static SimplePattern analyze(Pattern pattern) {
+		return pattern.flags() == 0 ? analyze(pattern.pattern()) : null;
+	}
+
+	/**
+	 * @return the expression as a scan, null when it is not simple enough
+	 */
+	static SimplePattern analyze(String regex) {
+		return new Parser(regex).parse();
+	}
+
+	/**
+	 * @return whether the whole value matches, like
+	 *         {@link java.util.regex.Matcher#matches()}
+	 */
+	boolean matches(CharSequence value) {
+		int length = value.length();
+		int index = 0;
+		for (int segment = 0; segment < classes.length; segment++) {
+			int maximum = maximums[segment];
+			int limit = maximum == UNBOUNDED || length - index <= maximum ? length
+					: index + maximum;
+			int end = classes[segment].scan(value, index, limit);
+			if (end - index < minimums[segment]) {
+				return false;
+			}
+			index = end;
+		}
+		return index == length;
+	}
+
+	/**
+	 * @return whether scanning each repetition as far as it goes matches the
+	 *         same values as the pattern, see the class documentation
+	 */
+	private boolean isExact() {
+		for (int segment = 0; segment < classes.length; segment++) {
+			if (classes[segment].contains('\u0080')
+					&& (minimums[segment] > 1 || maximums[segment] != UNBOUNDED)) {
+				return false;
+			}
+			if (minimums[segment] == maximums[segment]) {
+				continue;
+			}
+			for (int next = segment + 1; next < classes.length; next++) {
+				if (!classes[segment].isDisjoint(classes[next])) {
+					return false;
+				}
+				if (minimums[next] > 0) {
+					break;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the expression, giving up on the first construct it does not
+	 * know
+	 */
+	private static final class Parser {
+
+		private final String regex;
+		private int index;
+		private int end;
+
+		private final List<CharClass> classes = new ArrayList<>();
+		private final List<int[]> bounds = new ArrayList<>();
+
+		private Parser(String regex) {
+			this.regex = regex;
+			this.end = regex.length();
+		}
+
+		private SimplePattern parse() {
+			if (index < end && regex.charAt(index) == '^') {
+				index++;
+			}
+			if (end > index && regex.charAt(end - 1) == '$'
+					&& !isEscaped(end - 1)) {
+				end--;
+			}
+			while (index < end) {
+				CharClass atom = readAtom();
+				if (atom == null) {
+					return null;
+				}
+				int[] quantifier = readQuantifier();
+				if (quantifier == null) {
+					return null;
+				}
+				classes.add(atom);
+				bounds.add(quantifier);
+			}
+			SimplePattern pattern = new SimplePattern(classes, bounds);
+			return pattern.isExact() ? pattern : null;
+		}
+
+		private boolean isEscaped(int position) {
+			int backslashes = 0;
+			while (position - backslashes > 0
+					&& regex.charAt(position - backslashes - 1) == '\\') {
+				backslashes++;
+			}
+			return backslashes % 2 == 1;
+		}
+
+		private CharClass readAtom() {
+			char c = regex.charAt(index++);
+			if (c == '[') {
+				return readBracket();
+			}
+			if (c == '\\') {
+				return index < end ? readEscape(regex.charAt(index++), true)
+						: null;
+			}
+			if (c >= 128 || "().|*+?{}^$".indexOf(c) >= 0) {
+				return null;
+			}
+			return CharClass.of(String.valueOf(c));
+		}
+
+		/**
+		 * @return the class of an escape, or the escaped character alone;
+		 *         null when not known, or for a class where only a character
+		 *         is allowed
+		 */
+		private CharClass readEscape(char c, boolean classAllowed) {
+			CharClass escaped;
+			switch (c) {
+			case 'd':
+				escaped = CharClass.DIGITS;
+				break;
+			case 'w':
+				escaped = CharClass.WORD;
+				break;
+			case 's':
+				escaped = CharClass.SPACE;
+				break;
+			case 'D':
+				escaped = CharClass.DIGITS.negate();
+				break;
+			case 'W':
+				escaped = CharClass.WORD.negate();
+				break;
+			case 'S':
+				escaped = CharClass.SPACE.negate();
+				break;
+			case 't':
+				return CharClass.of("\t");
+			case 'n':
+				return CharClass.of("\n");
+			case 'r':
+				return CharClass.of("\r");
+			case 'f':
+				return CharClass.of("\f");
+			default:
+				if (c < 128 && !Character.isLetterOrDigit(c)) {
+					return CharClass.of(String.valueOf(c));
+				}
+				return null;
+			}
+			return classAllowed ? escaped : null;
+		}
+
+		private CharClass readBracket() {
+			boolean negated = index < end && regex.charAt(index) == '^';
+			if (negated) {
+				index++;
+			}
+			CharClass union = null;
+			boolean first = true;
+			while (index < end) {
+				char c = regex.charAt(index++);
+				if (c == ']' && !first) {
+					return negated ? union.negate() : union;
+				}
+				first = false;
+
+				CharClass item;
+				char single;
+				if (c == '\\') {
+					if (index == end) {
+						return null;
+					}
+					char escapedChar = regex.charAt(index++);
+					item = readEscape(escapedChar, true);
+					if (item == null) {
+						return null;
+					}
+					if (!isSingle(item)) {
+						union = union == null ? item : union.union(item);
+						if (isRangeNext()) {
+							return null;
+						}
+						continue;
+					}
+					single = singleOf(item);
+				} else if (c == '[' || c == ']' || c >= 128
+						|| c == '&' && index < end && regex.charAt(index) == '&') {
+					return null;
+				} else {
+					single = c;
+				}
+
+				if (isRangeNext()) {
+					index++;
+					char last = regex.charAt(index++);
+					if (last == '\\') {
+						if (index == end) {
+							return null;
+						}
+						CharClass escaped = readEscape(regex.charAt(index++),
+								false);
+						if (escaped == null) {
+							return null;
+						}
+						last = singleOf(escaped);
+					} else if (last == '[' || last >= 128) {
+						return null;
+					}
+					if (last < single) {
+						return null;
+					}
+					item = CharClass.range(single, last);
+					if (isRangeNext()) {
+						return null;
+					}
+				} else {
+					item = CharClass.of(String.valueOf(single));
+				}
+				union = union == null ? item : union.union(item);
+			}
+			return null;
+		}
+
+		/**
+		 * @return whether a dash making a range comes next, rather than a
+		 *         dash closing the bracket
+		 */
+		private boolean isRangeNext() {
+			return index + 1 < end && regex.charAt(index) == '-'
+					&& regex.charAt(index + 1) != ']';
+		}
+
+		private static boolean isSingle(CharClass item) {
+			int count = 0;
+			for (char c = 0; c < 128; c++) {
+				if (item.contains(c)) {
+					count++;
+				}
+			}
+			return count == 1 && !item.contains('\u0080');
+		}
+
+		private static char singleOf(CharClass item) {
+			for (char c = 0; c < 128; c++) {
+				if (item.contains(c)) {
+					return c;
+				}
+			}
+			throw new IllegalStateException();
+		}
+
+		/**
+		 * @return the minimum and maximum of the quantifier, one and one
+		 *         without any, null when not known
+		 */
+		private int[] readQuantifier() {
+			if (index == end) {
+				return new int[] { 1, 1 };
+			}
+			int[] quantifier;
+			char c = regex.charAt(index);
+			if (c == '*') {
+				index++;
+				quantifier = new int[] { 0, UNBOUNDED };
+			} else if (c == '+') {
+				index++;
+				quantifier = new int[] { 1, UNBOUNDED };
+			} else if (c == '?') {
+				index++;
+				quantifier = new int[] { 0, 1 };
+			} else if (c == '{') {
+				index++;
+				int minimum = readNumber();
+				int maximum = minimum;
+				if (index < end && regex.charAt(index) == ',') {
+					index++;
+					maximum = index < end && regex.charAt(index) == '}' ? UNBOUNDED
+							: readNumber();
+				}
+				if (minimum < 0 || maximum < minimum || index == end
+						|| regex.charAt(index) != '}') {
+					return null;
+				}
+				index++;
+				quantifier = new int[] { minimum, maximum };
+			} else {
+				return new int[] { 1, 1 };
+			}
+			// lazy and possessive quantifiers
+			if (index < end
+					&& (regex.charAt(index) == '?' || regex.charAt(index) == '+')) {
+				return null;
+			}
+			return quantifier;
+		}
+
+		/**
+		 * @return the decimal number read, -1 when there is none or it is too
+		 *         large
+		 */
+		private int readNumber() {
+			int start = index;
+			int number = 0;
+			while (index < end && regex.charAt(index) >= '0'
+					&& regex.charAt(index) <= '9') {
+				number = number * 10 + regex.charAt(index++) - '0';
+				if (number > MAXIMUM_BOUND) {
+					return -1;
+				}
+			}
+			return index == start ? -1 : number;
+		}
+
+	}
+
+}
@@ -0,0 +1,46 @@
+package validation;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+
+public interface ValidationListener {
+	public void validated(Result<?> result);
+
+	/**
+	 * Read once by {@link Validator#setValidationListener(ValidationListener)}:
+	 * checks ending in a status the listener is not interested in create no
+	 * {@link Result} at all.
+	 */
+	public default boolean isInterestedIn(Status status) {
+		return true;
+	}
+
+	/**
+	 * @return a listener passing only the results in the given statuses to
+	 *         the given listener, e.g. reporting(listener, Status.Failed)
+	 */
+	public static ValidationListener reporting(
+			ValidationListener validationListener, Status status,
+			Status... statuses) {
+
+		Set<Status> reportedStatuses = EnumSet.of(status, statuses);
+
+		return new ValidationListener() {
+
+			@Override
+			public void validated(Result<?> result) {
+				validationListener.validated(result);
+			}
+
+			@Override
+			public boolean isInterestedIn(Status status) {
+				return reportedStatuses.contains(status);
+			}
+
+		};
+	}
+}
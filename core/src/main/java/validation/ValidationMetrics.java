@@ -0,0 +1,439 @@
+package validation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import validation.Validator.PreConditionType;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+/**
+ * Counts the checks per {@link ValidationType} and {@link Status}, per field
+ * and {@link Status} and per {@link PreConditionType} and {@link Status}, and
+ * keeps a latency histogram per {@link ValidationType} and per
+ * {@link PreConditionType}. Enabled with
+ * {@link Validator#setMetrics(ValidationMetrics)}; all counters are striped
+ * so that validating threads do not contend on them.
+ *
+ * {@link #snapshot()} gives a consistent enough copy for reporting, and
+ * {@link #registerMBean(String)} exposes the same figures over JMX.
+ */
+public class ValidationMetrics implements ValidationMetricsMXBean {
+
+	private static final ValidationType[] TYPES = ValidationType.values();
+	private static final PreConditionType[] PRE_CONDITION_TYPES = PreConditionType
+			.values();
+	private static final Status[] STATUSES = Status.values();
+
+	private final LongAdder[] checkCounts = newCounters(TYPES.length
+			* STATUSES.length);
+
+	private final LongAdder[] preConditionCounts = newCounters(PRE_CONDITION_TYPES.length
+			* STATUSES.length);
+
+	private final ConcurrentMap<String, LongAdder[]> fieldCounts = new ConcurrentHashMap<>();
+
+	private final LatencyHistogram[] latencies = newHistograms(TYPES.length);
+
+	private final LatencyHistogram[] preConditionLatencies = newHistograms(PRE_CONDITION_TYPES.length);
+
+	void record(ValidationType type, String fieldName, Status status,
+			long nanos) {
+
+		checkCounts[type.ordinal() * STATUSES.length + status.ordinal()]
+				.increment();
+
+		if (fieldName != null) {
+			LongAdder[] counters = fieldCounts.get(fieldName);
+			if (counters == null) {
+				counters = fieldCounts.computeIfAbsent(fieldName,
+						name -> newCounters(STATUSES.length));
+			}
+			counters[status.ordinal()].increment();
+		}
+
+		latencies[type.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Records the same status for a number of values checked together, with
+	 * the mean latency per value as the sample of each value
+	 */
+	void record(ValidationType type, String fieldName, Status status,
+			long count, long nanos) {
+		if (count == 0) {
+			return;
+		}
+
+		checkCounts[type.ordinal() * STATUSES.length + status.ordinal()]
+				.add(count);
+
+		if (fieldName != null) {
+			LongAdder[] counters = fieldCounts.get(fieldName);
+			if (counters == null) {
+				counters = fieldCounts.computeIfAbsent(fieldName,
+						name -> newCounters(STATUSES.length));
+			}
+			counters[status.ordinal()].add(count);
+		}
+
+		latencies[type.ordinal()].record(nanos, count);
+	}
+
+	void record(PreConditionType type, Status status, long nanos) {
+		preConditionCounts[type.ordinal() * STATUSES.length + status.ordinal()]
+				.increment();
+
+		preConditionLatencies[type.ordinal()].record(nanos);
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(this);
+	}
+
+	@Override
+	public void reset() {
+		for (LongAdder counter : checkCounts) {
+			counter.reset();
+		}
+		for (LongAdder counter : preConditionCounts) {
+			counter.reset();
+		}
+		fieldCounts.clear();
+		for (LatencyHistogram latency : latencies) {
+			latency.reset();
+		}
+		for (LatencyHistogram latency : preConditionLatencies) {
+			latency.reset();
+		}
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server, e.g. under
+	 * "validation:type=ValidationMetrics,name=ingest".
+	 */
+	public ObjectName registerMBean(String objectName) throws JMException {
+		ObjectName name = new ObjectName(objectName);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+		return name;
+	}
+
+	public void unregisterMBean(ObjectName objectName) throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(objectName)) {
+			server.unregisterMBean(objectName);
+		}
+	}
+
+	@Override
+	public Map<String, Long> getCheckCounts() {
+		return snapshot().getCheckCounts();
+	}
+
+	@Override
+	public Map<String, Long> getPreConditionCounts() {
+		return snapshot().getPreConditionCounts();
+	}
+
+	@Override
+	public Map<String, Long> getFieldCounts() {
+		return snapshot().getFieldCounts();
+	}
+
+	@Override
+	public Map<String, Double> getMeanLatencyNanos() {
+		Map<String, Double> means = new TreeMap<>();
+		for (ValidationType type : TYPES) {
+			Histogram histogram = latencies[type.ordinal()].snapshot();
+			if (histogram.getCount() > 0) {
+				means.put(type.name(), histogram.getMean());
+			}
+		}
+		for (PreConditionType type : PRE_CONDITION_TYPES) {
+			Histogram histogram = preConditionLatencies[type.ordinal()]
+					.snapshot();
+			if (histogram.getCount() > 0) {
+				means.put(type.name(), histogram.getMean());
+			}
+		}
+		return means;
+	}
+
+	@Override
+	public Map<String, Long> getMedianLatencyNanos() {
+		return getLatencyPercentiles(0.5d);
+	}
+
+	@Override
+	public Map<String, Long> getP99LatencyNanos() {
+		return getLatencyPercentiles(0.99d);
+	}
+
+	private Map<String, Long> getLatencyPercentiles(double percentile) {
+		Map<String, Long> percentiles = new TreeMap<>();
+		for (ValidationType type : TYPES) {
+			Histogram histogram = latencies[type.ordinal()].snapshot();
+			if (histogram.getCount() > 0) {
+				percentiles.put(type.name(),
+						histogram.getPercentile(percentile));
+			}
+		}
+		for (PreConditionType type : PRE_CONDITION_TYPES) {
+			Histogram histogram = preConditionLatencies[type.ordinal()]
+					.snapshot();
+			if (histogram.getCount() > 0) {
+				percentiles.put(type.name(),
+						histogram.getPercentile(percentile));
+			}
+		}
+		return percentiles;
+	}
+
+	private static LongAdder[] newCounters(int size) {
+		LongAdder[] counters = new LongAdder[size];
+		for (int index = 0; index < size; index++) {
+			counters[index] = new LongAdder();
+		}
+		return counters;
+	}
+
+	private static LatencyHistogram[] newHistograms(int size) {
+		LatencyHistogram[] histograms = new LatencyHistogram[size];
+		for (int index = 0; index < size; index++) {
+			histograms[index] = new LatencyHistogram();
+		}
+		return histograms;
+	}
+
+	/**
+	 * Log-linear histogram of nanoseconds: every power of two is split into
+	 * {@value #SUB_BUCKETS} buckets, so a recorded value is off by at most a
+	 * quarter of its magnitude.
+	 */
+	private static class LatencyHistogram {
+
+		private static final int SUB_BUCKET_BITS = 2;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+		private final LongAdder[] buckets = newCounters(64 * SUB_BUCKETS);
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private void record(long nanos) {
+			long value = Math.max(nanos, 0L);
+			buckets[bucketOf(value)].increment();
+			totalNanos.add(value);
+		}
+
+		/**
+		 * Records a number of samples taking the given nanoseconds in all,
+		 * each with the mean of them
+		 */
+		private void record(long nanos, long count) {
+			long value = Math.max(nanos, 0L);
+			buckets[bucketOf(value / count)].add(count);
+			totalNanos.add(value);
+		}
+
+		private void reset() {
+			for (LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+			totalNanos.reset();
+		}
+
+		private Histogram snapshot() {
+			long[] counts = new long[buckets.length];
+			for (int index = 0; index < counts.length; index++) {
+				counts[index] = buckets[index].sum();
+			}
+			return new Histogram(counts, totalNanos.sum());
+		}
+
+		private static int bucketOf(long value) {
+			if (value < SUB_BUCKETS) {
+				return (int) value;
+			}
+			int magnitude = 63 - Long.numberOfLeadingZeros(value);
+			int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS))
+					& (SUB_BUCKETS - 1);
+			return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+		}
+
+		private static long upperBoundOf(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return bucket;
+			}
+			int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+			long subBucket = bucket % SUB_BUCKETS;
+			long lowerBound = (SUB_BUCKETS | subBucket) << (magnitude - SUB_BUCKET_BITS);
+			return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+		}
+
+	}
+
+	/**
+	 * Immutable copy of a latency histogram.
+	 */
+	public static class Histogram {
+
+		private final long[] counts;
+		private final long count;
+		private final long totalNanos;
+
+		private Histogram(long[] counts, long totalNanos) {
+			this.counts = counts;
+			this.totalNanos = totalNanos;
+			long count = 0;
+			for (long bucketCount : counts) {
+				count += bucketCount;
+			}
+			this.count = count;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getMean() {
+			return count == 0 ? 0d : (double) totalNanos / count;
+		}
+
+		/**
+		 * @param percentile
+		 *            between 0 and 1
+		 * @return the upper bound of the bucket holding the percentile, in
+		 *         nanoseconds
+		 */
+		public long getPercentile(double percentile) {
+			long rank = Math.max(1L, (long) Math.ceil(percentile * count));
+			long cumulative = 0;
+			for (int bucket = 0; bucket < counts.length; bucket++) {
+				cumulative += counts[bucket];
+				if (cumulative >= rank) {
+					return LatencyHistogram.upperBoundOf(bucket);
+				}
+			}
+			return 0L;
+		}
+
+	}
+
+	/**
+	 * Copy of the metrics at one point in time.
+	 */
+	public static class Snapshot {
+
+		private final long[] checkCounts;
+		private final long[] preConditionCounts;
+		private final Map<String, long[]> fieldCounts = new TreeMap<>();
+		private final Map<ValidationType, Histogram> latencies = new EnumMap<>(
+				ValidationType.class);
+		private final Map<PreConditionType, Histogram> preConditionLatencies = new EnumMap<>(
+				PreConditionType.class);
+
+		private Snapshot(ValidationMetrics metrics) {
+
+			checkCounts = sums(metrics.checkCounts);
+			preConditionCounts = sums(metrics.preConditionCounts);
+
+			for (Map.Entry<String, LongAdder[]> entry : metrics.fieldCounts
+					.entrySet()) {
+				fieldCounts.put(entry.getKey(), sums(entry.getValue()));
+			}
+			for (ValidationType type : TYPES) {
+				latencies.put(type, metrics.latencies[type.ordinal()]
+						.snapshot());
+			}
+			for (PreConditionType type : PRE_CONDITION_TYPES) {
+				preConditionLatencies.put(type,
+						metrics.preConditionLatencies[type.ordinal()]
+								.snapshot());
+			}
+		}
+
+		public long getCount(ValidationType type, Status status) {
+			return checkCounts[type.ordinal() * STATUSES.length
+					+ status.ordinal()];
+		}
+
+		public long getCount(PreConditionType type, Status status) {
+			return preConditionCounts[type.ordinal() * STATUSES.length
+					+ status.ordinal()];
+		}
+
+		public long getFieldCount(String fieldName, Status status) {
+			long[] counts = fieldCounts.get(fieldName);
+			return counts == null ? 0L : counts[status.ordinal()];
+		}
+
+		public Histogram getLatency(ValidationType type) {
+			return latencies.get(type);
+		}
+
+		public Histogram getLatency(PreConditionType type) {
+			return preConditionLatencies.get(type);
+		}
+
+		public Map<String, Long> getCheckCounts() {
+			Map<String, Long> counts = new LinkedHashMap<>();
+			for (ValidationType type : TYPES) {
+				for (Status status : STATUSES) {
+					putIfCounted(counts, type + "." + status,
+							getCount(type, status));
+				}
+			}
+			return Collections.unmodifiableMap(counts);
+		}
+
+		public Map<String, Long> getPreConditionCounts() {
+			Map<String, Long> counts = new LinkedHashMap<>();
+			for (PreConditionType type : PRE_CONDITION_TYPES) {
+				for (Status status : STATUSES) {
+					putIfCounted(counts, type + "." + status,
+							getCount(type, status));
+				}
+			}
+			return Collections.unmodifiableMap(counts);
+		}
+
+		public Map<String, Long> getFieldCounts() {
+			Map<String, Long> counts = new LinkedHashMap<>();
+			for (Map.Entry<String, long[]> entry : fieldCounts.entrySet()) {
+				for (Status status : STATUSES) {
+					putIfCounted(counts, entry.getKey() + "." + status,
+							entry.getValue()[status.ordinal()]);
+				}
+			}
+			return Collections.unmodifiableMap(counts);
+		}
+
+		private static void putIfCounted(Map<String, Long> counts, String key,
+				long count) {
+			if (count > 0) {
+				counts.put(key, count);
+			}
+		}
+
+		private static long[] sums(LongAdder[] counters) {
+			long[] sums = new long[counters.length];
+			for (int index = 0; index < sums.length; index++) {
+				sums[index] = counters[index].sum();
+			}
+			return sums;
+		}
+
+	}
+
+}
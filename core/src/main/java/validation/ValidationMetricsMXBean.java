@@ -0,0 +1,26 @@
+package validation;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ValidationMetrics}, keys are formatted as
+ * "ValidationType.Status", "PreConditionType.Status" and "field.Status"; the
+ * latencies are keyed by ValidationType and PreConditionType.
+ */
+public interface ValidationMetricsMXBean {
+
+	public Map<String, Long> getCheckCounts();
+
+	public Map<String, Long> getPreConditionCounts();
+
+	public Map<String, Long> getFieldCounts();
+
+	public Map<String, Double> getMeanLatencyNanos();
+
+	public Map<String, Long> getMedianLatencyNanos();
+
+	public Map<String, Long> getP99LatencyNanos();
+
+	public void reset();
+
+}
@@ -0,0 +1,589 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import validation.Validator.Condition;
+import validation.Validator.FailFastScope;
+import validation.Validator.PreCondition;
+import validation.Validator.Result;
+
+/**
+ * A set of field rules described once and applied to any number of objects,
+ * e.g.
+ *
+ * <pre>
+ * ValidationPlan&lt;Person&gt; plan = ValidationPlan.builder(Person.class)
+ * 		.field(&quot;Name&quot;, Person::getName).shouldNotBeBlank()
+ * 		.field(&quot;Age&quot;, Person::getAge).shouldBeInInclusiveRange(21, 50)
+ * 		.field(&quot;Sex&quot;, Person::getSex).shouldBeOneOfInAnyCase(&quot;Male&quot;, &quot;Female&quot;)
+ * 		.build();
+ *
+ * plan.validate(validator, person);
+ * </pre>
+ *
+ * Everything that does not depend on the validated object (domain sets, enum
+ * names, compiled patterns) is prepared while building. A built plan is
+ * immutable and can be shared between threads, the results go to the
+ * listener of the validator passed to {@link #validate(Validator, Object)}.
+ *
+ * The fields are validated in the order they are described, so the results
+ * are always those of that order. A plan built with
+ * {@link Builder#setAdaptiveOrder(boolean)} opts out of this when the
+ * validator stops at the first failures of a record or of the validation, see
+ * {@link Validator#setFailFast(FailFastScope, long)}: each validating thread
+ * then samples the time taken by the rules of each field and how often they
+ * fail, and every {@value #REORDER_INTERVAL} objects reorders the fields by
+ * time per failure, so that the checks most likely to end the record cheaply
+ * come first, e.g. blank checks before matching a pattern or looking a file
+ * up. The results of an object validated out of order are kept back and
+ * reported in the described order. As the rules of the fields are
+ * independent, the same objects fail with as many failures reported, but
+ * when a record has more failures than the fail fast maximum, which ones are
+ * reported and which checks are skipped depend on the order; any check may
+ * end the record, so no reordering keeps them. The adaptive order is
+ * therefore off by default, for callers which only need to know which
+ * records fail.
+ */
+public final class ValidationPlan<T> {
+
+	/**
+	 * One object out of this number has the time and failures of its rules
+	 * sampled
+	 */
+	static final int SAMPLE_INTERVAL = 16;
+
+	static final int REORDER_INTERVAL = 1024;
+
+	private final List<FieldRule<T, ?>> rules;
+
+	/**
+	 * The schedulers of the validating threads, null when the order is fixed
+	 */
+	private final ThreadLocal<Scheduler> schedulers;
+
+	private ValidationPlan(List<FieldRule<T, ?>> rules, boolean adaptiveOrder) {
+		this.rules = rules;
+		this.schedulers = adaptiveOrder ? ThreadLocal.withInitial(Scheduler::new)
+				: null;
+	}
+
+	public static <T> Builder<T> builder(Class<T> type) {
+		return new Builder<T>();
+	}
+
+	public void validate(Validator validator, T object) {
+		if (schedulers != null && isShortCircuited(validator)) {
+			schedulers.get().validate(validator, object);
+			return;
+		}
+		for (FieldRule<T, ?> rule : rules) {
+			rule.apply(validator, object);
+		}
+	}
+
+	/**
+	 * Validates each object as a record of its own, see
+	 * {@link Validator#startRecord()}
+	 */
+	public void validate(Validator validator, Iterable<? extends T> objects) {
+		for (T object : objects) {
+			validator.startRecord();
+			validate(validator, object);
+		}
+	}
+
+	public List<String> getFieldNames() {
+		List<String> fieldNames = new ArrayList<>(rules.size());
+		for (FieldRule<T, ?> rule : rules) {
+			fieldNames.add(rule.fieldName);
+		}
+		return fieldNames;
+	}
+
+	/**
+	 * @return the indexes of the fields in the order the calling thread
+	 *         validates them in
+	 */
+	int[] getOrder() {
+		if (schedulers == null) {
+			int[] order = new int[rules.size()];
+			Arrays.setAll(order, index -> index);
+			return order;
+		}
+		return schedulers.get().order.clone();
+	}
+
+	/**
+	 * @return whether the validator skips checks after the failures of
+	 *         others, the only case where the order makes a difference
+	 */
+	private static boolean isShortCircuited(Validator validator) {
+		FailFastScope scope = validator.getFailFastScope();
+		return scope == FailFastScope.Record
+				|| scope == FailFastScope.Validation;
+	}
+
+	/**
+	 * The order in which a thread validates the fields, along with the
+	 * samples it is chosen from and the results kept back while the order is
+	 * not the described one.
+	 */
+	private final class Scheduler implements ValidationListener {
+
+		private final int[] order = new int[rules.size()];
+		private boolean reordered;
+
+		/**
+		 * The nanoseconds and failures sampled for each field, halved at
+		 * every reordering so that the order follows changes in the data
+		 */
+		private final double[] times = new double[rules.size()];
+		private final double[] failures = new double[rules.size()];
+
+		private long objectCount;
+
+		private int field;
+		private int[] resultFields = new int[16];
+		private Result<?>[] results = new Result<?>[16];
+		private int resultCount;
+
+		/**
+		 * The views the results are kept back through, reused as long as the
+		 * validator they were made from is not reconfigured
+		 */
+		private Validator samplingView;
+		private Validator reorderedView;
+
+		private Scheduler() {
+			Arrays.setAll(order, index -> index);
+		}
+
+		private void validate(Validator validator, T object) {
+			boolean sampled = ++objectCount % SAMPLE_INTERVAL == 0;
+			if (!sampled && !reordered) {
+				for (FieldRule<T, ?> rule : rules) {
+					rule.apply(validator, object);
+				}
+			} else {
+				resultCount = 0;
+				Validator view = viewOf(validator, sampled);
+				for (int index : order) {
+					field = index;
+					if (sampled) {
+						long start = System.nanoTime();
+						rules.get(index).apply(view, object);
+						times[index] += System.nanoTime() - start;
+					} else {
+						rules.get(index).apply(view, object);
+					}
+				}
+				deliver(validator, sampled);
+			}
+			if (objectCount % REORDER_INTERVAL == 0) {
+				reorder();
+			}
+		}
+
+		private Validator viewOf(Validator validator, boolean sampled) {
+			Validator view = sampled ? samplingView : reorderedView;
+			if (view == null || !validator.isCurrentView(view)) {
+				view = validator.reportingTo(this, sampled);
+				if (sampled) {
+					samplingView = view;
+				} else {
+					reorderedView = view;
+				}
+			}
+			return view;
+		}
+
+		@Override
+		public void validated(Result<?> result) {
+			if (resultCount == results.length) {
+				results = Arrays.copyOf(results, resultCount * 2);
+				resultFields = Arrays.copyOf(resultFields, resultCount * 2);
+			}
+			resultFields[resultCount] = field;
+			results[resultCount++] = result;
+		}
+
+		/**
+		 * Reports the results kept back in the order of the fields, counting
+		 * the failures when sampling
+		 */
+		private void deliver(Validator validator, boolean sampled) {
+			for (int index = 1; index < resultCount; index++) {
+				int resultField = resultFields[index];
+				Result<?> result = results[index];
+				int position = index;
+				for (; position > 0 && resultFields[position - 1] > resultField; position--) {
+					resultFields[position] = resultFields[position - 1];
+					results[position] = results[position - 1];
+				}
+				resultFields[position] = resultField;
+				results[position] = result;
+			}
+			for (int index = 0; index < resultCount; index++) {
+				Result<?> result = results[index];
+				results[index] = null;
+				if (sampled && Validator.isFailure(result.getStatus())) {
+					failures[resultFields[index]]++;
+				}
+				validator.deliver(result);
+			}
+			resultCount = 0;
+		}
+
+		/**
+		 * Sorts the fields by time per failure, those which never failed
+		 * last by time, keeping the described order between equals
+		 */
+		private void reorder() {
+			for (int index = 0; index < order.length; index++) {
+				int current = index;
+				int position = index;
+				for (; position > 0 && precedes(current, order[position - 1]); position--) {
+					order[position] = order[position - 1];
+				}
+				order[position] = current;
+			}
+			reordered = false;
+			for (int index = 0; index < order.length; index++) {
+				reordered |= order[index] != index;
+				times[index] /= 2;
+				failures[index] /= 2;
+			}
+		}
+
+		private boolean precedes(int field, int other) {
+			if (failures[field] == 0 || failures[other] == 0) {
+				if (failures[field] != 0 || failures[other] != 0) {
+					return failures[field] != 0;
+				}
+				return times[field] < times[other];
+			}
+			return times[field] * failures[other] < times[other]
+					* failures[field];
+		}
+
+	}
+
+	public static class Builder<T> {
+
+		private final List<FieldRules<T, ?>> fields = new ArrayList<>();
+
+		private boolean adaptiveOrder;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param adaptiveOrder
+		 *            whether to reorder the fields by how cheaply their rules
+		 *            fail, when the validator stops at the first failures,
+		 *            reporting other failures of a record than the described
+		 *            order would when it has more than the fail fast
+		 *            maximum; false by default
+		 */
+		public Builder<T> setAdaptiveOrder(boolean adaptiveOrder) {
+			this.adaptiveOrder = adaptiveOrder;
+			return this;
+		}
+
+		public <V> FieldRules<T, V> field(String fieldName,
+				Function<? super T, ? extends V> extractor) {
+			FieldRules<T, V> field = new FieldRules<T, V>(this, fieldName,
+					extractor);
+			fields.add(field);
+			return field;
+		}
+
+		public ValidationPlan<T> build() {
+			List<FieldRule<T, ?>> rules = new ArrayList<>(fields.size());
+			for (FieldRules<T, ?> field : fields) {
+				rules.add(field.compile());
+			}
+			return new ValidationPlan<T>(Collections.unmodifiableList(rules),
+					adaptiveOrder);
+		}
+
+	}
+
+	/**
+	 * The checks of one field, named after the {@link Condition} checks they
+	 * run.
+	 */
+	public static class FieldRules<T, V> {
+
+		private final Builder<T> builder;
+
+		private final String fieldName;
+		private final Function<? super T, ? extends V> extractor;
+
+		private PreConditionRule<T, ?> preCondition;
+
+		private final List<BiConsumer<Condition<V>, T>> checks = new ArrayList<>();
+
+		private FieldRules(Builder<T> builder, String fieldName,
+				Function<? super T, ? extends V> extractor) {
+			this.builder = builder;
+			this.fieldName = fieldName;
+			this.extractor = extractor;
+		}
+
+		public <K> FieldRules<T, V> onlyIf(String fieldName,
+				Function<? super T, ? extends K> extractor,
+				Function<PreCondition<K>, PreCondition<K>> preCondition) {
+			this.preCondition = new PreConditionRule<T, K>(fieldName,
+					extractor, preCondition);
+			return this;
+		}
+
+		public FieldRules<T, V> shouldBeNull() {
+			return check((condition, object) -> condition.shouldBeNull());
+		}
+
+		public FieldRules<T, V> shouldNotBeNull() {
+			return check((condition, object) -> condition.shouldNotBeNull());
+		}
+
+		public FieldRules<T, V> shouldBeBlank() {
+			return check((condition, object) -> condition.shouldBeBlank());
+		}
+
+		public FieldRules<T, V> shouldNotBeBlank() {
+			return check((condition, object) -> condition.shouldNotBeBlank());
+		}
+
+		public FieldRules<T, V> shouldBe(V value) {
+			return check((condition, object) -> condition.shouldBe(value));
+		}
+
+		public FieldRules<T, V> shouldNotBe(V value) {
+			return check((condition, object) -> condition.shouldNotBe(value));
+		}
+
+		public FieldRules<T, V> shouldBeNumeric() {
+			return check((condition, object) -> condition.shouldBeNumeric());
+		}
+
+		public FieldRules<T, V> shouldBeBoolean() {
+			return check((condition, object) -> condition.shouldBeBoolean());
+		}
+
+		public FieldRules<T, V> shouldBeInteger() {
+			return check((condition, object) -> condition.shouldBeInteger());
+		}
+
+		public FieldRules<T, V> shouldBeDecimal() {
+			return check((condition, object) -> condition.shouldBeDecimal());
+		}
+
+		public FieldRules<T, V> shouldFitInLong() {
+			return check((condition, object) -> condition.shouldFitInLong());
+		}
+
+		public FieldRules<T, V> shouldBeGreaterThan(V value) {
+			return check((condition, object) -> condition
+					.shouldBeGreaterThan(value));
+		}
+
+		public FieldRules<T, V> shouldBeLessThan(V value) {
+			return check((condition, object) -> condition
+					.shouldBeLessThan(value));
+		}
+
+		public FieldRules<T, V> shouldBeGreaterThanField(String fieldName,
+				Function<? super T, ? extends V> extractor) {
+			return check((condition, object) -> condition
+					.shouldBeGreaterThanField(fieldName,
+							extractor.apply(object)));
+		}
+
+		public FieldRules<T, V> shouldBeLessThanField(String fieldName,
+				Function<? super T, ? extends V> extractor) {
+			return check((condition, object) -> condition
+					.shouldBeLessThanField(fieldName, extractor.apply(object)));
+		}
+
+		public FieldRules<T, V> shouldBeInInclusiveRange(V from, V to) {
+			return check((condition, object) -> condition
+					.shouldBeInInclusiveRange(from, to));
+		}
+
+		public FieldRules<T, V> shouldBeInExclusiveRange(V from, V to) {
+			return check((condition, object) -> condition
+					.shouldBeInExclusiveRange(from, to));
+		}
+
+		@SafeVarargs
+		@SuppressWarnings("varargs")
+		public final FieldRules<T, V> shouldBeOneOf(V... values) {
+			return shouldBeOneOf(Arrays.asList(values));
+		}
+
+		public FieldRules<T, V> shouldBeOneOf(Collection<V> values) {
+			return shouldBeOneOf(DomainSet.of(values));
+		}
+
+		public FieldRules<T, V> shouldBeOneOf(DomainSet<V> domain) {
+			return check((condition, object) -> condition
+					.shouldBeOneOf(domain));
+		}
+
+		@SafeVarargs
+		@SuppressWarnings("varargs")
+		public final FieldRules<T, V> shouldBeOneOfInAnyCase(V... values) {
+			return shouldBeOneOfInAnyCase(Arrays.asList(values));
+		}
+
+		public FieldRules<T, V> shouldBeOneOfInAnyCase(Collection<V> values) {
+			return shouldBeOneOfInAnyCase(DomainSet.of(values));
+		}
+
+		public FieldRules<T, V> shouldBeOneOfInAnyCase(DomainSet<V> domain) {
+			return check((condition, object) -> condition
+					.shouldBeOneOfInAnyCase(domain));
+		}
+
+		public FieldRules<T, V> shouldBeOneOfEnumNames(Class<?> enumClass) {
+			return shouldBeOneOf(enumNames(enumClass));
+		}
+
+		public FieldRules<T, V> shouldBeOneOfEnumNamesInAnyCase(
+				Class<?> enumClass) {
+			return shouldBeOneOfInAnyCase(enumNames(enumClass));
+		}
+
+		/**
+		 * @return the names of the enum constants, a domain of strings which
+		 *         the field values of any type are looked up in
+		 */
+		@SuppressWarnings("unchecked")
+		private DomainSet<V> enumNames(Class<?> enumClass) {
+			return (DomainSet<V>) DomainSet.ofEnumNames(enumClass);
+		}
+
+		public <E extends Enum<E>> FieldRules<T, V> shouldBeOneOfEnums(
+				EnumSet<E> values) {
+			EnumSet<E> domain = values.clone();
+			return check((condition, object) -> condition
+					.shouldBeOneOfEnums(domain));
+		}
+
+		public FieldRules<T, V> shouldMatch(String regex, String syntax) {
+			return shouldMatch(Pattern.compile(regex), syntax);
+		}
+
+		public FieldRules<T, V> shouldMatch(Pattern pattern, String syntax) {
+			return check((condition, object) -> condition.shouldMatch(pattern,
+					syntax));
+		}
+
+		public FieldRules<T, V> shouldContainOnly(CharClass charClass) {
+			return check((condition, object) -> condition
+					.shouldContainOnly(charClass));
+		}
+
+		public FieldRules<T, V> shouldHaveLengthBetween(int min, int max) {
+			return check((condition, object) -> condition
+					.shouldHaveLengthBetween(min, max));
+		}
+
+		public FieldRules<T, V> shouldBeAnExistingFile() {
+			return check((condition, object) -> condition
+					.shouldBeAnExistingFile());
+		}
+
+		public FieldRules<T, V> and() {
+			return this;
+		}
+
+		public <K> FieldRules<T, K> field(String fieldName,
+				Function<? super T, ? extends K> extractor) {
+			return builder.field(fieldName, extractor);
+		}
+
+		public ValidationPlan<T> build() {
+			return builder.build();
+		}
+
+		private FieldRules<T, V> check(BiConsumer<Condition<V>, T> check) {
+			checks.add(check);
+			return this;
+		}
+
+		private FieldRule<T, V> compile() {
+			return new FieldRule<T, V>(fieldName, extractor, preCondition,
+					new ArrayList<>(checks));
+		}
+
+	}
+
+	private static class FieldRule<T, V> {
+
+		private final String fieldName;
+		private final Function<? super T, ? extends V> extractor;
+		private final PreConditionRule<T, ?> preCondition;
+		private final List<BiConsumer<Condition<V>, T>> checks;
+
+		private FieldRule(String fieldName,
+				Function<? super T, ? extends V> extractor,
+				PreConditionRule<T, ?> preCondition,
+				List<BiConsumer<Condition<V>, T>> checks) {
+			this.fieldName = fieldName;
+			this.extractor = extractor;
+			this.preCondition = preCondition;
+			this.checks = checks;
+		}
+
+		/**
+		 * Reads the field only when the rule has no pre condition or a check
+		 * or a reported result needs it, so not when the pre condition is
+		 * not met
+		 */
+		private void apply(Validator validator, T object) {
+
+			Condition<V> condition = preCondition == null ? validator
+					.valueOfField(fieldName, extractor.apply(object))
+					: preCondition.evaluate(validator, object)
+							.<V> thenValueOfField(fieldName,
+									() -> extractor.apply(object));
+
+			for (int index = 0; index < checks.size(); index++) {
+				checks.get(index).accept(condition, object);
+			}
+		}
+
+	}
+
+	private static class PreConditionRule<T, K> {
+
+		private final String fieldName;
+		private final Function<? super T, ? extends K> extractor;
+		private final Function<PreCondition<K>, PreCondition<K>> preCondition;
+
+		private PreConditionRule(String fieldName,
+				Function<? super T, ? extends K> extractor,
+				Function<PreCondition<K>, PreCondition<K>> preCondition) {
+			this.fieldName = fieldName;
+			this.extractor = extractor;
+			this.preCondition = preCondition;
+		}
+
+		private PreCondition<K> evaluate(Validator validator, T object) {
+			return preCondition.apply(validator.ifValueOfField(fieldName,
+					extractor.apply(object)));
+		}
+
+	}
+
+}
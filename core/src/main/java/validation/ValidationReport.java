@@ -0,0 +1,307 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+/**
+ * A listener keeping the outcome of millions of checks in little memory: for
+ * every rule, i.e. every field name and type of check, and every status, the
+ * numbers of the records ending in that status are kept in a
+ * {@link CompressedBitmap}. Only a bounded sample of the results not passed
+ * is kept whole, chosen uniformly among them, e.g.
+ *
+ * <pre>
+ * ValidationReport report = ValidationReport.builder().setSampleSize(100)
+ * 		.build();
+ * validator.setValidationListener(report);
+ * csv.validate(validator, Paths.get(&quot;export.csv&quot;));
+ *
+ * report.getFailingRecords(&quot;Age&quot;, ValidationType.ShouldBeInteger);
+ * report.getFailingRules(42);
+ * </pre>
+ *
+ * The record number of a result is its row number, see
+ * {@link Validator.Condition#setPosition(long, int)}; results without one are
+ * recorded under the number given to {@link #setRecordNumber(long)}.
+ *
+ * The report can be shared by validating threads, its methods are
+ * synchronized; the bitmaps it returns are copies.
+ */
+public class ValidationReport implements ValidationListener {
+
+	private static final ValidationType[] TYPES = ValidationType.values();
+	private static final Status[] STATUSES = Status.values();
+
+	private final Set<Status> statuses;
+	private final int sampleSize;
+	private final Random random;
+
+	private final Map<Rule, CompressedBitmap[]> records = new LinkedHashMap<>();
+
+	/**
+	 * The same bitmaps by field name and type ordinal, looked up without
+	 * creating a rule
+	 */
+	private final Map<String, CompressedBitmap[][]> recordsByField = new HashMap<>();
+
+	private final List<Result<?>> sample = new ArrayList<>();
+
+	/**
+	 * The number of results offered to the sample so far
+	 */
+	private long sampledCount;
+
+	private long recordNumber;
+
+	private ValidationReport(Builder builder) {
+		this.statuses = EnumSet.copyOf(builder.statuses);
+		this.sampleSize = builder.sampleSize;
+		this.random = builder.random;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public synchronized void validated(Result<?> result) {
+		long rowNumber = result.getRowNumber();
+
+		CompressedBitmap[][] fieldRecords = recordsByField.get(result
+				.getFieldName());
+		if (fieldRecords == null) {
+			fieldRecords = new CompressedBitmap[TYPES.length][];
+			recordsByField.put(result.getFieldName(), fieldRecords);
+		}
+		CompressedBitmap[] bitmaps = fieldRecords[result.getType().ordinal()];
+		if (bitmaps == null) {
+			bitmaps = new CompressedBitmap[STATUSES.length];
+			fieldRecords[result.getType().ordinal()] = bitmaps;
+			records.put(new Rule(result.getFieldName(), result.getType()),
+					bitmaps);
+		}
+		Status status = result.getStatus();
+		CompressedBitmap bitmap = bitmaps[status.ordinal()];
+		if (bitmap == null) {
+			bitmap = new CompressedBitmap();
+			bitmaps[status.ordinal()] = bitmap;
+		}
+		bitmap.add(rowNumber > 0 ? rowNumber : recordNumber);
+
+		if (status != Status.Passed) {
+			sample(result);
+		}
+	}
+
+	@Override
+	public boolean isInterestedIn(Status status) {
+		return statuses.contains(status);
+	}
+
+	/**
+	 * Sets the number recorded for the results without a row number
+	 */
+	public synchronized void setRecordNumber(long recordNumber) {
+		this.recordNumber = recordNumber;
+	}
+
+	/**
+	 * @return the rules with at least one recorded result, in the order
+	 *         first seen
+	 */
+	public synchronized List<Rule> getRules() {
+		return new ArrayList<>(records.keySet());
+	}
+
+	/**
+	 * @return the records in which the rule ended in the given status
+	 */
+	public synchronized CompressedBitmap getRecords(String fieldName,
+			ValidationType type, Status status) {
+		CompressedBitmap[] bitmaps = records.get(new Rule(fieldName, type));
+		if (bitmaps == null || bitmaps[status.ordinal()] == null) {
+			return new CompressedBitmap();
+		}
+		return bitmaps[status.ordinal()].copy();
+	}
+
+	public CompressedBitmap getFailingRecords(String fieldName,
+			ValidationType type) {
+		return getRecords(fieldName, type, Status.Failed);
+	}
+
+	public synchronized long getCount(String fieldName, ValidationType type,
+			Status status) {
+		CompressedBitmap[] bitmaps = records.get(new Rule(fieldName, type));
+		if (bitmaps == null || bitmaps[status.ordinal()] == null) {
+			return 0;
+		}
+		return bitmaps[status.ordinal()].getCardinality();
+	}
+
+	/**
+	 * @return the rules which ended in the given status in the record
+	 */
+	public synchronized List<Rule> getRules(long recordNumber, Status status) {
+		List<Rule> rules = new ArrayList<>();
+		for (Map.Entry<Rule, CompressedBitmap[]> entry : records.entrySet()) {
+			CompressedBitmap bitmap = entry.getValue()[status.ordinal()];
+			if (bitmap != null && bitmap.contains(recordNumber)) {
+				rules.add(entry.getKey());
+			}
+		}
+		return rules;
+	}
+
+	public List<Rule> getFailingRules(long recordNumber) {
+		return getRules(recordNumber, Status.Failed);
+	}
+
+	/**
+	 * @return a uniform sample of the results not passed, at most the sample
+	 *         size of them
+	 */
+	public synchronized List<Result<?>> getSample() {
+		return Collections.unmodifiableList(new ArrayList<>(sample));
+	}
+
+	/**
+	 * @return about the number of bytes the bitmaps take, the sample excluded
+	 */
+	public synchronized long getSizeInBytes() {
+		long sizeInBytes = 0;
+		for (CompressedBitmap[] bitmaps : records.values()) {
+			for (CompressedBitmap bitmap : bitmaps) {
+				if (bitmap != null) {
+					sizeInBytes += bitmap.getSizeInBytes();
+				}
+			}
+		}
+		return sizeInBytes;
+	}
+
+	/**
+	 * Compacts the bitmaps, e.g. once the validation is over, see
+	 * {@link CompressedBitmap#optimize()}
+	 */
+	public synchronized void optimize() {
+		for (CompressedBitmap[] bitmaps : records.values()) {
+			for (CompressedBitmap bitmap : bitmaps) {
+				if (bitmap != null) {
+					bitmap.optimize();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reservoir sampling: the n-th result replaces a random one of the sample
+	 * with a probability of size / n
+	 */
+	private void sample(Result<?> result) {
+		sampledCount++;
+		if (sample.size() < sampleSize) {
+			sample.add(result);
+			return;
+		}
+		long index = (long) (random.nextDouble() * sampledCount);
+		if (index < sampleSize) {
+			sample.set((int) index, result);
+		}
+	}
+
+	/**
+	 * A field name along with a type of check
+	 */
+	public static final class Rule {
+
+		private final String fieldName;
+		private final ValidationType type;
+
+		public Rule(String fieldName, ValidationType type) {
+			this.fieldName = fieldName;
+			this.type = type;
+		}
+
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		public ValidationType getType() {
+			return type;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Rule)) {
+				return false;
+			}
+			Rule rule = (Rule) other;
+			return Objects.equals(rule.fieldName, fieldName)
+					&& rule.type == type;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(fieldName) * 31 + type.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return fieldName + " " + type;
+		}
+
+	}
+
+	public static class Builder {
+
+		private Set<Status> statuses = EnumSet.allOf(Status.class);
+		private int sampleSize = 100;
+		private Random random = new Random();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param status
+		 *            the statuses to record, all by default; leaving Passed
+		 *            out spares creating a result for every check passed
+		 */
+		public Builder setStatuses(Status status, Status... statuses) {
+			this.statuses = EnumSet.of(status, statuses);
+			return this;
+		}
+
+		public Builder setSampleSize(int sampleSize) {
+			if (sampleSize < 0) {
+				throw new IllegalArgumentException("Invalid sample size: "
+						+ sampleSize);
+			}
+			this.sampleSize = sampleSize;
+			return this;
+		}
+
+		Builder setRandom(Random random) {
+			this.random = random;
+			return this;
+		}
+
+		public ValidationReport build() {
+			return new ValidationReport(this);
+		}
+
+	}
+
+}
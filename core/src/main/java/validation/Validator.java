@@ -0,0 +1,3320 @@
+package validation;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point of the fluent validations, e.g.
+ * validator.valueOfField("age", person.getAge()).shouldBeInInclusiveRange(18, 60)
+ *
+ * A single Validator can be shared by any number of threads: the listener is
+ * swapped atomically (conditions created before a swap keep reporting to the
+ * previous listener) and the unreported counters are striped. The listener
+ * itself is called on the validating threads, so it has to be thread safe when
+ * the validator is shared. The {@link Condition}, {@link PreCondition} and
+ * {@link Result} objects created while validating are not thread safe and
+ * belong to the thread which created them. A result can still be handed to
+ * another thread once reported, e.g. by an {@link AsyncValidationDispatcher}:
+ * the lazy value of its condition is computed before it is reported, so the
+ * supplier or transformer of the value never runs on the listener thread.
+ */
+public class Validator {
+
+	private volatile ListenerBinding listenerBinding = new ListenerBinding(null);
+
+	private volatile ValidationMetrics metrics;
+
+	private volatile FileStatusCache fileStatusCache;
+
+	private volatile FailFast failFast;
+
+	private volatile PatternCache patternCache = PatternCache.getDefault();
+
+	private volatile MatchBudget matchBudget;
+
+	private final LongAdder[] unreportedCounts;
+
+	/**
+	 * The listener binding of the validator this one is a view of when it
+	 * was made, null when this validator is not a view
+	 */
+	private final ListenerBinding viewedBinding;
+
+	public Validator() {
+		this.viewedBinding = null;
+		this.unreportedCounts = new LongAdder[Status.values().length];
+		for (int index = 0; index < unreportedCounts.length; index++) {
+			unreportedCounts[index] = new LongAdder();
+		}
+	}
+
+	/**
+	 * A view of the given validator reporting to another listener, counting
+	 * with it and sharing its metrics, file status cache and fail fast mode
+	 */
+	private Validator(Validator validator, ListenerBinding listenerBinding) {
+		this.viewedBinding = validator.listenerBinding;
+		this.unreportedCounts = validator.unreportedCounts;
+		this.listenerBinding = listenerBinding;
+		this.metrics = validator.metrics;
+		this.fileStatusCache = validator.fileStatusCache;
+		this.failFast = validator.failFast;
+		this.patternCache = validator.patternCache;
+		this.matchBudget = validator.matchBudget;
+	}
+
+	public static enum ValidationType {
+
+		ShouldBe, ShouldNotBe, ShouldBeNull, ShouldBeBlank, ShouldNotBeBlank, ShouldNotBeNull, ShouldBeNumeric, ShouldBeBoolean, ShouldBeGreaterThan, ShouldBeLessThan, ShouldBeInInclusiveRange, ShouldBeInExclusiveRange, ShouldBeOneOf, ShouldMatch, ShouldBeGreaterThanOtherField, ShouldBeLessThanOtherField, ShouldBeAnExistingFile, ShouldBeInteger, ShouldBeDecimal, ShouldFitInLong, ShouldContainOnly, ShouldHaveLengthBetween, ShouldBeWellFormed
+	}
+
+	public static enum PreConditionType {
+		Is, IsNot, IsNull, IsBlank, IsNotNull, IsNotBlank, IsNumeric, IsBoolean, IsGreaterThan, IsLessThan, IsInInclusiveRange, IsInExclusiveRange, IsOneOf, IsAnExistingFile
+	}
+
+	/**
+	 * The statuses a check ends in. A check is {@link #Skipped} when the fail
+	 * fast scope it belongs to has had enough failures already, see
+	 * {@link Validator#setFailFast(FailFastScope, long)}: it is never reported
+	 * to the listener, only counted. A match ends in {@link #Timeout} when it
+	 * runs out of the budget of the validator, see
+	 * {@link Validator#setMatchBudget(MatchBudget)}.
+	 */
+	public static enum Status {
+		Failed, Passed, NullValueOperation, IncompatibleType, PreConditionNotMet, Skipped, Timeout
+	}
+
+	/**
+	 * What the failures counted towards the maximum of the fail fast mode are
+	 * the failures of, see {@link Validator#setFailFast(FailFastScope, long)}
+	 */
+	public static enum FailFastScope {
+		/**
+		 * The checks made through one condition
+		 */
+		Chain,
+		/**
+		 * The checks made by one thread since it started the current record,
+		 * see {@link Validator#startRecord()}
+		 */
+		Record,
+		/**
+		 * All the checks of the conditions created since the mode was set
+		 */
+		Validation
+	}
+
+	// TODO there are common things with Result and PreResult, can take out a
+	// common class
+	public static class PreResult<T> {
+
+		private PreConditionType type;
+
+		private Status status;
+
+		private PreCondition<T> preCondition;
+
+		private T fromRange;
+		private T toRange;
+
+		private String comparedFieldName;
+		private T comparedValue;
+
+		public PreResult(PreConditionType type, PreCondition<T> preCondition,
+				Status status) {
+			this.type = type;
+			this.preCondition = preCondition;
+			this.status = status;
+		}
+
+		public PreConditionType getType() {
+			return type;
+		}
+
+		public PreResult<T> setType(PreConditionType type) {
+			this.type = type;
+			return this;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public PreResult<T> setStatus(Status status) {
+			this.status = status;
+			return this;
+		}
+
+		public PreCondition<T> getPreCondition() {
+			return preCondition;
+		}
+
+		public PreResult<T> setPreCondition(PreCondition<T> preCondition) {
+			this.preCondition = preCondition;
+			return this;
+		}
+
+		public T getFromRange() {
+			return fromRange;
+		}
+
+		public PreResult<T> setFromRange(T fromRange) {
+			this.fromRange = fromRange;
+			return this;
+		}
+
+		public T getToRange() {
+			return toRange;
+		}
+
+		public PreResult<T> setToRange(T toRange) {
+			this.toRange = toRange;
+			return this;
+		}
+
+		public String getComparedFieldName() {
+			return comparedFieldName;
+		}
+
+		public PreResult<T> setComparedFieldName(String comparedFieldName) {
+			this.comparedFieldName = comparedFieldName;
+			return this;
+		}
+
+		public T getComparedValue() {
+			return comparedValue;
+		}
+
+		public PreResult<T> setComparedValue(T comparedValue) {
+			this.comparedValue = comparedValue;
+			return this;
+		}
+
+	}
+
+	public static class Result<T> {
+
+		private ValidationType type;
+
+		private Status status;
+
+		private Condition<T> condition;
+
+		private T fromRange;
+		private T toRange;
+
+		private String comparedFieldName;
+		private T comparedValue;
+		private Object comparedFieldOriginalValue;
+
+		private Collection<T> domainValues;
+
+		private String syntax;
+
+		public Result(ValidationType type, Condition<T> condition, Status status) {
+			this.type = type;
+			this.condition = condition;
+			this.status = status;
+		}
+
+		public ValidationType getType() {
+			return type;
+		}
+
+		public void setType(ValidationType type) {
+			this.type = type;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+
+		public Condition<T> getCondition() {
+			return condition;
+		}
+
+		public void setCondition(Condition<T> condition) {
+			this.condition = condition;
+		}
+
+		public String getFieldName() {
+			return condition.getFieldName();
+		}
+
+		public T getFieldValue() {
+			return condition.getFieldValue();
+		}
+
+		public Object getPresentationValue() {
+			return condition.getOriginalValue() != null ? condition
+					.getOriginalValue() : condition.getFieldValue();
+		}
+
+		public long getRowNumber() {
+			return condition.getRowNumber();
+		}
+
+		public int getColumnNumber() {
+			return condition.getColumnNumber();
+		}
+
+		public T getFromRange() {
+			return fromRange;
+		}
+
+		public Result<T> setFromRange(T fromRange) {
+			this.fromRange = fromRange;
+			return this;
+		}
+
+		public T getToRange() {
+			return toRange;
+		}
+
+		public Result<T> setToRange(T toRange) {
+			this.toRange = toRange;
+			return this;
+		}
+
+		public String getComparedFieldName() {
+			return comparedFieldName;
+		}
+
+		public Result<T> setComparedFieldName(String comparedFieldName) {
+			this.comparedFieldName = comparedFieldName;
+			return this;
+		}
+
+		public T getComparedValue() {
+			return comparedValue;
+		}
+
+		public Result<T> setComparedValue(T comparedValue) {
+			this.comparedValue = comparedValue;
+			return this;
+		}
+
+		public Collection<T> getDomainValues() {
+			return domainValues;
+		}
+
+		public Result<T> setDomainValues(Collection<T> domainValues) {
+			this.domainValues = domainValues;
+			return this;
+		}
+
+		public String getSyntax() {
+			return syntax;
+		}
+
+		public Result<T> setSyntax(String syntax) {
+			this.syntax = syntax;
+			return this;
+		}
+
+		public Object getComparedFieldPresentationValue() {
+			return comparedFieldOriginalValue != null ? comparedFieldOriginalValue
+					: comparedValue;
+		}
+
+		public Result<T> setComparedFieldOriginalValue(
+				Object comparedFieldOriginalValue) {
+			this.comparedFieldOriginalValue = comparedFieldOriginalValue;
+			return this;
+		}
+
+		/**
+		 * Replaces the values read straight from a buffer with copies, so
+		 * that the result can be kept once the buffer is released
+		 */
+		void copyBufferedValues() {
+			condition.copyBufferedValues();
+			comparedValue = copyOf(comparedValue);
+			comparedFieldOriginalValue = copyOf(comparedFieldOriginalValue);
+		}
+
+	}
+
+	/**
+	 * Result of a {@link IntCondition}, keeps the compared values and
+	 * the range as ints and boxes them only when asked for.
+	 */
+	public static class IntResult extends Result<Integer> {
+
+		private int fromRange;
+		private int toRange;
+		private int comparedValue;
+
+		private boolean ranged;
+		private boolean compared;
+
+		public IntResult(ValidationType type, Condition<Integer> condition,
+				Status status) {
+			super(type, condition, status);
+		}
+
+		public IntResult setRange(int fromRange, int toRange) {
+			this.fromRange = fromRange;
+			this.toRange = toRange;
+			this.ranged = true;
+			return this;
+		}
+
+		public IntResult setComparedValue(int comparedValue) {
+			this.comparedValue = comparedValue;
+			this.compared = true;
+			return this;
+		}
+
+		@Override
+		public Integer getFromRange() {
+			return ranged ? Integer.valueOf(fromRange) : super.getFromRange();
+		}
+
+		@Override
+		public Integer getToRange() {
+			return ranged ? Integer.valueOf(toRange) : super.getToRange();
+		}
+
+		@Override
+		public Integer getComparedValue() {
+			return compared ? Integer.valueOf(comparedValue) : super
+					.getComparedValue();
+		}
+
+	}
+
+	/**
+	 * Result of a {@link LongCondition}, keeps the compared values and
+	 * the range as longs and boxes them only when asked for.
+	 */
+	public static class LongResult extends Result<Long> {
+
+		private long fromRange;
+		private long toRange;
+		private long comparedValue;
+
+		private boolean ranged;
+		private boolean compared;
+
+		public LongResult(ValidationType type, Condition<Long> condition,
+				Status status) {
+			super(type, condition, status);
+		}
+
+		public LongResult setRange(long fromRange, long toRange) {
+			this.fromRange = fromRange;
+			this.toRange = toRange;
+			this.ranged = true;
+			return this;
+		}
+
+		public LongResult setComparedValue(long comparedValue) {
+			this.comparedValue = comparedValue;
+			this.compared = true;
+			return this;
+		}
+
+		@Override
+		public Long getFromRange() {
+			return ranged ? Long.valueOf(fromRange) : super.getFromRange();
+		}
+
+		@Override
+		public Long getToRange() {
+			return ranged ? Long.valueOf(toRange) : super.getToRange();
+		}
+
+		@Override
+		public Long getComparedValue() {
+			return compared ? Long.valueOf(comparedValue) : super
+					.getComparedValue();
+		}
+
+	}
+
+	/**
+	 * Result of a {@link DoubleCondition}, keeps the compared values and
+	 * the range as doubles and boxes them only when asked for.
+	 */
+	public static class DoubleResult extends Result<Double> {
+
+		private double fromRange;
+		private double toRange;
+		private double comparedValue;
+
+		private boolean ranged;
+		private boolean compared;
+
+		public DoubleResult(ValidationType type, Condition<Double> condition,
+				Status status) {
+			super(type, condition, status);
+		}
+
+		public DoubleResult setRange(double fromRange, double toRange) {
+			this.fromRange = fromRange;
+			this.toRange = toRange;
+			this.ranged = true;
+			return this;
+		}
+
+		public DoubleResult setComparedValue(double comparedValue) {
+			this.comparedValue = comparedValue;
+			this.compared = true;
+			return this;
+		}
+
+		@Override
+		public Double getFromRange() {
+			return ranged ? Double.valueOf(fromRange) : super.getFromRange();
+		}
+
+		@Override
+		public Double getToRange() {
+			return ranged ? Double.valueOf(toRange) : super.getToRange();
+		}
+
+		@Override
+		public Double getComparedValue() {
+			return compared ? Double.valueOf(comparedValue) : super
+					.getComparedValue();
+		}
+
+	}
+
+	/**
+	 * Pre condition on a field, the conditions depending on it are not met
+	 * when its check ends in {@link Status#Failed} or
+	 * {@link Status#NullValueOperation}.
+	 *
+	 * Pre conditions compose from left to right, without precedence, with
+	 * {@link #andValueOfField(String, Object)} and
+	 * {@link #orValueOfField(String, Object)}: the check of the pre condition
+	 * they return is skipped once the outcome is decided, e.g.
+	 *
+	 * <pre>
+	 * validator.ifValueOfField(&quot;country&quot;, country).is(&quot;US&quot;)
+	 * 		.andValueOfField(&quot;age&quot;, age).isGreaterThan(17)
+	 * 		.then(adult -&gt; {
+	 * 			adult.thenValueOfField(&quot;ssn&quot;, ssn).shouldNotBeBlank();
+	 * 			adult.thenValueOfField(&quot;state&quot;, state).shouldBeOneOf(states);
+	 * 		}).otherwise(other -&gt; other.thenValueOfField(&quot;ssn&quot;, ssn)
+	 * 				.shouldBeBlank());
+	 * </pre>
+	 *
+	 * A pre condition is checked once for all the conditions depending on it.
+	 */
+	public class PreCondition<T> {
+
+		private String fieldName;
+		private T fieldValue;
+
+		/**
+		 * Computes the field value when first asked for, null once done
+		 */
+		private Supplier<? extends T> valueSupplier;
+
+		private PreResult<T> result;
+
+		/**
+		 * The result of the pre condition this one is composed with, null
+		 * when that one was given no check
+		 */
+		private PreResult<?> previousResult;
+		private boolean composed;
+		private boolean conjunction;
+
+		private final ListenerBinding listenerBinding = Validator.this.listenerBinding;
+
+		private final ValidationMetrics metrics = Validator.this.metrics;
+
+		private final FileStatusCache fileStatusCache = Validator.this.fileStatusCache;
+
+		public PreCondition(String fieldName, T value) {
+			this.fieldName = fieldName;
+			this.fieldValue = value;
+		}
+
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		public T getFieldValue() {
+			if (valueSupplier != null) {
+				fieldValue = valueSupplier.get();
+				valueSupplier = null;
+			}
+			return fieldValue;
+		}
+
+		public PreCondition<T> is(T value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> equalValues(getFieldValue(), value) ? Status.Passed
+					: Status.Failed);
+
+			setResult(new PreResult<T>(PreConditionType.Is, this, status),
+					start);
+
+			return this;
+		}
+		
+		public PreCondition<T> isInAnyCase(String value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> equalsIgnoreCase(
+					(CharSequence) getFieldValue(), value) ? Status.Passed
+					: Status.Failed);
+
+			setResult(new PreResult<T>(PreConditionType.Is, this, status),
+					start);
+
+			return this;
+		}
+
+		public PreCondition<T> isNot(T value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> (!equalValues(getFieldValue(), value)) ? Status.Passed
+					: Status.Failed);
+
+			setResult(new PreResult<T>(PreConditionType.IsNot, this, status),
+					start);
+
+			return this;
+		}
+		
+		
+		public PreCondition<T> isNotInAnyCase(String value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> equalsIgnoreCase(
+					(CharSequence) getFieldValue(), value) ? Status.Failed
+					: Status.Passed);
+
+			setResult(new PreResult<T>(PreConditionType.Is, this, status),
+					start);
+
+			return this;
+		}
+
+		public PreCondition<T> isNull() {
+
+			long start = startTiming();
+
+			Status status = (getFieldValue() == null) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsNull, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isNotNull() {
+
+			long start = startTiming();
+
+			Status status = (getFieldValue() != null) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsNotNull, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isBlank() {
+
+			long start = startTiming();
+
+			Status status = isBlankValue(getFieldValue()) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsBlank, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isNotBlank() {
+
+			long start = startTiming();
+
+			Status status = (!isBlankValue(getFieldValue())) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsNotBlank, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isNumeric() {
+
+			long start = startTiming();
+
+			Status status = (isValueNumeric(getFieldValue())) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsNumeric, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isBoolean() {
+
+			long start = startTiming();
+
+			Status status = (isValueBoolean(getFieldValue())) ? Status.Passed
+					: Status.Failed;
+
+			setResult(new PreResult<T>(PreConditionType.IsBoolean, this,
+					status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isGreaterThan(T value) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) <= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			setResult(new PreResult<T>(PreConditionType.IsGreaterThan,
+					this, status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isLesserThan(T value) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) >= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			setResult(new PreResult<T>(PreConditionType.IsLessThan,
+					this, status), start);
+
+			return this;
+		}
+
+		public PreCondition<T> isAnExistingFile() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				return fileExists(fileStatusCache, getFieldValue().toString()) ? Status.Passed
+						: Status.Failed;
+			});
+
+			setResult(new PreResult<T>(PreConditionType.IsAnExistingFile,
+					this, status), start);
+
+			return this;
+		}
+
+		/**
+		 * @return whether the conditions depending on this pre condition are
+		 *         checked, true when it was not given a check
+		 */
+		public boolean isMet() {
+			return isPreConditionMet(result);
+		}
+
+		/**
+		 * Runs the dependent conditions of the branch on this pre condition,
+		 * only when it is met or when the listener is interested in
+		 * {@link Status#PreConditionNotMet}: otherwise the branch is skipped
+		 * altogether, its checks are neither reported, counted nor recorded
+		 * in the metrics.
+		 */
+		public PreCondition<T> then(Consumer<? super PreCondition<T>> branch) {
+			if (isMet() || isReportingNotMet()) {
+				branch.accept(this);
+			}
+			return this;
+		}
+
+		/**
+		 * Runs the dependent conditions of the branch on the negation of this
+		 * pre condition, skipped as the branch given to
+		 * {@link #then(Consumer)} when it is met.
+		 */
+		public PreCondition<T> otherwise(Consumer<? super PreCondition<T>> branch) {
+			boolean met = isMet();
+			if (!met || isReportingNotMet()) {
+				PreCondition<T> negation = new PreCondition<T>(fieldName,
+						getFieldValue());
+				negation.result = new PreResult<T>(result != null ? result
+						.getType() : PreConditionType.Is, negation,
+						met ? Status.Failed : Status.Passed);
+				branch.accept(negation);
+			}
+			return this;
+		}
+
+		/**
+		 * @return a pre condition on the given field which is met when both
+		 *         this one and its own check are; its check is skipped when
+		 *         this one is not met
+		 */
+		public <K> PreCondition<K> andValueOfField(String fieldName, K value) {
+			return compose(new PreCondition<K>(fieldName, value), true);
+		}
+
+		/**
+		 * Same as {@link #andValueOfField(String, Object)}, the value being
+		 * computed only when the check is not skipped
+		 */
+		public <K> PreCondition<K> andValueOfField(String fieldName,
+				Supplier<? extends K> value) {
+			return compose(lazyPreCondition(fieldName, value), true);
+		}
+
+		public IntPreCondition andValueOfField(String fieldName, int value) {
+			return compose(new IntPreCondition(fieldName, value), true);
+		}
+
+		public LongPreCondition andValueOfField(String fieldName, long value) {
+			return compose(new LongPreCondition(fieldName, value), true);
+		}
+
+		public DoublePreCondition andValueOfField(String fieldName,
+				double value) {
+			return compose(new DoublePreCondition(fieldName, value), true);
+		}
+
+		/**
+		 * @return a pre condition on the given field which is met when either
+		 *         this one or its own check is; its check is skipped when this
+		 *         one is met
+		 */
+		public <K> PreCondition<K> orValueOfField(String fieldName, K value) {
+			return compose(new PreCondition<K>(fieldName, value), false);
+		}
+
+		/**
+		 * Same as {@link #orValueOfField(String, Object)}, the value being
+		 * computed only when the check is not skipped
+		 */
+		public <K> PreCondition<K> orValueOfField(String fieldName,
+				Supplier<? extends K> value) {
+			return compose(lazyPreCondition(fieldName, value), false);
+		}
+
+		public IntPreCondition orValueOfField(String fieldName, int value) {
+			return compose(new IntPreCondition(fieldName, value), false);
+		}
+
+		public LongPreCondition orValueOfField(String fieldName, long value) {
+			return compose(new LongPreCondition(fieldName, value), false);
+		}
+
+		public DoublePreCondition orValueOfField(String fieldName,
+				double value) {
+			return compose(new DoublePreCondition(fieldName, value), false);
+		}
+
+		/**
+		 * The value is transformed once, when a check first needs it or the
+		 * result of a check is reported: not at all when the pre condition is
+		 * not met and the results are not reported. A value the transformer fails on is taken as null.
+		 */
+		public <K, M> Condition<M> thenValueOfField(String fieldName,
+				K fieldValue, Function<K, M> transformer) {
+			return new Condition<M>(fieldName, null, this.result)
+					.setValueSupplier(() -> transform(fieldValue, transformer));
+		}
+
+		/**
+		 * Same as {@link #thenValueOfField(String, Object, Function)}, the
+		 * value itself being computed only when the transformer needs it
+		 */
+		public <K, M> Condition<M> thenValueOfField(String fieldName,
+				Supplier<? extends K> fieldValue, Function<K, M> transformer) {
+			Supplier<M> transformed = fieldValue == null ? null
+					: () -> transform(fieldValue.get(), transformer);
+			return new Condition<M>(fieldName, null, this.result)
+					.setValueSupplier(transformed);
+		}
+
+		public <K> Condition<K> thenValueOfField(String fieldName, K fieldValue) {
+			return new Condition<K>(fieldName, fieldValue, this.result);
+		}
+
+		/**
+		 * @param fieldValue
+		 *            computes the value once, when a check first needs it or
+		 *            the result of a check is reported: not at all when the
+		 *            pre condition is not met and the results are not
+		 *            reported
+		 */
+		public <K> Condition<K> thenValueOfField(String fieldName,
+				Supplier<? extends K> fieldValue) {
+			return new Condition<K>(fieldName, null, this.result)
+					.setValueSupplier(fieldValue);
+		}
+
+		public IntCondition thenValueOfField(String fieldName, int fieldValue) {
+			return new IntCondition(fieldName, fieldValue, this.result);
+		}
+
+		public LongCondition thenValueOfField(String fieldName, long fieldValue) {
+			return new LongCondition(fieldName, fieldValue, this.result);
+		}
+
+		public DoubleCondition thenValueOfField(String fieldName,
+				double fieldValue) {
+			return new DoubleCondition(fieldName, fieldValue, this.result);
+		}
+
+		/**
+		 * Boxes the value, as for the char, short, byte and float values
+		 * below, rather than widening it to an int or a double condition
+		 */
+		public Condition<Character> thenValueOfField(String fieldName,
+				char fieldValue) {
+			return new Condition<Character>(fieldName, fieldValue, this.result);
+		}
+
+		public Condition<Short> thenValueOfField(String fieldName,
+				short fieldValue) {
+			return new Condition<Short>(fieldName, fieldValue, this.result);
+		}
+
+		public Condition<Byte> thenValueOfField(String fieldName,
+				byte fieldValue) {
+			return new Condition<Byte>(fieldName, fieldValue, this.result);
+		}
+
+		public Condition<Float> thenValueOfField(String fieldName,
+				float fieldValue) {
+			return new Condition<Float>(fieldName, fieldValue, this.result);
+		}
+
+		public PreResult<T> getResult() {
+			return result;
+		}
+
+		/**
+		 * @param start
+		 *            the start of the check, as given by
+		 *            {@link #startTiming()}
+		 */
+		protected PreCondition<T> setResult(PreResult<T> result, long start) {
+			Status decidedStatus = getDecidedStatus();
+			if (decidedStatus != null) {
+				result.setStatus(decidedStatus);
+			}
+			this.result = result;
+			if (metrics != null) {
+				metrics.record(result.getType(), result.getStatus(),
+						System.nanoTime() - start);
+			}
+			return this;
+		}
+
+		/**
+		 * @return the start of the check for the metrics, 0 when they are off
+		 */
+		protected long startTiming() {
+			return metrics == null ? 0L : System.nanoTime();
+		}
+
+		// TODO copied from condition : refactor : avoid duplication
+		public Status getComparableStatus(Supplier<Status> statusSupplier) {
+
+			Supplier<Status> comparableSupplier = () -> {
+
+				if (!(getFieldValue() instanceof Comparable)) {
+					return Status.IncompatibleType;
+				} else {
+					return statusSupplier.get();
+				}
+
+			};
+
+			return getStatus(comparableSupplier);
+		}
+
+		public Status getStatus(Supplier<Status> statusSupplier) {
+			return getStatus(statusSupplier, true);
+		}
+
+		public Status getStatus(Supplier<Status> statusSupplier,
+				boolean checkNull) {
+
+			Status decidedStatus = getDecidedStatus();
+
+			if (decidedStatus != null) {
+				return decidedStatus;
+			} else if (checkNull && getFieldValue() == null) {
+				return Status.NullValueOperation;
+			} else {
+				return statusSupplier.get();
+			}
+
+		}
+
+		/**
+		 * @return the status of the composed pre condition when the one
+		 *         before decides it whatever the check of this one, null
+		 *         otherwise
+		 */
+		private Status getDecidedStatus() {
+			if (composed
+					&& isPreConditionMet(previousResult) != conjunction) {
+				return previousResult != null ? previousResult.getStatus()
+						: Status.Passed;
+			}
+			return null;
+		}
+
+		private <K> PreCondition<K> lazyPreCondition(String fieldName,
+				Supplier<? extends K> value) {
+			PreCondition<K> preCondition = new PreCondition<K>(fieldName, null);
+			preCondition.valueSupplier = value;
+			return preCondition;
+		}
+
+		private <P extends PreCondition<?>> P compose(P next,
+				boolean conjunction) {
+			PreCondition<?> preCondition = next;
+			preCondition.previousResult = result;
+			preCondition.composed = true;
+			preCondition.conjunction = conjunction;
+			return next;
+		}
+
+		private boolean isReportingNotMet() {
+			return listenerBinding.reportedStatuses[Status.PreConditionNotMet
+					.ordinal()];
+		}
+
+	}
+
+	/**
+	 * @return whether the conditions depending on the pre condition of the
+	 *         result are checked
+	 */
+	static boolean isPreConditionMet(PreResult<?> preResult) {
+		return preResult == null
+				|| preResult.getStatus() != Status.Failed
+				&& preResult.getStatus() != Status.NullValueOperation;
+	}
+
+	/**
+	 * @return whether a check ended in the status counts towards the maximum
+	 *         of the fail fast mode
+	 */
+	static boolean isFailure(Status status) {
+		return status == Status.Failed || status == Status.NullValueOperation
+				|| status == Status.IncompatibleType || status == Status.Timeout;
+	}
+
+	/**
+	 * Pre condition on a primitive field value, which can neither be null
+	 * nor blank: the subclasses only compare the raw value, the field value
+	 * is boxed only when asked for.
+	 *
+	 * @param <P>
+	 *            the type of the pre condition, returned by its checks
+	 */
+	public abstract class PrimitivePreCondition<T, P extends PrimitivePreCondition<T, P>>
+			extends PreCondition<T> {
+
+		private T boxedValue;
+
+		PrimitivePreCondition(String fieldName) {
+			super(fieldName, null);
+		}
+
+		/**
+		 * @return the raw value boxed
+		 */
+		abstract T box();
+
+		@SuppressWarnings("unchecked")
+		final P checked(PreConditionType type, boolean met) {
+			long start = startTiming();
+			setResult(new PreResult<T>(type, this, met ? Status.Passed
+					: Status.Failed), start);
+			return (P) this;
+		}
+
+		@Override
+		public T getFieldValue() {
+			if (boxedValue == null) {
+				boxedValue = box();
+			}
+			return boxedValue;
+		}
+
+		@Override
+		public P isNull() {
+			return checked(PreConditionType.IsNull, false);
+		}
+
+		@Override
+		public P isNotNull() {
+			return checked(PreConditionType.IsNotNull, true);
+		}
+
+		@Override
+		public P isBlank() {
+			return checked(PreConditionType.IsBlank, false);
+		}
+
+		@Override
+		public P isNotBlank() {
+			return checked(PreConditionType.IsNotBlank, true);
+		}
+
+		@Override
+		public P isBoolean() {
+			return checked(PreConditionType.IsBoolean, false);
+		}
+
+	}
+
+	/**
+	 * Pre condition on an int field which compares the raw value.
+	 */
+	public class IntPreCondition extends
+			PrimitivePreCondition<Integer, IntPreCondition> {
+
+		private int intValue;
+
+		public IntPreCondition(String fieldName, int value) {
+			super(fieldName);
+			this.intValue = value;
+		}
+
+		public int getIntValue() {
+			return intValue;
+		}
+
+		@Override
+		Integer box() {
+			return intValue;
+		}
+
+		public IntPreCondition is(int value) {
+			return checked(PreConditionType.Is, intValue == value);
+		}
+
+		public IntPreCondition isNot(int value) {
+			return checked(PreConditionType.IsNot, intValue != value);
+		}
+
+		@Override
+		public IntPreCondition isNumeric() {
+			return checked(PreConditionType.IsNumeric, true);
+		}
+
+		public IntPreCondition isGreaterThan(int value) {
+			return checked(PreConditionType.IsGreaterThan, intValue > value);
+		}
+
+		public IntPreCondition isLesserThan(int value) {
+			return checked(PreConditionType.IsLessThan, intValue < value);
+		}
+
+	}
+
+	/**
+	 * Pre condition on a long field which compares the raw value.
+	 */
+	public class LongPreCondition extends
+			PrimitivePreCondition<Long, LongPreCondition> {
+
+		private long longValue;
+
+		public LongPreCondition(String fieldName, long value) {
+			super(fieldName);
+			this.longValue = value;
+		}
+
+		public long getLongValue() {
+			return longValue;
+		}
+
+		@Override
+		Long box() {
+			return longValue;
+		}
+
+		public LongPreCondition is(long value) {
+			return checked(PreConditionType.Is, longValue == value);
+		}
+
+		public LongPreCondition isNot(long value) {
+			return checked(PreConditionType.IsNot, longValue != value);
+		}
+
+		@Override
+		public LongPreCondition isNumeric() {
+			return checked(PreConditionType.IsNumeric, true);
+		}
+
+		public LongPreCondition isGreaterThan(long value) {
+			return checked(PreConditionType.IsGreaterThan, longValue > value);
+		}
+
+		public LongPreCondition isLesserThan(long value) {
+			return checked(PreConditionType.IsLessThan, longValue < value);
+		}
+
+	}
+
+	/**
+	 * Pre condition on a double field which compares the raw value.
+	 */
+	public class DoublePreCondition extends
+			PrimitivePreCondition<Double, DoublePreCondition> {
+
+		private double doubleValue;
+
+		public DoublePreCondition(String fieldName, double value) {
+			super(fieldName);
+			this.doubleValue = value;
+		}
+
+		public double getDoubleValue() {
+			return doubleValue;
+		}
+
+		@Override
+		Double box() {
+			return doubleValue;
+		}
+
+		public DoublePreCondition is(double value) {
+			return checked(PreConditionType.Is, Double.compare(doubleValue, value) == 0);
+		}
+
+		public DoublePreCondition isNot(double value) {
+			return checked(PreConditionType.IsNot, Double.compare(doubleValue, value) != 0);
+		}
+
+		@Override
+		public DoublePreCondition isNumeric() {
+			return checked(PreConditionType.IsNumeric, false);
+		}
+
+		public DoublePreCondition isGreaterThan(double value) {
+			return checked(PreConditionType.IsGreaterThan, Double.compare(doubleValue, value) > 0);
+		}
+
+		public DoublePreCondition isLesserThan(double value) {
+			return checked(PreConditionType.IsLessThan, Double.compare(doubleValue, value) < 0);
+		}
+
+	}
+
+	public class Condition<T> {
+
+		private String fieldName;
+		private T fieldValue;
+
+		/**
+		 * Computes the field value when first asked for, null once done
+		 */
+		private Supplier<? extends T> valueSupplier;
+
+		private Object originalValue;
+
+		private long rowNumber;
+		private int columnNumber;
+
+		private PreResult preResult;
+
+		public PreResult getPreResult() {
+			return preResult;
+		}
+
+		public Condition<T> setPreResult(PreResult preResult) {
+			this.preResult = preResult;
+			return this;
+		}
+
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		public void setFieldName(String fieldName) {
+			this.fieldName = fieldName;
+		}
+
+		public T getFieldValue() {
+			resolveFieldValue();
+			return fieldValue;
+		}
+
+		public void setFieldValue(T fieldValue) {
+			this.fieldValue = fieldValue;
+			this.valueSupplier = null;
+		}
+
+		/**
+		 * Computes the field value if it is still lazy
+		 */
+		private void resolveFieldValue() {
+			if (valueSupplier != null) {
+				fieldValue = valueSupplier.get();
+				valueSupplier = null;
+			}
+		}
+
+		/**
+		 * @see Result#copyBufferedValues()
+		 */
+		void copyBufferedValues() {
+			resolveFieldValue();
+			fieldValue = copyOf(fieldValue);
+			originalValue = copyOf(originalValue);
+		}
+
+		/**
+		 * @param valueSupplier
+		 *            computes the field value when first asked for, the
+		 *            value is null when the supplier is
+		 */
+		private Condition<T> setValueSupplier(
+				Supplier<? extends T> valueSupplier) {
+			this.valueSupplier = valueSupplier;
+			return this;
+		}
+
+		private final ListenerBinding listenerBinding = Validator.this.listenerBinding;
+
+		private final ValidationMetrics metrics = Validator.this.metrics;
+
+		private final FileStatusCache fileStatusCache = Validator.this.fileStatusCache;
+
+		private final FailFast failFast = Validator.this.failFast;
+
+		/**
+		 * The failures of the record or of the validation, null when there is
+		 * no fail fast mode or when its scope is the chain
+		 */
+		private final FailureCount failureCount = failFast == null ? null
+				: failFast.failureCount();
+
+		private long chainFailures;
+
+		public Condition(String fieldName, T fieldValue) {
+			this.fieldName = fieldName;
+			this.fieldValue = fieldValue;
+		}
+
+		public <K> Condition(String fieldName, T fieldValue,
+				PreResult<K> preResult) {
+			this(fieldName, fieldValue);
+			this.preResult = preResult;
+		}
+
+		public Object getOriginalValue() {
+			return originalValue;
+		}
+
+		public Condition<T> setOriginalValue(Object originalValue) {
+			this.originalValue = originalValue;
+			return this;
+		}
+
+		/**
+		 * @return the row the value was read from, starting at 1, or 0 when
+		 *         the value was not read from a file
+		 */
+		public long getRowNumber() {
+			return rowNumber;
+		}
+
+		/**
+		 * @return the column the value was read from, starting at 1, or 0
+		 *         when the value was not read from a file
+		 */
+		public int getColumnNumber() {
+			return columnNumber;
+		}
+
+		/**
+		 * Records where the value was read from, for the results of the
+		 * checks
+		 */
+		public Condition<T> setPosition(long rowNumber, int columnNumber) {
+			this.rowNumber = rowNumber;
+			this.columnNumber = columnNumber;
+			return this;
+		}
+
+		public Condition<T> shouldBeNull() {
+
+			long start = startTiming();
+
+			Status status = isSkipped() ? Status.Skipped
+					: getFieldValue() == null ? Status.Passed : Status.Failed;
+
+			if (isReported(ValidationType.ShouldBeNull, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeNull, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldNotBeNull() {
+
+			long start = startTiming();
+
+			Status status = isSkipped() ? Status.Skipped
+					: getFieldValue() != null ? Status.Passed : Status.Failed;
+
+			if (isReported(ValidationType.ShouldNotBeNull, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldNotBeNull, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeBlank() {
+
+			long start = startTiming();
+
+			Status status = getStatus(
+					() -> isBlankValue(getFieldValue()) ? Status.Passed
+							: Status.Failed, false);
+
+			if (isReported(ValidationType.ShouldBeBlank, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeBlank, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldNotBeBlank() {
+
+			long start = startTiming();
+
+			Status status = getStatus(
+					() -> isBlankValue(getFieldValue()) ? Status.Failed
+							: Status.Passed, false);
+
+			if (isReported(ValidationType.ShouldNotBeBlank, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldNotBeBlank, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBe(T value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> equalValues(getFieldValue(), value) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBe, status, start)) {
+				report(new Result<T>(ValidationType.ShouldBe,
+						this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldNotBe(T value) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> !equalValues(getFieldValue(), value) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBe, status, start)) {
+				report(new Result<T>(ValidationType.ShouldBe,
+						this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeNumeric() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> isValueNumeric(getFieldValue()) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBeNumeric, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeNumeric, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeBoolean() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> isValueBoolean(getFieldValue()) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBeBoolean, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeBoolean, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeInteger() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> isValueInteger(getFieldValue()) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBeInteger, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeInteger, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeDecimal() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> isValueDecimal(getFieldValue()) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldBeDecimal, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeDecimal, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldFitInLong() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> doesValueFitInLong(getFieldValue()) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldFitInLong, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldFitInLong, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeGreaterThan(T value) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) <= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeGreaterThan, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeGreaterThan, this, status)
+						.setComparedValue((T) value));
+			}
+
+			return this;
+
+		}
+
+		// TODO try this out, better
+		/*
+		 * public <K extends Comparable<T>> Condition<T> shouldBeGreaterThan(K
+		 * value) {
+		 * 
+		 * Status status = getComparableStatus(() -> { return
+		 * ((value.compareTo(fieldValue)) <= 0) ? Status.Failed : Status.Passed;
+		 * });
+		 * 
+		 * report(new Result<T>(
+		 * ValidationType.ShouldBeGreaterThan, this, status)
+		 * .setComparedValue((T)value));
+		 * 
+		 * return this;
+		 * 
+		 * }
+		 */
+
+		public Condition<T> shouldBeLessThan(T value) {
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) >= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeLessThan, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeLessThan, this, status)
+						.setComparedValue(value));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeGreaterThanField(String fieldName, T value) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) <= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeGreaterThanOtherField, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeGreaterThanOtherField, this, status)
+						.setComparedValue((T) value)
+						.setComparedFieldName(fieldName));
+			}
+
+			return this;
+
+		}
+
+		public Condition<T> shouldBeGreaterThanField(String fieldName, T value,
+				Object originalValue) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) <= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeGreaterThanOtherField, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeGreaterThanOtherField, this, status)
+						.setComparedValue((T) value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+
+			return this;
+
+		}
+
+		public Condition<T> shouldBeLessThanField(String fieldName, T value) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) >= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeLessThanOtherField, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeLessThanOtherField, this, status)
+						.setComparedValue((T) value)
+						.setComparedFieldName(fieldName));
+			}
+
+			return this;
+
+		}
+
+		public Condition<T> shouldBeLessThanField(String fieldName, T value,
+				Object originalValue) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(value) >= 0) ? Status.Failed
+						: Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeLessThanOtherField, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeLessThanOtherField, this, status)
+						.setComparedValue((T) value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+
+			return this;
+
+		}
+
+		public Condition<T> shouldBeInInclusiveRange(T from, T to) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(from) < 0 || ((Comparable<T>) getFieldValue())
+						.compareTo(to) > 0) ? Status.Failed : Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeInInclusiveRange, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeInInclusiveRange, this, status)
+						.setFromRange(from).setToRange(to));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeInExclusiveRange(T from, T to) {
+
+			long start = startTiming();
+
+			Status status = getComparableStatus(() -> {
+				return (((Comparable<T>) getFieldValue()).compareTo(from) <= 0 || ((Comparable<T>) getFieldValue())
+						.compareTo(to) >= 0) ? Status.Failed : Status.Passed;
+			});
+
+			if (isReported(ValidationType.ShouldBeInExclusiveRange, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeInExclusiveRange, this, status)
+						.setFromRange(from).setToRange(to));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeOneOfEnumNames(Class<?> enumClass) {
+
+			return shouldBeOneOf((DomainSet<T>) DomainSet.ofEnumNames(enumClass));
+		}
+
+		public Condition<T> shouldBeOneOfEnumNamesInAnyCase(Class<?> enumClass) {
+
+			return shouldBeOneOfInAnyCase((DomainSet<T>) DomainSet
+					.ofEnumNames(enumClass));
+		}
+
+		/**
+		 * Checks that the whole value matches the pattern, matching character
+		 * sequences as they are and other values as their string value. The
+		 * check ends in {@link Status#Timeout} when the match runs out of the
+		 * budget of the validator, see
+		 * {@link Validator#setMatchBudget(MatchBudget)}.
+		 */
+		public Condition<T> shouldMatch(Pattern pattern, String syntax) {
+
+			long start = startTiming();
+
+			MatchBudget matchBudget = Validator.this.matchBudget;
+			Status status = getStatus(() -> PatternCache.match(pattern,
+					toCharSequence(getFieldValue()), matchBudget));
+
+			if (isReported(ValidationType.ShouldMatch, status, start)) {
+				report(new Result<T>(ValidationType.ShouldMatch, this, status)
+						.setSyntax(syntax));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Checks that the whole value matches the regular expression, compiled
+		 * once by the pattern cache of the validator, see
+		 * {@link Validator#setPatternCache(PatternCache)}
+		 *
+		 * @throws java.util.regex.PatternSyntaxException
+		 *             when the expression is invalid
+		 */
+		public Condition<T> shouldMatch(String regex, String syntax) {
+			return shouldMatch(patternCache.compile(regex), syntax);
+		}
+
+		/**
+		 * Checks that every character of the value, or of its string value,
+		 * is in the class
+		 */
+		public Condition<T> shouldContainOnly(CharClass charClass) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> charClass.containsAll(
+					toCharSequence(getFieldValue())) ? Status.Passed
+					: Status.Failed);
+
+			if (isReported(ValidationType.ShouldContainOnly, status, start)) {
+				report(new Result<T>(ValidationType.ShouldContainOnly, this,
+						status).setSyntax(charClass.toString()));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Checks that the number of chars of the value, or of its string
+		 * value, is between the bounds, both included. An empty value has a
+		 * length of 0.
+		 */
+		public Condition<T> shouldHaveLengthBetween(int min, int max) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				T value = getFieldValue();
+				if (value == null) {
+					return Status.NullValueOperation;
+				}
+				int length = toCharSequence(value).length();
+				return length >= min && length <= max ? Status.Passed
+						: Status.Failed;
+			}, false);
+
+			if (isReported(ValidationType.ShouldHaveLengthBetween, status,
+					start)) {
+				report(new Result<T>(ValidationType.ShouldHaveLengthBetween,
+						this, status).setSyntax("length between " + min
+						+ " and " + max));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Reports a check whose outcome was found while reading the value,
+		 * e.g. whether a line of a file is well formed
+		 */
+		Condition<T> reportCheck(ValidationType type, boolean passed,
+				String syntax) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> passed ? Status.Passed
+					: Status.Failed, false);
+
+			if (isReported(type, status, start)) {
+				report(new Result<T>(type, this, status).setSyntax(syntax));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeAnExistingFile() {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> fileExists(fileStatusCache,
+					getFieldValue().toString()) ? Status.Passed : Status.Failed);
+
+			if (isReported(ValidationType.ShouldBeAnExistingFile, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeAnExistingFile, this, status));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeOneOf(T... values) {
+
+			return shouldBeOneOf(Arrays.asList(values));
+		}
+
+		public Condition<T> shouldBeOneOfInAnyCase(T... values) {
+
+			return shouldBeOneOfInAnyCase(Arrays.asList(values));
+		}
+
+		public Condition<T> shouldBeOneOf(Collection<? extends T> values) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				return containsValue(values, getFieldValue()) ? Status.Passed
+						: Status.Failed;
+			});
+
+			if (isReported(ValidationType.ShouldBeOneOf, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeOneOf, this, status)
+						.setDomainValues((Collection<T>) values));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Scans the values, comparing their string forms with the field value
+		 * ignoring case; a domain checked for many values is better prepared
+		 * once, see {@link #shouldBeOneOfInAnyCase(DomainSet)}
+		 */
+		public Condition<T> shouldBeOneOfInAnyCase(
+				Collection<? extends T> values) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				return containsIgnoreCase(values, getFieldValue()) ? Status.Passed
+						: Status.Failed;
+			});
+
+			if (isReported(ValidationType.ShouldBeOneOf, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeOneOf, this, status)
+						.setDomainValues((Collection<T>) values));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeOneOf(DomainSet<? extends T> domain) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				return (domain.contains(getFieldValue())) ? Status.Passed
+						: Status.Failed;
+			});
+
+			if (isReported(ValidationType.ShouldBeOneOf, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeOneOf, this, status)
+						.setDomainValues((Collection<T>) domain));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Checks an enum value against a set of constants; EnumSet keeps its
+		 * constants as a bitmap indexed by ordinal, so the check is a single
+		 * bit test whatever the size of the set. (Named apart from
+		 * {@link #shouldBeOneOf(Collection)}, which an EnumSet of the field's
+		 * own type would make ambiguous.)
+		 */
+		public <E extends Enum<E>> Condition<T> shouldBeOneOfEnums(
+				EnumSet<E> values) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				if (!(getFieldValue() instanceof Enum)) {
+					return Status.IncompatibleType;
+				}
+				return (values.contains(getFieldValue())) ? Status.Passed
+						: Status.Failed;
+			});
+
+			if (isReported(ValidationType.ShouldBeOneOf, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeOneOf, this, status)
+						.setDomainValues((Collection<T>) values));
+			}
+
+			return this;
+		}
+
+		public Condition<T> shouldBeOneOfInAnyCase(
+				DomainSet<? extends T> domain) {
+
+			long start = startTiming();
+
+			Status status = getStatus(() -> {
+				return (domain.containsIgnoreCase(getFieldValue())) ? Status.Passed
+						: Status.Failed;
+			});
+
+			if (isReported(ValidationType.ShouldBeOneOf, status, start)) {
+				report(new Result<T>(
+						ValidationType.ShouldBeOneOf, this, status)
+						.setDomainValues((Collection<T>) domain));
+			}
+
+			return this;
+		}
+
+		public Condition<T> and() {
+			return this;
+		}
+
+		public Status getComparableStatus(Supplier<Status> statusSupplier) {
+
+			Supplier<Status> comparableSupplier = () -> {
+
+				if (!(getFieldValue() instanceof Comparable)) {
+					return Status.IncompatibleType;
+				} else {
+					return statusSupplier.get();
+				}
+
+			};
+
+			return getStatus(comparableSupplier);
+		}
+
+		public Status getStatus(Supplier<Status> statusSupplier) {
+			return getStatus(statusSupplier, true);
+		}
+
+		public Status getStatus(Supplier<Status> statusSupplier,
+				boolean checkNull) {
+
+			Status status = checkPreResult();
+
+			if (status == null) {
+
+				T value = checkNull ? getFieldValue() : null;
+
+				if (checkNull
+						&& (value == null || (value instanceof CharSequence)
+								&& ((CharSequence) value).length() == 0)) {
+					status = Status.NullValueOperation;
+				} else {
+					status = statusSupplier.get();
+				}
+			}
+
+			return status;
+		}
+
+		/**
+		 * @return the start of the check for the metrics, 0 when they are off
+		 */
+		protected long startTiming() {
+			return metrics == null ? 0L : System.nanoTime();
+		}
+
+		protected boolean isReported(ValidationType type, Status status,
+				long start) {
+			if (failFast != null && isFailure(status)) {
+				if (failureCount == null) {
+					chainFailures++;
+				} else {
+					failureCount.increment();
+				}
+			}
+			if (metrics != null) {
+				metrics.record(type, fieldName, status, System.nanoTime()
+						- start);
+			}
+			if (listenerBinding.reportedStatuses[status.ordinal()]) {
+				return true;
+			}
+			unreportedCounts[status.ordinal()].increment();
+			return false;
+		}
+
+		/**
+		 * Reports the result once its field value is computed, the listener
+		 * may hand it to another thread
+		 */
+		protected void report(Result<T> result) {
+			resolveFieldValue();
+			listenerBinding.validationListener.validated(result);
+		}
+
+		/**
+		 * @return the status of a check done on a primitive value, which can
+		 *         neither be null nor of an incompatible type
+		 */
+		protected Status getPrimitiveStatus(boolean passed) {
+
+			Status status = checkPreResult();
+
+			if (status == null) {
+				status = passed ? Status.Passed : Status.Failed;
+			}
+
+			return status;
+		}
+
+		/**
+		 * @return whether the fail fast scope of the condition has had enough
+		 *         failures for the checks to be skipped
+		 */
+		protected boolean isSkipped() {
+			if (failFast == null) {
+				return false;
+			}
+			long failures = failureCount == null ? chainFailures
+					: failureCount.get();
+			return failures >= failFast.maximumFailures;
+		}
+
+		/**
+		 * @return
+		 */
+		private Status checkPreResult() {
+			Status status = null;
+
+			if (isSkipped()) {
+				status = Status.Skipped;
+			} else if (!isPreConditionMet(preResult)) {
+				status = Status.PreConditionNotMet;
+			}
+			return status;
+		}
+
+	}
+
+	/**
+	 * Condition on a primitive field value, which can neither be null nor of
+	 * an incompatible type: the subclasses only compare the raw value, the
+	 * result of a check is created only when the listener is interested in
+	 * its status and the field value is boxed only when a listener or a
+	 * generic check asks for it.
+	 *
+	 * @param <C>
+	 *            the type of the condition, returned by its checks
+	 * @param <R>
+	 *            the type of its results, which keep the compared values raw
+	 */
+	public abstract class PrimitiveCondition<T, C extends PrimitiveCondition<T, C, R>, R extends Result<T>>
+			extends Condition<T> {
+
+		<K> PrimitiveCondition(String fieldName, PreResult<K> preResult) {
+			super(fieldName, null, preResult);
+		}
+
+		/**
+		 * @return the raw value boxed
+		 */
+		abstract T box();
+
+		abstract R newResult(ValidationType type, Status status);
+
+		@SuppressWarnings("unchecked")
+		private C self() {
+			return (C) this;
+		}
+
+		/**
+		 * @return the result of the check, to be completed and reported, null
+		 *         when its status is not reported
+		 */
+		final R check(ValidationType type, boolean passed) {
+			long start = startTiming();
+			Status status = getPrimitiveStatus(passed);
+			return isReported(type, status, start) ? newResult(type, status)
+					: null;
+		}
+
+		/**
+		 * Reports the result of a check which has no compared value
+		 */
+		final C checked(ValidationType type, boolean passed) {
+			R result = check(type, passed);
+			if (result != null) {
+				report(result);
+			}
+			return self();
+		}
+
+		private C checkedNullity(ValidationType type, Status status) {
+			long start = startTiming();
+			if (isSkipped()) {
+				status = Status.Skipped;
+			}
+			if (isReported(type, status, start)) {
+				report(newResult(type, status));
+			}
+			return self();
+		}
+
+		/**
+		 * May be called on the thread of an asynchronous listener: the boxed
+		 * value written there is immutable and equal to any other boxing of
+		 * the raw value, so the race with the checking thread is benign
+		 */
+		@Override
+		public T getFieldValue() {
+			T boxedValue = super.getFieldValue();
+			if (boxedValue == null) {
+				boxedValue = box();
+				super.setFieldValue(boxedValue);
+			}
+			return boxedValue;
+		}
+
+		@Override
+		public C setOriginalValue(Object originalValue) {
+			super.setOriginalValue(originalValue);
+			return self();
+		}
+
+		@Override
+		public C setPosition(long rowNumber, int columnNumber) {
+			super.setPosition(rowNumber, columnNumber);
+			return self();
+		}
+
+		@Override
+		public C shouldBeNull() {
+			return checkedNullity(ValidationType.ShouldBeNull, Status.Failed);
+		}
+
+		@Override
+		public C shouldNotBeNull() {
+			return checkedNullity(ValidationType.ShouldNotBeNull, Status.Passed);
+		}
+
+		@Override
+		public C shouldBeBlank() {
+			return checked(ValidationType.ShouldBeBlank, false);
+		}
+
+		@Override
+		public C shouldNotBeBlank() {
+			return checked(ValidationType.ShouldNotBeBlank, true);
+		}
+
+		@Override
+		public C shouldBeBoolean() {
+			return checked(ValidationType.ShouldBeBoolean, false);
+		}
+
+		@Override
+		public C and() {
+			return self();
+		}
+
+	}
+
+	/**
+	 * Condition on an int field which compares the raw value.
+	 */
+	public class IntCondition extends
+			PrimitiveCondition<Integer, IntCondition, IntResult> {
+
+		private int intValue;
+
+		public IntCondition(String fieldName, int value) {
+			this(fieldName, value, null);
+		}
+
+		public <K> IntCondition(String fieldName, int value,
+				PreResult<K> preResult) {
+			super(fieldName, preResult);
+			this.intValue = value;
+		}
+
+		public int getIntValue() {
+			return intValue;
+		}
+
+		@Override
+		Integer box() {
+			return intValue;
+		}
+
+		@Override
+		IntResult newResult(ValidationType type, Status status) {
+			return new IntResult(type, this, status);
+		}
+
+		@Override
+		public void setFieldValue(Integer fieldValue) {
+			super.setFieldValue(fieldValue);
+			this.intValue = fieldValue;
+		}
+
+		@Override
+		public IntCondition shouldBeNumeric() {
+			return checked(ValidationType.ShouldBeNumeric, true);
+		}
+
+		@Override
+		public IntCondition shouldBeInteger() {
+			return checked(ValidationType.ShouldBeInteger, true);
+		}
+
+		@Override
+		public IntCondition shouldBeDecimal() {
+			return checked(ValidationType.ShouldBeDecimal, true);
+		}
+
+		@Override
+		public IntCondition shouldFitInLong() {
+			return checked(ValidationType.ShouldFitInLong, true);
+		}
+
+		public IntCondition shouldBe(int value) {
+			return checked(ValidationType.ShouldBe, intValue == value);
+		}
+
+		public IntCondition shouldNotBe(int value) {
+			return checked(ValidationType.ShouldBe, intValue != value);
+		}
+
+		public IntCondition shouldBeGreaterThan(int value) {
+			IntResult result = check(ValidationType.ShouldBeGreaterThan, intValue > value);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public IntCondition shouldBeLessThan(int value) {
+			IntResult result = check(ValidationType.ShouldBeLessThan, intValue < value);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public IntCondition shouldBeGreaterThanField(String fieldName, int value) {
+			return shouldBeGreaterThanField(fieldName, value, null);
+		}
+
+		public IntCondition shouldBeGreaterThanField(String fieldName, int value,
+				Object originalValue) {
+			IntResult result = check(
+					ValidationType.ShouldBeGreaterThanOtherField, intValue > value);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public IntCondition shouldBeLessThanField(String fieldName, int value) {
+			return shouldBeLessThanField(fieldName, value, null);
+		}
+
+		public IntCondition shouldBeLessThanField(String fieldName, int value,
+				Object originalValue) {
+			IntResult result = check(
+					ValidationType.ShouldBeLessThanOtherField, intValue < value);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public IntCondition shouldBeInInclusiveRange(int from, int to) {
+			IntResult result = check(ValidationType.ShouldBeInInclusiveRange,
+					intValue >= from && intValue <= to);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+		public IntCondition shouldBeInExclusiveRange(int from, int to) {
+			IntResult result = check(ValidationType.ShouldBeInExclusiveRange,
+					intValue > from && intValue < to);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+	}
+
+	/**
+	 * Condition on a long field which compares the raw value.
+	 */
+	public class LongCondition extends
+			PrimitiveCondition<Long, LongCondition, LongResult> {
+
+		private long longValue;
+
+		public LongCondition(String fieldName, long value) {
+			this(fieldName, value, null);
+		}
+
+		public <K> LongCondition(String fieldName, long value,
+				PreResult<K> preResult) {
+			super(fieldName, preResult);
+			this.longValue = value;
+		}
+
+		public long getLongValue() {
+			return longValue;
+		}
+
+		@Override
+		Long box() {
+			return longValue;
+		}
+
+		@Override
+		LongResult newResult(ValidationType type, Status status) {
+			return new LongResult(type, this, status);
+		}
+
+		@Override
+		public void setFieldValue(Long fieldValue) {
+			super.setFieldValue(fieldValue);
+			this.longValue = fieldValue;
+		}
+
+		@Override
+		public LongCondition shouldBeNumeric() {
+			return checked(ValidationType.ShouldBeNumeric, true);
+		}
+
+		@Override
+		public LongCondition shouldBeInteger() {
+			return checked(ValidationType.ShouldBeInteger, ValueClassifier.fitsInInt(longValue));
+		}
+
+		@Override
+		public LongCondition shouldBeDecimal() {
+			return checked(ValidationType.ShouldBeDecimal, true);
+		}
+
+		@Override
+		public LongCondition shouldFitInLong() {
+			return checked(ValidationType.ShouldFitInLong, true);
+		}
+
+		public LongCondition shouldBe(long value) {
+			return checked(ValidationType.ShouldBe, longValue == value);
+		}
+
+		public LongCondition shouldNotBe(long value) {
+			return checked(ValidationType.ShouldBe, longValue != value);
+		}
+
+		public LongCondition shouldBeGreaterThan(long value) {
+			LongResult result = check(ValidationType.ShouldBeGreaterThan, longValue > value);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public LongCondition shouldBeLessThan(long value) {
+			LongResult result = check(ValidationType.ShouldBeLessThan, longValue < value);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public LongCondition shouldBeGreaterThanField(String fieldName, long value) {
+			return shouldBeGreaterThanField(fieldName, value, null);
+		}
+
+		public LongCondition shouldBeGreaterThanField(String fieldName, long value,
+				Object originalValue) {
+			LongResult result = check(
+					ValidationType.ShouldBeGreaterThanOtherField, longValue > value);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public LongCondition shouldBeLessThanField(String fieldName, long value) {
+			return shouldBeLessThanField(fieldName, value, null);
+		}
+
+		public LongCondition shouldBeLessThanField(String fieldName, long value,
+				Object originalValue) {
+			LongResult result = check(
+					ValidationType.ShouldBeLessThanOtherField, longValue < value);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public LongCondition shouldBeInInclusiveRange(long from, long to) {
+			LongResult result = check(ValidationType.ShouldBeInInclusiveRange,
+					longValue >= from && longValue <= to);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+		public LongCondition shouldBeInExclusiveRange(long from, long to) {
+			LongResult result = check(ValidationType.ShouldBeInExclusiveRange,
+					longValue > from && longValue < to);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+	}
+
+	/**
+	 * Condition on a double field which compares the raw value.
+	 */
+	public class DoubleCondition extends
+			PrimitiveCondition<Double, DoubleCondition, DoubleResult> {
+
+		private double doubleValue;
+
+		public DoubleCondition(String fieldName, double value) {
+			this(fieldName, value, null);
+		}
+
+		public <K> DoubleCondition(String fieldName, double value,
+				PreResult<K> preResult) {
+			super(fieldName, preResult);
+			this.doubleValue = value;
+		}
+
+		public double getDoubleValue() {
+			return doubleValue;
+		}
+
+		@Override
+		Double box() {
+			return doubleValue;
+		}
+
+		@Override
+		DoubleResult newResult(ValidationType type, Status status) {
+			return new DoubleResult(type, this, status);
+		}
+
+		@Override
+		public void setFieldValue(Double fieldValue) {
+			super.setFieldValue(fieldValue);
+			this.doubleValue = fieldValue;
+		}
+
+		@Override
+		public DoubleCondition shouldBeNumeric() {
+			return checked(ValidationType.ShouldBeNumeric, false);
+		}
+
+		@Override
+		public DoubleCondition shouldBeInteger() {
+			return checked(ValidationType.ShouldBeInteger, ValueClassifier.fitsInInt(doubleValue));
+		}
+
+		@Override
+		public DoubleCondition shouldBeDecimal() {
+			return checked(ValidationType.ShouldBeDecimal, ValueClassifier.isDecimal(doubleValue));
+		}
+
+		@Override
+		public DoubleCondition shouldFitInLong() {
+			return checked(ValidationType.ShouldFitInLong, ValueClassifier.fitsInLong(doubleValue));
+		}
+
+		public DoubleCondition shouldBe(double value) {
+			return checked(ValidationType.ShouldBe, Double.compare(doubleValue, value) == 0);
+		}
+
+		public DoubleCondition shouldNotBe(double value) {
+			return checked(ValidationType.ShouldBe, Double.compare(doubleValue, value) != 0);
+		}
+
+		public DoubleCondition shouldBeGreaterThan(double value) {
+			DoubleResult result = check(ValidationType.ShouldBeGreaterThan, Double.compare(doubleValue, value) > 0);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public DoubleCondition shouldBeLessThan(double value) {
+			DoubleResult result = check(ValidationType.ShouldBeLessThan, Double.compare(doubleValue, value) < 0);
+			if (result != null) {
+				report(result.setComparedValue(value));
+			}
+			return this;
+		}
+
+		public DoubleCondition shouldBeGreaterThanField(String fieldName, double value) {
+			return shouldBeGreaterThanField(fieldName, value, null);
+		}
+
+		public DoubleCondition shouldBeGreaterThanField(String fieldName, double value,
+				Object originalValue) {
+			DoubleResult result = check(
+					ValidationType.ShouldBeGreaterThanOtherField, Double.compare(doubleValue, value) > 0);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public DoubleCondition shouldBeLessThanField(String fieldName, double value) {
+			return shouldBeLessThanField(fieldName, value, null);
+		}
+
+		public DoubleCondition shouldBeLessThanField(String fieldName, double value,
+				Object originalValue) {
+			DoubleResult result = check(
+					ValidationType.ShouldBeLessThanOtherField, Double.compare(doubleValue, value) < 0);
+			if (result != null) {
+				report(result.setComparedValue(value)
+						.setComparedFieldName(fieldName)
+						.setComparedFieldOriginalValue(originalValue));
+			}
+			return this;
+		}
+
+		public DoubleCondition shouldBeInInclusiveRange(double from, double to) {
+			DoubleResult result = check(ValidationType.ShouldBeInInclusiveRange,
+					Double.compare(doubleValue, from) >= 0
+					&& Double.compare(doubleValue, to) <= 0);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+		public DoubleCondition shouldBeInExclusiveRange(double from, double to) {
+			DoubleResult result = check(ValidationType.ShouldBeInExclusiveRange,
+					Double.compare(doubleValue, from) > 0
+					&& Double.compare(doubleValue, to) < 0);
+			if (result != null) {
+				report(result.setRange(from, to));
+			}
+			return this;
+		}
+
+	}
+
+	/**
+	 * @return the transformed value, null for a null value or when the
+	 *         transformer fails on it
+	 */
+	private static <K, M> M transform(K value, Function<K, M> transformer) {
+		if (value == null) {
+			return null;
+		}
+		try {
+			return transformer.apply(value);
+		} catch (Exception e) {
+			// TODO This should be put in the condition
+			return null;
+		}
+	}
+
+	/**
+	 * Equality of a field value with an expected one, by content when both
+	 * are character sequences so that a String matches any other kind of
+	 * character sequence holding the same characters
+	 */
+	static boolean equalValues(Object fieldValue, Object value) {
+		if (fieldValue instanceof CharSequence && value instanceof CharSequence
+				&& !(fieldValue instanceof String && value instanceof String)) {
+			return contentEquals((CharSequence) fieldValue,
+					(CharSequence) value);
+		}
+		return fieldValue.equals(value);
+	}
+
+	/**
+	 * Membership of a field value in a domain, by content for the character
+	 * sequences which are not strings, as {@link #equalValues(Object, Object)}
+	 */
+	private static boolean containsValue(Collection<?> values,
+			Object fieldValue) {
+		if (values instanceof DomainSet || fieldValue instanceof String
+				|| !(fieldValue instanceof CharSequence)) {
+			return values.contains(fieldValue);
+		}
+		return values.contains(fieldValue)
+				|| values.contains(fieldValue.toString());
+	}
+
+	/**
+	 * Membership of the string form of a field value in a domain ignoring
+	 * case, as {@link DomainSet#containsIgnoreCase(Object)} without preparing
+	 * the domain
+	 */
+	private static boolean containsIgnoreCase(Collection<?> values,
+			Object fieldValue) {
+		CharSequence value = toCharSequence(fieldValue);
+		for (Object domainValue : values) {
+			if (domainValue != null
+					&& DomainSet.equalsIgnoreCase(domainValue.toString(), value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contentEquals(CharSequence first,
+			CharSequence second) {
+		int length = first.length();
+		if (second.length() != length) {
+			return false;
+		}
+		for (int index = 0; index < length; index++) {
+			if (first.charAt(index) != second.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equalsIgnoreCase(CharSequence fieldValue,
+			String value) {
+		if (fieldValue instanceof String) {
+			return ((String) fieldValue).equalsIgnoreCase(value);
+		}
+		if (value == null || value.length() != fieldValue.length()) {
+			return false;
+		}
+		for (int index = 0; index < value.length(); index++) {
+			char first = fieldValue.charAt(index);
+			char second = value.charAt(index);
+			if (first != second
+					&& Character.toUpperCase(first) != Character
+							.toUpperCase(second)
+					&& Character.toLowerCase(first) != Character
+							.toLowerCase(second)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true when every character is a space or a control character,
+	 *         the characters {@link String#trim()} removes
+	 */
+	private static boolean isBlank(CharSequence value) {
+		for (int index = 0; index < value.length(); index++) {
+			if (value.charAt(index) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the value itself when it is a character sequence, its string
+	 *         value otherwise
+	 */
+	private static CharSequence toCharSequence(Object value) {
+		return value instanceof CharSequence ? (CharSequence) value : String
+				.valueOf(value);
+	}
+
+	/**
+	 * @return a string copy of a value read straight from a buffer, the value
+	 *         itself otherwise; such a value only stands for character
+	 *         sequences, which a string is
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V> V copyOf(V value) {
+		return value instanceof ByteSlice ? (V) value.toString() : value;
+	}
+
+	private static boolean fileExists(FileStatusCache fileStatusCache,
+			String path) {
+		return fileStatusCache != null ? fileStatusCache.exists(path)
+				: new File(path).exists();
+	}
+
+	public <T> PreCondition<T> ifValueOfField(String fieldName, T value) {
+		return new PreCondition<T>(fieldName, value);
+	}
+
+	/**
+	 * @param value
+	 *            computes the value once, when the check first needs it
+	 */
+	public <T> PreCondition<T> ifValueOfField(String fieldName,
+			Supplier<? extends T> value) {
+		PreCondition<T> preCondition = new PreCondition<T>(fieldName, null);
+		preCondition.valueSupplier = value;
+		return preCondition;
+	}
+
+	public <T> Condition<T> valueOfField(String fieldName, T value) {
+		return new Condition<T>(fieldName, value);
+	}
+
+	/**
+	 * @param value
+	 *            computes the value once, when a check first needs it or
+	 *            the result of a check is reported: not at all when a pre
+	 *            condition is not met, see
+	 *            {@link PreCondition#thenValueOfField(String, Supplier)}, and
+	 *            the results are not reported
+	 */
+	public <T> Condition<T> valueOfField(String fieldName,
+			Supplier<? extends T> value) {
+		return new Condition<T>(fieldName, null).setValueSupplier(value);
+	}
+
+	public <T> Condition<T> valueOfField(String fieldName, T value,
+			Object originalValue) {
+		return new Condition<T>(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public IntPreCondition ifValueOfField(String fieldName, int value) {
+		return new IntPreCondition(fieldName, value);
+	}
+
+	public LongPreCondition ifValueOfField(String fieldName, long value) {
+		return new LongPreCondition(fieldName, value);
+	}
+
+	public DoublePreCondition ifValueOfField(String fieldName, double value) {
+		return new DoublePreCondition(fieldName, value);
+	}
+
+	public PreCondition<Character> ifValueOfField(String fieldName, char value) {
+		return new PreCondition<Character>(fieldName, value);
+	}
+
+	public PreCondition<Short> ifValueOfField(String fieldName, short value) {
+		return new PreCondition<Short>(fieldName, value);
+	}
+
+	public PreCondition<Byte> ifValueOfField(String fieldName, byte value) {
+		return new PreCondition<Byte>(fieldName, value);
+	}
+
+	public PreCondition<Float> ifValueOfField(String fieldName, float value) {
+		return new PreCondition<Float>(fieldName, value);
+	}
+
+	/**
+	 * Runs the rule set of the switch matching the value of its discriminator
+	 * field in the object, looked up once whatever the number of rule sets
+	 */
+	public <T> void switchOnValueOfField(RuleSwitch<T> rules, T object) {
+		rules.validate(this, object);
+	}
+
+	public IntCondition valueOfField(String fieldName, int value) {
+		return new IntCondition(fieldName, value);
+	}
+
+	public IntCondition valueOfField(String fieldName, int value,
+			Object originalValue) {
+		return new IntCondition(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public LongCondition valueOfField(String fieldName, long value) {
+		return new LongCondition(fieldName, value);
+	}
+
+	public LongCondition valueOfField(String fieldName, long value,
+			Object originalValue) {
+		return new LongCondition(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public DoubleCondition valueOfField(String fieldName, double value) {
+		return new DoubleCondition(fieldName, value);
+	}
+
+	public DoubleCondition valueOfField(String fieldName, double value,
+			Object originalValue) {
+		return new DoubleCondition(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	/**
+	 * Boxes the value, as for the char, short, byte and float values below,
+	 * so that a check or a listener sees a Character rather than the int or
+	 * double a primitive condition would widen it to
+	 */
+	public Condition<Character> valueOfField(String fieldName, char value) {
+		return new Condition<Character>(fieldName, value);
+	}
+
+	public Condition<Character> valueOfField(String fieldName, char value,
+			Object originalValue) {
+		return new Condition<Character>(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public Condition<Short> valueOfField(String fieldName, short value) {
+		return new Condition<Short>(fieldName, value);
+	}
+
+	public Condition<Short> valueOfField(String fieldName, short value,
+			Object originalValue) {
+		return new Condition<Short>(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public Condition<Byte> valueOfField(String fieldName, byte value) {
+		return new Condition<Byte>(fieldName, value);
+	}
+
+	public Condition<Byte> valueOfField(String fieldName, byte value,
+			Object originalValue) {
+		return new Condition<Byte>(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	public Condition<Float> valueOfField(String fieldName, float value) {
+		return new Condition<Float>(fieldName, value);
+	}
+
+	public Condition<Float> valueOfField(String fieldName, float value,
+			Object originalValue) {
+		return new Condition<Float>(fieldName, value)
+				.setOriginalValue(originalValue);
+	}
+
+	/**
+	 * Checks a whole column of values at once, e.g.
+	 * validator.valuesOfColumn("age", ages).shouldBeInInclusiveRange(0, 150)
+	 * .getFailingIndices()
+	 */
+	public IntColumnCondition valuesOfColumn(String fieldName, int[] values) {
+		return new IntColumnCondition(this, fieldName, values);
+	}
+
+	public LongColumnCondition valuesOfColumn(String fieldName, long[] values) {
+		return new LongColumnCondition(this, fieldName, values);
+	}
+
+	public <T> ColumnCondition<T> valuesOfColumn(String fieldName, T[] values) {
+		return new ColumnCondition<T>(this, fieldName, values);
+	}
+
+	public <T> Validator mandateField(String fieldName, T value) {
+		new Condition<T>(fieldName, value).shouldNotBeBlank();
+		return this;
+	}
+
+	public ValidationListener getValidationListener() {
+		return listenerBinding.validationListener;
+	}
+
+	/**
+	 * Sets the listener and reads the statuses it is interested in, see
+	 * {@link ValidationListener#isInterestedIn(Status)}. Checks ending in any
+	 * other status create no result and only count towards
+	 * {@link #getUnreportedCount(Status)}.
+	 *
+	 * The listener can be swapped while other threads validate: conditions
+	 * already created keep reporting to the listener which was set when they
+	 * were created.
+	 */
+	public void setValidationListener(ValidationListener validationListener) {
+		this.listenerBinding = new ListenerBinding(validationListener);
+	}
+
+	public ValidationMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Turns the metrics on for the conditions and pre conditions created from
+	 * now on, or off when null.
+	 */
+	public void setMetrics(ValidationMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public FileStatusCache getFileStatusCache() {
+		return fileStatusCache;
+	}
+
+	/**
+	 * Makes the conditions and pre conditions created from now on look files
+	 * up in the given cache, or stat them every time when null.
+	 */
+	public void setFileStatusCache(FileStatusCache fileStatusCache) {
+		this.fileStatusCache = fileStatusCache;
+	}
+
+	public PatternCache getPatternCache() {
+		return patternCache;
+	}
+
+	/**
+	 * Makes {@link Condition#shouldMatch(String, String)} compile its
+	 * expressions through the given cache, the default one when null
+	 */
+	public void setPatternCache(PatternCache patternCache) {
+		this.patternCache = patternCache != null ? patternCache
+				: PatternCache.getDefault();
+	}
+
+	public MatchBudget getMatchBudget() {
+		return matchBudget;
+	}
+
+	/**
+	 * Bounds the steps or the time of each match of
+	 * {@link Condition#shouldMatch(Pattern, String)} with the given budget,
+	 * a match running out of it ending in {@link Status#Timeout}, counted in
+	 * {@link #getTimeoutCount()} when not reported. The matches are not
+	 * bounded when null.
+	 */
+	public void setMatchBudget(MatchBudget matchBudget) {
+		this.matchBudget = matchBudget;
+	}
+
+	/**
+	 * @return the number of matches stopped by the match budget which the
+	 *         listener was not interested in, see
+	 *         {@link MatchBudget#getExhaustedCount()} for all of them
+	 */
+	public long getTimeoutCount() {
+		return getUnreportedCount(Status.Timeout);
+	}
+
+	public FailFastScope getFailFastScope() {
+		FailFast failFast = this.failFast;
+		return failFast == null ? null : failFast.scope;
+	}
+
+	/**
+	 * Stops at the first failure of each condition, of each record or of
+	 * the whole validation, see {@link #setFailFast(FailFastScope, long)}
+	 */
+	public void setFailFast(FailFastScope scope) {
+		setFailFast(scope, 1);
+	}
+
+	/**
+	 * Makes the conditions created from now on skip their checks once the
+	 * given number of checks in their scope have failed, or run every check
+	 * when the scope is null. A check fails when it ends in
+	 * {@link Status#Failed}, {@link Status#NullValueOperation},
+	 * {@link Status#IncompatibleType} or {@link Status#Timeout}.
+	 *
+	 * A skipped check computes no value and creates no result, it ends in
+	 * {@link Status#Skipped}, counted in {@link #getSkippedCount()} and in
+	 * the metrics. Setting the mode again starts counting the failures
+	 * afresh.
+	 */
+	public void setFailFast(FailFastScope scope, long maximumFailures) {
+		if (scope == null) {
+			this.failFast = null;
+			return;
+		}
+		if (maximumFailures < 1) {
+			throw new IllegalArgumentException("Invalid maximum failures: "
+					+ maximumFailures);
+		}
+		this.failFast = new FailFast(scope, maximumFailures);
+	}
+
+	/**
+	 * Starts a new record on the calling thread, whose failures are counted
+	 * from zero for {@link FailFastScope#Record}. The file validators start
+	 * a record for each line, as do {@link ValidationPlan} and
+	 * {@link RuleSwitch} for each object of the ones they are given.
+	 */
+	public void startRecord() {
+		FailFast failFast = this.failFast;
+		if (failFast != null && failFast.scope == FailFastScope.Record) {
+			failFast.recordFailures.get().reset();
+		}
+	}
+
+	/**
+	 * Makes the conditions created from now on count their failures along
+	 * with those of the given validator, which validates part of the same
+	 * records
+	 */
+	void shareFailFast(Validator validator) {
+		this.failFast = validator.failFast;
+	}
+
+	/**
+	 * @return a validator whose conditions report to the given listener the
+	 *         results this validator reports, and the failures as well when
+	 *         asked for, counting the other results with this validator
+	 */
+	Validator reportingTo(ValidationListener validationListener,
+			boolean reportingFailures) {
+		boolean[] reportedStatuses = listenerBinding.reportedStatuses;
+		if (reportingFailures) {
+			reportedStatuses = reportedStatuses.clone();
+			for (Status status : Status.values()) {
+				reportedStatuses[status.ordinal()] |= isFailure(status);
+			}
+		}
+		return new Validator(this, new ListenerBinding(validationListener,
+				reportedStatuses));
+	}
+
+	/**
+	 * @return whether the given view, made by
+	 *         {@link #reportingTo(ValidationListener, boolean)}, can still be
+	 *         used for this validator: it was made from it, and this validator
+	 *         has since been given no other listener, metrics, caches, fail
+	 *         fast mode nor match budget
+	 */
+	boolean isCurrentView(Validator view) {
+		return view.unreportedCounts == unreportedCounts
+				&& view.viewedBinding == listenerBinding
+				&& view.metrics == metrics
+				&& view.fileStatusCache == fileStatusCache
+				&& view.failFast == failFast
+				&& view.patternCache == patternCache
+				&& view.matchBudget == matchBudget;
+	}
+
+	/**
+	 * Reports a result kept back by a view of this validator, or counts it
+	 * when the listener is not interested in its status
+	 */
+	void deliver(Result<?> result) {
+		ListenerBinding listenerBinding = this.listenerBinding;
+		int status = result.getStatus().ordinal();
+		if (listenerBinding.reportedStatuses[status]) {
+			listenerBinding.validationListener.validated(result);
+		} else {
+			unreportedCounts[status].increment();
+		}
+	}
+
+	/**
+	 * @return the number of checks skipped by the fail fast mode
+	 */
+	public long getSkippedCount() {
+		return getUnreportedCount(Status.Skipped);
+	}
+
+	/**
+	 * Stats the given paths concurrently through the file status cache, then
+	 * reports a {@link ValidationType#ShouldBeAnExistingFile} result for each
+	 * of them, from the thread completing the last stat.
+	 */
+	public CompletableFuture<Void> shouldAllBeExistingFiles(String fieldName,
+			Collection<String> paths) {
+		FileStatusCache fileStatusCache = this.fileStatusCache;
+		if (fileStatusCache == null) {
+			throw new IllegalStateException("No file status cache is set");
+		}
+		return fileStatusCache.refresh(paths).thenRun(() -> {
+			for (String path : paths) {
+				valueOfField(fieldName, path).shouldBeAnExistingFile();
+			}
+		});
+	}
+
+	/**
+	 * @return the number of checks ended in the given status which were not
+	 *         reported to the listener
+	 */
+	public long getUnreportedCount(Status status) {
+		return unreportedCounts[status.ordinal()].sum();
+	}
+
+	void addUnreportedCount(Status status, long count) {
+		unreportedCounts[status.ordinal()].add(count);
+	}
+
+	/**
+	 * Adds the unreported counts of another validator, which validated on
+	 * behalf of this one
+	 */
+	void addUnreportedCounts(Validator validator) {
+		for (int index = 0; index < unreportedCounts.length; index++) {
+			unreportedCounts[index].add(validator.unreportedCounts[index].sum());
+		}
+	}
+
+	/**
+	 * A fail fast mode along with the failures counted for it, replaced as a
+	 * whole when the mode is set
+	 */
+	private static final class FailFast {
+
+		private final FailFastScope scope;
+
+		private final long maximumFailures;
+
+		private final ThreadLocal<FailureCount> recordFailures;
+
+		private final FailureCount validationFailures;
+
+		private FailFast(FailFastScope scope, long maximumFailures) {
+			this.scope = scope;
+			this.maximumFailures = maximumFailures;
+			this.recordFailures = scope == FailFastScope.Record ? ThreadLocal
+					.withInitial(FailureCount::new) : null;
+			this.validationFailures = scope == FailFastScope.Validation ? new SharedFailureCount()
+					: null;
+		}
+
+		/**
+		 * @return the count of the scope of a condition created by the
+		 *         calling thread, null for the chain which counts its own
+		 */
+		private FailureCount failureCount() {
+			switch (scope) {
+			case Record:
+				return recordFailures.get();
+			case Validation:
+				return validationFailures;
+			default:
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * The failures of the current record of a thread
+	 */
+	private static class FailureCount {
+
+		private long count;
+
+		long get() {
+			return count;
+		}
+
+		void increment() {
+			count++;
+		}
+
+		void reset() {
+			count = 0;
+		}
+
+	}
+
+	/**
+	 * The failures of a validation, counted by all the threads
+	 */
+	private static final class SharedFailureCount extends FailureCount {
+
+		private final AtomicLong count = new AtomicLong();
+
+		@Override
+		long get() {
+			return count.get();
+		}
+
+		@Override
+		void increment() {
+			count.incrementAndGet();
+		}
+
+		@Override
+		void reset() {
+			count.set(0);
+		}
+
+	}
+
+	/**
+	 * A listener along with the statuses it is interested in, replaced as a
+	 * whole so that both are always read consistently.
+	 */
+	private static final class ListenerBinding {
+
+		private final ValidationListener validationListener;
+
+		private final boolean[] reportedStatuses;
+
+		private ListenerBinding(ValidationListener validationListener) {
+			this.validationListener = validationListener;
+
+			Status[] statuses = Status.values();
+			this.reportedStatuses = new boolean[statuses.length];
+			for (Status status : statuses) {
+				reportedStatuses[status.ordinal()] = status != Status.Skipped
+						&& (validationListener == null || validationListener
+								.isInterestedIn(status));
+			}
+		}
+
+		private ListenerBinding(ValidationListener validationListener,
+				boolean[] reportedStatuses) {
+			this.validationListener = validationListener;
+			this.reportedStatuses = reportedStatuses;
+		}
+
+	}
+
+	/**
+	 * @return
+	 */
+	public <V> boolean isBlankValue(V value) {
+		boolean isBlank = false;
+
+		if (value == null) {
+			isBlank = true;
+		} else if ((value instanceof CharSequence)
+				&& isBlank((CharSequence) value)) {
+			isBlank = true;
+		}
+		return isBlank;
+	}
+
+	public <V> boolean isValueNumeric(V value) {
+		return ValueClassifier.isNumeric(value);
+	}
+
+	public <V> boolean isValueBoolean(V value) {
+		return ValueClassifier.isBoolean(value);
+	}
+
+	/**
+	 * @return true for an integral number or text, decimal or hexadecimal,
+	 *         within the int range
+	 */
+	public <V> boolean isValueInteger(V value) {
+		return ValueClassifier.fitsInInt(value);
+	}
+
+	/**
+	 * @return true for a finite number or a decimal text with optional
+	 *         fraction and exponent
+	 */
+	public <V> boolean isValueDecimal(V value) {
+		return ValueClassifier.isDecimal(value);
+	}
+
+	/**
+	 * @return true for an integral number or text, decimal or hexadecimal,
+	 *         within the long range
+	 */
+	public <V> boolean doesValueFitInLong(V value) {
+		return ValueClassifier.fitsInLong(value);
+	}
+
+}
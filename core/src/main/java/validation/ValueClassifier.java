@@ -0,0 +1,331 @@
+package validation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Classifies values as numbers or booleans by scanning their characters, so
+ * that no regular expression, matcher or parsed number is created on the way.
+ *
+ * Textual integers are either decimal ({@code [+-]?\d+}) or hexadecimal
+ * ({@code [+-]?0[xX][0-9a-fA-F]+}); only the range checks accept the
+ * hexadecimal form, {@link #isInteger(CharSequence)} stays decimal.
+ */
+public final class ValueClassifier {
+
+	private static final BigInteger LONG_MIN = BigInteger
+			.valueOf(Long.MIN_VALUE);
+	private static final BigInteger LONG_MAX = BigInteger
+			.valueOf(Long.MAX_VALUE);
+
+	private ValueClassifier() {
+	}
+
+	/**
+	 * @return true for a signed or unsigned run of decimal digits
+	 */
+	public static boolean isInteger(CharSequence value) {
+		int length = value.length();
+		int index = skipSign(value);
+
+		if (index == length) {
+			return false;
+		}
+		for (; index < length; index++) {
+			if (!isDigit(value.charAt(index))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true for a signed hexadecimal literal with a 0x prefix
+	 */
+	public static boolean isHexInteger(CharSequence value) {
+		int length = value.length();
+		int index = skipSign(value);
+
+		if (!hasHexPrefix(value, index)) {
+			return false;
+		}
+		index += 2;
+		if (index == length) {
+			return false;
+		}
+		for (; index < length; index++) {
+			if (hexDigit(value.charAt(index)) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true for a decimal number with an optional fraction and an
+	 *         optional exponent, e.g. 12, -0.5, .5, 3., 6.02e23
+	 */
+	public static boolean isDecimal(CharSequence value) {
+		int length = value.length();
+		int index = skipSign(value);
+
+		int digits = 0;
+		for (; index < length && isDigit(value.charAt(index)); index++) {
+			digits++;
+		}
+		if (index < length && value.charAt(index) == '.') {
+			for (index++; index < length && isDigit(value.charAt(index)); index++) {
+				digits++;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if (index < length
+				&& (value.charAt(index) == 'e' || value.charAt(index) == 'E')) {
+			index++;
+			if (index < length
+					&& (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+				index++;
+			}
+			int exponentDigits = 0;
+			for (; index < length && isDigit(value.charAt(index)); index++) {
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return false;
+			}
+		}
+		return index == length;
+	}
+
+	/**
+	 * @return true for a decimal or hexadecimal integer within the int range
+	 */
+	public static boolean fitsInInt(CharSequence value) {
+		return fitsIn(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return true for a decimal or hexadecimal integer within the long range
+	 */
+	public static boolean fitsInLong(CharSequence value) {
+		return fitsIn(value, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return true for true or false in any case
+	 */
+	public static boolean isBoolean(CharSequence value) {
+		int length = value.length();
+		if (length == 4) {
+			return equalsIgnoreCase(value, "true");
+		}
+		return length == 5 && equalsIgnoreCase(value, "false");
+	}
+
+	/**
+	 * @return true for integral boxed numbers and textual decimal integers
+	 */
+	public static boolean isNumeric(Object value) {
+		if (value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte
+				|| value instanceof BigInteger) {
+			return true;
+		}
+		return (value instanceof CharSequence)
+				&& isInteger((CharSequence) value);
+	}
+
+	/**
+	 * @return true for finite numbers and textual decimals
+	 */
+	public static boolean isDecimal(Object value) {
+		if (value instanceof Double || value instanceof Float) {
+			return isDecimal(((Number) value).doubleValue());
+		}
+		if (value instanceof CharSequence) {
+			return isDecimal((CharSequence) value);
+		}
+		return value instanceof BigDecimal || isNumeric(value);
+	}
+
+	/**
+	 * @return true for integral values, numeric or textual, within the int
+	 *         range
+	 */
+	public static boolean fitsInInt(Object value) {
+		if (value instanceof Integer || value instanceof Short
+				|| value instanceof Byte) {
+			return true;
+		}
+		if (value instanceof CharSequence) {
+			return fitsInInt((CharSequence) value);
+		}
+		return fitsIn(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return true for integral values, numeric or textual, within the long
+	 *         range
+	 */
+	public static boolean fitsInLong(Object value) {
+		if (value instanceof Long || value instanceof Integer
+				|| value instanceof Short || value instanceof Byte) {
+			return true;
+		}
+		if (value instanceof CharSequence) {
+			return fitsInLong((CharSequence) value);
+		}
+		return fitsIn(value, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	public static boolean isDecimal(double value) {
+		return !Double.isNaN(value) && !Double.isInfinite(value);
+	}
+
+	public static boolean fitsInInt(long value) {
+		return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+	}
+
+	public static boolean fitsInInt(double value) {
+		return fitsIn(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	public static boolean fitsInLong(double value) {
+		return fitsIn(value, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return true for Boolean values and textual booleans
+	 */
+	public static boolean isBoolean(Object value) {
+		if (value instanceof Boolean) {
+			return true;
+		}
+		return (value instanceof CharSequence)
+				&& isBoolean((CharSequence) value);
+	}
+
+	private static boolean fitsIn(Object value, long min, long max) {
+		if (value instanceof Long) {
+			long longValue = (Long) value;
+			return longValue >= min && longValue <= max;
+		}
+		if (value instanceof BigInteger) {
+			BigInteger bigInteger = (BigInteger) value;
+			return bigInteger.bitLength() < 64
+					&& bigInteger.longValue() >= min
+					&& bigInteger.longValue() <= max;
+		}
+		if (value instanceof BigDecimal) {
+			BigDecimal bigDecimal = (BigDecimal) value;
+			if (bigDecimal.signum() == 0) {
+				return true;
+			}
+			if (bigDecimal.scale() > 0
+					&& bigDecimal.stripTrailingZeros().scale() > 0
+					|| bigDecimal.precision() - bigDecimal.scale() > 19) {
+				return false;
+			}
+			BigInteger bigInteger = bigDecimal.toBigInteger();
+			return bigInteger.compareTo(LONG_MIN) >= 0
+					&& bigInteger.compareTo(LONG_MAX) <= 0
+					&& bigInteger.longValue() >= min
+					&& bigInteger.longValue() <= max;
+		}
+		if (value instanceof Double || value instanceof Float) {
+			return fitsIn(((Number) value).doubleValue(), min, max);
+		}
+		return false;
+	}
+
+	private static boolean fitsIn(double value, long min, long max) {
+		// (double) Long.MAX_VALUE rounds up to 2^63, hence the strict check
+		return value == Math.rint(value) && value >= min
+				&& (max == Long.MAX_VALUE ? value < 0x1p63 : value <= max);
+	}
+
+	/**
+	 * Accumulates the magnitude as a negative number, the same way
+	 * Long.parseLong does, so that the minimum value does not overflow.
+	 */
+	private static boolean fitsIn(CharSequence value, long min, long max) {
+		int length = value.length();
+		int index = skipSign(value);
+		boolean negative = index > 0 && value.charAt(0) == '-';
+
+		int radix = 10;
+		if (hasHexPrefix(value, index)) {
+			radix = 16;
+			index += 2;
+		}
+		if (index == length) {
+			return false;
+		}
+
+		long limit = negative ? min : -max;
+		long multiplyLimit = limit / radix;
+		long result = 0;
+
+		for (; index < length; index++) {
+			int digit = radix == 16 ? hexDigit(value.charAt(index))
+					: decimalDigit(value.charAt(index));
+			if (digit < 0 || result < multiplyLimit) {
+				return false;
+			}
+			result *= radix;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		return true;
+	}
+
+	private static int skipSign(CharSequence value) {
+		if (value.length() > 0
+				&& (value.charAt(0) == '+' || value.charAt(0) == '-')) {
+			return 1;
+		}
+		return 0;
+	}
+
+	private static boolean hasHexPrefix(CharSequence value, int index) {
+		return value.length() > index + 1 && value.charAt(index) == '0'
+				&& (value.charAt(index + 1) == 'x' || value.charAt(index + 1) == 'X');
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
+	}
+
+	private static int decimalDigit(char character) {
+		return isDigit(character) ? character - '0' : -1;
+	}
+
+	private static int hexDigit(char character) {
+		if (isDigit(character)) {
+			return character - '0';
+		}
+		if (character >= 'a' && character <= 'f') {
+			return character - 'a' + 10;
+		}
+		if (character >= 'A' && character <= 'F') {
+			return character - 'A' + 10;
+		}
+		return -1;
+	}
+
+	private static boolean equalsIgnoreCase(CharSequence value,
+			String lowerCaseExpected) {
+		for (int index = 0; index < lowerCaseExpected.length(); index++) {
+			if ((value.charAt(index) | 0x20) != lowerCaseExpected
+					.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
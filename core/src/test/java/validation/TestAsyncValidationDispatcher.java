@@ -0,0 +1,215 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.AsyncValidationDispatcher.OverflowPolicy;
+import validation.AsyncValidationDispatcher.WaitStrategy;
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestAsyncValidationDispatcher {
+
+	private Validator validator = new Validator();
+
+	@Test
+	public void testAllResultsDelivered() throws InterruptedException {
+
+		for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+
+			AtomicInteger delivered = new AtomicInteger();
+			AtomicInteger largestBatch = new AtomicInteger();
+
+			AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+					.builder(results -> {
+						delivered.addAndGet(results.size());
+						largestBatch.accumulateAndGet(results.size(),
+								Math::max);
+					}).setCapacity(64).setBatchSize(16).setConsumers(2)
+					.setWaitStrategy(waitStrategy).build();
+
+			validator.setValidationListener(dispatcher);
+
+			for (int index = 0; index < 10000; index++) {
+				validator.valueOfField("Age", index).shouldBeLessThan(5000);
+			}
+
+			dispatcher.close();
+
+			Assert.assertEquals(waitStrategy.name(), 10000, delivered.get());
+			Assert.assertTrue(largestBatch.get() <= 16);
+			Assert.assertEquals(0, dispatcher.getDroppedCount());
+		}
+	}
+
+	@Test
+	public void testSingleConsumerKeepsOrder() throws InterruptedException {
+
+		List<Object> values = Collections.synchronizedList(new ArrayList<>());
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(results -> {
+					for (Result<?> result : results) {
+						values.add(result.getFieldValue());
+					}
+				}).setCapacity(8).build();
+
+		validator.setValidationListener(dispatcher);
+
+		for (int index = 0; index < 1000; index++) {
+			validator.valueOfField("Age", index).shouldBeNumeric();
+		}
+
+		dispatcher.close();
+
+		Assert.assertEquals(1000, values.size());
+		for (int index = 0; index < 1000; index++) {
+			Assert.assertEquals(index, values.get(index));
+		}
+	}
+
+	@Test
+	public void testDropWhenFull() throws InterruptedException {
+
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger delivered = new AtomicInteger();
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(results -> {
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					delivered.addAndGet(results.size());
+				}).setCapacity(4).setBatchSize(1)
+				.setOverflowPolicy(OverflowPolicy.Drop).build();
+
+		validator.setValidationListener(dispatcher);
+
+		for (int index = 0; index < 100; index++) {
+			validator.valueOfField("Age", index).shouldBeNumeric();
+		}
+
+		release.countDown();
+		dispatcher.close();
+
+		Assert.assertTrue(dispatcher.getDroppedCount() > 0);
+		Assert.assertEquals(100, delivered.get() + dispatcher.getDroppedCount());
+	}
+
+	@Test
+	public void testInterestAndFailingListener() throws InterruptedException {
+
+		AtomicInteger batches = new AtomicInteger();
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(new BatchValidationListener() {
+
+					@Override
+					public void validated(List<Result<?>> results) {
+						batches.incrementAndGet();
+						throw new IllegalStateException("sink is down");
+					}
+
+					@Override
+					public boolean isInterestedIn(Status status) {
+						return status == Status.Failed;
+					}
+
+				}).setBatchSize(1).build();
+
+		validator.setValidationListener(dispatcher);
+
+		validator.valueOfField("Age", 45).shouldBeLessThan(50)
+				.shouldBeLessThan(40).shouldBeLessThan(30);
+
+		dispatcher.close();
+
+		Assert.assertEquals(2, batches.get());
+		Assert.assertEquals(2, dispatcher.getFailedBatchCount());
+		Assert.assertEquals("sink is down", dispatcher.getFirstFailure()
+				.getMessage());
+		Assert.assertEquals(1, validator.getUnreportedCount(Status.Passed));
+	}
+
+	@Test
+	public void testCloseInterrupted() {
+
+		CountDownLatch release = new CountDownLatch(1);
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(results -> {
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}).build();
+
+		validator.setValidationListener(dispatcher);
+		validator.valueOfField("Age", 45).shouldBeNumeric();
+
+		Thread.currentThread().interrupt();
+		try {
+			dispatcher.close();
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof InterruptedException);
+			Assert.assertTrue(Thread.interrupted());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testBlockingManyProducers() throws InterruptedException {
+
+		AtomicInteger delivered = new AtomicInteger();
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(results -> delivered.addAndGet(results.size()))
+				.setCapacity(2).setBatchSize(1).setConsumers(3)
+				.setWaitStrategy(WaitStrategy.Blocking).build();
+
+		validator.setValidationListener(dispatcher);
+
+		Thread[] producers = new Thread[4];
+		for (int index = 0; index < producers.length; index++) {
+			producers[index] = new Thread(() -> {
+				for (int value = 0; value < 20000; value++) {
+					validator.valueOfField("Age", value).shouldBeNumeric();
+				}
+			});
+			producers[index].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		dispatcher.close();
+
+		Assert.assertEquals(80000, delivered.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed() throws InterruptedException {
+
+		AsyncValidationDispatcher dispatcher = AsyncValidationDispatcher
+				.builder(results -> {
+				}).build();
+
+		validator.setValidationListener(dispatcher);
+		dispatcher.close();
+
+		validator.valueOfField("Age", 45).shouldBeNumeric();
+	}
+
+}
@@ -0,0 +1,133 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestCharClass {
+
+	private static final List<String> SIMPLE = Arrays.asList("\\d+",
+			"[A-Z]{2}", "[A-Za-z0-9_-]{1,64}", "^ID-\\d{3,}\\.csv$", "a*b?c",
+			"[^,;]+", "\\w+@\\w+", "[a-c]{0,3}[x-z]", "\\D*", "\\s?x\\S+",
+			"[\\d\\-.]+", "\\$\\d+", "");
+
+	private static final List<String> NOT_SIMPLE = Arrays.asList(
+			"(\\d+)", "a|b", ".+", "\\d+\\d", "[a-z]*[a-z0-9]", "\\d+?",
+			"\\d++", "[a-z&&[^b]]", "\\bx", "x{2,1}", "\u00E9+", "\\D{2}",
+			"\\p{Alpha}+", "a{1000000000}", "[]a]");
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	{
+		validator.setValidationListener(results::add);
+	}
+
+	@Test
+	public void testClasses() {
+		CharClass code = CharClass.UPPER_CASE.union(CharClass.DIGITS).union(
+				CharClass.of("-_"));
+
+		Assert.assertTrue(code.containsAll("AB-12_X"));
+		Assert.assertFalse(code.containsAll("AB 12"));
+		Assert.assertFalse(code.contains('\u00C9'));
+		Assert.assertTrue(code.negate().contains('\u00C9'));
+		Assert.assertTrue(CharClass.LOWER_CASE.isDisjoint(CharClass.DIGITS));
+		Assert.assertFalse(CharClass.WORD.isDisjoint(CharClass.DIGITS));
+		Assert.assertEquals("[\\-0-9A-Z_]", code.toString());
+		Assert.assertEquals("[^0-9]", CharClass.DIGITS.negate().toString());
+		Assert.assertEquals(CharClass.ALPHANUMERIC, CharClass.range('0', '9')
+				.union(CharClass.range('a', 'z')).union(CharClass.LETTERS));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonAsciiCharacter() {
+		CharClass.of("\u00E9");
+	}
+
+	@Test
+	public void testPatternsAnalyzed() {
+		for (String regex : SIMPLE) {
+			Assert.assertNotNull(regex, SimplePattern.analyze(Pattern
+					.compile(regex)));
+		}
+		for (String regex : NOT_SIMPLE) {
+			Assert.assertNull(regex, SimplePattern.analyze(regex));
+		}
+		Assert.assertNull(SimplePattern.analyze(Pattern.compile("[a-z]+",
+				Pattern.CASE_INSENSITIVE)));
+	}
+
+	@Test
+	public void testScansMatchLikePatterns() {
+		Random random = new Random(42);
+		String alphabet = "aAbcxyzZ09_-.,;@$ \t\u00E9\uD83D\uDE00ID";
+		for (String regex : SIMPLE) {
+			Pattern pattern = Pattern.compile(regex);
+			SimplePattern simplePattern = SimplePattern.analyze(pattern);
+			for (int count = 0; count < 20000; count++) {
+				StringBuilder value = new StringBuilder();
+				int length = random.nextInt(8);
+				for (int index = 0; index < length; index++) {
+					value.append(alphabet.charAt(random.nextInt(alphabet
+							.length())));
+				}
+				Assert.assertEquals(regex + " on " + value, pattern.matcher(
+						value).matches(), simplePattern.matches(value));
+			}
+		}
+		Assert.assertTrue(PatternCache.matches(Pattern
+				.compile("^ID-\\d{3,}\\.csv$"), "ID-0042.csv"));
+		Assert.assertTrue(PatternCache.matches(Pattern
+				.compile("[A-Za-z0-9_-]{1,64}"), "ab_-9"));
+		Assert.assertFalse(PatternCache.matches(Pattern.compile("[A-Z]{2}"),
+				"ABC"));
+	}
+
+	@Test
+	public void testConditions() {
+		validator.valueOfField("Code", "AB-12").shouldContainOnly(
+				CharClass.UPPER_CASE.union(CharClass.DIGITS))
+				.shouldHaveLengthBetween(2, 5);
+		validator.valueOfField("Code", new StringBuilder("ab"))
+				.shouldContainOnly(CharClass.LOWER_CASE)
+				.shouldHaveLengthBetween(3, 10);
+		validator.valueOfField("Code", "").shouldContainOnly(CharClass.DIGITS)
+				.shouldHaveLengthBetween(0, 1);
+		validator.valueOfField("Code", (String) null).shouldHaveLengthBetween(
+				0, 1);
+		validator.valueOfField("Count", 12345).shouldContainOnly(
+				CharClass.DIGITS).shouldHaveLengthBetween(1, 4);
+
+		Assert.assertEquals(Arrays.asList(Status.Failed, Status.Passed,
+				Status.Passed, Status.Failed, Status.NullValueOperation,
+				Status.Passed, Status.NullValueOperation, Status.Passed,
+				Status.Failed), statuses());
+		Assert.assertEquals(ValidationType.ShouldContainOnly, results.get(0)
+				.getType());
+		Assert.assertEquals("[0-9A-Z]", results.get(0).getSyntax());
+		Assert.assertEquals(ValidationType.ShouldHaveLengthBetween, results
+				.get(1).getType());
+		Assert.assertEquals("length between 2 and 5", results.get(1)
+				.getSyntax());
+	}
+
+	private List<Status> statuses() {
+		List<Status> statuses = new ArrayList<>();
+		for (Result<?> result : results) {
+			statuses.add(result.getStatus());
+		}
+		return statuses;
+	}
+
+}
@@ -0,0 +1,227 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestColumnCondition {
+
+	private static final int[] INTS = { 0, 17, 18, 60, 61, -1,
+			Integer.MIN_VALUE, Integer.MAX_VALUE, 42, 18 };
+
+	private static final long[] LONGS = { 0L, 17L, 18L, 60L, 61L, -1L,
+			Long.MIN_VALUE, Long.MAX_VALUE, 42L, 18L };
+
+	@Test
+	public void testIntChecksMatchScalarChecks() {
+		int[] values = randomInts(1000);
+
+		assertSameAsScalar(values,
+				column -> column.shouldBeInInclusiveRange(18, 60),
+				condition -> condition.shouldBeInInclusiveRange(18, 60));
+		assertSameAsScalar(values,
+				column -> column.shouldBeInExclusiveRange(18, 60),
+				condition -> condition.shouldBeInExclusiveRange(18, 60));
+		assertSameAsScalar(values,
+				column -> column.shouldBeInInclusiveRange(Integer.MIN_VALUE, -1),
+				condition -> condition.shouldBeInInclusiveRange(
+						Integer.MIN_VALUE, -1));
+		assertSameAsScalar(values, column -> column.shouldBe(18),
+				condition -> condition.shouldBe(18));
+		assertSameAsScalar(values, column -> column.shouldNotBe(18),
+				condition -> condition.shouldNotBe(18));
+		assertSameAsScalar(values, column -> column.shouldBeOneOf(60, 0, 42),
+				condition -> condition.shouldBeOneOf(DomainSet.of(0, 42, 60)));
+		DomainSet<Integer> ages = DomainSet.of(60, 0, 42);
+		assertSameAsScalar(values, column -> column.shouldBeOneOf(ages),
+				condition -> condition.shouldBeOneOf(ages));
+	}
+
+	@Test
+	public void testLongChecksMatchScalarChecks() {
+		long[] values = new long[1000];
+		Random random = new Random(7);
+		for (int index = 0; index < values.length; index++) {
+			values[index] = random.nextInt(4) == 0 ? LONGS[random
+					.nextInt(LONGS.length)] : random.nextInt(100) - 10;
+		}
+
+		assertSameAsScalar(values,
+				column -> column.shouldBeInInclusiveRange(18L, 60L),
+				condition -> condition.shouldBeInInclusiveRange(18L, 60L));
+		assertSameAsScalar(values,
+				column -> column.shouldBeInExclusiveRange(Long.MIN_VALUE, 0L),
+				condition -> condition.shouldBeInExclusiveRange(
+						Long.MIN_VALUE, 0L));
+		assertSameAsScalar(values, column -> column.shouldBe(Long.MAX_VALUE),
+				condition -> condition.shouldBe(Long.MAX_VALUE));
+		assertSameAsScalar(values, column -> column.shouldNotBe(0L),
+				condition -> condition.shouldNotBe(0L));
+		assertSameAsScalar(values, column -> column.shouldBeOneOf(-1L, 61L),
+				condition -> condition.shouldBeOneOf(DomainSet.of(-1L, 61L)));
+		DomainSet<Long> bounds = DomainSet.of(-1L, 61L);
+		assertSameAsScalar(values, column -> column.shouldBeOneOf(bounds),
+				condition -> condition.shouldBeOneOf(bounds));
+	}
+
+	@Test
+	public void testObjectChecksMatchScalarChecks() {
+		String[] values = { "M", null, "f", "", "F", "x", "m", "M" };
+		DomainSet<String> sexes = DomainSet.of("M", "F");
+
+		assertSameAsScalar(values, column -> column.shouldNotBeNull(),
+				condition -> condition.shouldNotBeNull());
+		assertSameAsScalar(values, column -> column.shouldBe("M"),
+				condition -> condition.shouldBe("M"));
+		assertSameAsScalar(values, column -> column.shouldBeOneOf(sexes),
+				condition -> condition.shouldBeOneOf(sexes));
+		assertSameAsScalar(values,
+				column -> column.shouldBeOneOfInAnyCase(sexes),
+				condition -> condition.shouldBeOneOfInAnyCase(sexes));
+		assertSameAsScalar(values,
+				column -> column.shouldBeInInclusiveRange("F", "M"),
+				condition -> condition.shouldBeInInclusiveRange("F", "M"));
+	}
+
+	@Test
+	public void testFailuresOnly() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+		ValidationMetrics metrics = new ValidationMetrics();
+		validator.setMetrics(metrics);
+
+		IntColumnCondition column = validator.valuesOfColumn("age", INTS)
+				.shouldBeInInclusiveRange(18, 60).shouldNotBe(42);
+
+		Assert.assertArrayEquals(new int[] { 0, 1, 4, 5, 6, 7, 8 },
+				column.getFailingIndices());
+		Assert.assertEquals(7, column.getFailureCount());
+		Assert.assertEquals(7, column.getFailures().cardinality());
+		Assert.assertTrue(column.isFailed(8));
+		Assert.assertFalse(column.isFailed(9));
+
+		Assert.assertEquals(7, results.size());
+		Assert.assertEquals(Status.Failed, results.get(0).getStatus());
+		Assert.assertEquals(1, results.get(0).getRowNumber());
+		Assert.assertEquals(Integer.valueOf(42), results.get(6).getFieldValue());
+		Assert.assertEquals(9, results.get(6).getRowNumber());
+
+		Assert.assertEquals(13, validator.getUnreportedCount(Status.Passed));
+		Assert.assertEquals(4, metrics.snapshot().getCount(
+				ValidationType.ShouldBeInInclusiveRange, Status.Passed));
+		Assert.assertEquals(6, metrics.snapshot().getCount(
+				ValidationType.ShouldBeInInclusiveRange, Status.Failed));
+		Assert.assertEquals(20, metrics.snapshot()
+				.getFieldCount("age", Status.Passed)
+				+ metrics.snapshot().getFieldCount("age", Status.Failed));
+		Assert.assertEquals(10,
+				metrics.snapshot()
+						.getLatency(ValidationType.ShouldBeInInclusiveRange)
+						.getCount());
+	}
+
+	@Test
+	public void testPreparedDomain() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+		DomainSet<Integer> ages = DomainSet.of(18, 60, 42);
+
+		validator.valuesOfColumn("age", INTS).shouldBeOneOf(ages);
+
+		Assert.assertEquals(6, results.size());
+		for (Result<?> result : results) {
+			Assert.assertSame(ages, result.getDomainValues());
+		}
+	}
+
+	private static int[] randomInts(int size) {
+		int[] values = new int[size];
+		Random random = new Random(42);
+		for (int index = 0; index < values.length; index++) {
+			values[index] = random.nextInt(4) == 0 ? INTS[random
+					.nextInt(INTS.length)] : random.nextInt(100) - 10;
+		}
+		return values;
+	}
+
+	private static void assertSameAsScalar(int[] values,
+			Consumer<IntColumnCondition> columnCheck,
+			Consumer<Validator.IntCondition> scalarCheck) {
+		Validator validator = new Validator();
+		List<String> expected = new ArrayList<>();
+		validator.setValidationListener(result -> expected.add(describe(result)));
+		for (int index = 0; index < values.length; index++) {
+			scalarCheck.accept(validator.valueOfField("value", values[index])
+					.setPosition(index + 1, 0));
+		}
+		assertSameResults(validator, expected,
+				() -> columnCheck.accept(validator.valuesOfColumn("value",
+						values)));
+	}
+
+	private static void assertSameAsScalar(long[] values,
+			Consumer<LongColumnCondition> columnCheck,
+			Consumer<Validator.LongCondition> scalarCheck) {
+		Validator validator = new Validator();
+		List<String> expected = new ArrayList<>();
+		validator.setValidationListener(result -> expected.add(describe(result)));
+		for (int index = 0; index < values.length; index++) {
+			scalarCheck.accept(validator.valueOfField("value", values[index])
+					.setPosition(index + 1, 0));
+		}
+		assertSameResults(validator, expected,
+				() -> columnCheck.accept(validator.valuesOfColumn("value",
+						values)));
+	}
+
+	private static <T> void assertSameAsScalar(T[] values,
+			Consumer<ColumnCondition<T>> columnCheck,
+			Consumer<Validator.Condition<T>> scalarCheck) {
+		Validator validator = new Validator();
+		List<String> expected = new ArrayList<>();
+		validator.setValidationListener(result -> expected.add(describe(result)));
+		for (int index = 0; index < values.length; index++) {
+			scalarCheck.accept(validator.valueOfField("value", values[index])
+					.setPosition(index + 1, 0));
+		}
+		assertSameResults(validator, expected,
+				() -> columnCheck.accept(validator.valuesOfColumn("value",
+						values)));
+	}
+
+	/**
+	 * The column check reports only what did not pass, in the same order
+	 */
+	private static void assertSameResults(Validator validator,
+			List<String> scalarResults, Runnable columnCheck) {
+		List<String> expected = new ArrayList<>();
+		for (String result : scalarResults) {
+			if (!result.endsWith(" Passed")) {
+				expected.add(result);
+			}
+		}
+		List<String> actual = new ArrayList<>();
+		validator.setValidationListener(result -> actual.add(describe(result)));
+		columnCheck.run();
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(scalarResults.size() - expected.size(),
+				validator.getUnreportedCount(Status.Passed));
+		Assert.assertFalse(expected.isEmpty());
+	}
+
+	private static String describe(Result<?> result) {
+		return result.getRowNumber() + " " + result.getFieldValue() + " "
+				+ result.getType() + " " + result.getStatus();
+	}
+
+}
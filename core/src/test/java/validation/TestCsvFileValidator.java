@@ -0,0 +1,164 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import validation.Validator.Result;
+
+public class TestCsvFileValidator {
+
+	private static final String CSV = "\uFEFFName,Age,Sex,City\r\n"
+			+ "pater,45,Male,Pune\r\n"
+			+ "\r\n"
+			+ "\"mary, jane\",thirty,Female,\"New\nYork\"\r\n"
+			+ "\"O\"\"Neil\",21,male,M\u00FCnchen\r\n"
+			+ ",60,Female\r\n"
+			+ "last,33,Female,Goa";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	@Test
+	public void testColumnRules() throws IOException {
+		Path file = write(CSV);
+
+		long count = validate(file, 64 << 20);
+
+		Assert.assertEquals(5, count);
+		Assert.assertEquals(Arrays.asList(
+				"Name 2:1 pater Passed",
+				"Age 2:2 45 Passed",
+				"City 2:4 Pune Passed",
+				"Name 4:1 mary, jane Passed",
+				"Age 4:2 thirty Failed",
+				"City 4:4 New\nYork Passed",
+				"Name 6:1 O\"Neil Passed",
+				"Age 6:2 21 Passed",
+				"City 6:4 M\u00FCnchen Passed",
+				"Name 7:1  Failed",
+				"Age 7:2 60 Passed",
+				"City 7:4 null NullValueOperation",
+				"Name 8:1 last Passed",
+				"Age 8:2 33 Passed",
+				"City 8:4 Goa Passed"), describe(results));
+	}
+
+	@Test
+	public void testNarrowWindow() throws IOException {
+		Path file = write(CSV);
+		validate(file, 64 << 20);
+		List<String> expected = describe(results);
+
+		for (int mappingSize = 1; mappingSize < 40; mappingSize++) {
+			results.clear();
+			Assert.assertEquals(5, validate(file, mappingSize));
+			Assert.assertEquals("mapping size " + mappingSize, expected,
+					describe(results));
+		}
+	}
+
+	@Test
+	public void testRecordRules() throws IOException {
+		Path file = write("1;pater;M;45\n2;mary;F;17\n");
+
+		CsvFileValidator.builder().setDelimiter(';')
+				.column(1, "Id", id -> id.shouldBeInteger())
+				.record(record -> record.getValidator()
+						.ifValueOfField("Sex", record.getField(3)).is("F")
+						.thenValueOfField("Age", record.getField(4))
+						.setPosition(record.getRowNumber(), 4)
+						.shouldBeInteger().shouldBe("17"))
+				.build().validate(validator(), file);
+
+		Assert.assertEquals(Arrays.asList(
+				"Id 1:1 1 Passed",
+				"Age 1:4 45 PreConditionNotMet",
+				"Age 1:4 45 PreConditionNotMet",
+				"Id 2:1 2 Passed",
+				"Age 2:4 17 Passed",
+				"Age 2:4 17 Passed"), describe(results));
+	}
+
+	@Test
+	public void testExactDomainColumns() throws IOException {
+		Path file = write("Sex,Age,Day\nMale,30,MONDAY\nFemale,40,Sunday\n");
+
+		CsvFileValidator.builder().setHeader(true)
+				.column("Sex", sex -> sex.shouldBeOneOf("Male", "Female")
+						.shouldBeOneOf(Arrays.asList("Male", "Female"))
+						.shouldBe("Male"))
+				.column("Age", age -> age.shouldBeOneOf(DomainSet.of("10",
+						"20", "30", "40", "50", "60", "70", "80", "90")))
+				.column("Day", day -> day
+						.shouldBeOneOfEnumNames(DayOfWeek.class))
+				.build().validate(validator(), file);
+
+		Assert.assertEquals(Arrays.asList(
+				"Sex 2:1 Male Passed",
+				"Sex 2:1 Male Passed",
+				"Sex 2:1 Male Passed",
+				"Age 2:2 30 Passed",
+				"Day 2:3 MONDAY Passed",
+				"Sex 3:1 Female Passed",
+				"Sex 3:1 Female Passed",
+				"Sex 3:1 Female Failed",
+				"Age 3:2 40 Passed",
+				"Day 3:3 Sunday Failed"), describe(results));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingHeaderColumn() throws IOException {
+		Path file = write("Name,Age\npater,45\n");
+
+		CsvFileValidator.builder().setHeader(true)
+				.column("Sex", sex -> sex.shouldNotBeBlank()).build()
+				.validate(validator(), file);
+	}
+
+	private long validate(Path file, int mappingSize) throws IOException {
+		return CsvFileValidator.builder().setHeader(true)
+				.setMappingSize(mappingSize)
+				.column("Name", name -> name.shouldNotBeBlank())
+				.column("Age", age -> age.shouldBeInteger())
+				.column("City", city -> city.shouldBeOneOfInAnyCase(DomainSet
+						.of("Pune", "New\nYork", "M\u00FCnchen", "Goa")))
+				.build().validate(validator(), file);
+	}
+
+	private Validator validator() {
+		validator.setValidationListener(results::add);
+		return validator;
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static List<String> describe(List<Result<?>> results) {
+		List<String> descriptions = new ArrayList<>();
+		for (Result<?> result : results) {
+			descriptions.add(result.getFieldName() + " "
+					+ result.getRowNumber() + ":" + result.getColumnNumber()
+					+ " " + result.getFieldValue() + " " + result.getStatus());
+		}
+		return descriptions;
+	}
+
+}
@@ -0,0 +1,103 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestDomainSet {
+
+	@Test
+	public void testSmallDomain() {
+		DomainSet<String> domain = DomainSet.of("Male", "Female");
+
+		Assert.assertTrue(domain.contains("Male"));
+		Assert.assertFalse(domain.contains("male"));
+		Assert.assertTrue(domain.containsIgnoreCase("mALE"));
+		Assert.assertTrue(domain.containsIgnoreCase(new StringBuilder("FEMALE")));
+		Assert.assertFalse(domain.containsIgnoreCase("Femal"));
+		Assert.assertFalse(domain.containsIgnoreCase((Object) null));
+	}
+
+	@Test
+	public void testLargeDomain() {
+		List<String> countries = new ArrayList<>();
+		for (String country : Locale.getISOCountries()) {
+			countries.add(country);
+		}
+		DomainSet<String> domain = DomainSet.of(countries);
+
+		Assert.assertEquals(countries.size(), domain.size());
+		for (String country : countries) {
+			Assert.assertTrue(domain.contains(country));
+			Assert.assertTrue(domain.contains(new StringBuilder(country)));
+			Assert.assertTrue(domain.containsIgnoreCase(country
+					.toLowerCase(Locale.ROOT)));
+		}
+		Assert.assertFalse(domain.contains("in"));
+		Assert.assertFalse(domain.contains(new StringBuilder("in")));
+		Assert.assertFalse(domain.containsIgnoreCase("XX"));
+		Assert.assertFalse(domain.containsIgnoreCase("IND"));
+	}
+
+	@Test
+	public void testNonStringValues() {
+		DomainSet<Object> domain = DomainSet.of(21, 45L, "x");
+
+		Assert.assertTrue(domain.contains(21));
+		Assert.assertFalse(domain.contains(45));
+		Assert.assertTrue(domain.containsIgnoreCase(45));
+		Assert.assertTrue(domain.containsIgnoreCase("X"));
+		Assert.assertEquals(Arrays.asList(21, 45L, "x"),
+				new ArrayList<>(domain));
+	}
+
+	@Test
+	public void testEnumNames() {
+		DomainSet<String> domain = DomainSet
+				.ofEnumNames(TestValidation.Direction.class);
+
+		Assert.assertSame(domain,
+				DomainSet.ofEnumNames(TestValidation.Direction.class));
+		Assert.assertEquals(
+				Arrays.asList("NORTH", "EAST", "SOUTH", "WEST"),
+				new ArrayList<>(domain));
+		Assert.assertTrue(domain.containsIgnoreCase("South"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEnumNamesOfNonEnum() {
+		DomainSet.ofEnumNames(String.class);
+	}
+
+	@Test
+	public void testShouldBeOneOfInAnyCase() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+
+		DomainSet<String> domain = DomainSet.of("Male", "Female");
+
+		validator.valueOfField("Sex", "male").shouldBeOneOfInAnyCase(domain)
+				.shouldBeOneOf(domain);
+		validator.valueOfField("Sex", (String) null).shouldBeOneOfInAnyCase(
+				domain);
+
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(Status.Passed, results.get(0).getStatus());
+		Assert.assertEquals(Status.Failed, results.get(1).getStatus());
+		Assert.assertEquals(Status.NullValueOperation, results.get(2)
+				.getStatus());
+		Assert.assertEquals(ValidationType.ShouldBeOneOf, results.get(0)
+				.getType());
+		Assert.assertSame(domain, results.get(0).getDomainValues());
+	}
+
+}
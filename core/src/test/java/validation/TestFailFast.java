@@ -0,0 +1,134 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.FailFastScope;
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestFailFast {
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	{
+		validator.setValidationListener(results::add);
+	}
+
+	@Test
+	public void testChainStopsAtFirstFailure() {
+		validator.setFailFast(FailFastScope.Chain);
+		AtomicInteger computations = new AtomicInteger();
+
+		validator.valueOfField("key", (String) null).shouldNotBeBlank()
+				.shouldBeNumeric().shouldBeOneOf("1", "2");
+		validator.valueOfField("age", 70).shouldBeGreaterThan(18)
+				.shouldBeLessThan(60).shouldNotBe(42).shouldNotBeNull();
+		validator.valueOfField("city", () -> {
+			computations.incrementAndGet();
+			return "Pune";
+		}).shouldBeNull().shouldNotBeBlank();
+
+		Assert.assertEquals(Arrays.asList("key ShouldNotBeBlank Failed",
+				"age ShouldBeGreaterThan Passed",
+				"age ShouldBeLessThan Failed", "city ShouldBeNull Failed"),
+				describe(results));
+		Assert.assertEquals(5, validator.getSkippedCount());
+		Assert.assertEquals(1, computations.get());
+	}
+
+	@Test
+	public void testRecordStopsAtFirstFailure() {
+		validator.setFailFast(FailFastScope.Record);
+		ValidationPlan<String[]> plan = ValidationPlan.builder(String[].class)
+				.field("key", (String[] record) -> record[0])
+				.shouldNotBeBlank().field("age", record -> record[1])
+				.shouldBeInteger().field("city", record -> record[2])
+				.shouldBeOneOf("Pune", "Goa").build();
+
+		plan.validate(validator, Arrays.asList(
+				new String[] { "", "thirty", "Paris" },
+				new String[] { "2", "thirty", "Paris" },
+				new String[] { "3", "30", "Goa" }));
+
+		Assert.assertEquals(Arrays.asList("key ShouldNotBeBlank Failed",
+				"key ShouldNotBeBlank Passed", "age ShouldBeInteger Failed",
+				"key ShouldNotBeBlank Passed", "age ShouldBeInteger Passed",
+				"city ShouldBeOneOf Passed"), describe(results));
+		Assert.assertEquals(3, validator.getSkippedCount());
+
+		// without a new record, the checks go on being skipped
+		validator.valueOfField("extra", 1).shouldBe(2);
+		validator.valueOfField("extra", 1).shouldBe(1);
+		Assert.assertEquals(4, validator.getSkippedCount());
+		validator.startRecord();
+		validator.valueOfField("extra", 1).shouldBe(1);
+		Assert.assertEquals(8, results.size());
+	}
+
+	@Test
+	public void testValidationStopsAfterFailures() {
+		ValidationMetrics metrics = new ValidationMetrics();
+		validator.setMetrics(metrics);
+		validator.setFailFast(FailFastScope.Validation, 3);
+		Assert.assertEquals(FailFastScope.Validation,
+				validator.getFailFastScope());
+
+		for (int row = 1; row <= 10; row++) {
+			validator.valueOfField("age", row % 2 == 0 ? -row : row)
+					.setPosition(row, 1).shouldBeGreaterThan(0);
+		}
+
+		Assert.assertEquals(6, results.size());
+		Assert.assertEquals(6, results.get(5).getRowNumber());
+		Assert.assertEquals(4, validator.getSkippedCount());
+		Assert.assertEquals(4, metrics.snapshot().getCount(
+				ValidationType.ShouldBeGreaterThan, Status.Skipped));
+
+		// setting the mode again counts afresh, turning it off runs all
+		validator.setFailFast(FailFastScope.Validation, 3);
+		validator.valueOfField("age", -1).shouldBeGreaterThan(0);
+		validator.setFailFast(null);
+		Assert.assertNull(validator.getFailFastScope());
+		validator.valueOfField("age", -2).shouldBeGreaterThan(0)
+				.shouldBeLessThan(-5);
+		Assert.assertEquals(9, results.size());
+		Assert.assertEquals(4, validator.getSkippedCount());
+	}
+
+	@Test
+	public void testSkippedNotReported() {
+		List<Result<?>> all = new ArrayList<>();
+		validator.setValidationListener(ValidationListener.reporting(
+				all::add, Status.Skipped, Status.values()));
+		validator.setFailFast(FailFastScope.Chain);
+
+		validator.valueOfField("name", "").shouldNotBeBlank().shouldBe("x");
+
+		Assert.assertEquals(1, all.size());
+		Assert.assertEquals(1, validator.getUnreportedCount(Status.Skipped));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaximumFailures() {
+		validator.setFailFast(FailFastScope.Record, 0);
+	}
+
+	private static List<String> describe(List<Result<?>> results) {
+		List<String> descriptions = new ArrayList<>();
+		for (Result<?> result : results) {
+			descriptions.add(result.getFieldName() + " " + result.getType()
+					+ " " + result.getStatus());
+		}
+		return descriptions;
+	}
+
+}
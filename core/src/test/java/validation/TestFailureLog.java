@@ -0,0 +1,163 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import validation.FailureLogReader.LoggedResult;
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestFailureLog {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testResultsReadBack() throws IOException {
+		Path directory = folder.getRoot().toPath().resolve("failures");
+		Validator validator = new Validator();
+
+		try (FailureLog log = FailureLog.builder(directory).build()) {
+			validator.setValidationListener(log);
+
+			validator.valueOfField("age", 70).setPosition(3, 2)
+					.shouldBeInInclusiveRange(18, 60).shouldNotBe(42);
+			validator.valueOfField("start", 5L).shouldBeGreaterThanField(
+					"end", 9L);
+			validator.valueOfField("ratio", 1.5).shouldBeInExclusiveRange(0.0,
+					1.0);
+			validator.valueOfField("city", "M\u00FCnchen").setPosition(4, 7)
+					.shouldBeOneOf("Berlin", "Hamburg");
+			validator.valueOfField("name", (String) null).shouldNotBeBlank();
+			validator.valueOfField("flag", Boolean.TRUE).shouldBe(false);
+
+			Assert.assertEquals(6, log.getResultCount());
+		}
+
+		List<LoggedResult> results = new FailureLogReader(directory).stream()
+				.collect(Collectors.toList());
+		Assert.assertEquals(6, results.size());
+
+		LoggedResult age = results.get(0);
+		Assert.assertEquals("age", age.getFieldName());
+		Assert.assertEquals(ValidationType.ShouldBeInInclusiveRange,
+				age.getType());
+		Assert.assertEquals(Status.Failed, age.getStatus());
+		Assert.assertEquals(3, age.getRowNumber());
+		Assert.assertEquals(2, age.getColumnNumber());
+		Assert.assertEquals(70, age.getFieldValue());
+		Assert.assertEquals(18, age.getFromRange());
+		Assert.assertEquals(60, age.getToRange());
+		Assert.assertNull(age.getComparedFieldName());
+
+		LoggedResult start = results.get(1);
+		Assert.assertEquals(ValidationType.ShouldBeGreaterThanOtherField,
+				start.getType());
+		Assert.assertEquals("end", start.getComparedFieldName());
+		Assert.assertEquals(9L, start.getComparedValue());
+		Assert.assertEquals(5L, start.getFieldValue());
+
+		Assert.assertEquals(1.0, results.get(2).getToRange());
+		Assert.assertEquals("M\u00FCnchen", results.get(3).getFieldValue());
+		Assert.assertEquals(7, results.get(3).getColumnNumber());
+		Assert.assertEquals(ValidationType.ShouldNotBeBlank, results.get(4)
+				.getType());
+		Assert.assertNull(results.get(4).getFieldValue());
+		Assert.assertEquals(Boolean.TRUE, results.get(5).getFieldValue());
+	}
+
+	@Test
+	public void testSegmentsRotate() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		Validator validator = new Validator();
+		List<String> expected = new ArrayList<>();
+
+		try (FailureLog log = FailureLog.builder(directory)
+				.setSegmentSize(1024).build()) {
+			ValidationListener both = result -> {
+				expected.add(describe(result));
+				log.validated(result);
+			};
+			validator.setValidationListener(ValidationListener.reporting(both,
+					Status.Failed));
+
+			for (int row = 1; row <= 500; row++) {
+				validator.valueOfField("field" + row % 7, "value " + row)
+						.setPosition(row, row % 7).shouldBe("value");
+			}
+			// longer than a segment
+			StringBuilder longValue = new StringBuilder();
+			for (int count = 0; count < 300; count++) {
+				longValue.append("long");
+			}
+			validator.valueOfField("long", longValue.toString()).setPosition(
+					501, 0).shouldBe("short");
+		}
+
+		FailureLogReader reader = new FailureLogReader(directory);
+		Assert.assertTrue(reader.getSegments().size() > 10);
+		for (Path segment : reader.getSegments()) {
+			Assert.assertTrue(Files.size(segment) < 2048);
+		}
+
+		List<String> actual = new ArrayList<>();
+		Assert.assertEquals(501, reader.forEach(result -> actual
+				.add(describe(result))));
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(expected, reader.stream()
+				.map(TestFailureLog::describe).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testLogGoesOnAfterExistingSegments() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		Validator validator = new Validator();
+
+		for (int run = 1; run <= 3; run++) {
+			try (FailureLog log = FailureLog.builder(directory).setStatuses(
+					Status.Passed).build()) {
+				validator.setValidationListener(log);
+				validator.valueOfField("run", run).shouldBe(run);
+				validator.valueOfField("run", run).shouldBe(0);
+			}
+		}
+
+		FailureLogReader reader = new FailureLogReader(directory);
+		Assert.assertEquals(3, reader.getSegments().size());
+		Assert.assertEquals(Arrays.asList(1, 2, 3), reader.stream()
+				.map(LoggedResult::getFieldValue).collect(Collectors.toList()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosedLog() throws IOException {
+		FailureLog log = FailureLog.builder(folder.getRoot().toPath()).build();
+		log.close();
+		Validator validator = new Validator();
+		validator.setValidationListener(log);
+		validator.valueOfField("closed", 1).shouldBe(2);
+	}
+
+	private static String describe(Result<?> result) {
+		return result.getFieldName() + " " + result.getType() + " "
+				+ result.getStatus() + " " + result.getRowNumber() + ":"
+				+ result.getColumnNumber() + " " + result.getFieldValue();
+	}
+
+	private static String describe(LoggedResult result) {
+		return result.getFieldName() + " " + result.getType() + " "
+				+ result.getStatus() + " " + result.getRowNumber() + ":"
+				+ result.getColumnNumber() + " " + result.getFieldValue();
+	}
+
+}
@@ -0,0 +1,114 @@
+package validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestFileStatusCache {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private AtomicLong now = new AtomicLong();
+
+	@Test
+	public void testTimeToLive() throws IOException {
+		FileStatusCache cache = FileStatusCache.builder()
+				.setTimeToLive(10, TimeUnit.NANOSECONDS).setTicker(now::get)
+				.build();
+		File file = new File(folder.getRoot(), "data.csv");
+		String path = file.getPath();
+
+		Assert.assertFalse(cache.exists(path));
+		Assert.assertTrue(file.createNewFile());
+
+		now.set(9);
+		Assert.assertFalse(cache.exists(path));
+		now.set(10);
+		Assert.assertTrue(cache.exists(path));
+
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(2, cache.getMissCount());
+		Assert.assertFalse(cache.exists(""));
+	}
+
+	@Test
+	public void testMaximumSize() {
+		FileStatusCache cache = FileStatusCache.builder().setMaximumSize(3)
+				.setTicker(now::get).build();
+
+		for (int index = 0; index < 10; index++) {
+			cache.exists(new File(folder.getRoot(), "file" + index).getPath());
+			Assert.assertTrue(cache.size() <= 3);
+		}
+		Assert.assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void testEvictsInBatches() {
+		FileStatusCache cache = FileStatusCache.builder().setMaximumSize(16)
+				.setTicker(now::get).build();
+
+		for (int index = 0; index < 16; index++) {
+			cache.exists(new File(folder.getRoot(), "file" + index).getPath());
+		}
+		Assert.assertEquals(16, cache.size());
+
+		// room is made for the next misses, 16 / 8 = 2 entries at once
+		cache.exists(new File(folder.getRoot(), "file16").getPath());
+		Assert.assertEquals(15, cache.size());
+		cache.exists(new File(folder.getRoot(), "file17").getPath());
+		Assert.assertEquals(16, cache.size());
+		cache.exists(new File(folder.getRoot(), "file18").getPath());
+		Assert.assertEquals(15, cache.size());
+	}
+
+	@Test
+	public void testShouldAllBeExistingFiles() throws Exception {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(result -> {
+			synchronized (results) {
+				results.add(result);
+			}
+		});
+		FileStatusCache cache = FileStatusCache.builder().setParallelism(4)
+				.build();
+		validator.setFileStatusCache(cache);
+
+		String existing = folder.newFile("existing.csv").getPath();
+		String missing = new File(folder.getRoot(), "missing.csv").getPath();
+
+		validator.shouldAllBeExistingFiles("Path",
+				Arrays.asList(existing, missing, existing)).get(5,
+				TimeUnit.SECONDS);
+
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(Status.Passed, results.get(0).getStatus());
+		Assert.assertEquals(Status.Failed, results.get(1).getStatus());
+		Assert.assertEquals(ValidationType.ShouldBeAnExistingFile, results
+				.get(1).getType());
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(0, cache.getMissCount());
+
+		validator.ifValueOfField("Path", missing).isAnExistingFile()
+				.thenValueOfField("Path", existing).shouldBeAnExistingFile();
+		Assert.assertEquals(Status.PreConditionNotMet, results.get(3)
+				.getStatus());
+		Assert.assertEquals(0, cache.getMissCount());
+	}
+
+}
@@ -0,0 +1,137 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestLazyValues {
+
+	@Test
+	public void testValueComputedOnceWhenNeeded() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+		AtomicInteger computations = new AtomicInteger();
+
+		validator.valueOfField("name", counting(computations, "pater"))
+				.shouldNotBeBlank().shouldBeOneOf("pater", "mater")
+				.shouldMatch(Pattern.compile("[a-z]+"), "letters");
+
+		Assert.assertEquals(1, computations.get());
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals("pater", results.get(2).getFieldValue());
+		Assert.assertEquals(1, computations.get());
+
+		Supplier<String> absent = null;
+		validator.valueOfField("name", absent).shouldNotBeNull();
+		Assert.assertEquals(Status.Failed, results.get(3).getStatus());
+	}
+
+	@Test
+	public void testValueNotComputedWhenPreConditionNotMet() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(ValidationListener.reporting(
+				results::add, Status.Failed));
+		AtomicInteger computations = new AtomicInteger();
+		AtomicInteger transformations = new AtomicInteger();
+
+		validator.ifValueOfField("country", "IN").is("US")
+				.thenValueOfField("ssn", counting(computations, "x"))
+				.shouldNotBeBlank().shouldBeNumeric();
+		validator.ifValueOfField("country", "IN").is("US")
+				.thenValueOfField("age", "42", value -> {
+					transformations.incrementAndGet();
+					return Integer.valueOf(value);
+				}).shouldBeGreaterThan(18);
+		validator.ifValueOfField("country", "IN").is("US")
+				.andValueOfField("state", counting(computations, "CA"))
+				.is("CA");
+
+		Assert.assertEquals(0, computations.get());
+		Assert.assertEquals(0, transformations.get());
+		Assert.assertTrue(results.isEmpty());
+	}
+
+	@Test
+	public void testValueComputedWhenListenerAsks() {
+		Validator validator = new Validator();
+		List<Object> values = new ArrayList<>();
+		validator.setValidationListener(result -> values.add(result
+				.getFieldValue()));
+		AtomicInteger computations = new AtomicInteger();
+
+		validator.ifValueOfField("country", counting(computations, "IN"))
+				.is("US")
+				.thenValueOfField("ssn", counting(computations, "x"))
+				.shouldNotBeBlank().shouldBeNumeric();
+
+		Assert.assertEquals(2, computations.get());
+		Assert.assertEquals(2, values.size());
+		Assert.assertEquals("x", values.get(1));
+	}
+
+	@Test
+	public void testValueComputedBeforeReported() {
+		Validator validator = new Validator();
+		AtomicInteger computations = new AtomicInteger();
+		List<Integer> computationsWhenReported = new ArrayList<>();
+		validator.setValidationListener(ValidationListener.reporting(
+				result -> computationsWhenReported.add(computations.get()),
+				Status.PreConditionNotMet));
+
+		validator.ifValueOfField("country", "IN").is("US")
+				.thenValueOfField("ssn", counting(computations, "x"))
+				.shouldNotBeBlank().shouldBeNumeric();
+
+		// a listener handing the results to another thread never runs the
+		// supplier there
+		Assert.assertEquals(Arrays.asList(1, 1), computationsWhenReported);
+	}
+
+	@Test
+	public void testTransformedValueMemoized() {
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+		AtomicInteger transformations = new AtomicInteger();
+		AtomicInteger computations = new AtomicInteger();
+
+		validator.ifValueOfField("country", "US").is("US")
+				.thenValueOfField("age", counting(computations, "42"),
+						(String value) -> {
+							transformations.incrementAndGet();
+							return Integer.valueOf(value);
+						}).shouldBeGreaterThan(18).shouldBeLessThan(60)
+				.shouldBeInInclusiveRange(40, 50);
+		validator.ifValueOfField("country", "US").is("US")
+				.thenValueOfField("age", "4x2", Integer::valueOf)
+				.shouldNotBeNull();
+
+		Assert.assertEquals(1, transformations.get());
+		Assert.assertEquals(1, computations.get());
+		Assert.assertEquals(4, results.size());
+		Assert.assertEquals(Integer.valueOf(42), results.get(0)
+				.getFieldValue());
+		Assert.assertEquals(Status.Passed, results.get(2).getStatus());
+		Assert.assertEquals(Status.Failed, results.get(3).getStatus());
+	}
+
+	private static <T> Supplier<T> counting(AtomicInteger computations,
+			T value) {
+		return () -> {
+			computations.incrementAndGet();
+			return value;
+		};
+	}
+
+}
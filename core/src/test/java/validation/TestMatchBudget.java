@@ -0,0 +1,136 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.FailFastScope;
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestMatchBudget {
+
+	private static final Pattern BACKTRACKING = Pattern.compile("(.*a){12}");
+
+	private static final String HOSTILE = repeat('a', 25) + "!";
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	{
+		validator.setValidationListener(results::add);
+	}
+
+	@Test
+	public void testStepLimit() {
+		MatchBudget budget = MatchBudget.builder().setMaximumSteps(100_000)
+				.build();
+		validator.setMatchBudget(budget);
+
+		validator.valueOfField("Code", HOSTILE).shouldMatch(BACKTRACKING,
+				"twelve a");
+		validator.valueOfField("Code", repeat('a', 12)).shouldMatch(
+				BACKTRACKING, "twelve a");
+		validator.valueOfField("Code", "aaab").shouldMatch(BACKTRACKING,
+				"twelve a");
+
+		Assert.assertEquals(Arrays.asList(Status.Timeout, Status.Passed,
+				Status.Failed), statuses());
+		Assert.assertEquals("twelve a", results.get(0).getSyntax());
+		Assert.assertEquals(3, budget.getGuardedCount());
+		Assert.assertEquals(1, budget.getExhaustedCount());
+		Assert.assertEquals(1, budget.getStepLimitCount());
+		Assert.assertEquals(0, budget.getTimeLimitCount());
+	}
+
+	@Test
+	public void testTimeLimit() {
+		MatchBudget budget = MatchBudget.builder().setMaximumTime(5,
+				TimeUnit.MILLISECONDS).build();
+		validator.setMatchBudget(budget);
+
+		long start = System.nanoTime();
+		validator.valueOfField("Code", HOSTILE).shouldMatch(BACKTRACKING,
+				"twelve a");
+
+		Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS
+				.toNanos(5));
+		Assert.assertEquals(Arrays.asList(Status.Timeout), statuses());
+		Assert.assertEquals(1, budget.getTimeLimitCount());
+		Assert.assertEquals(0, budget.getStepLimitCount());
+	}
+
+	@Test
+	public void testScannedPatternsNotGuarded() {
+		MatchBudget budget = MatchBudget.builder().setMaximumSteps(2).build();
+		validator.setMatchBudget(budget);
+
+		validator.valueOfField("Phone", "0123456789").shouldMatch("\\d+",
+				"only digits");
+
+		Assert.assertEquals(Arrays.asList(Status.Passed), statuses());
+		Assert.assertEquals(0, budget.getGuardedCount());
+	}
+
+	@Test
+	public void testTimeoutCounted() {
+		validator.setValidationListener(ValidationListener.reporting(
+				results::add, Status.Failed));
+		validator.setMatchBudget(MatchBudget.builder().setMaximumSteps(
+				100_000).build());
+		validator.setFailFast(FailFastScope.Validation);
+
+		validator.valueOfField("Code", HOSTILE).shouldMatch(BACKTRACKING,
+				"twelve a").shouldNotBeBlank();
+
+		Assert.assertTrue(results.isEmpty());
+		Assert.assertEquals(1, validator.getTimeoutCount());
+		Assert.assertEquals(1, validator.getSkippedCount());
+
+		// the matcher of the thread is reused after being stopped
+		validator.setFailFast(null);
+		validator.valueOfField("Code", repeat('a', 12)).shouldMatch(
+				BACKTRACKING, "twelve a");
+		Assert.assertEquals(1, validator.getUnreportedCount(Status.Passed));
+	}
+
+	@Test
+	public void testInvalidBudgets() {
+		try {
+			MatchBudget.builder().build();
+			Assert.fail();
+		} catch (IllegalStateException e) {
+		}
+		try {
+			MatchBudget.builder().setMaximumSteps(0);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			MatchBudget.builder().setMaximumTime(-1, TimeUnit.SECONDS);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	private List<Status> statuses() {
+		List<Status> statuses = new ArrayList<>();
+		for (Result<?> result : results) {
+			statuses.add(result.getStatus());
+		}
+		return statuses;
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+}
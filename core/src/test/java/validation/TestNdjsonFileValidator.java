@@ -0,0 +1,192 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import validation.Validator.Result;
+
+public class TestNdjsonFileValidator {
+
+	private static final String NDJSON = "\uFEFF{\"name\":\"pater\",\"age\":45,\"tags\":[\"a\",{\"b\":\"}\"}],\"address\":{\"city\":\"Pune\",\"zip\":411001}}\n"
+			+ "\r\n"
+			+ "{\"age\": \"thirty\", \"name\": \"mary \\\"jane\\\"\", \"address\": {\"city\": \"M\u00FCnchen\"}}\r\n"
+			+ "{\"name\":\"\",\"age\":\"21\",\"skipped\":{\"deep\":{\"name\":\"x\"}},\"address\":null}\n"
+			+ "{\"name\":\"broken\",\"age\":99999999999999999999,\n"
+			+ "{\"address\":{\"zip\":1,\"city\":\"Goa\"},\"age\":-7,\"name\":\"last\"}";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	@Test
+	public void testFieldRules() throws IOException {
+		Path file = write(NDJSON);
+
+		Assert.assertEquals(5, validate(file, 64 << 20));
+
+		Assert.assertEquals(Arrays.asList(
+				"name 1:9 pater Passed",
+				"age 1:23 45 Passed",
+				"address.city 1:67 Pune Passed",
+				"name 3:27 mary \"jane\" Passed",
+				"age 3:9 thirty Failed",
+				"address.city 3:64 M\u00FCnchen Passed",
+				"name 4:9  Failed",
+				"age 4:18 21 Passed",
+				"address.city 4:0 null NullValueOperation",
+				"line 5:1 {\"name\":\"broken\",\"age\":99999999999999999999, Failed",
+				"name 6:51 last Passed",
+				"age 6:41 -7 Failed",
+				"address.city 6:28 Goa Passed"), describe(results));
+	}
+
+	@Test
+	public void testNarrowWindow() throws IOException {
+		Path file = write(NDJSON);
+		validate(file, 64 << 20);
+		List<String> expected = describe(results);
+
+		for (int mappingSize = 1; mappingSize < 60; mappingSize++) {
+			results.clear();
+			Assert.assertEquals(5, validate(file, mappingSize));
+			Assert.assertEquals("mapping size " + mappingSize, expected,
+					describe(results));
+		}
+	}
+
+	@Test
+	public void testRecordRules() throws IOException {
+		Path file = write("{\"id\":1,\"sex\":\"M\",\"score\":4.5,\"ok\":true}\n"
+				+ "{\"id\":2,\"sex\":\"F\",\"score\":17,\"ok\":false}\n");
+
+		NdjsonFileValidator.builder()
+				.doubleField("score", score -> score.shouldBeLessThan(10.0))
+				.record(record -> record.ifValueOfField("sex").is("F")
+						.thenValueOfField("ok", record.getValue("ok"))
+						.shouldBe(Boolean.TRUE), "sex", "ok")
+				.build().validate(validator(), file);
+
+		Assert.assertEquals(Arrays.asList(
+				"score 1:27 4.5 Passed",
+				"ok 0:0 true PreConditionNotMet",
+				"score 2:27 17.0 Failed",
+				"ok 0:0 false Failed"), describe(results));
+	}
+
+	@Test
+	public void testMalformedLines() throws IOException {
+		Path file = write("{\"na\\u006De\":\"escaped\",\"ke\\u0079\":1}\n"
+				+ "{\"a\\uZZZZ\":1,\"name\":\"bad key\"}\n"
+				+ "{\"name\":\"bad \\x escape\"}\n"
+				+ "{\"name\":\"trailing\"} x\r\n"
+				+ "[1,2]\n"
+				+ "{\"name\":\"last\"}\n");
+
+		NdjsonFileValidator.builder()
+				.field("name", name -> name.shouldNotBeBlank()).build()
+				.validate(validator(), file);
+
+		Assert.assertEquals(Arrays.asList(
+				"name 1:14 escaped Passed",
+				"line 2:1 {\"a\\uZZZZ\":1,\"name\":\"bad key\"} Failed",
+				"line 3:1 {\"name\":\"bad \\x escape\"} Failed",
+				"line 4:1 {\"name\":\"trailing\"} x Failed",
+				"line 5:1 [1,2] Failed",
+				"name 6:9 last Passed"), describe(results));
+		Assert.assertEquals(Validator.ValidationType.ShouldBeWellFormed,
+				results.get(1).getType());
+		Assert.assertEquals("a JSON object", results.get(1).getSyntax());
+	}
+
+	@Test
+	public void testExactDomainFields() throws IOException {
+		Path file = write("{\"sex\":\"Male\",\"day\":\"MONDAY\"}\n"
+				+ "{\"sex\":\"female\",\"day\":\"M\\u00FCnday\"}\n");
+
+		NdjsonFileValidator.builder()
+				.field("sex", sex -> sex.shouldBeOneOf("Male", "Female")
+						.shouldBeOneOf(DomainSet.of("Male", "Female"))
+						.shouldBe("Male"))
+				.field("day", day -> day
+						.shouldBeOneOfEnumNames(DayOfWeek.class))
+				.build().validate(validator(), file);
+
+		Assert.assertEquals(Arrays.asList(
+				"sex 1:8 Male Passed",
+				"sex 1:8 Male Passed",
+				"sex 1:8 Male Passed",
+				"day 1:21 MONDAY Passed",
+				"sex 2:8 female Failed",
+				"sex 2:8 female Failed",
+				"sex 2:8 female Failed",
+				"day 2:23 M\u00FCnday Failed"), describe(results));
+	}
+
+	@Test
+	public void testParallel() throws IOException {
+		StringBuilder content = new StringBuilder();
+		for (int row = 1; row <= 500; row++) {
+			content.append("{\"n\":{\"skip\":[1,2,3]},\"id\":")
+					.append(row % 50 == 0 ? "\"x\"" : String.valueOf(row))
+					.append("}\n");
+		}
+		Path file = write(content.toString());
+
+		NdjsonFileValidator ndjson = NdjsonFileValidator.builder()
+				.longField("id", id -> id.shouldBeGreaterThan(0L)).build();
+
+		Assert.assertEquals(500, ndjson.validate(validator(), file));
+		List<String> expected = describe(results);
+		results.clear();
+
+		Assert.assertEquals(500, ParallelFileValidator.builder(ndjson)
+				.setChunkSize(100).build().validate(validator(), file));
+		Assert.assertEquals(expected, describe(results));
+		Assert.assertEquals("id 50:28 x Failed", expected.get(49));
+	}
+
+	private long validate(Path file, int mappingSize) throws IOException {
+		return NdjsonFileValidator.builder().setMappingSize(mappingSize)
+				.field("name", name -> name.shouldNotBeBlank())
+				.longField("age", age -> age.shouldBeGreaterThan(0L))
+				.field("address.city", city -> city.shouldBeOneOfInAnyCase(
+						DomainSet.of("Pune", "M\u00FCnchen", "Goa")))
+				.build().validate(validator(), file);
+	}
+
+	private Validator validator() {
+		validator.setValidationListener(results::add);
+		return validator;
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static List<String> describe(List<Result<?>> results) {
+		List<String> descriptions = new ArrayList<>();
+		for (Result<?> result : results) {
+			descriptions.add(result.getFieldName() + " "
+					+ result.getRowNumber() + ":" + result.getColumnNumber()
+					+ " " + result.getFieldValue() + " " + result.getStatus());
+		}
+		return descriptions;
+	}
+
+}
@@ -0,0 +1,123 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestParallelFileValidator {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CsvFileValidator csv = CsvFileValidator.builder().setHeader(true)
+			.column("Name", name -> name.shouldNotBeBlank())
+			.column("Age", age -> age.shouldBeInteger()).build();
+
+	@Test
+	public void testSameResultsAsSequential() throws IOException {
+		Path file = writeCsv(2000);
+
+		List<String> expected = new ArrayList<>();
+		Validator validator = new Validator();
+		validator.setValidationListener(result -> expected.add(describe(result)));
+		Assert.assertEquals(2000, csv.validate(validator, file));
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int chunkSize : new int[] { 1, 64, 1000, 1 << 20 }) {
+				List<String> actual = new ArrayList<>();
+				validator.setValidationListener(result -> actual
+						.add(describe(result)));
+
+				Assert.assertEquals(2000, ParallelFileValidator.builder(csv)
+						.setChunkSize(chunkSize).setPool(pool).build()
+						.validate(validator, file));
+				Assert.assertEquals("chunk size " + chunkSize, expected, actual);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailuresOnly() throws IOException {
+		Path file = writeCsv(1000);
+
+		Validator validator = new Validator();
+		List<Result<?>> failures = new ArrayList<>();
+		validator.setValidationListener(ValidationListener.reporting(
+				failures::add, Status.Failed));
+
+		ParallelFileValidator.builder(csv).setChunkSize(100).build()
+				.validate(validator, file);
+
+		Assert.assertEquals(100, failures.size());
+		Assert.assertEquals(6, failures.get(0).getRowNumber());
+		Assert.assertEquals(1900, validator.getUnreportedCount(Status.Passed));
+	}
+
+	@Test
+	public void testPendingChunksBounded() throws IOException {
+		Path file = writeCsv(1000);
+
+		List<String> expected = new ArrayList<>();
+		Validator validator = new Validator();
+		validator.setValidationListener(result -> expected.add(describe(result)));
+		csv.validate(validator, file);
+
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+		ParallelFileValidator.builder(csv).setChunkSize(64)
+				.setMaximumPendingChunks(1).build().validate(validator, file);
+
+		List<String> actual = new ArrayList<>();
+		for (Result<?> result : results) {
+			actual.add(describe(result));
+			Assert.assertFalse(result.getFieldValue() instanceof ByteSlice);
+		}
+		Assert.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException {
+		Path file = folder.newFile().toPath();
+
+		Assert.assertEquals(0, ParallelFileValidator.builder(csv).build()
+				.validate(new Validator(), file));
+	}
+
+	/**
+	 * One header line, an empty line after every hundredth record, every
+	 * tenth age not an integer
+	 */
+	private Path writeCsv(int records) throws IOException {
+		StringBuilder content = new StringBuilder("Name,Age\n");
+		for (int record = 0; record < records; record++) {
+			content.append("name").append(record).append(',')
+					.append(record % 10 == 4 ? "x" : String.valueOf(record % 90))
+					.append(record % 100 == 99 ? "\n\n" : "\n");
+		}
+		Path file = folder.newFile().toPath();
+		Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String describe(Result<?> result) {
+		return result.getFieldName() + " " + result.getRowNumber() + ":"
+				+ result.getColumnNumber() + " " + result.getFieldValue() + " "
+				+ result.getStatus();
+	}
+
+}
@@ -0,0 +1,175 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestPatternCache {
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	{
+		validator.setValidationListener(results::add);
+	}
+
+	@Test
+	public void testRegexCompiledOnce() {
+		PatternCache cache = PatternCache.builder().build();
+		validator.setPatternCache(cache);
+
+		for (int row = 1; row <= 10; row++) {
+			validator.valueOfField("Phone", row % 2 == 0 ? "12345" : "12a45")
+					.shouldMatch("\\d+", "only digits");
+		}
+		validator.valueOfField("Age", 42).shouldMatch("\\d+", "only digits");
+		validator.valueOfField("Name", "").shouldMatch("\\d+", "only digits");
+
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(11, cache.getHitCount());
+		Assert.assertSame(cache.compile("\\d+"), cache.compile("\\d+"));
+
+		Assert.assertEquals(Status.Failed, results.get(0).getStatus());
+		Assert.assertEquals(Status.Passed, results.get(1).getStatus());
+		Assert.assertEquals("only digits", results.get(1).getSyntax());
+		Assert.assertEquals(Status.Passed, results.get(10).getStatus());
+		Assert.assertEquals(Status.NullValueOperation, results.get(11)
+				.getStatus());
+
+		validator.setPatternCache(null);
+		Assert.assertSame(PatternCache.getDefault(),
+				validator.getPatternCache());
+	}
+
+	@Test
+	public void testAnalyzedOncePerPattern() {
+		Pattern digits = Pattern.compile("\\d+");
+		Pattern lookahead = Pattern.compile("(?=a)\\w+");
+
+		Assert.assertSame(PatternCache.simplePatternOf(digits),
+				PatternCache.simplePatternOf(digits));
+		Assert.assertNotNull(PatternCache.simplePatternOf(digits));
+		Assert.assertNull(PatternCache.simplePatternOf(lookahead));
+		Assert.assertNotSame(PatternCache.simplePatternOf(digits),
+				PatternCache.simplePatternOf(Pattern.compile("\\d+")));
+	}
+
+	@Test
+	public void testSizeBounded() {
+		PatternCache cache = PatternCache.builder().setMaximumSize(4).build();
+		for (int index = 0; index < 20; index++) {
+			Assert.assertTrue(cache.compile("a{" + index + "}").matcher(
+					repeat('a', index)).matches());
+		}
+		Assert.assertTrue(cache.size() <= 4);
+		Assert.assertEquals(20, cache.getMissCount());
+	}
+
+	@Test
+	public void testCharSequenceMatchedAsIs() {
+		CharSequence value = new CharSequence() {
+
+			private final String content = "ABC-123";
+
+			@Override
+			public int length() {
+				return content.length();
+			}
+
+			@Override
+			public char charAt(int index) {
+				return content.charAt(index);
+			}
+
+			@Override
+			public CharSequence subSequence(int start, int end) {
+				return content.subSequence(start, end);
+			}
+
+			@Override
+			public String toString() {
+				throw new AssertionError("converted to a string");
+			}
+
+		};
+		Assert.assertTrue(PatternCache.matches(Pattern.compile("[A-Z]+-\\d+"),
+				value));
+	}
+
+	@Test
+	public void testMatchersNotMixedUp() throws Exception {
+		// more patterns than a thread keeps matchers for
+		List<Pattern> patterns = new ArrayList<>();
+		for (int index = 0; index < 40; index++) {
+			patterns.add(Pattern.compile("x{" + index + "}"));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> workers = new ArrayList<>();
+			for (int worker = 0; worker < 4; worker++) {
+				workers.add(executor.submit(() -> {
+					for (int round = 0; round < 200; round++) {
+						for (int index = 0; index < patterns.size(); index++) {
+							Pattern pattern = patterns.get(index);
+							if (!PatternCache.matches(pattern, repeat('x', index))
+									|| PatternCache.matches(pattern, repeat('x',
+											index + 1))) {
+								return false;
+							}
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> worker : workers) {
+				Assert.assertTrue(worker.get(1, TimeUnit.MINUTES));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testMatcherKeptPerPattern() {
+		List<Pattern> patterns = new ArrayList<>();
+		List<PatternCache.PatternMatcher> matchers = new ArrayList<>();
+		for (int index = 0; index < 64; index++) {
+			Pattern pattern = Pattern.compile("x{" + index + "}");
+			patterns.add(pattern);
+			matchers.add(PatternCache.matcherOf(pattern));
+		}
+		for (int index = 0; index < patterns.size(); index++) {
+			Assert.assertSame(matchers.get(index),
+					PatternCache.matcherOf(patterns.get(index)));
+		}
+	}
+
+	@Test(expected = PatternSyntaxException.class)
+	public void testInvalidRegex() {
+		validator.valueOfField("Phone", "12345").shouldMatch("(\\d+",
+				"only digits");
+	}
+
+	private static String repeat(char c, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int index = 0; index < count; index++) {
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+}
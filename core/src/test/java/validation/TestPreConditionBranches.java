@@ -0,0 +1,179 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.PreCondition;
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestPreConditionBranches {
+
+	@Test
+	public void testDependentsShareOnePreCondition() {
+		Validator validator = new Validator();
+		List<String> results = new ArrayList<>();
+		validator.setValidationListener(result -> results.add(describe(result)));
+		Counted country = new Counted("US");
+
+		validator.ifValueOfField("country", country).is(new Counted("US"))
+				.then(us -> {
+					us.thenValueOfField("zip", "1234").shouldBeNumeric();
+					us.thenValueOfField("state", "").shouldNotBeBlank();
+					us.thenValueOfField("age", 12).shouldBeGreaterThan(17);
+				}).otherwise(other -> other.thenValueOfField("zip", "x")
+						.shouldBeNumeric());
+
+		Assert.assertEquals(1, country.comparisons.get());
+		Assert.assertEquals(4, results.size());
+		Assert.assertEquals("zip ShouldBeNumeric Passed", results.get(0));
+		Assert.assertEquals("state ShouldNotBeBlank Failed", results.get(1));
+		Assert.assertEquals("age ShouldBeGreaterThan Failed", results.get(2));
+		Assert.assertEquals("zip ShouldBeNumeric PreConditionNotMet",
+				results.get(3));
+	}
+
+	@Test
+	public void testBranchOfUnmetPreConditionSkipped() {
+		Validator validator = new Validator();
+		List<String> results = new ArrayList<>();
+		validator.setValidationListener(ValidationListener.reporting(
+				result -> results.add(describe(result)), Status.Failed));
+		AtomicInteger thenRuns = new AtomicInteger();
+
+		validator.ifValueOfField("country", "IN").is("US").then(us -> {
+			thenRuns.incrementAndGet();
+			us.thenValueOfField("zip", "x").shouldBeNumeric();
+		}).otherwise(other -> other.thenValueOfField("pin", 12345)
+				.shouldBeLessThan(1000));
+		validator.ifValueOfField("country", (String) null).is("US")
+				.then(us -> thenRuns.incrementAndGet());
+
+		Assert.assertEquals(0, thenRuns.get());
+		Assert.assertEquals(1, results.size());
+		Assert.assertEquals("pin ShouldBeLessThan Failed", results.get(0));
+		Assert.assertEquals(0,
+				validator.getUnreportedCount(Status.PreConditionNotMet));
+	}
+
+	@Test
+	public void testBranchOfUnmetPreConditionReportedWhenAsked() {
+		Validator validator = new Validator();
+		List<String> results = new ArrayList<>();
+		validator.setValidationListener(result -> results.add(describe(result)));
+
+		validator.ifValueOfField("country", "IN").is("US").then(us -> {
+			us.thenValueOfField("zip", "x").shouldBeNumeric();
+			us.thenValueOfField("state", "CA").shouldNotBeBlank();
+		});
+
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals("zip ShouldBeNumeric PreConditionNotMet",
+				results.get(0));
+		Assert.assertEquals("state ShouldNotBeBlank PreConditionNotMet",
+				results.get(1));
+	}
+
+	@Test
+	public void testComposition() {
+		Validator validator = new Validator();
+
+		for (boolean first : new boolean[] { true, false }) {
+			for (boolean second : new boolean[] { true, false }) {
+				Counted value = new Counted("x");
+				Assert.assertEquals(first && second,
+						preCondition(validator, first).andValueOfField("b",
+								value).is(new Counted(second ? "x" : "y"))
+								.isMet());
+				// the second check is skipped once the first decides
+				Assert.assertEquals(first ? 1 : 0, value.comparisons.get());
+
+				value = new Counted("x");
+				Assert.assertEquals(first || second,
+						preCondition(validator, first).orValueOfField("b",
+								value).is(new Counted(second ? "x" : "y"))
+								.isMet());
+				Assert.assertEquals(first ? 0 : 1, value.comparisons.get());
+			}
+		}
+
+		// from left to right: (true or false) and false
+		Assert.assertFalse(preCondition(validator, true)
+				.orValueOfField("b", 1).is(2).andValueOfField("c", 3L).is(4L)
+				.isMet());
+		// (false and true) or true
+		Assert.assertTrue(preCondition(validator, false)
+				.andValueOfField("b", 1).is(1).orValueOfField("c", 0.5).is(0.5)
+				.isMet());
+		// a null value does not meet the pre condition, and is kept as the
+		// status of what it decides
+		PreCondition<Integer> decided = validator
+				.ifValueOfField("a", (String) null).is("x")
+				.andValueOfField("b", 1).is(1);
+		Assert.assertFalse(decided.isMet());
+		Assert.assertEquals(Status.NullValueOperation, decided.getResult()
+				.getStatus());
+		// composed with a pre condition given no check
+		Assert.assertTrue(validator.ifValueOfField("a", "x")
+				.orValueOfField("b", 1).is(2).isMet());
+	}
+
+	@Test
+	public void testComposedDependents() {
+		Validator validator = new Validator();
+		List<String> results = new ArrayList<>();
+		validator.setValidationListener(result -> results.add(describe(result)));
+
+		validator.ifValueOfField("country", "US").is("US")
+				.andValueOfField("age", 15).isGreaterThan(17)
+				.thenValueOfField("license", "").shouldNotBeBlank();
+		validator.ifValueOfField("country", "US").is("US")
+				.andValueOfField("age", 30).isGreaterThan(17)
+				.thenValueOfField("license", "").shouldNotBeBlank();
+
+		Assert.assertEquals("license ShouldNotBeBlank PreConditionNotMet",
+				results.get(0));
+		Assert.assertEquals("license ShouldNotBeBlank Failed", results.get(1));
+	}
+
+	private static PreCondition<String> preCondition(Validator validator,
+			boolean met) {
+		return validator.ifValueOfField("a", "x").is(met ? "x" : "y");
+	}
+
+	private static String describe(Result<?> result) {
+		return result.getFieldName() + " " + result.getType() + " "
+				+ result.getStatus();
+	}
+
+	/**
+	 * A value counting how many times it is compared
+	 */
+	private static final class Counted {
+
+		private final String value;
+		private final AtomicInteger comparisons = new AtomicInteger();
+
+		private Counted(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			comparisons.incrementAndGet();
+			return other instanceof Counted
+					&& ((Counted) other).value.equals(value);
+		}
+
+		@Override
+		public int hashCode() {
+			return value.hashCode();
+		}
+
+	}
+
+}
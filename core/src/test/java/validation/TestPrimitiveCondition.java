@@ -0,0 +1,198 @@
+package validation;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.TestValidation.ValidationListenerForTest;
+import validation.Validator.DoubleCondition;
+import validation.Validator.IntCondition;
+import validation.Validator.LongCondition;
+import validation.Validator.PreConditionType;
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestPrimitiveCondition {
+
+	private Validator validator = new Validator();
+
+	private ValidationListenerForTest validationListener = new ValidationListenerForTest();
+
+	{
+		validator.setValidationListener(validationListener);
+	}
+
+	@Test
+	public void testIntInInclusiveRangePassed() {
+
+		IntCondition condition = validator.valueOfField("Age", 21)
+				.shouldBeInInclusiveRange(21, 50);
+
+		assertOutput("Age", 21, Status.Passed,
+				ValidationType.ShouldBeInInclusiveRange);
+		Assert.assertEquals(21, validationListener.getResult().getFromRange());
+		Assert.assertEquals(50, validationListener.getResult().getToRange());
+		Assert.assertEquals(21, condition.getIntValue());
+	}
+
+	@Test
+	public void testIntInExclusiveRangeFailed() {
+
+		validator.valueOfField("Age", 21).shouldBeInExclusiveRange(21, 50);
+
+		assertOutput("Age", 21, Status.Failed,
+				ValidationType.ShouldBeInExclusiveRange);
+	}
+
+	@Test
+	public void testLongGreaterThanFailed() {
+
+		LongCondition condition = validator.valueOfField("Salary", 20000L)
+				.shouldBeGreaterThan(20000L);
+
+		assertOutput("Salary", 20000L, Status.Failed,
+				ValidationType.ShouldBeGreaterThan);
+		Assert.assertEquals(20000L, validationListener.getResult()
+				.getComparedValue());
+		Assert.assertEquals(20000L, condition.getLongValue());
+	}
+
+	@Test
+	public void testLongLessThanFieldPassed() {
+
+		validator.valueOfField("Salary", 20000L).shouldBeLessThanField(
+				"MaxSalary", 30000L, "30,000");
+
+		assertOutput("Salary", 20000L, Status.Passed,
+				ValidationType.ShouldBeLessThanOtherField);
+		Assert.assertEquals("MaxSalary", validationListener.getResult()
+				.getComparedFieldName());
+		Assert.assertEquals("30,000", validationListener.getResult()
+				.getComparedFieldPresentationValue());
+	}
+
+	@Test
+	public void testDoubleComparesLikeCompareTo() {
+
+		DoubleCondition condition = validator.valueOfField("Ratio", Double.NaN)
+				.shouldBeGreaterThan(Double.MAX_VALUE);
+
+		assertOutput("Ratio", Double.NaN, Status.Passed,
+				ValidationType.ShouldBeGreaterThan);
+
+		condition.shouldBe(Double.NaN).shouldBeDecimal();
+
+		assertOutput("Ratio", Double.NaN, Status.Failed,
+				ValidationType.ShouldBeDecimal);
+
+		validator.valueOfField("Ratio", -0.0d).shouldBeLessThan(0.0d);
+
+		assertOutput("Ratio", -0.0d, Status.Passed,
+				ValidationType.ShouldBeLessThan);
+	}
+
+	@Test
+	public void testPrimitiveNeverNullNorBlank() {
+
+		validator.valueOfField("Age", 45).shouldBeNull();
+		assertOutput("Age", 45, Status.Failed, ValidationType.ShouldBeNull);
+
+		validator.valueOfField("Age", 45).shouldNotBeBlank();
+		assertOutput("Age", 45, Status.Passed, ValidationType.ShouldNotBeBlank);
+
+		validator.valueOfField("Age", 45L).shouldBeNumeric();
+		assertOutput("Age", 45L, Status.Passed, ValidationType.ShouldBeNumeric);
+
+		validator.valueOfField("Age", 3000000000L).shouldBeInteger();
+		assertOutput("Age", 3000000000L, Status.Failed,
+				ValidationType.ShouldBeInteger);
+	}
+
+	@Test
+	public void testGenericCheckOnPrimitive() {
+
+		validator.valueOfField("Age", 45).shouldBeOneOf(21, 45);
+
+		assertOutput("Age", 45, Status.Passed, ValidationType.ShouldBeOneOf);
+	}
+
+	@Test
+	public void testPrimitivePreConditionNotMet() {
+
+		validator.ifValueOfField("Age", 15).isGreaterThan(18)
+				.thenValueOfField("Salary", 20000L).shouldBeGreaterThan(0L);
+
+		assertOutput("Salary", 20000L, Status.PreConditionNotMet,
+				ValidationType.ShouldBeGreaterThan);
+
+		Result<?> result = validationListener.getResult();
+		Assert.assertEquals(PreConditionType.IsGreaterThan, result
+				.getCondition().getPreResult().getType());
+		Assert.assertEquals(15, result.getCondition().getPreResult()
+				.getPreCondition().getFieldValue());
+	}
+
+	@Test
+	public void testPrimitivePreConditionLessThan() {
+
+		validator.ifValueOfField("Age", 21).isLesserThan(18)
+				.thenValueOfField("Salary", 20000L).shouldBeGreaterThan(0L);
+		Assert.assertEquals(PreConditionType.IsLessThan, validationListener
+				.getResult().getCondition().getPreResult().getType());
+
+		validator.ifValueOfField("Salary", 20000L).isLesserThan(10000L)
+				.thenValueOfField("Age", 21).shouldBeGreaterThan(0);
+		Assert.assertEquals(PreConditionType.IsLessThan, validationListener
+				.getResult().getCondition().getPreResult().getType());
+
+		validator.ifValueOfField("Ratio", 0.5d).isLesserThan(0.25d)
+				.thenValueOfField("Age", 21).shouldBeGreaterThan(0);
+		Assert.assertEquals(PreConditionType.IsLessThan, validationListener
+				.getResult().getCondition().getPreResult().getType());
+
+		validator.ifValueOfField("Name", "b").isLesserThan("a")
+				.thenValueOfField("Age", 21).shouldBeGreaterThan(0);
+		Assert.assertEquals(PreConditionType.IsLessThan, validationListener
+				.getResult().getCondition().getPreResult().getType());
+	}
+
+	@Test
+	public void testPrimitivePreConditionMet() {
+
+		validator.ifValueOfField("Ratio", 0.5d).is(0.5d)
+				.thenValueOfField("Age", 45).shouldBeLessThan(40);
+
+		assertOutput("Age", 45, Status.Failed, ValidationType.ShouldBeLessThan);
+	}
+
+	@Test
+	public void testNarrowPrimitivesStayBoxed() {
+
+		validator.valueOfField("Grade", 'a').shouldBeOneOf(
+				Arrays.asList('a', 'b'));
+		assertOutput("Grade", 'a', Status.Passed, ValidationType.ShouldBeOneOf);
+
+		validator.ifValueOfField("Grade", 'b').is('b')
+				.thenValueOfField("Level", (short) 3).shouldBe((short) 3);
+		assertOutput("Level", (short) 3, Status.Passed, ValidationType.ShouldBe);
+
+		validator.valueOfField("Flags", (byte) 1).shouldBe((byte) 2);
+		assertOutput("Flags", (byte) 1, Status.Failed, ValidationType.ShouldBe);
+
+		validator.valueOfField("Ratio", 0.5f).shouldBe(0.5f);
+		assertOutput("Ratio", 0.5f, Status.Passed, ValidationType.ShouldBe);
+	}
+
+	private void assertOutput(String name, Object value, Status status,
+			ValidationType type) {
+		Assert.assertNotNull(validationListener.getResult());
+		Assert.assertEquals(name, validationListener.getResult().getFieldName());
+		Assert.assertEquals(value, validationListener.getResult()
+				.getFieldValue());
+		Assert.assertEquals(status, validationListener.getResult().getStatus());
+		Assert.assertEquals(type, validationListener.getResult().getType());
+	}
+
+}
@@ -0,0 +1,74 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestReportedStatus {
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	@Test
+	public void testOnlyFailuresReported() {
+
+		validator.setValidationListener(ValidationListener.reporting(
+				results::add, Status.Failed));
+
+		validator.valueOfField("Name", "pater").shouldNotBeBlank()
+				.shouldBeOneOf("pater", "mary").shouldBe("mary");
+		validator.valueOfField("Age", 45).shouldBeInInclusiveRange(21, 50)
+				.shouldBeLessThan(40);
+		validator.valueOfField("Phone", null).shouldBeNumeric();
+
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals(ValidationType.ShouldBe, results.get(0).getType());
+		Assert.assertEquals(ValidationType.ShouldBeLessThan, results.get(1)
+				.getType());
+
+		Assert.assertEquals(3, validator.getUnreportedCount(Status.Passed));
+		Assert.assertEquals(1,
+				validator.getUnreportedCount(Status.NullValueOperation));
+		Assert.assertEquals(0, validator.getUnreportedCount(Status.Failed));
+	}
+
+	@Test
+	public void testInterestReadWhenListenerSet() {
+
+		validator.setValidationListener(new ValidationListener() {
+
+			@Override
+			public void validated(Result<?> result) {
+				results.add(result);
+			}
+
+			@Override
+			public boolean isInterestedIn(Status status) {
+				return status != Status.Passed;
+			}
+
+		});
+
+		validator.ifValueOfField("Sex", "male").is("female")
+				.thenValueOfField("Age", 45).shouldBeLessThan(40);
+		validator.valueOfField("Age", 45).shouldBeLessThan(50);
+
+		Assert.assertEquals(1, results.size());
+		Assert.assertEquals(Status.PreConditionNotMet, results.get(0)
+				.getStatus());
+
+		validator.setValidationListener(results::add);
+		validator.valueOfField("Age", 45).shouldBeLessThan(50);
+
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals(1, validator.getUnreportedCount(Status.Passed));
+	}
+
+}
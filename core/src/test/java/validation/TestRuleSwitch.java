@@ -0,0 +1,96 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestRuleSwitch {
+
+	@Test
+	public void testDispatch() {
+		List<String> branches = new ArrayList<>();
+		RuleSwitch.Builder<Object[]> builder = RuleSwitch.builder("type",
+				(Object[] record) -> record[0]);
+		for (int key = 0; key < 100; key++) {
+			String branch = "type" + key;
+			builder.on(branch, (validator, record) -> branches.add(branch));
+		}
+		RuleSwitch<Object[]> rules = builder
+				.on(Arrays.asList(7, 8L), (validator, record) -> branches
+						.add("number " + record[0]))
+				.otherwise((validator, record) -> branches.add("other "
+						+ record[0])).build();
+		Validator validator = new Validator();
+
+		validator.switchOnValueOfField(rules, new Object[] { "type42" });
+		// character sequences match by content
+		validator.switchOnValueOfField(rules,
+				new Object[] { new StringBuilder("type99") });
+		validator.switchOnValueOfField(rules, new Object[] { 7 });
+		validator.switchOnValueOfField(rules, new Object[] { 8L });
+		validator.switchOnValueOfField(rules, new Object[] { 8 });
+		validator.switchOnValueOfField(rules, new Object[] { "TYPE1" });
+		validator.switchOnValueOfField(rules, new Object[] { null });
+
+		Assert.assertEquals(Arrays.asList("type42", "type99", "number 7",
+				"number 8", "other 8", "other TYPE1", "other null"), branches);
+		Assert.assertEquals(102, rules.getKeys().size());
+		Assert.assertEquals("type", rules.getFieldName());
+	}
+
+	@Test
+	public void testIgnoreCase() {
+		List<String> branches = new ArrayList<>();
+		RuleSwitch<String> rules = RuleSwitch
+				.builder("country", (String country) -> country)
+				.setIgnoreCase(true)
+				.on("US", (validator, country) -> branches.add("US"))
+				.on("\u00C9cole", (validator, country) -> branches.add("FR"))
+				.build();
+		Validator validator = new Validator();
+
+		rules.validate(validator, Arrays.asList("us", "Us", "\u00E9COLE"));
+
+		Assert.assertEquals(Arrays.asList("US", "US", "FR"), branches);
+	}
+
+	@Test
+	public void testUnmatchedValueReported() {
+		RuleSwitch<String> rules = RuleSwitch
+				.builder("type", (String type) -> type)
+				.on("book", (validator, type) -> validator.valueOfField(
+						"type", type).shouldNotBeBlank()).build();
+		Validator validator = new Validator();
+		List<Result<?>> results = new ArrayList<>();
+		validator.setValidationListener(results::add);
+
+		rules.validate(validator, Arrays.asList("book", "food", null));
+
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(Status.Passed, results.get(0).getStatus());
+		Assert.assertEquals(ValidationType.ShouldBeOneOf, results.get(1)
+				.getType());
+		Assert.assertEquals(Status.Failed, results.get(1).getStatus());
+		Assert.assertEquals("food", results.get(1).getFieldValue());
+		Assert.assertEquals(Arrays.asList("book"), new ArrayList<>(results
+				.get(1).getDomainValues()));
+		Assert.assertEquals(Status.NullValueOperation, results.get(2)
+				.getStatus());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateKey() {
+		RuleSwitch.builder("type", (String type) -> type).setIgnoreCase(true)
+				.on("book", (validator, type) -> {
+				}).on("Book", (validator, type) -> {
+				}).build();
+	}
+
+}
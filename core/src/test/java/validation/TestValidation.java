@@ -1,6 +1,8 @@
 package validation;
 
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -222,6 +224,84 @@ public class TestValidation {
 		assertOutput(name, value, Status.Failed, ValidationType.ShouldBeBoolean);
 	}
 
+	@Test
+	public void testIntegerCheckPassed() {
+
+		String name = "Name";
+		String value = "-2147483648";
+
+		validator.valueOfField(name, value).shouldBeInteger();
+
+		assertOutput(name, value, Status.Passed, ValidationType.ShouldBeInteger);
+	}
+
+	@Test
+	public void testIntegerCheckFailedByOverflow() {
+
+		String name = "Name";
+		String value = "2147483648";
+
+		validator.valueOfField(name, value).shouldBeInteger();
+
+		assertOutput(name, value, Status.Failed, ValidationType.ShouldBeInteger);
+	}
+
+	@Test
+	public void testDecimalCheckPassed() {
+
+		String name = "Name";
+		String value = "-6.02e23";
+
+		validator.valueOfField(name, value).shouldBeDecimal();
+
+		assertOutput(name, value, Status.Passed, ValidationType.ShouldBeDecimal);
+	}
+
+	@Test
+	public void testDecimalCheckFailed() {
+
+		String name = "Name";
+		String value = "6.02e";
+
+		validator.valueOfField(name, value).shouldBeDecimal();
+
+		assertOutput(name, value, Status.Failed, ValidationType.ShouldBeDecimal);
+	}
+
+	@Test
+	public void testFitInLongCheckPassed() {
+
+		String name = "Name";
+		String value = "0x7fffffffffffffff";
+
+		validator.valueOfField(name, value).shouldFitInLong();
+
+		assertOutput(name, value, Status.Passed, ValidationType.ShouldFitInLong);
+	}
+
+	@Test
+	public void testFitInLongCheckFailed() {
+
+		String name = "Name";
+		BigInteger value = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+
+		validator.valueOfField(name, value).shouldFitInLong();
+
+		assertOutput(name, value, Status.Failed, ValidationType.ShouldFitInLong);
+	}
+
+	@Test
+	public void testFitInLongCheckNullValue() {
+
+		String name = "Name";
+		String value = null;
+
+		validator.valueOfField(name, value).shouldFitInLong();
+
+		assertOutput(name, value, Status.NullValueOperation,
+				ValidationType.ShouldFitInLong);
+	}
+
 	@Test
 	public void testMandateFailed() {
 		String name = "Name";
@@ -801,6 +881,21 @@ public class TestValidation {
 				ValidationType.ShouldBeOneOf);
 	}
 	
+	@Test
+	public void testShouldBeOneOfAnyCaseCollectionReported() {
+
+		List<CharSequence> domainValues = Arrays.asList("North", "South",
+				"East", "West");
+
+		validator.<CharSequence> valueOfField("Name", new StringBuilder("wEST"))
+				.shouldBeOneOfInAnyCase(domainValues);
+
+		Assert.assertEquals(Status.Passed, validationListener.getResult()
+				.getStatus());
+		Assert.assertSame(domainValues, validationListener.getResult()
+				.getDomainValues());
+	}
+
 	public static enum Direction{
 		NORTH,EAST,SOUTH,WEST
 	}
@@ -902,6 +997,42 @@ public class TestValidation {
 				ValidationType.ShouldBeOneOf);
 	}
 	
+	@Test
+	public void testShouldBeOneOfEnumsPassed() {
+
+		String name = "Name";
+		Direction value = Direction.EAST;
+		
+		validator.valueOfField(name, value).shouldBeOneOfEnums(EnumSet.of(Direction.EAST, Direction.WEST));
+
+		assertOneOfOutput(name, value, Arrays.asList(Direction.EAST, Direction.WEST), Status.Passed,
+				ValidationType.ShouldBeOneOf);
+	}
+	
+	@Test
+	public void testShouldBeOneOfEnumsFailed() {
+
+		String name = "Name";
+		Direction value = Direction.NORTH;
+		
+		validator.valueOfField(name, value).shouldBeOneOfEnums(EnumSet.of(Direction.EAST, Direction.WEST));
+
+		assertOneOfOutput(name, value, Arrays.asList(Direction.EAST, Direction.WEST), Status.Failed,
+				ValidationType.ShouldBeOneOf);
+	}
+	
+	@Test
+	public void testShouldBeOneOfEnumsIncompatibleType() {
+
+		String name = "Name";
+		Object value = "EAST";
+		
+		validator.valueOfField(name, value).shouldBeOneOfEnums(EnumSet.of(Direction.EAST, Direction.WEST));
+
+		assertOneOfOutput(name, value, Arrays.asList(Direction.EAST, Direction.WEST), Status.IncompatibleType,
+				ValidationType.ShouldBeOneOf);
+	}
+	
 	@Test
 	public void testIsPassed() {
 		
@@ -0,0 +1,110 @@
+package validation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.ValidationMetrics.Histogram;
+import validation.ValidationMetrics.Snapshot;
+import validation.Validator.PreConditionType;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestValidationMetrics {
+
+	private Validator validator = new Validator();
+
+	private ValidationMetrics metrics = new ValidationMetrics();
+
+	{
+		validator.setValidationListener(result -> {
+		});
+	}
+
+	private void validate() {
+		validator.valueOfField("Name", "pater").shouldNotBeBlank()
+				.shouldBeOneOf("mary", "john");
+		validator.valueOfField("Age", 45).shouldBeInInclusiveRange(21, 50)
+				.shouldBeLessThan(40);
+		validator.valueOfField("Phone", null).shouldBeNumeric();
+		validator.ifValueOfField("Sex", "male").is("female")
+				.thenValueOfField("Age", 45).shouldBeLessThan(40);
+	}
+
+	@Test
+	public void testCounts() {
+
+		validator.setMetrics(metrics);
+		validate();
+
+		Snapshot snapshot = metrics.snapshot();
+
+		Assert.assertEquals(1,
+				snapshot.getCount(ValidationType.ShouldNotBeBlank, Status.Passed));
+		Assert.assertEquals(1,
+				snapshot.getCount(ValidationType.ShouldBeOneOf, Status.Failed));
+		Assert.assertEquals(1, snapshot.getCount(
+				ValidationType.ShouldBeLessThan, Status.Failed));
+		Assert.assertEquals(1, snapshot.getCount(
+				ValidationType.ShouldBeLessThan, Status.PreConditionNotMet));
+		Assert.assertEquals(1, snapshot.getCount(
+				ValidationType.ShouldBeNumeric, Status.NullValueOperation));
+		Assert.assertEquals(1,
+				snapshot.getCount(PreConditionType.Is, Status.Failed));
+
+		Assert.assertEquals(1, snapshot.getFieldCount("Age", Status.Passed));
+		Assert.assertEquals(1, snapshot.getFieldCount("Age", Status.Failed));
+		Assert.assertEquals(1,
+				snapshot.getFieldCount("Age", Status.PreConditionNotMet));
+		Assert.assertEquals(0, snapshot.getFieldCount("Unknown", Status.Passed));
+
+		Histogram latency = snapshot.getLatency(ValidationType.ShouldBeLessThan);
+		Assert.assertEquals(2, latency.getCount());
+		Assert.assertTrue(latency.getPercentile(1d) >= latency.getPercentile(0.5d));
+		Assert.assertEquals(1, snapshot.getLatency(PreConditionType.Is)
+				.getCount());
+
+		metrics.reset();
+		Assert.assertTrue(metrics.snapshot().getCheckCounts().isEmpty());
+	}
+
+	@Test
+	public void testMetricsOff() {
+
+		validator.setMetrics(metrics);
+		validator.setMetrics(null);
+		validate();
+
+		Assert.assertTrue(metrics.getCheckCounts().isEmpty());
+		Assert.assertTrue(metrics.getPreConditionCounts().isEmpty());
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+
+		validator.setMetrics(metrics);
+		validate();
+
+		ObjectName name = metrics
+				.registerMBean("validation:type=ValidationMetrics,name=test");
+		try {
+			Object checkCounts = ManagementFactory.getPlatformMBeanServer()
+					.getAttribute(name, "CheckCounts");
+			Assert.assertNotNull(checkCounts);
+
+			Map<String, Long> counts = metrics.getCheckCounts();
+			Assert.assertEquals(Long.valueOf(1),
+					counts.get("ShouldBeOneOf.Failed"));
+			Assert.assertTrue(metrics.getP99LatencyNanos().containsKey(
+					"ShouldBeLessThan"));
+			Assert.assertTrue(metrics.getP99LatencyNanos().containsKey("Is"));
+		} finally {
+			metrics.unregisterMBean(name);
+		}
+	}
+
+}
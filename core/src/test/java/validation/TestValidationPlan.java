@@ -0,0 +1,275 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.ValidationExample.Person;
+import validation.Validator.Result;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestValidationPlan {
+
+	private Validator validator = new Validator();
+
+	private List<Result<?>> results = new ArrayList<>();
+
+	{
+		validator.setValidationListener(results::add);
+	}
+
+	private ValidationPlan<Person> plan = ValidationPlan.builder(Person.class)
+			.field("Name", Person::getName).shouldNotBeBlank()
+			.field("Age", Person::getAge).shouldBeInInclusiveRange(21, 50)
+			.field("Sex", Person::getSex).shouldBeOneOfInAnyCase("Male", "Female")
+			.and().shouldBeOneOfEnumNamesInAnyCase(Sex.class)
+			.field("Phone", Person::getPhone).shouldMatch("\\d+", "only digits")
+			.field("Age", Person::getAge)
+			.onlyIf("Sex", Person::getSex, sex -> sex.isInAnyCase("female"))
+			.shouldBeLessThan(40).build();
+
+	public static enum Sex {
+		Male, Female
+	}
+
+	@Test
+	public void testPlanPassed() {
+
+		plan.validate(validator, new Person().setName("pater").setAge(45)
+				.setSex("MALE").setPhone("12345"));
+
+		Assert.assertEquals(6, results.size());
+		assertStatus(0, "Name", ValidationType.ShouldNotBeBlank, Status.Passed);
+		assertStatus(1, "Age", ValidationType.ShouldBeInInclusiveRange,
+				Status.Passed);
+		assertStatus(2, "Sex", ValidationType.ShouldBeOneOf, Status.Passed);
+		assertStatus(3, "Sex", ValidationType.ShouldBeOneOf, Status.Passed);
+		assertStatus(4, "Phone", ValidationType.ShouldMatch, Status.Passed);
+		assertStatus(5, "Age", ValidationType.ShouldBeLessThan,
+				Status.PreConditionNotMet);
+
+		Assert.assertEquals(Arrays.asList("Male", "Female"), new ArrayList<>(
+				results.get(2).getDomainValues()));
+		Assert.assertEquals("only digits", results.get(4).getSyntax());
+	}
+
+	@Test
+	public void testPlanFailed() {
+
+		plan.validate(validator, new Person().setName(" ").setAge(45)
+				.setSex("unknown").setPhone("12-45"));
+
+		Assert.assertEquals(6, results.size());
+		assertStatus(0, "Name", ValidationType.ShouldNotBeBlank, Status.Failed);
+		assertStatus(2, "Sex", ValidationType.ShouldBeOneOf, Status.Failed);
+		assertStatus(3, "Sex", ValidationType.ShouldBeOneOf, Status.Failed);
+		assertStatus(4, "Phone", ValidationType.ShouldMatch, Status.Failed);
+	}
+
+	@Test
+	public void testPlanPreConditionMet() {
+
+		plan.validate(validator, new Person().setName("mary").setAge(45)
+				.setSex("Female").setPhone(null));
+
+		assertStatus(4, "Phone", ValidationType.ShouldMatch,
+				Status.NullValueOperation);
+		assertStatus(5, "Age", ValidationType.ShouldBeLessThan, Status.Failed);
+	}
+
+	@Test
+	public void testPlanSharedBetweenThreads() throws InterruptedException {
+
+		Person person = new Person().setName("pater").setAge(45)
+				.setSex("male").setPhone("12345");
+
+		List<Thread> threads = new ArrayList<>();
+		List<List<Result<?>>> threadResults = new ArrayList<>();
+
+		for (int thread = 0; thread < 4; thread++) {
+
+			List<Result<?>> collected = new ArrayList<>();
+			threadResults.add(collected);
+
+			Validator threadValidator = new Validator();
+			threadValidator.setValidationListener(collected::add);
+
+			threads.add(new Thread(() -> {
+				for (int index = 0; index < 1000; index++) {
+					plan.validate(threadValidator, person);
+				}
+			}));
+		}
+
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		}
+
+		for (List<Result<?>> collected : threadResults) {
+			Assert.assertEquals(6000, collected.size());
+		}
+	}
+
+	@Test
+	public void testExactDomainsOnCharSequenceFields() {
+		ValidationPlan<CharSequence[]> rowPlan = ValidationPlan
+				.builder(CharSequence[].class)
+				.field("Sex", row -> row[0]).shouldBeOneOf("Male", "Female")
+				.and().shouldBeOneOfEnumNames(Sex.class).and().shouldBe("Male")
+				.build();
+
+		// fields read from a file are character sequences other than strings
+		rowPlan.validate(validator, new CharSequence[] {
+				new StringBuilder("Male") });
+		rowPlan.validate(validator, new CharSequence[] {
+				new StringBuilder("Female") });
+		rowPlan.validate(validator, new CharSequence[] {
+				new StringBuilder("male") });
+
+		List<Status> statuses = new ArrayList<>();
+		for (Result<?> result : results) {
+			statuses.add(result.getStatus());
+		}
+		Assert.assertEquals(Arrays.asList(Status.Passed, Status.Passed,
+				Status.Passed, Status.Passed, Status.Passed, Status.Failed,
+				Status.Failed, Status.Failed, Status.Failed), statuses);
+	}
+
+	@Test
+	public void testAdaptiveOrderKeepsResults() {
+		ValidationPlan<Person> adaptive = slowPhonePlan(true);
+		List<Person> people = new ArrayList<>();
+		for (int index = 0; index < 3 * ValidationPlan.REORDER_INTERVAL; index++) {
+			people.add(new Person().setName(index % 2 == 0 ? "" : "pater")
+					.setPhone(index % 10 == 0 ? "none" : "12345"));
+		}
+
+		// two checks, both run whatever the order
+		validator.setFailFast(Validator.FailFastScope.Record, 2);
+		adaptive.validate(validator, people);
+		List<String> adaptiveResults = describe(results);
+		results.clear();
+		slowPhonePlan(false).validate(validator, people);
+
+		Assert.assertArrayEquals(new int[] { 1, 0 }, adaptive.getOrder());
+		Assert.assertEquals(describe(results), adaptiveResults);
+		Assert.assertEquals("Phone ShouldMatch Failed", adaptiveResults.get(0));
+		Assert.assertEquals("Name ShouldNotBeBlank Failed",
+				adaptiveResults.get(1));
+	}
+
+	@Test
+	public void testFieldNotReadUnlessPreConditionMet() {
+		List<Person> read = new ArrayList<>();
+		ValidationPlan<Person> lazy = ValidationPlan.builder(Person.class)
+				.field("Age", person -> {
+					read.add(person);
+					return person.getAge();
+				}).onlyIf("Sex", Person::getSex, sex -> sex.is("Female"))
+				.shouldBeLessThan(40).build();
+		validator.setValidationListener(ValidationListener.reporting(
+				results::add, Status.Failed));
+
+		Person male = new Person().setSex("Male").setAge(45);
+		Person female = new Person().setSex("Female").setAge(45);
+		lazy.validate(validator, male);
+		lazy.validate(validator, female);
+
+		Assert.assertEquals(Arrays.asList(female), read);
+		Assert.assertEquals(1, results.size());
+		Assert.assertEquals(45, results.get(0).getFieldValue());
+	}
+
+	@Test
+	public void testFixedOrderByDefault() {
+		ValidationPlan<Person> plan = ValidationPlan.builder(Person.class)
+				.field("Phone", TestValidationPlan::readPhoneSlowly)
+				.shouldMatch("\\d+", "only digits")
+				.field("Name", Person::getName).shouldNotBeBlank().build();
+		validator.setFailFast(Validator.FailFastScope.Record, 1);
+		for (int index = 0; index < 2 * ValidationPlan.REORDER_INTERVAL; index++) {
+			validator.startRecord();
+			plan.validate(validator, new Person().setName("")
+					.setPhone("none"));
+		}
+		Assert.assertArrayEquals(new int[] { 0, 1 }, plan.getOrder());
+		Assert.assertEquals("Phone ShouldMatch Failed",
+				describe(results).get(results.size() - 1));
+	}
+
+	@Test
+	public void testAdaptiveOrderFixedWithoutFailFast() {
+		ValidationPlan<Person> adaptive = slowPhonePlan(true);
+		for (int index = 0; index < 2 * ValidationPlan.REORDER_INTERVAL; index++) {
+			adaptive.validate(validator, new Person().setName(""));
+		}
+		Assert.assertArrayEquals(new int[] { 0, 1 }, adaptive.getOrder());
+		Assert.assertEquals(4 * ValidationPlan.REORDER_INTERVAL,
+				results.size());
+	}
+
+	@Test
+	public void testAdaptiveOrderFollowsValidatorChanges() {
+		ValidationPlan<Person> adaptive = slowPhonePlan(true);
+		validator.setFailFast(Validator.FailFastScope.Record, 2);
+		for (int index = 0; index < 2 * ValidationPlan.REORDER_INTERVAL; index++) {
+			validator.startRecord();
+			adaptive.validate(validator, new Person().setName("")
+					.setPhone("none"));
+		}
+		Assert.assertArrayEquals(new int[] { 1, 0 }, adaptive.getOrder());
+
+		// the views kept by the plan report to the listener set since
+		List<Result<?>> swapped = new ArrayList<>();
+		validator.setValidationListener(swapped::add);
+		validator.startRecord();
+		adaptive.validate(validator, new Person().setName("").setPhone(
+				"none"));
+
+		Assert.assertEquals(Arrays.asList("Phone ShouldMatch Failed",
+				"Name ShouldNotBeBlank Failed"), describe(swapped));
+	}
+
+	/**
+	 * @return a plan checking a phone number, slow to read, then the name
+	 */
+	private static ValidationPlan<Person> slowPhonePlan(boolean adaptiveOrder) {
+		return ValidationPlan.builder(Person.class)
+				.setAdaptiveOrder(adaptiveOrder)
+				.field("Phone", TestValidationPlan::readPhoneSlowly)
+				.shouldMatch("\\d+", "only digits")
+				.field("Name", Person::getName).shouldNotBeBlank().build();
+	}
+
+	private static String readPhoneSlowly(Person person) {
+		long deadline = System.nanoTime() + 100000;
+		while (System.nanoTime() < deadline) {
+			// reading takes a while
+		}
+		return person.getPhone();
+	}
+
+	private static List<String> describe(List<Result<?>> results) {
+		List<String> descriptions = new ArrayList<>();
+		for (Result<?> result : results) {
+			descriptions.add(result.getFieldName() + " " + result.getType()
+					+ " " + result.getStatus());
+		}
+		return descriptions;
+	}
+
+	private void assertStatus(int index, String fieldName,
+			ValidationType type, Status status) {
+		Result<?> result = results.get(index);
+		Assert.assertEquals(fieldName, result.getFieldName());
+		Assert.assertEquals(type, result.getType());
+		Assert.assertEquals(status, result.getStatus());
+	}
+
+}
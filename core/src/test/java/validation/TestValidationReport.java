@@ -0,0 +1,142 @@
+package validation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.ValidationReport.Rule;
+import validation.Validator.Status;
+import validation.Validator.ValidationType;
+
+public class TestValidationReport {
+
+	@Test
+	public void testBitmapMatchesSet() {
+		Random random = new Random(42);
+		CompressedBitmap bitmap = new CompressedBitmap();
+		TreeSet<Long> expected = new TreeSet<>();
+
+		// a dense run, a sparse stretch and a dense random chunk, then values
+		// out of order
+		for (long value = 0; value < 200000; value++) {
+			add(bitmap, expected, value);
+		}
+		for (long value = 200000; value < 10000000; value += 1 + random
+				.nextInt(1000)) {
+			add(bitmap, expected, value);
+		}
+		for (int count = 0; count < 20000; count++) {
+			add(bitmap, expected, 20000000L + random.nextInt(65536));
+		}
+		for (int count = 0; count < 1000; count++) {
+			add(bitmap, expected, (long) random.nextInt(30000000));
+		}
+		add(bitmap, expected, CompressedBitmap.MAXIMUM_VALUE);
+
+		Assert.assertEquals(expected.size(), bitmap.getCardinality());
+		long[] values = bitmap.toArray();
+		Assert.assertEquals(expected.size(), values.length);
+		int index = 0;
+		for (long value : expected) {
+			Assert.assertEquals(value, values[index++]);
+		}
+		for (int count = 0; count < 10000; count++) {
+			long value = random.nextInt(30000000);
+			Assert.assertEquals(expected.contains(value), bitmap.contains(value));
+		}
+
+		bitmap.optimize();
+		Assert.assertEquals(expected.size(), bitmap.getCardinality());
+		Assert.assertEquals(bitmap, bitmap.copy());
+		Assert.assertFalse(bitmap.contains(-1));
+	}
+
+	@Test
+	public void testDenseRecordsAreCompressed() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		for (long value = 1; value <= 1000000; value++) {
+			if (value % 1000 != 0) {
+				bitmap.add(value);
+			}
+		}
+		Assert.assertEquals(999000, bitmap.getCardinality());
+		bitmap.optimize();
+		// about a thousand runs of 4 bytes each, rather than a bit a record
+		Assert.assertTrue(bitmap.getSizeInBytes() < 8000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeValue() {
+		new CompressedBitmap().add(-1);
+	}
+
+	@Test
+	public void testQueries() {
+		ValidationReport report = ValidationReport.builder().setSampleSize(3)
+				.setRandom(new Random(42)).build();
+		Validator validator = new Validator();
+		validator.setValidationListener(report);
+
+		for (int row = 1; row <= 1000; row++) {
+			validator.valueOfField("age", row % 100 - 1).setPosition(row, 2)
+					.shouldBeInInclusiveRange(0, 150);
+			validator.valueOfField("name", row % 250 == 0 ? "" : "x")
+					.setPosition(row, 1).shouldNotBeBlank().shouldBe("x");
+		}
+
+		Assert.assertEquals(Arrays.asList(
+				new Rule("age", ValidationType.ShouldBeInInclusiveRange),
+				new Rule("name", ValidationType.ShouldNotBeBlank),
+				new Rule("name", ValidationType.ShouldBe)), report.getRules());
+
+		Assert.assertArrayEquals(new long[] { 100, 200, 300, 400, 500, 600,
+				700, 800, 900, 1000 }, report.getFailingRecords("age",
+				ValidationType.ShouldBeInInclusiveRange).toArray());
+		Assert.assertEquals(990, report.getCount("age",
+				ValidationType.ShouldBeInInclusiveRange, Status.Passed));
+		Assert.assertEquals(4, report.getCount("name", ValidationType.ShouldBe,
+				Status.NullValueOperation));
+
+		Assert.assertEquals(Arrays.asList(
+				new Rule("age", ValidationType.ShouldBeInInclusiveRange),
+				new Rule("name", ValidationType.ShouldNotBeBlank)),
+				report.getFailingRules(500));
+		Assert.assertEquals(Arrays.asList(new Rule("name",
+				ValidationType.ShouldBe)), report.getRules(500,
+				Status.NullValueOperation));
+		Assert.assertEquals(0, report.getFailingRules(501).size());
+
+		Assert.assertEquals(3, report.getSample().size());
+		report.optimize();
+		Assert.assertTrue(report.getSizeInBytes() < 1000);
+	}
+
+	@Test
+	public void testRecordNumberWithoutPosition() {
+		ValidationReport report = ValidationReport.builder()
+				.setStatuses(Status.Failed).build();
+		Validator validator = new Validator();
+		validator.setValidationListener(report);
+
+		for (long record = 1; record <= 3; record++) {
+			report.setRecordNumber(record);
+			validator.valueOfField("code", record == 2 ? "B" : "A").shouldBe(
+					"A");
+		}
+
+		Assert.assertArrayEquals(new long[] { 2 }, report.getFailingRecords(
+				"code", ValidationType.ShouldBe).toArray());
+		Assert.assertEquals(0, report.getCount("code", ValidationType.ShouldBe,
+				Status.Passed));
+		Assert.assertEquals(2, validator.getUnreportedCount(Status.Passed));
+	}
+
+	private static void add(CompressedBitmap bitmap, TreeSet<Long> expected,
+			long value) {
+		Assert.assertEquals(expected.add(value), bitmap.add(value));
+	}
+
+}
@@ -0,0 +1,128 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import validation.Validator.Result;
+import validation.Validator.Status;
+
+public class TestValidatorConcurrency {
+
+	private static final int THREADS = 8;
+
+	private static final int RECORDS = 20000;
+
+	private static final int CHECKS_PER_RECORD = 4;
+
+	private Validator validator = new Validator();
+
+	private LongAdder reported = new LongAdder();
+
+	private LongAdder mismatched = new LongAdder();
+
+	private class CheckingListener implements ValidationListener {
+
+		private final boolean failuresOnly;
+
+		private CheckingListener(boolean failuresOnly) {
+			this.failuresOnly = failuresOnly;
+		}
+
+		@Override
+		public void validated(Result<?> result) {
+			reported.increment();
+
+			// every thread validates fields named after itself, with values
+			// owned by the same thread
+			String thread = Thread.currentThread().getName();
+			if (!result.getFieldName().startsWith(thread)
+					|| result.getStatus() == Status.Passed && failuresOnly) {
+				mismatched.increment();
+			}
+		}
+
+		@Override
+		public boolean isInterestedIn(Status status) {
+			return !failuresOnly || status != Status.Passed;
+		}
+
+	}
+
+	@Test
+	public void testSharedValidatorUnderListenerSwaps() throws Exception {
+
+		CheckingListener allStatuses = new CheckingListener(false);
+		CheckingListener failuresOnly = new CheckingListener(true);
+
+		validator.setValidationListener(allStatuses);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean validating = new AtomicBoolean(true);
+
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+
+			for (int thread = 0; thread < THREADS; thread++) {
+				workers.add(executor.submit(() -> {
+					start.await();
+					String name = Thread.currentThread().getName();
+					for (int record = 0; record < RECORDS; record++) {
+						validator.valueOfField(name + ".age", record % 100)
+								.shouldBeInInclusiveRange(18, 60);
+						validator.valueOfField(name + ".code",
+								String.valueOf(record)).shouldBeNumeric()
+								.shouldBeOneOf("1", "2", "3");
+						validator.ifValueOfField(name + ".flag", record % 2)
+								.is(0).thenValueOfField(name + ".salary",
+										(long) record).shouldBeGreaterThan(10L);
+					}
+					return null;
+				}));
+			}
+
+			Future<?> swapper = executor.submit(() -> {
+				start.await();
+				for (int swap = 0; validating.get(); swap++) {
+					validator.setValidationListener(swap % 2 == 0 ? failuresOnly
+							: allStatuses);
+					Thread.yield();
+				}
+				return null;
+			});
+
+			start.countDown();
+
+			for (Future<?> worker : workers) {
+				worker.get(2, TimeUnit.MINUTES);
+			}
+			validating.set(false);
+			swapper.get(1, TimeUnit.MINUTES);
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		long unreported = 0;
+		for (Status status : Status.values()) {
+			unreported += validator.getUnreportedCount(status);
+		}
+
+		Assert.assertEquals(0, mismatched.sum());
+		Assert.assertEquals((long) THREADS * RECORDS * CHECKS_PER_RECORD,
+				reported.sum() + unreported);
+		Assert.assertEquals(unreported,
+				validator.getUnreportedCount(Status.Passed));
+	}
+
+}
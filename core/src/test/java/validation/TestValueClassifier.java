@@ -0,0 +1,97 @@
+package validation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestValueClassifier {
+
+	@Test
+	public void testInteger() {
+		Assert.assertTrue(ValueClassifier.isInteger("45"));
+		Assert.assertTrue(ValueClassifier.isInteger("+45"));
+		Assert.assertTrue(ValueClassifier.isInteger("-0045"));
+		Assert.assertFalse(ValueClassifier.isInteger(""));
+		Assert.assertFalse(ValueClassifier.isInteger("-"));
+		Assert.assertFalse(ValueClassifier.isInteger("4s5"));
+		Assert.assertFalse(ValueClassifier.isInteger("0x45"));
+		Assert.assertFalse(ValueClassifier.isInteger("\u0664\u0665"));
+	}
+
+	@Test
+	public void testHexInteger() {
+		Assert.assertTrue(ValueClassifier.isHexInteger("0x1F"));
+		Assert.assertTrue(ValueClassifier.isHexInteger("-0XaB"));
+		Assert.assertFalse(ValueClassifier.isHexInteger("0x"));
+		Assert.assertFalse(ValueClassifier.isHexInteger("0xG1"));
+		Assert.assertFalse(ValueClassifier.isHexInteger("1F"));
+	}
+
+	@Test
+	public void testDecimal() {
+		Assert.assertTrue(ValueClassifier.isDecimal("12"));
+		Assert.assertTrue(ValueClassifier.isDecimal("-0.5"));
+		Assert.assertTrue(ValueClassifier.isDecimal(".5"));
+		Assert.assertTrue(ValueClassifier.isDecimal("3."));
+		Assert.assertTrue(ValueClassifier.isDecimal("6.02E+23"));
+		Assert.assertFalse(ValueClassifier.isDecimal("."));
+		Assert.assertFalse(ValueClassifier.isDecimal("e5"));
+		Assert.assertFalse(ValueClassifier.isDecimal("1e"));
+		Assert.assertFalse(ValueClassifier.isDecimal("1.2.3"));
+		Assert.assertFalse(ValueClassifier.isDecimal("NaN"));
+	}
+
+	@Test
+	public void testFitsInInt() {
+		Assert.assertTrue(ValueClassifier.fitsInInt("2147483647"));
+		Assert.assertTrue(ValueClassifier.fitsInInt("-2147483648"));
+		Assert.assertTrue(ValueClassifier.fitsInInt("0x7FFFFFFF"));
+		Assert.assertTrue(ValueClassifier.fitsInInt("-0x80000000"));
+		Assert.assertFalse(ValueClassifier.fitsInInt("2147483648"));
+		Assert.assertFalse(ValueClassifier.fitsInInt("-2147483649"));
+		Assert.assertFalse(ValueClassifier.fitsInInt("0x80000000"));
+		Assert.assertFalse(ValueClassifier.fitsInInt("99999999999999999999"));
+	}
+
+	@Test
+	public void testFitsInLong() {
+		Assert.assertTrue(ValueClassifier.fitsInLong("9223372036854775807"));
+		Assert.assertTrue(ValueClassifier.fitsInLong("-9223372036854775808"));
+		Assert.assertFalse(ValueClassifier.fitsInLong("9223372036854775808"));
+		Assert.assertFalse(ValueClassifier.fitsInLong("-9223372036854775809"));
+		Assert.assertFalse(ValueClassifier.fitsInLong("0x10000000000000000"));
+	}
+
+	@Test
+	public void testBoolean() {
+		Assert.assertTrue(ValueClassifier.isBoolean("true"));
+		Assert.assertTrue(ValueClassifier.isBoolean("FaLsE"));
+		Assert.assertTrue(ValueClassifier.isBoolean(Boolean.TRUE));
+		Assert.assertFalse(ValueClassifier.isBoolean("tru"));
+		Assert.assertFalse(ValueClassifier.isBoolean("truee"));
+		Assert.assertFalse(ValueClassifier.isBoolean("yes"));
+	}
+
+	@Test
+	public void testNumberTypes() {
+		Assert.assertTrue(ValueClassifier.isNumeric((short) 4));
+		Assert.assertTrue(ValueClassifier.isNumeric((byte) 4));
+		Assert.assertTrue(ValueClassifier.isNumeric(BigInteger.TEN));
+		Assert.assertFalse(ValueClassifier.isNumeric(4.5d));
+
+		Assert.assertTrue(ValueClassifier.isDecimal(4.5d));
+		Assert.assertTrue(ValueClassifier.isDecimal(new BigDecimal("4.5")));
+		Assert.assertFalse(ValueClassifier.isDecimal(Double.NaN));
+
+		Assert.assertTrue(ValueClassifier.fitsInInt(new BigDecimal("45.00")));
+		Assert.assertFalse(ValueClassifier.fitsInInt(new BigDecimal("45.5")));
+		Assert.assertFalse(ValueClassifier.fitsInInt(3000000000L));
+		Assert.assertTrue(ValueClassifier.fitsInLong(3000000000L));
+		Assert.assertTrue(ValueClassifier.fitsInLong(-0x1p63));
+		Assert.assertFalse(ValueClassifier.fitsInLong(0x1p63));
+		Assert.assertFalse(ValueClassifier.fitsInLong(new BigDecimal("1e30")));
+	}
+
+}
@@ -1,8 +0,0 @@
-package validation;
-
-import validation.Validator.Result;
-
-
-public interface ValidationListener {
-	public void validated(Result<?> result);
-}